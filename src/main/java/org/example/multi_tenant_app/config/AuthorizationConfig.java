@@ -0,0 +1,19 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+@ConfigMapping(prefix = "authz")
+public interface AuthorizationConfig {
+
+    @WithName("batch-check.max-items")
+    @WithDefault("100")
+    int batchCheckMaxItems();
+
+    // Checks of one CheckStream that may be evaluated concurrently (and complete out of order).
+    @WithName("stream.max-in-flight")
+    @WithDefault("256")
+    int streamMaxInFlight();
+
+}
@@ -0,0 +1,56 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigMapping(prefix = "rate-limit")
+public interface RateLimitConfig {
+
+    @WithName("enabled")
+    @WithDefault("true")
+    boolean enabled();
+
+    // Used for tenants whose tier has no entry under tiers.
+    @WithName("default-tier")
+    @WithDefault("standard")
+    String defaultTier();
+
+    // Upper bound on tenant + user buckets held in memory; idle buckets are dropped first.
+    @WithName("max-buckets")
+    @WithDefault("500000")
+    long maxBuckets();
+
+    // A bucket idle this long is full again anyway, so it can be forgotten.
+    @WithName("idle-timeout")
+    @WithDefault("10m")
+    Duration idleTimeout();
+
+    @WithName("tiers")
+    Map<String, Tier> tiers();
+
+    interface Tier {
+
+        // Sustained requests per second for the whole tenant; 0 disables the tenant limit.
+        @WithName("tenant-rate")
+        @WithDefault("0")
+        double tenantRate();
+
+        // Requests the tenant may send at once after being idle; defaults to one second's worth.
+        @WithName("tenant-burst")
+        @WithDefault("0")
+        int tenantBurst();
+
+        // Sustained requests per second per authenticated user of the tenant; 0 disables it.
+        @WithName("user-rate")
+        @WithDefault("0")
+        double userRate();
+
+        @WithName("user-burst")
+        @WithDefault("0")
+        int userBurst();
+    }
+}
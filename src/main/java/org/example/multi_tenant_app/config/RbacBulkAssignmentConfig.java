@@ -0,0 +1,21 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+@ConfigMapping(prefix = "rbac.bulk-assignment")
+public interface RbacBulkAssignmentConfig {
+
+    // Upper bound on assignments per bulk call (REST and gRPC).
+    @WithName("max-items")
+    @WithDefault("100000")
+    int maxItems();
+
+    // Assignments validated and inserted per transaction. A failed chunk rolls back on its own and
+    // its items are reported as failed; earlier chunks stay committed.
+    @WithName("chunk-size")
+    @WithDefault("1000")
+    int chunkSize();
+
+}
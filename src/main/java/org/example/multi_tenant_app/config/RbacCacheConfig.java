@@ -0,0 +1,24 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "rbac.cache")
+public interface RbacCacheConfig {
+
+    @WithName("enabled")
+    @WithDefault("true")
+    boolean enabled();
+
+    @WithName("max-entries")
+    @WithDefault("50000")
+    long maxEntries();
+
+    @WithName("ttl")
+    @WithDefault("10m")
+    Duration ttl();
+
+}
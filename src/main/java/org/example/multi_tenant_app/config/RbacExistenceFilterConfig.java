@@ -0,0 +1,34 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "rbac.existence-filter")
+public interface RbacExistenceFilterConfig {
+
+    @WithName("enabled")
+    @WithDefault("true")
+    boolean enabled();
+
+    @WithName("false-positive-rate")
+    @WithDefault("0.01")
+    double falsePositiveRate();
+
+    // How long a tenant's Bloom filter is trusted after it was built; also bounds how long an ID
+    // inserted without a change event (e.g. a user account) is reported missing.
+    @WithName("max-age")
+    @WithDefault("5s")
+    Duration maxAge();
+
+    @WithName("negative-ttl")
+    @WithDefault("5s")
+    Duration negativeTtl();
+
+    @WithName("negative-max-entries")
+    @WithDefault("100000")
+    long negativeMaxEntries();
+
+}
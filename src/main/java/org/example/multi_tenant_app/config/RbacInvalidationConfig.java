@@ -0,0 +1,35 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "rbac.invalidation")
+public interface RbacInvalidationConfig {
+
+    // Only needed when several replicas share the database; requires kafka.bootstrap.servers.
+    @WithName("enabled")
+    @WithDefault("false")
+    boolean enabled();
+
+    @WithName("topic")
+    @WithDefault("rbac-invalidations")
+    String topic();
+
+    // How long committed changes are buffered before they are published as one batch.
+    @WithName("flush-interval")
+    @WithDefault("50ms")
+    Duration flushInterval();
+
+    @WithName("poll-timeout")
+    @WithDefault("500ms")
+    Duration pollTimeout();
+
+    // More distinct changes than this for one tenant in a batch collapse into a tenant-wide invalidation.
+    @WithName("tenant-collapse-threshold")
+    @WithDefault("64")
+    int tenantCollapseThreshold();
+
+}
@@ -0,0 +1,25 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+@ConfigMapping(prefix = "rbac.lists")
+public interface RbacListConfig {
+
+    // Page size of a REST list request that passes 'after' without 'limit'.
+    @WithName("default-page-size")
+    @WithDefault("100")
+    int defaultPageSize();
+
+    // Largest 'limit' a REST list request may ask for.
+    @WithName("max-page-size")
+    @WithDefault("1000")
+    int maxPageSize();
+
+    // Rows read per query by the streaming gRPC lists; bounds what a stream holds in memory.
+    @WithName("stream-page-size")
+    @WithDefault("500")
+    int streamPageSize();
+
+}
@@ -0,0 +1,35 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "rbac.outbox")
+public interface RbacOutboxConfig {
+
+    // Records RBAC writes in the outbox table and relays them to Kafka; requires kafka.bootstrap.servers.
+    @WithName("enabled")
+    @WithDefault("false")
+    boolean enabled();
+
+    @WithName("topic")
+    @WithDefault("rbac-changes")
+    String topic();
+
+    // Rows published, acknowledged and deleted per relay transaction.
+    @WithName("batch-size")
+    @WithDefault("500")
+    int batchSize();
+
+    // Pause between relay runs once the outbox has been drained.
+    @WithName("poll-interval")
+    @WithDefault("200ms")
+    Duration pollInterval();
+
+    @WithName("send-timeout")
+    @WithDefault("30s")
+    Duration sendTimeout();
+
+}
@@ -0,0 +1,19 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+@ConfigMapping(prefix = "rbac.read-path")
+public interface RbacReadPathConfig {
+
+    enum Mode {
+        BLOCKING, // JPA services on the tenant-fair executor
+        REACTIVE  // Reactive PostgreSQL client, straight from the event loop
+    }
+
+    @WithName("mode")
+    @WithDefault("blocking")
+    Mode mode();
+
+}
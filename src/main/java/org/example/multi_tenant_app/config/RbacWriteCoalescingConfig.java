@@ -0,0 +1,32 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "rbac.write-coalescing")
+public interface RbacWriteCoalescingConfig {
+
+    // Commits concurrent single assignments (REST/gRPC assign calls) together, see AssignmentWriteCoalescer.
+    @WithName("enabled")
+    @WithDefault("false")
+    boolean enabled();
+
+    // How long the first write of a batch waits for others; 0 only takes what is already queued.
+    @WithName("max-delay")
+    @WithDefault("2ms")
+    Duration maxDelay();
+
+    // Writes committed in one transaction at most.
+    @WithName("max-batch-size")
+    @WithDefault("128")
+    int maxBatchSize();
+
+    // Further writes are rejected (429 / RESOURCE_EXHAUSTED) while this many wait.
+    @WithName("max-queued")
+    @WithDefault("10000")
+    int maxQueued();
+
+}
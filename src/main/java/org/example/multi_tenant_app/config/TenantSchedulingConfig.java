@@ -0,0 +1,33 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.util.Map;
+
+@ConfigMapping(prefix = "scheduling.tenant-pool")
+public interface TenantSchedulingConfig {
+
+    // Threads shared by all tenants for blocking service calls routed through TenantFairExecutor.
+    // Above the datasource's max-size (20), since cache hits need no connection.
+    @WithName("threads")
+    @WithDefault("32")
+    int threads();
+
+    // No tenant runs more tasks than this at once, however idle the other tenants are. Half the
+    // pool: enough for a busy tenant on its own, while the rest stays free for the others.
+    @WithName("max-concurrency-per-tenant")
+    @WithDefault("16")
+    int maxConcurrencyPerTenant();
+
+    // Further submissions of the tenant are rejected (429 / RESOURCE_EXHAUSTED).
+    @WithName("max-queued-per-tenant")
+    @WithDefault("500")
+    int maxQueuedPerTenant();
+
+    // Share of the pool per tenant tier while tenants compete; tiers not listed weigh 1.
+    @WithName("tier-weights")
+    Map<String, Integer> tierWeights();
+
+}
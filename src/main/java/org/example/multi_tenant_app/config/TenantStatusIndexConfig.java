@@ -0,0 +1,39 @@
+package org.example.multi_tenant_app.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+import java.util.Set;
+
+@ConfigMapping(prefix = "tenants.status-index")
+public interface TenantStatusIndexConfig {
+
+    // Rejects requests for unknown or suspended tenants in TenantIdFilter / GrpcTenantIdInterceptor.
+    @WithName("enabled")
+    @WithDefault("true")
+    boolean enabled();
+
+    // Tenant statuses (case-insensitive) whose requests are rejected.
+    @WithName("rejected-statuses")
+    @WithDefault("SUSPENDED")
+    Set<String> rejectedStatuses();
+
+    // Delta poll on tenants.updated_at; picks up tenants written by other nodes or outside the app.
+    @WithName("poll-interval")
+    @WithDefault("5s")
+    Duration pollInterval();
+
+    // Each delta poll re-reads this far behind the newest updated_at seen, to tolerate clock skew
+    // between the nodes that set it and transactions that commit late.
+    @WithName("poll-overlap")
+    @WithDefault("30s")
+    Duration pollOverlap();
+
+    // Full reload, the only way deletions made outside the app are noticed.
+    @WithName("full-refresh-interval")
+    @WithDefault("5m")
+    Duration fullRefreshInterval();
+
+}
@@ -0,0 +1,57 @@
+package org.example.multi_tenant_app.data.entities;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Not tenant-filtered: the outbox relay drains the changes of all tenants.
+@Entity
+@Table(name = "rbac_outbox")
+public class RbacOutboxEvent extends PanacheEntityBase {
+
+    // Assigned at insert, so ids commit out of order; the relay reads whatever is committed and
+    // deletes only the id ranges it read.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    public Long id;
+
+    @Column(name = "tenant_id", nullable = false, updatable = false, columnDefinition = "UUID")
+    public UUID tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, updatable = false, length = 50)
+    public RbacChangeEvent.EntityType entityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, updatable = false, length = 20)
+    public RbacChangeEvent.Operation operation;
+
+    @Column(name = "role_id", updatable = false, columnDefinition = "UUID")
+    public UUID roleId;
+
+    @Column(name = "user_account_id", updatable = false, columnDefinition = "UUID")
+    public UUID userAccountId;
+
+    @Column(name = "permission_id", updatable = false, columnDefinition = "UUID")
+    public UUID permissionId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    public LocalDateTime createdAt;
+
+    public RbacOutboxEvent() {
+    }
+
+    public RbacOutboxEvent(RbacChangeEvent event) {
+        this.tenantId = event.getTenantId();
+        this.entityType = event.getEntityType();
+        this.operation = event.getOperation();
+        this.roleId = event.getRoleId();
+        this.userAccountId = event.getUserAccountId();
+        this.permissionId = event.getPermissionId();
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -39,6 +39,11 @@ public class Role extends PanacheEntityBase {
     @Column(name = "is_system_role", nullable = false)
     public boolean isSystemRole = false; // Indicates if the role is a system-defined role (not deletable by tenant admins)
 
+    // This role inherits every permission of its parent (and of the parent's ancestors).
+    // Change it through RoleHierarchyService so the closure table stays in sync.
+    @Column(name = "parent_role_id", columnDefinition = "UUID")
+    public UUID parentRoleId;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     public LocalDateTime createdAt;
 
@@ -0,0 +1,49 @@
+package org.example.multi_tenant_app.data.entities;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+
+import java.util.UUID;
+
+/**
+ * One path of the role hierarchy: {@code descendantRoleId} inherits the permissions of
+ * {@code ancestorRoleId}, {@code depth} parent links away (depth >= 1).
+ */
+@Entity
+@Table(name = "role_hierarchy_closure", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"ancestor_role_id", "descendant_role_id"})
+})
+@FilterDef(name = "tenantFilter", parameters = @ParamDef(name = "tenantId", type = UUID.class))
+@Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+public class RoleHierarchyClosure extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "UUID")
+    public UUID id;
+
+    @Column(name = "tenant_id", nullable = false, columnDefinition = "UUID")
+    public UUID tenantId;
+
+    @Column(name = "ancestor_role_id", nullable = false, columnDefinition = "UUID")
+    public UUID ancestorRoleId;
+
+    @Column(name = "descendant_role_id", nullable = false, columnDefinition = "UUID")
+    public UUID descendantRoleId;
+
+    @Column(name = "depth", nullable = false)
+    public int depth;
+
+    public RoleHierarchyClosure() {
+    }
+
+    public RoleHierarchyClosure(UUID tenantId, UUID ancestorRoleId, UUID descendantRoleId, int depth) {
+        this.tenantId = tenantId;
+        this.ancestorRoleId = ancestorRoleId;
+        this.descendantRoleId = descendantRoleId;
+        this.depth = depth;
+    }
+}
@@ -12,7 +12,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "role_permission_assignments", uniqueConstraints = {
     // A role can only have a specific permission assigned once (within the context of the role's tenant)
-    @UniqueConstraint(columnNames = {"tenant_id", "role_id", "permission_id"})
+    @UniqueConstraint(columnNames = {"tenant_id", "role_id", "permission_id"}),
+    @UniqueConstraint(columnNames = {"tenant_id", "role_id", "permission_pattern"})
 })
 @FilterDef(name = "tenantFilter", parameters = @ParamDef(name = "tenantId", type = UUID.class))
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
@@ -29,9 +30,13 @@ public class RolePermissionAssignment extends PanacheEntityBase {
     @Column(name = "role_id", nullable = false, columnDefinition = "UUID")
     public UUID roleId;
 
-    @Column(name = "permission_id", nullable = false, columnDefinition = "UUID")
+    // Exactly one of permissionId and permissionPattern is set.
+    @Column(name = "permission_id", columnDefinition = "UUID")
     public UUID permissionId;
 
+    @Column(name = "permission_pattern", length = 255)
+    public String permissionPattern; // Wildcard grant, e.g. "user:*"
+
     // Optional: Direct JPA relationships
     // @ManyToOne(fetch = FetchType.LAZY)
     // @JoinColumn(name = "role_id", referencedColumnName = "id", insertable = false, updatable = false)
@@ -57,4 +62,11 @@ public class RolePermissionAssignment extends PanacheEntityBase {
         this.permissionId = permissionId;
         this.assignedAt = LocalDateTime.now();
     }
+
+    public RolePermissionAssignment(UUID tenantId, UUID roleId, String permissionPattern) {
+        this.tenantId = tenantId;
+        this.roleId = roleId;
+        this.permissionPattern = permissionPattern;
+        this.assignedAt = LocalDateTime.now();
+    }
 }
@@ -2,6 +2,7 @@ package org.example.multi_tenant_app.data.entities;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
+import org.example.multi_tenant_app.services.cache.TenantStatusListener;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -10,8 +11,11 @@ import java.util.UUID;
 @Table(name = "tenants", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"name"})
 })
+@EntityListeners(TenantStatusListener.class) // Keeps the in-memory tenant status index current
 public class Tenant extends PanacheEntityBase {
 
+    public static final String DEFAULT_TIER = "standard";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "UUID")
@@ -23,6 +27,9 @@ public class Tenant extends PanacheEntityBase {
     @Column(name = "status", nullable = false, length = 50) // e.g., ACTIVE, INACTIVE, SUSPENDED
     public String status;
 
+    @Column(name = "tier", nullable = false, length = 50) // Selects the rate limits, see rate-limit.tiers
+    public String tier = DEFAULT_TIER;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     public LocalDateTime createdAt;
 
@@ -40,6 +47,11 @@ public class Tenant extends PanacheEntityBase {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public Tenant(String name, String status, String tier) {
+        this(name, status);
+        this.tier = tier;
+    }
+
     // Convenience methods, getters, setters can be added if needed,
     // Panache provides public field access by default.
 
@@ -0,0 +1,62 @@
+package org.example.multi_tenant_app.data.projections;
+
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.web.dtos.PageDTO;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cursors for keyset pagination. Lists are ordered by ID, and a page is the rows after the last ID
+ * of the previous one ({@code id > ?}), so each page is one index range scan whatever its depth,
+ * and rows inserted or deleted meanwhile never shift later pages. The cursor is that last ID,
+ * encoded so clients treat it as opaque.
+ */
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(UUID lastId) {
+        ByteBuffer bytes = ByteBuffer.allocate(16)
+                .putLong(lastId.getMostSignificantBits())
+                .putLong(lastId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    /**
+     * @return the ID to continue after, {@code null} for the first page
+     * @throws ServiceException (400) if {@code cursor} was not produced by {@link #encode}
+     */
+    public static UUID decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            bytes = null;
+        }
+        if (bytes == null || bytes.length != 16) {
+            throw ServiceException.badRequest("Invalid page cursor: " + cursor);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * @param rows up to {@code limit + 1} rows in key order; the extra row only tells that there
+     * is a next page
+     */
+    public static <T> PageDTO<T> page(List<T> rows, int limit, Function<T, UUID> key) {
+        if (rows.size() <= limit) {
+            return new PageDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new PageDTO<>(List.copyOf(items), encode(key.apply(items.get(limit - 1))));
+    }
+}
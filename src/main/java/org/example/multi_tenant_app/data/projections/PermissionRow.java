@@ -0,0 +1,29 @@
+package org.example.multi_tenant_app.data.projections;
+
+import org.example.multi_tenant_app.web.dtos.PermissionDTO;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Permission columns selected with {@code select new}; see {@link RoleRow}.
+ */
+public record PermissionRow(UUID id, String name, String description, LocalDateTime createdAt,
+                            LocalDateTime updatedAt) {
+
+    /**
+     * JPQL constructor expression selecting the permission alias {@code p}.
+     */
+    public static final String SELECT_P = "new org.example.multi_tenant_app.data.projections.PermissionRow("
+            + "p.id, p.name, p.description, p.createdAt, p.updatedAt)";
+
+    public PermissionDTO toDTO() {
+        PermissionDTO dto = new PermissionDTO();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
+        return dto;
+    }
+}
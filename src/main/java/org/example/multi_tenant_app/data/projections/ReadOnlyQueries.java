@@ -0,0 +1,24 @@
+package org.example.multi_tenant_app.data.projections;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * Queries for the RBAC read paths: nothing is flushed before they run and anything they load is
+ * read-only, so it is never dirty-checked. The read endpoints call them outside a transaction,
+ * so each runs as one autocommit statement; a JTA transaction around a single SELECT would only
+ * add begin and commit round trips.
+ */
+public final class ReadOnlyQueries {
+
+    private ReadOnlyQueries() {
+    }
+
+    public static <T> TypedQuery<T> create(String jpql, Class<T> resultClass) {
+        return Panache.getEntityManager().createQuery(jpql, resultClass)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+}
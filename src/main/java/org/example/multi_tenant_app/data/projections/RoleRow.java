@@ -0,0 +1,33 @@
+package org.example.multi_tenant_app.data.projections;
+
+import org.example.multi_tenant_app.web.dtos.RoleDTO;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Role columns selected with {@code select new}, so read paths get DTOs without hydrating managed
+ * entities. All components are null for the unmatched side of an outer join.
+ */
+public record RoleRow(UUID id, UUID tenantId, String name, String description, Boolean systemRole,
+                      UUID parentRoleId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    /**
+     * JPQL constructor expression selecting the role alias {@code r}.
+     */
+    public static final String SELECT_R = "new org.example.multi_tenant_app.data.projections.RoleRow("
+            + "r.id, r.tenantId, r.name, r.description, r.isSystemRole, r.parentRoleId, r.createdAt, r.updatedAt)";
+
+    public RoleDTO toDTO() {
+        RoleDTO dto = new RoleDTO();
+        dto.setId(id);
+        dto.setTenantId(tenantId);
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setSystemRole(Boolean.TRUE.equals(systemRole));
+        dto.setParentRoleId(parentRoleId);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
+        return dto;
+    }
+}
@@ -0,0 +1,289 @@
+package org.example.multi_tenant_app.data.repositories;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Idempotent assignment inserts in one statement. Nothing is looked up first: the tenant-scoped
+ * foreign keys (V6) reject a user, role or permission that does not exist in the tenant, and an
+ * existing assignment is returned unchanged. Violations become {@link ServiceException}s.
+ * <p>
+ * On PostgreSQL this is {@code INSERT ... ON CONFLICT DO NOTHING RETURNING} in a CTE that also
+ * selects the existing row, so concurrent identical requests cannot fail on the unique key. H2
+ * (tests) has neither, so it gets {@code INSERT ... WHERE NOT EXISTS} through a data change delta
+ * table and reads an existing row with a second statement.
+ * <p>
+ * {@link #insertUserRoles} and {@link #insertRolePermissions} are the bulk variants: the same
+ * skip-if-assigned inserts as one JDBC batch.
+ */
+@ApplicationScoped
+public class AssignmentUpsertRepository {
+
+    /**
+     * @param created {@code false} if the assignment already existed
+     */
+    public record AssignmentUpsert(UUID id, LocalDateTime assignedAt, boolean created) {
+    }
+
+    public record UserRole(UUID userAccountId, UUID roleId) {
+    }
+
+    private static final String SAVEPOINT = "assignment_write";
+
+    private volatile Boolean postgres;
+
+    /**
+     * @throws ServiceException {@code USER_NOT_FOUND} / {@code ROLE_NOT_FOUND} (404) if the user or
+     * role is not one of the tenant's
+     */
+    public AssignmentUpsert upsertUserRole(UUID tenantId, UUID userId, UUID roleId) {
+        return upsert("user_role_assignments", "user_account_id", "role_id", ErrorCode.ROLE_ASSIGNMENT_FAILED,
+                tenantId, userId, roleId);
+    }
+
+    /**
+     * @throws ServiceException {@code ROLE_NOT_FOUND} / {@code PERMISSION_NOT_FOUND} (404) if the
+     * role is not one of the tenant's or the permission does not exist
+     */
+    public AssignmentUpsert upsertRolePermission(UUID tenantId, UUID roleId, UUID permissionId) {
+        return upsert("role_permission_assignments", "role_id", "permission_id", ErrorCode.PERMISSION_ASSIGNMENT_FAILED,
+                tenantId, roleId, permissionId);
+    }
+
+    /**
+     * Inserts user-role assignments of one tenant as a single JDBC batch, skipping pairs that are
+     * already assigned. Meant for pairs already checked against the tenant's users and roles: a
+     * foreign-key violation fails the whole batch.
+     *
+     * @return for each pair, whether it was inserted
+     */
+    public boolean[] insertUserRoles(UUID tenantId, List<UserRole> pairs) {
+        List<UUID> userIds = new ArrayList<>(pairs.size());
+        List<UUID> roleIds = new ArrayList<>(pairs.size());
+        for (UserRole pair : pairs) {
+            userIds.add(pair.userAccountId());
+            roleIds.add(pair.roleId());
+        }
+        return insertBatch("user_role_assignments", "user_account_id", "role_id", tenantId, userIds, roleIds);
+    }
+
+    /**
+     * Batch counterpart of {@link #upsertRolePermission} for one role, with the same caveat as
+     * {@link #insertUserRoles}: the role and permissions must have been checked.
+     *
+     * @return for each permission, whether it was inserted
+     */
+    public boolean[] insertRolePermissions(UUID tenantId, UUID roleId, List<UUID> permissionIds) {
+        return insertBatch("role_permission_assignments", "role_id", "permission_id", tenantId,
+                Collections.nCopies(permissionIds.size(), roleId), permissionIds);
+    }
+
+    private boolean[] insertBatch(String table, String ownerColumn, String targetColumn,
+                                  UUID tenantId, List<UUID> ownerIds, List<UUID> targetIds) {
+        boolean postgres = isPostgres();
+        String insert = "INSERT INTO " + table + " (id, tenant_id, " + ownerColumn + ", " + targetColumn + ", assigned_at)";
+        String sql = postgres
+                ? insert + " VALUES (?, ?, ?, ?, ?) ON CONFLICT (tenant_id, " + ownerColumn + ", " + targetColumn + ") DO NOTHING"
+                : insert + " SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM " + table
+                        + " WHERE tenant_id = ? AND " + ownerColumn + " = ? AND " + targetColumn + " = ?)";
+        LocalDateTime now = LocalDateTime.now();
+        boolean[] inserted = new boolean[ownerIds.size()];
+        session().doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < ownerIds.size(); i++) {
+                    statement.setObject(1, UUID.randomUUID());
+                    statement.setObject(2, tenantId);
+                    statement.setObject(3, ownerIds.get(i));
+                    statement.setObject(4, targetIds.get(i));
+                    statement.setObject(5, now);
+                    if (!postgres) {
+                        statement.setObject(6, tenantId);
+                        statement.setObject(7, ownerIds.get(i));
+                        statement.setObject(8, targetIds.get(i));
+                    }
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    // SUCCESS_NO_INFO only if the driver rewrites batches; the caller filtered out
+                    // existing pairs, so counting it as inserted is wrong only after a race.
+                    inserted[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+                }
+            }
+        });
+        return inserted;
+    }
+
+    // (tenant_id, ownerColumn, targetColumn) is the assignment table's unique key. Executed through
+    // the session's JDBC coordinator rather than as a Hibernate query: a failed Hibernate query
+    // marks the whole transaction rollback-only, which would defeat inSavepoint.
+    private AssignmentUpsert upsert(String table, String ownerColumn, String targetColumn, ErrorCode failure,
+                                    UUID tenantId, UUID ownerId, UUID targetId) {
+        String key = "tenant_id = ? AND " + ownerColumn + " = ? AND " + targetColumn + " = ?";
+        // Both variants take (id, tenant, owner, target, assigned_at) and then the key again.
+        String sql = isPostgres()
+                ? "WITH inserted AS ("
+                        + "INSERT INTO " + table + " (id, tenant_id, " + ownerColumn + ", " + targetColumn + ", assigned_at)"
+                        + " VALUES (?, ?, ?, ?, ?)"
+                        + " ON CONFLICT (tenant_id, " + ownerColumn + ", " + targetColumn + ") DO NOTHING"
+                        + " RETURNING id, assigned_at)"
+                        + " SELECT id, assigned_at, TRUE AS created FROM inserted"
+                        + " UNION ALL SELECT id, assigned_at, FALSE AS created FROM " + table
+                        + " WHERE " + key + " AND NOT EXISTS (SELECT 1 FROM inserted)"
+                : "SELECT id, assigned_at, TRUE AS created FROM FINAL TABLE ("
+                        + "INSERT INTO " + table + " (id, tenant_id, " + ownerColumn + ", " + targetColumn + ", assigned_at)"
+                        + " SELECT ?, ?, ?, ?, ?"
+                        + " WHERE NOT EXISTS (SELECT 1 FROM " + table + " WHERE " + key + "))";
+        try {
+            for (int attempt = 1; ; attempt++) {
+                AssignmentUpsert upsert = queryUpsert(sql,
+                        UUID.randomUUID(), tenantId, ownerId, targetId, LocalDateTime.now(), tenantId, ownerId, targetId);
+                if (upsert == null) {
+                    // H2 with an existing row, or on PostgreSQL a conflicting row committed after this
+                    // statement's snapshot was taken.
+                    upsert = queryUpsert("SELECT id, assigned_at, FALSE AS created FROM " + table + " WHERE " + key,
+                            tenantId, ownerId, targetId);
+                }
+                if (upsert != null) {
+                    return upsert;
+                }
+                // The conflicting row was deleted before it could be read; the insert should now
+                // succeed. Retried once, so a pair assigned and removed in a loop cannot keep us here.
+                if (attempt == 2) {
+                    throw new ServiceException(failure, Response.Status.CONFLICT,
+                            "The assignment was changed concurrently; retry.");
+                }
+            }
+        } catch (ConstraintViolationException e) {
+            throw toServiceException(e, failure);
+        }
+    }
+
+    // SQL errors arrive converted by Hibernate (e.g. as ConstraintViolationException), but unlike
+    // a query's they leave the transaction alone.
+    private static AssignmentUpsert queryUpsert(String sql, Object... parameters) {
+        SharedSessionContractImplementor session = session().unwrap(SharedSessionContractImplementor.class);
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbc.getStatementPreparer().prepareStatement(sql);
+        try {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            ResultSet rows = jdbc.getResultSetReturn().extract(statement, sql);
+            return rows.next()
+                    ? new AssignmentUpsert(rows.getObject(1, UUID.class), rows.getObject(2, LocalDateTime.class), rows.getBoolean(3))
+                    : null;
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "Assignment upsert failed", sql);
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbc.afterStatementExecution();
+        }
+    }
+
+    /**
+     * Runs {@code work} under a savepoint of the current transaction. If it throws, only its own
+     * statements are rolled back and the transaction stays usable for further work, which is how
+     * several independent writes share one commit. {@code work} must write through this
+     * repository's upserts: a failing Hibernate query would still mark the transaction
+     * rollback-only.
+     */
+    public <T> T inSavepoint(Supplier<T> work) {
+        Session session = session();
+        // As SQL: the pool refuses Connection.rollback(Savepoint) on a connection enlisted in JTA.
+        execute(session, "SAVEPOINT " + SAVEPOINT);
+        T result;
+        try {
+            result = work.get();
+        } catch (RuntimeException e) {
+            execute(session, "ROLLBACK TO SAVEPOINT " + SAVEPOINT);
+            throw e;
+        }
+        execute(session, "RELEASE SAVEPOINT " + SAVEPOINT);
+        return result;
+    }
+
+    private static void execute(Session session, String sql) {
+        session.doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        });
+    }
+
+    private static Session session() {
+        return Panache.getEntityManager().unwrap(Session.class);
+    }
+
+    private boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            current = Panache.getEntityManager().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+            postgres = current;
+        }
+        return current;
+    }
+
+    static ServiceException toServiceException(ConstraintViolationException e, ErrorCode failure) {
+        if (e.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+            // Only on H2: a concurrent request inserted the same assignment first.
+            return new ServiceException(failure, Response.Status.CONFLICT,
+                    "The assignment was created concurrently; retry.", e);
+        }
+        if (e.getKind() != ConstraintViolationException.ConstraintKind.FOREIGN_KEY) {
+            return new ServiceException(failure, Response.Status.INTERNAL_SERVER_ERROR, failure.getDefaultMessage(), e);
+        }
+        // The V6 keys and PostgreSQL's generated names (<table>_<column>_fkey) contain the
+        // referencing column; H2 names V1's keys CONSTRAINT_xx, but its message shows the columns.
+        String violated = (e.getConstraintName() + " " + foreignKeyColumns(e.getSQLException().getMessage()))
+                .toLowerCase(Locale.ROOT);
+        if (violated.contains("user_account_id")) {
+            return new ServiceException(ErrorCode.USER_NOT_FOUND, Response.Status.NOT_FOUND,
+                    "UserAccount not found in this tenant.", e);
+        }
+        if (violated.contains("permission_id")) {
+            return new ServiceException(ErrorCode.PERMISSION_NOT_FOUND, Response.Status.NOT_FOUND,
+                    "Permission not found.", e);
+        }
+        if (violated.contains("role_id")) {
+            return new ServiceException(ErrorCode.ROLE_NOT_FOUND, Response.Status.NOT_FOUND,
+                    "Role not found in this tenant.", e);
+        }
+        if (violated.contains("tenant_id")) {
+            return new ServiceException(ErrorCode.TENANT_NOT_FOUND, Response.Status.NOT_FOUND,
+                    ErrorCode.TENANT_NOT_FOUND.getDefaultMessage(), e);
+        }
+        return new ServiceException(failure, Response.Status.NOT_FOUND, failure.getDefaultMessage(), e);
+    }
+
+    private static String foreignKeyColumns(String message) {
+        if (message == null) {
+            return "";
+        }
+        int start = message.indexOf("FOREIGN KEY(");
+        int end = start < 0 ? -1 : message.indexOf(')', start);
+        return end < 0 ? "" : message.substring(start, end);
+    }
+}
@@ -8,6 +8,7 @@ public enum ErrorCode {
     UNAUTHENTICATED("ERR_UNAUTHENTICATED", "Authentication is required to access this resource."),
     UNAUTHORIZED("ERR_UNAUTHORIZED", "You are not authorized to perform this action."),
     BAD_REQUEST("ERR_BAD_REQUEST", "The request was malformed or invalid."),
+    RATE_LIMITED("ERR_RATE_LIMITED", "Too many requests; retry later."),
 
     // Tenant Specific Errors
     TENANT_CREATION_FAILED("TEN_001", "Failed to create tenant."),
@@ -29,6 +30,8 @@ public enum ErrorCode {
     PERMISSION_DENIED("ACL_003", "Permission denied for this operation."),
     ROLE_ASSIGNMENT_FAILED("ACL_004", "Failed to assign role to user."),
     PERMISSION_ASSIGNMENT_FAILED("ACL_005", "Failed to assign permission to role."),
+    ROLE_HIERARCHY_CYCLE("ACL_006", "The role hierarchy change would create a cycle."),
+    PERMISSION_NOT_FOUND("ACL_007", "Permission not found."),
 
     // MCP Specific Errors
     MCP_TENANT_ID_MISSING("MCP_001", "The Tenant-ID header is required for MCP requests."),
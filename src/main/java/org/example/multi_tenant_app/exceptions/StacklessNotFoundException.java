@@ -0,0 +1,19 @@
+package org.example.multi_tenant_app.exceptions;
+
+import jakarta.ws.rs.NotFoundException;
+
+/**
+ * {@link NotFoundException} without a stack trace, for lookups of unknown IDs on hot read paths
+ * where a miss is an expected outcome (e.g. clients probing random UUIDs) rather than a bug.
+ */
+public class StacklessNotFoundException extends NotFoundException {
+
+    public StacklessNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
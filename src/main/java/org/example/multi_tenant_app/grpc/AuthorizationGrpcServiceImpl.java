@@ -0,0 +1,185 @@
+package org.example.multi_tenant_app.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.config.AuthorizationConfig;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.grpc.authz.AuthorizationGrpcService;
+import org.example.multi_tenant_app.grpc.authz.BatchCheckRequest;
+import org.example.multi_tenant_app.grpc.authz.BatchCheckResponse;
+import org.example.multi_tenant_app.grpc.authz.CheckPermissionRequest;
+import org.example.multi_tenant_app.grpc.authz.CheckPermissionResponse;
+import org.example.multi_tenant_app.grpc.authz.StreamCheckRequest;
+import org.example.multi_tenant_app.grpc.authz.StreamCheckResponse;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
+import org.example.multi_tenant_app.services.AuthorizationService;
+import org.example.multi_tenant_app.services.authz.TenantAuthorizationSnapshot;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Checks are evaluated for the tenant of the call's {@code x-tenant-id} metadata, which
+ * {@code GrpcTenantIdInterceptor} has validated, admitted and rate limited. A check's
+ * {@code tenant_id} may be left empty; if set, it must name that same tenant.
+ */
+@GrpcService
+public class AuthorizationGrpcServiceImpl implements AuthorizationGrpcService {
+
+    private static final CheckPermissionResponse ALLOWED = CheckPermissionResponse.newBuilder().setAllowed(true).build();
+    private static final CheckPermissionResponse DENIED = CheckPermissionResponse.newBuilder().setAllowed(false).build();
+
+    @Inject
+    AuthorizationService authorizationService;
+
+    @Inject
+    AuthorizationConfig authorizationConfig;
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Inject
+    GrpcCalls grpcCalls;
+
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    @Override
+    public Uni<CheckPermissionResponse> checkPermission(CheckPermissionRequest request) {
+        Optional<UUID> callTenantId = tenantContext.getCurrentTenantId();
+        if (callTenantId.isEmpty()) {
+            return Uni.createFrom().failure(tenantMetadataMissing());
+        }
+        UUID tenantId = callTenantId.get();
+        UUID userId;
+        try {
+            userId = UUID.fromString(request.getUserAccountId());
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(new StatusRuntimeException(
+                    Status.INVALID_ARGUMENT.withDescription("Invalid user account ID format.")));
+        }
+        if (!isCallTenant(request.getTenantId(), tenantId)) {
+            return Uni.createFrom().failure(tenantMismatch(""));
+        }
+        if (request.getPermissionName().isBlank()) {
+            return Uni.createFrom().failure(new StatusRuntimeException(
+                    Status.INVALID_ARGUMENT.withDescription("Permission name cannot be empty.")));
+        }
+
+        // Warm snapshot: answer inline on the event loop. Cold: compile on the tenant-fair executor.
+        TenantAuthorizationSnapshot snapshot = authorizationService.getCompiledSnapshot(tenantId);
+        if (snapshot != null) {
+            return Uni.createFrom().item(snapshot.isPermitted(userId, request.getPermissionName()) ? ALLOWED : DENIED);
+        }
+        return grpcCalls.offload(
+                () -> authorizationService.checkPermission(tenantId, userId, request.getPermissionName()) ? ALLOWED : DENIED);
+    }
+
+    @Override
+    public Uni<BatchCheckResponse> batchCheck(BatchCheckRequest request) {
+        int count = request.getChecksCount();
+        if (count > authorizationConfig.batchCheckMaxItems()) {
+            return Uni.createFrom().failure(new StatusRuntimeException(Status.INVALID_ARGUMENT.withDescription(
+                    "Batch contains " + count + " checks, the maximum is " + authorizationConfig.batchCheckMaxItems() + ".")));
+        }
+
+        Optional<UUID> callTenantId = tenantContext.getCurrentTenantId();
+        if (callTenantId.isEmpty()) {
+            return Uni.createFrom().failure(tenantMetadataMissing());
+        }
+        UUID tenantId = callTenantId.get();
+        UUID[] userIds = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            CheckPermissionRequest check = request.getChecks(i);
+            try {
+                userIds[i] = UUID.fromString(check.getUserAccountId());
+            } catch (IllegalArgumentException e) {
+                return Uni.createFrom().failure(new StatusRuntimeException(Status.INVALID_ARGUMENT.withDescription(
+                        "Invalid user account ID format in check #" + i + ".")));
+            }
+            if (!isCallTenant(check.getTenantId(), tenantId)) {
+                return Uni.createFrom().failure(tenantMismatch(" in check #" + i));
+            }
+        }
+
+        if (authorizationService.getCompiledSnapshot(tenantId) != null) {
+            return Uni.createFrom().item(evaluateBatch(request, tenantId, userIds));
+        }
+        return grpcCalls.offload(() -> evaluateBatch(request, tenantId, userIds));
+    }
+
+    @Override
+    public Multi<StreamCheckResponse> checkStream(Multi<StreamCheckRequest> requests) {
+        // Read once, while the call's request context is active.
+        Optional<UUID> callTenantId = tenantContext.getCurrentTenantId();
+        if (callTenantId.isEmpty()) {
+            return Multi.createFrom().failure(tenantMetadataMissing());
+        }
+        UUID tenantId = callTenantId.get();
+        // merge() emits each response as soon as its check completes, so a cold tenant being
+        // compiled on the tenant-fair executor does not hold back warm checks queued behind it.
+        return requests
+                .onItem().transformToUni(request -> evaluateStreamed(tenantId, request))
+                .merge(authorizationConfig.streamMaxInFlight());
+    }
+
+    private Uni<StreamCheckResponse> evaluateStreamed(UUID tenantId, StreamCheckRequest request) {
+        long correlationId = request.getCorrelationId();
+        CheckPermissionRequest check = request.getCheck();
+        UUID userId;
+        try {
+            userId = UUID.fromString(check.getUserAccountId());
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(streamError(correlationId, "Invalid user account ID format."));
+        }
+        if (!isCallTenant(check.getTenantId(), tenantId)) {
+            return Uni.createFrom().item(streamError(correlationId, tenantMismatch("").getStatus().getDescription()));
+        }
+
+        TenantAuthorizationSnapshot snapshot = authorizationService.getCompiledSnapshot(tenantId);
+        if (snapshot != null) {
+            return Uni.createFrom().item(streamResult(correlationId, snapshot.isPermitted(userId, check.getPermissionName())));
+        }
+        // Items arrive outside the call's request context, so queue under the captured tenant.
+        return tenantFairExecutor.submit(tenantId,
+                        () -> streamResult(correlationId, authorizationService.checkPermission(tenantId, userId, check.getPermissionName())))
+                .onFailure().recoverWithItem(err -> streamError(correlationId, "Failed to evaluate check: " + err.getMessage()));
+    }
+
+    // An empty tenant_id stands for the call's tenant; a malformed one never matches it.
+    private static boolean isCallTenant(String requestTenantId, UUID callTenantId) {
+        return requestTenantId.isEmpty() || requestTenantId.equalsIgnoreCase(callTenantId.toString());
+    }
+
+    private static StatusRuntimeException tenantMetadataMissing() {
+        return new StatusRuntimeException(Status.PERMISSION_DENIED.withDescription(
+                ErrorCode.TENANT_RESOLUTION_FAILED.getCode() + ": The x-tenant-id metadata is required."));
+    }
+
+    private static StatusRuntimeException tenantMismatch(String where) {
+        return new StatusRuntimeException(Status.PERMISSION_DENIED.withDescription(
+                ErrorCode.TENANT_ID_MISMATCH.getCode() + ": The tenant_id" + where + " does not match the x-tenant-id metadata."));
+    }
+
+    private static StreamCheckResponse streamResult(long correlationId, boolean allowed) {
+        return StreamCheckResponse.newBuilder().setCorrelationId(correlationId).setAllowed(allowed).build();
+    }
+
+    private static StreamCheckResponse streamError(long correlationId, String error) {
+        return StreamCheckResponse.newBuilder().setCorrelationId(correlationId).setError(error).build();
+    }
+
+    private BatchCheckResponse evaluateBatch(BatchCheckRequest request, UUID tenantId, UUID[] userIds) {
+        BatchCheckResponse.Builder response = BatchCheckResponse.newBuilder();
+        TenantAuthorizationSnapshot snapshot = authorizationService.getSnapshot(tenantId);
+        for (int i = 0; i < userIds.length; i++) {
+            response.addAllowed(snapshot.isPermitted(userIds[i], request.getChecks(i).getPermissionName()));
+        }
+        return response.build();
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.multi_tenant_app.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
+
+import java.util.function.Supplier;
+
+/**
+ * Shared plumbing for the gRPC services: where their work runs and how service errors become
+ * gRPC statuses.
+ * <p>
+ * The services are called on the event loop, and the application services behind them are
+ * JPA-backed, so blocking work goes through {@link #offload} to the tenant-fair executor,
+ * queued under the caller's tenant. Reads already come back as a {@link Uni} or {@link Multi}
+ * from {@code RbacReadPath}, which answers cache hits inline and otherwise offloads or queries
+ * reactively, so they only need their failures translated.
+ */
+@ApplicationScoped
+public class GrpcCalls {
+
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    @Inject
+    TenantContext tenantContext;
+
+    public static StatusRuntimeException toStatusException(ServiceException e) {
+        Status status = switch (e.getHttpStatus()) {
+            case BAD_REQUEST -> Status.INVALID_ARGUMENT;
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case CONFLICT -> Status.FAILED_PRECONDITION;
+            case TOO_MANY_REQUESTS -> Status.RESOURCE_EXHAUSTED;
+            case SERVICE_UNAVAILABLE -> Status.UNAVAILABLE;
+            default -> Status.INTERNAL;
+        };
+        return new StatusRuntimeException(status.withDescription(e.getErrorCode().getCode() + ": " + e.getMessage()));
+    }
+
+    public static StatusRuntimeException notFound(NotFoundException e) {
+        return new StatusRuntimeException(Status.NOT_FOUND.withDescription(e.getMessage()));
+    }
+
+    /**
+     * Runs blocking work on the tenant-fair executor and translates its service errors.
+     */
+    public <T> Uni<T> offload(Supplier<T> work) {
+        return translate(tenantFairExecutor.submit(tenantContext.getCurrentTenantId().orElse(null), work));
+    }
+
+    public <T> Uni<T> translate(Uni<T> call) {
+        return call.onFailure(ServiceException.class).transform(e -> toStatusException((ServiceException) e))
+                .onFailure(NotFoundException.class).transform(e -> notFound((NotFoundException) e));
+    }
+
+    public <T> Multi<T> translate(Multi<T> call) {
+        return call.onFailure(ServiceException.class).transform(e -> toStatusException((ServiceException) e))
+                .onFailure(NotFoundException.class).transform(e -> notFound((NotFoundException) e));
+    }
+}
@@ -2,11 +2,17 @@ package org.example.multi_tenant_app.grpc;
 
 import com.google.protobuf.Empty;
 import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.quarkus.grpc.GrpcService;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import org.example.multi_tenant_app.grpc.role.*;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.RbacReadPath;
 import org.example.multi_tenant_app.services.RoleService;
+import org.example.multi_tenant_app.services.cache.TenantRbacVersions;
 import org.example.multi_tenant_app.web.dtos.RoleDTO;
 
 import java.time.ZoneOffset;
@@ -20,6 +26,18 @@ public class RoleGrpcServiceImpl implements RoleGrpcService {
     @Inject
     RoleService roleService; // The existing service for business logic
 
+    @Inject
+    TenantContext tenantContext;
+
+    @Inject
+    GrpcCalls grpcCalls;
+
+    @Inject
+    RbacReadPath rbacReadPath;
+
+    @Inject
+    TenantRbacVersions tenantRbacVersions;
+
     // --- Conversion Utilities ---
     private RoleMessage convertRoleDTOToMessage(RoleDTO dto) {
         if (dto == null) {
@@ -33,6 +51,9 @@ public class RoleGrpcServiceImpl implements RoleGrpcService {
         if (dto.getDescription() != null) {
             builder.setDescription(dto.getDescription());
         }
+        if (dto.getParentRoleId() != null) {
+            builder.setParentRoleId(dto.getParentRoleId().toString());
+        }
         if (dto.getCreatedAt() != null) {
             builder.setCreatedAt(Timestamp.newBuilder()
                     .setSeconds(dto.getCreatedAt().toEpochSecond(ZoneOffset.UTC))
@@ -53,6 +74,9 @@ public class RoleGrpcServiceImpl implements RoleGrpcService {
         if (request.getDescription() != null && !request.getDescription().isEmpty()) {
             dto.setDescription(request.getDescription());
         }
+        if (!request.getParentRoleId().isEmpty()) {
+            dto.setParentRoleId(UUID.fromString(request.getParentRoleId()));
+        }
         // isSystemRole is false by default in DTO, which is correct for client-created roles
         return dto;
     }
@@ -66,58 +90,85 @@ public class RoleGrpcServiceImpl implements RoleGrpcService {
         if (request.getDescription() != null && !request.getDescription().isEmpty()) {
             dto.setDescription(request.getDescription());
         }
+        if (request.hasParentRoleId()) {
+            if (request.getParentRoleId().isEmpty()) {
+                dto.setClearParent(true);
+            } else {
+                dto.setParentRoleId(UUID.fromString(request.getParentRoleId()));
+            }
+        }
         return dto;
     }
 
 
+    private static StatusRuntimeException roleNotFound() {
+        return new StatusRuntimeException(Status.NOT_FOUND.withDescription("Role not found."));
+    }
+
     @Override
     public Uni<RoleResponse> createRole(CreateRoleRequest request) {
         RoleDTO dtoToCreate = convertCreateRequestToDTO(request);
-        RoleDTO createdRole = roleService.createRole(dtoToCreate);
-        return Uni.createFrom().item(RoleResponse.newBuilder().setRole(convertRoleDTOToMessage(createdRole)).build());
+        return grpcCalls.offload(() -> RoleResponse.newBuilder()
+                .setRole(convertRoleDTOToMessage(roleService.createRole(dtoToCreate)))
+                .build());
     }
 
     @Override
     public Uni<RoleResponse> getRole(GetRoleRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
         UUID roleId = UUID.fromString(request.getRoleId());
-        return Uni.createFrom().optional(roleService.getRoleById(roleId))
-                .map(roleDTO -> RoleResponse.newBuilder().setRole(convertRoleDTOToMessage(roleDTO)).build())
-                .onFailure().transform(err -> new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription(err.getMessage())));
+        // The version is read before the role, so that a concurrent change leaves it behind the data, not ahead.
+        String version = Long.toString(tenantRbacVersions.current(tenantContext.getRequiredTenantId()));
+        if (version.equals(request.getIfNoneMatch())) {
+            tenantRbacVersions.countNotModified();
+            return Uni.createFrom().item(RoleResponse.newBuilder().setRbacVersion(version).setNotModified(true).build());
+        }
+        return grpcCalls.translate(rbacReadPath.getRoleById(roleId).map(found -> found
+                .map(roleDTO -> RoleResponse.newBuilder()
+                        .setRole(convertRoleDTOToMessage(roleDTO))
+                        .setRbacVersion(version)
+                        .build())
+                .orElseThrow(RoleGrpcServiceImpl::roleNotFound)));
     }
 
     @Override
     public Uni<RoleListResponse> getRolesForTenant(GetRolesForTenantRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
-        List<RoleDTO> dtoList = roleService.getRolesByTenant();
-        List<RoleMessage> messages = dtoList.stream()
-                .map(this::convertRoleDTOToMessage)
-                .collect(Collectors.toList());
-        return Uni.createFrom().item(RoleListResponse.newBuilder().addAllRoles(messages).build());
+        String version = Long.toString(tenantRbacVersions.current(tenantContext.getRequiredTenantId()));
+        if (version.equals(request.getIfNoneMatch())) {
+            tenantRbacVersions.countNotModified();
+            return Uni.createFrom().item(RoleListResponse.newBuilder().setRbacVersion(version).setNotModified(true).build());
+        }
+        return grpcCalls.translate(rbacReadPath.getRolesByTenant().map(found -> {
+            List<RoleMessage> messages = found.stream()
+                    .map(this::convertRoleDTOToMessage)
+                    .collect(Collectors.toList());
+            return RoleListResponse.newBuilder().addAllRoles(messages).setRbacVersion(version).build();
+        }));
+    }
+
+    @Override
+    public Multi<RoleMessage> streamRolesForTenant(GetRolesForTenantRequest request) {
+        return grpcCalls.translate(rbacReadPath.streamRolesByTenant().map(this::convertRoleDTOToMessage));
     }
 
     @Override
     public Uni<RoleResponse> updateRole(UpdateRoleRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
         UUID roleId = UUID.fromString(request.getRoleId());
         RoleDTO dtoToUpdate = convertUpdateRequestToDTO(request);
-
-        return Uni.createFrom().optional(roleService.updateRole(roleId, dtoToUpdate))
+        return grpcCalls.offload(() -> roleService.updateRole(roleId, dtoToUpdate)
                 .map(updatedRoleDTO -> RoleResponse.newBuilder().setRole(convertRoleDTOToMessage(updatedRoleDTO)).build())
-                .onFailure().transform(err -> new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription(err.getMessage())));
+                .orElseThrow(RoleGrpcServiceImpl::roleNotFound));
     }
 
     @Override
     public Uni<Empty> deleteRole(DeleteRoleRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
         UUID roleId = UUID.fromString(request.getRoleId());
-        boolean deleted = roleService.deleteRole(roleId);
-        if (deleted) {
-            return Uni.createFrom().item(Empty.newBuilder().build());
-        } else {
+        return grpcCalls.offload(() -> {
+            if (roleService.deleteRole(roleId)) {
+                return Empty.newBuilder().build();
+            }
             // This could be NOT_FOUND or PERMISSION_DENIED if trying to delete a system role
             // RoleService currently returns false for system role deletion attempt without throwing specific error
-            return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription("Role not found or could not be deleted.")));
-        }
+            throw new StatusRuntimeException(Status.NOT_FOUND.withDescription("Role not found or could not be deleted."));
+        });
     }
-}
\ No newline at end of file
+}
@@ -2,17 +2,26 @@ package org.example.multi_tenant_app.grpc;
 
 import com.google.protobuf.Empty;
 import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.quarkus.grpc.GrpcService;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
 
+import org.example.multi_tenant_app.exceptions.ServiceException;
 import org.example.multi_tenant_app.grpc.role_permission.*;
+import org.example.multi_tenant_app.services.AssignmentWriteCoalescer;
+import org.example.multi_tenant_app.services.RbacReadPath;
 import org.example.multi_tenant_app.services.RolePermissionAssignmentService;
+import org.example.multi_tenant_app.web.dtos.AssignmentDiffDTO;
 import org.example.multi_tenant_app.web.dtos.PermissionDTO;
 import org.example.multi_tenant_app.web.dtos.RolePermissionAssignmentDTO;
 
 
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -23,6 +32,15 @@ public class RolePermissionAssignmentGrpcServiceImpl implements RolePermissionAs
     @Inject
     RolePermissionAssignmentService service;
 
+    @Inject
+    GrpcCalls grpcCalls;
+
+    @Inject
+    RbacReadPath rbacReadPath;
+
+    @Inject
+    AssignmentWriteCoalescer assignmentWriteCoalescer;
+
     // --- Conversion Utilities ---
     private RolePermissionAssignmentMessage convertAssignmentDTOToMessage(RolePermissionAssignmentDTO dto) {
         if (dto == null) {
@@ -62,65 +80,116 @@ public class RolePermissionAssignmentGrpcServiceImpl implements RolePermissionAs
         return builder.build();
     }
 
+    private static StatusRuntimeException invalidRoleId() {
+        return new StatusRuntimeException(Status.INVALID_ARGUMENT.withDescription("Invalid role ID format."));
+    }
+
+    private Multi<PermissionInfoMessage> stream(Multi<PermissionDTO> permissions) {
+        return grpcCalls.translate(permissions.map(this::convertPermissionDTOToInfoMessage));
+    }
+
+    private PermissionListResponse toListResponse(List<PermissionDTO> dtoList) {
+        List<PermissionInfoMessage> messages = dtoList.stream()
+                .map(this::convertPermissionDTOToInfoMessage)
+                .collect(Collectors.toList());
+        return PermissionListResponse.newBuilder().addAllPermissions(messages).build();
+    }
+
     @Override
     public Uni<RolePermissionAssignmentResponse> assignPermissionToRole(AssignPermissionToRoleRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
         UUID roleId = UUID.fromString(request.getRoleId());
         UUID permissionId = UUID.fromString(request.getPermissionId());
+        if (assignmentWriteCoalescer.isEnabled()) {
+            // Queued without blocking the event loop and committed together with concurrent writes.
+            return grpcCalls.translate(assignmentWriteCoalescer.assignPermissionToRole(roleId, permissionId)
+                    .map(dto -> RolePermissionAssignmentResponse.newBuilder()
+                            .setAssignment(convertAssignmentDTOToMessage(dto))
+                            .build()));
+        }
+        return grpcCalls.offload(() -> {
+            try {
+                RolePermissionAssignmentDTO dto = service.assignPermissionToRole(roleId, permissionId);
+                return RolePermissionAssignmentResponse.newBuilder()
+                        .setAssignment(convertAssignmentDTOToMessage(dto))
+                        .build();
+            } catch (ServiceException e) {
+                throw GrpcCalls.toStatusException(e);
+            } catch (Exception e) {
+                throw new StatusRuntimeException(Status.INTERNAL.withDescription("Failed to assign permission: " + e.getMessage()));
+            }
+        });
+    }
+
+    @Override
+    public Uni<SetPermissionsForRoleResponse> setPermissionsForRole(SetPermissionsForRoleRequest request) {
+        UUID roleId;
+        List<UUID> permissionIds = new ArrayList<>(request.getPermissionIdsCount());
         try {
-            RolePermissionAssignmentDTO dto = service.assignPermissionToRole(roleId, permissionId);
-            return Uni.createFrom().item(RolePermissionAssignmentResponse.newBuilder()
-                    .setAssignment(convertAssignmentDTOToMessage(dto))
-                    .build());
-        } catch (jakarta.ws.rs.NotFoundException e) {
-            return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription(e.getMessage())));
-        } catch (Exception e) {
-            return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.INTERNAL.withDescription("Failed to assign permission: " + e.getMessage())));
+            roleId = UUID.fromString(request.getRoleId());
+            for (String permissionId : request.getPermissionIdsList()) {
+                permissionIds.add(UUID.fromString(permissionId));
+            }
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(new StatusRuntimeException(Status.INVALID_ARGUMENT.withDescription(
+                    "Invalid role or permission ID format.")));
         }
+        return grpcCalls.offload(() -> {
+            AssignmentDiffDTO diff = service.setPermissionsForRole(roleId, permissionIds);
+            return SetPermissionsForRoleResponse.newBuilder()
+                    .addAllAddedPermissionIds(diff.getAdded().stream().map(UUID::toString).toList())
+                    .addAllRemovedPermissionIds(diff.getRemoved().stream().map(UUID::toString).toList())
+                    .setUnchanged(diff.getUnchanged())
+                    .build();
+        });
     }
 
     @Override
     public Uni<Empty> removePermissionFromRole(RemovePermissionFromRoleRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
         UUID roleId = UUID.fromString(request.getRoleId());
         UUID permissionId = UUID.fromString(request.getPermissionId());
-        try {
-            boolean removed = service.removePermissionFromRole(roleId, permissionId);
-            if (removed) {
-                return Uni.createFrom().item(Empty.newBuilder().build());
-            } else {
-                return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription("Assignment not found or role/permission mismatch.")));
+        return grpcCalls.offload(() -> {
+            try {
+                if (service.removePermissionFromRole(roleId, permissionId)) {
+                    return Empty.newBuilder().build();
+                }
+                throw new StatusRuntimeException(Status.NOT_FOUND.withDescription("Assignment not found or role/permission mismatch."));
+            } catch (NotFoundException e) {
+                throw GrpcCalls.notFound(e);
             }
-        } catch (jakarta.ws.rs.NotFoundException e) {
-            return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription(e.getMessage())));
-        }
+        });
     }
 
     @Override
     public Uni<PermissionListResponse> getPermissionsForRole(GetPermissionsForRoleRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
-        UUID roleId = UUID.fromString(request.getRoleId());
+        UUID roleId;
         try {
-            List<PermissionDTO> dtoList = service.getPermissionsForRole(roleId);
-            List<PermissionInfoMessage> messages = dtoList.stream()
-                    .map(this::convertPermissionDTOToInfoMessage)
-                    .collect(Collectors.toList());
-            return Uni.createFrom().item(PermissionListResponse.newBuilder().addAllPermissions(messages).build());
-        } catch (jakarta.ws.rs.NotFoundException e) {
-            return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription(e.getMessage())));
+            roleId = UUID.fromString(request.getRoleId());
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(invalidRoleId());
         }
+        return grpcCalls.translate(rbacReadPath.getPermissionsForRole(roleId).map(this::toListResponse));
     }
 
     @Override
     public Uni<PermissionListResponse> getAllGlobalPermissions(Empty request) {
+        return grpcCalls.translate(rbacReadPath.getAllGlobalPermissions().map(this::toListResponse))
+                .onFailure(e -> !(e instanceof StatusRuntimeException)).transform(e -> new StatusRuntimeException(
+                        Status.INTERNAL.withDescription("Failed to retrieve global permissions: " + e.getMessage())));
+    }
+
+    @Override
+    public Multi<PermissionInfoMessage> streamPermissionsForRole(GetPermissionsForRoleRequest request) {
+        UUID roleId;
         try {
-            List<PermissionDTO> dtoList = service.getAllGlobalPermissions();
-            List<PermissionInfoMessage> messages = dtoList.stream()
-                    .map(this::convertPermissionDTOToInfoMessage)
-                    .collect(Collectors.toList());
-            return Uni.createFrom().item(PermissionListResponse.newBuilder().addAllPermissions(messages).build());
-        } catch (Exception e) {
-            return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.INTERNAL.withDescription("Failed to retrieve global permissions: " + e.getMessage())));
+            roleId = UUID.fromString(request.getRoleId());
+        } catch (IllegalArgumentException e) {
+            return Multi.createFrom().failure(invalidRoleId());
         }
+        return stream(rbacReadPath.streamPermissionsForRole(roleId));
+    }
+
+    @Override
+    public Multi<PermissionInfoMessage> streamAllGlobalPermissions(Empty request) {
+        return stream(rbacReadPath.streamAllGlobalPermissions());
     }
-}
\ No newline at end of file
+}
@@ -3,8 +3,8 @@ package org.example.multi_tenant_app.grpc;
 import io.quarkus.grpc.GrpcService;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
-import io.smallrye.common.annotation.Blocking;
 import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
 
 // Explicit imports for gRPC tenant service classes
 import org.example.multi_tenant_app.grpc.tenant.Tenant;
@@ -18,12 +18,12 @@ import org.example.multi_tenant_app.grpc.tenant.UpdateTenantRequest;
 import org.example.multi_tenant_app.grpc.tenant.UpdateTenantResponse;
 import org.example.multi_tenant_app.grpc.tenant.DeleteTenantRequest;
 
+import org.example.multi_tenant_app.web.dtos.TenantDTO;
+
 import org.jboss.logging.Logger;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 import com.google.protobuf.Empty;
@@ -34,12 +34,32 @@ public class TenantGrpcService implements TenantService {
     private static final Logger LOG = Logger.getLogger(TenantGrpcService.class);
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
 
-    // Placeholder for a real service/repository
-    // @Inject
-    // ActualTenantService actualTenantService;
+    @Inject
+    org.example.multi_tenant_app.services.TenantService tenantService;
+
+    @Inject
+    GrpcCalls grpcCalls;
+
+    private static StatusRuntimeException tenantNotFound(String id) {
+        return new StatusRuntimeException(Status.NOT_FOUND.withDescription("Tenant not found: " + id));
+    }
+
+    private static String format(LocalDateTime timestamp) {
+        return timestamp == null ? "" : timestamp.format(ISO_FORMATTER);
+    }
+
+    private static Tenant toMessage(TenantDTO dto) {
+        return Tenant.newBuilder()
+                .setId(dto.getId().toString())
+                .setName(dto.getName())
+                .setStatus(dto.getStatus())
+                .setTier(dto.getTier() == null ? "" : dto.getTier())
+                .setCreatedAt(format(dto.getCreatedAt()))
+                .setUpdatedAt(format(dto.getUpdatedAt()))
+                .build();
+    }
 
     @Override
-    @Blocking // Use @Blocking if the underlying service call is blocking
     public Uni<CreateTenantResponse> createTenant(CreateTenantRequest request) {
         LOG.infof("gRPC CreateTenant called for name: %s", request.getName());
         if (request.getName() == null || request.getName().isBlank()) {
@@ -47,121 +67,113 @@ public class TenantGrpcService implements TenantService {
                     Status.INVALID_ARGUMENT.withDescription("Tenant name cannot be empty.")));
         }
         if (request.getStatus() == null || request.getStatus().isBlank()) {
-            // Default status or require it explicitly
             return Uni.createFrom().failure(new StatusRuntimeException(
                     Status.INVALID_ARGUMENT.withDescription("Tenant status cannot be empty.")));
         }
 
-        // TODO: Integrate with actual tenant creation logic
-        Tenant tenantProto = Tenant.newBuilder()
-                .setId(UUID.randomUUID().toString())
-                .setName(request.getName())
-                .setStatus(request.getStatus())
-                .setCreatedAt(LocalDateTime.now().format(ISO_FORMATTER))
-                .setUpdatedAt(LocalDateTime.now().format(ISO_FORMATTER))
-                .build();
-        return Uni.createFrom().item(CreateTenantResponse.newBuilder().setTenant(tenantProto).build());
+        TenantDTO toCreate = new TenantDTO();
+        toCreate.setName(request.getName());
+        toCreate.setStatus(request.getStatus());
+        toCreate.setTier(request.getTier());
+        return grpcCalls.offload(() -> CreateTenantResponse.newBuilder()
+                .setTenant(toMessage(tenantService.createTenant(toCreate)))
+                .build());
     }
 
     @Override
-    @Blocking
     public Uni<Tenant> getTenant(GetTenantRequest request) {
         LOG.infof("gRPC GetTenant called for ID: %s", request.getId());
         if (request.getId() == null || request.getId().isBlank()) {
             return Uni.createFrom().failure(new StatusRuntimeException(
                     Status.INVALID_ARGUMENT.withDescription("Tenant ID cannot be empty.")));
         }
+        UUID tenantId;
         try {
-            UUID.fromString(request.getId()); // Validate if ID is a valid UUID
+            tenantId = UUID.fromString(request.getId());
         } catch (IllegalArgumentException e) {
             return Uni.createFrom().failure(new StatusRuntimeException(
                     Status.INVALID_ARGUMENT.withDescription("Invalid Tenant ID format.")));
         }
 
-        // TODO: Integrate with actual tenant retrieval logic
-        // TODO: Add logic to return NOT_FOUND if tenant does not exist
-        Tenant tenantProto = Tenant.newBuilder()
-                .setId(request.getId())
-                .setName("Dummy Tenant GRPC " + request.getId())
-                .setStatus("ACTIVE")
-                .setCreatedAt(LocalDateTime.now().minusDays(1).format(ISO_FORMATTER))
-                .setUpdatedAt(LocalDateTime.now().format(ISO_FORMATTER))
-                .build();
-        return Uni.createFrom().item(tenantProto);
+        return grpcCalls.offload(() -> tenantService.getTenant(tenantId)
+                .map(TenantGrpcService::toMessage)
+                .orElseThrow(() -> tenantNotFound(request.getId())));
     }
 
     @Override
-    @Blocking
     public Uni<ListTenantsResponse> listTenants(ListTenantsRequest request) {
-        LOG.info("gRPC ListTenants called");
-        // TODO: Integrate with actual tenant listing logic
-        List<Tenant> tenantProtos = new ArrayList<>();
-        tenantProtos.add(Tenant.newBuilder()
-                .setId(UUID.randomUUID().toString())
-                .setName("Tenant G-A")
-                .setStatus("ACTIVE")
-                .setCreatedAt(LocalDateTime.now().minusHours(5).format(ISO_FORMATTER))
-                .setUpdatedAt(LocalDateTime.now().minusHours(1).format(ISO_FORMATTER))
-                .build());
-        tenantProtos.add(Tenant.newBuilder()
-                .setId(UUID.randomUUID().toString())
-                .setName("Tenant G-B")
-                .setStatus("INACTIVE")
-                .setCreatedAt(LocalDateTime.now().minusDays(2).format(ISO_FORMATTER))
-                .setUpdatedAt(LocalDateTime.now().minusDays(1).format(ISO_FORMATTER))
-                .build());
-        return Uni.createFrom().item(ListTenantsResponse.newBuilder().addAllTenants(tenantProtos).build());
+        LOG.debugf("gRPC ListTenants called (page size %d)", request.getPageSize());
+        UUID after = null;
+        if (!request.getPageToken().isEmpty()) {
+            try {
+                after = UUID.fromString(request.getPageToken());
+            } catch (IllegalArgumentException e) {
+                return Uni.createFrom().failure(new StatusRuntimeException(
+                        Status.INVALID_ARGUMENT.withDescription("Invalid page token.")));
+            }
+        }
+
+        UUID pageAfter = after;
+        return grpcCalls.offload(() -> {
+            org.example.multi_tenant_app.services.TenantService.Page page = tenantService.listTenants(pageAfter, request.getPageSize());
+            ListTenantsResponse.Builder response = ListTenantsResponse.newBuilder();
+            page.tenants().forEach(dto -> response.addTenants(toMessage(dto)));
+            if (page.nextAfter() != null) {
+                response.setNextPageToken(page.nextAfter().toString());
+            }
+            return response.build();
+        });
     }
 
     @Override
-    @Blocking
     public Uni<UpdateTenantResponse> updateTenant(UpdateTenantRequest request) {
         LOG.infof("gRPC UpdateTenant called for ID: %s", request.getId());
         if (request.getId() == null || request.getId().isBlank()) {
             return Uni.createFrom().failure(new StatusRuntimeException(
                     Status.INVALID_ARGUMENT.withDescription("Tenant ID cannot be empty for update.")));
         }
+        UUID tenantId;
         try {
-            UUID.fromString(request.getId()); // Validate if ID is a valid UUID
+            tenantId = UUID.fromString(request.getId());
         } catch (IllegalArgumentException e) {
             return Uni.createFrom().failure(new StatusRuntimeException(
                     Status.INVALID_ARGUMENT.withDescription("Invalid Tenant ID format for update.")));
         }
         if ((request.getName() == null || request.getName().isBlank()) &&
-            (request.getStatus() == null || request.getStatus().isBlank())) {
+            (request.getStatus() == null || request.getStatus().isBlank()) &&
+            request.getTier().isBlank()) {
             return Uni.createFrom().failure(new StatusRuntimeException(
-                    Status.INVALID_ARGUMENT.withDescription("At least one field (name or status) must be provided for update.")));
+                    Status.INVALID_ARGUMENT.withDescription("At least one field (name, status or tier) must be provided for update.")));
         }
 
-        // TODO: Integrate with actual tenant update logic
-        // TODO: Add logic to return NOT_FOUND if tenant does not exist
-        Tenant tenantProto = Tenant.newBuilder()
-                .setId(request.getId())
-                .setName(request.getName())
-                .setStatus(request.getStatus())
-                .setCreatedAt(LocalDateTime.now().minusDays(1).format(ISO_FORMATTER)) // Assuming created_at doesn't change
-                .setUpdatedAt(LocalDateTime.now().format(ISO_FORMATTER))
-                .build();
-        return Uni.createFrom().item(UpdateTenantResponse.newBuilder().setTenant(tenantProto).build());
+        TenantDTO update = new TenantDTO();
+        update.setName(request.getName());
+        update.setStatus(request.getStatus());
+        update.setTier(request.getTier());
+        return grpcCalls.offload(() -> tenantService.updateTenant(tenantId, update)
+                .map(dto -> UpdateTenantResponse.newBuilder().setTenant(toMessage(dto)).build())
+                .orElseThrow(() -> tenantNotFound(request.getId())));
     }
 
     @Override
-    @Blocking
     public Uni<Empty> deleteTenant(DeleteTenantRequest request) {
         LOG.infof("gRPC DeleteTenant called for ID: %s", request.getId());
         if (request.getId() == null || request.getId().isBlank()) {
             return Uni.createFrom().failure(new StatusRuntimeException(
                     Status.INVALID_ARGUMENT.withDescription("Tenant ID cannot be empty for deletion.")));
         }
+        UUID tenantId;
         try {
-            UUID.fromString(request.getId()); // Validate if ID is a valid UUID
+            tenantId = UUID.fromString(request.getId());
         } catch (IllegalArgumentException e) {
             return Uni.createFrom().failure(new StatusRuntimeException(
                     Status.INVALID_ARGUMENT.withDescription("Invalid Tenant ID format for deletion.")));
         }
 
-        // TODO: Integrate with actual tenant deletion logic
-        // TODO: Consider if NOT_FOUND should be returned if tenant does not exist, or if delete is idempotent
-        return Uni.createFrom().item(Empty.newBuilder().build());
+        // Idempotent, like DELETE /api/v1/tenants/{id}.
+        return grpcCalls.offload(() -> {
+            tenantService.deleteTenant(tenantId);
+            return Empty.newBuilder().build();
+        });
     }
 }
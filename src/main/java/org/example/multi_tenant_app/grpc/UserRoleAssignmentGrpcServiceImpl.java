@@ -2,16 +2,28 @@ package org.example.multi_tenant_app.grpc;
 
 import com.google.protobuf.Empty;
 import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.quarkus.grpc.GrpcService;
 import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository.UserRole;
+import org.example.multi_tenant_app.exceptions.ServiceException;
 import org.example.multi_tenant_app.grpc.role.RoleMessage;
 import org.example.multi_tenant_app.grpc.user_role.*;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.AssignmentWriteCoalescer;
+import org.example.multi_tenant_app.services.BulkRoleAssignmentService;
+import org.example.multi_tenant_app.services.RbacReadPath;
 import org.example.multi_tenant_app.services.UserRoleAssignmentService;
+import org.example.multi_tenant_app.services.cache.TenantRbacVersions;
+import org.example.multi_tenant_app.web.dtos.AssignmentDiffDTO;
 import org.example.multi_tenant_app.web.dtos.RoleDTO;
 import org.example.multi_tenant_app.web.dtos.UserRoleAssignmentDTO;
 
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -22,6 +34,24 @@ public class UserRoleAssignmentGrpcServiceImpl implements UserRoleAssignmentGrpc
     @Inject
     UserRoleAssignmentService userRoleAssignmentService;
 
+    @Inject
+    BulkRoleAssignmentService bulkRoleAssignmentService;
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Inject
+    GrpcCalls grpcCalls;
+
+    @Inject
+    RbacReadPath rbacReadPath;
+
+    @Inject
+    TenantRbacVersions tenantRbacVersions;
+
+    @Inject
+    AssignmentWriteCoalescer assignmentWriteCoalescer;
+
     // --- Conversion Utilities ---
     private UserRoleAssignmentMessage convertAssignmentDTOToMessage(UserRoleAssignmentDTO dto) {
         if (dto == null) {
@@ -66,55 +96,126 @@ public class UserRoleAssignmentGrpcServiceImpl implements UserRoleAssignmentGrpc
     }
 
 
+    private UserRolesListResponse toListResponse(List<RoleDTO> roleDTOs, String rbacVersion) {
+        List<RoleMessage> roleMessages = roleDTOs.stream()
+                .map(this::convertRoleDTOToRoleMessage)
+                .collect(Collectors.toList());
+        return UserRolesListResponse.newBuilder().addAllRoles(roleMessages).setRbacVersion(rbacVersion).build();
+    }
+
     @Override
     public Uni<UserRoleAssignmentResponse> assignRoleToUser(AssignRoleToUserRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
         UUID userId = UUID.fromString(request.getUserAccountId());
         UUID roleId = UUID.fromString(request.getRoleId());
+        if (assignmentWriteCoalescer.isEnabled()) {
+            // Queued without blocking the event loop and committed together with concurrent writes.
+            return grpcCalls.translate(assignmentWriteCoalescer.assignRoleToUser(userId, roleId)
+                    .map(assignmentDTO -> UserRoleAssignmentResponse.newBuilder()
+                            .setAssignment(convertAssignmentDTOToMessage(assignmentDTO))
+                            .build()));
+        }
+        return grpcCalls.offload(() -> {
+            try {
+                UserRoleAssignmentDTO assignmentDTO = userRoleAssignmentService.assignRoleToUser(userId, roleId);
+                return UserRoleAssignmentResponse.newBuilder()
+                        .setAssignment(convertAssignmentDTOToMessage(assignmentDTO))
+                        .build();
+            } catch (ServiceException e) {
+                throw GrpcCalls.toStatusException(e);
+            } catch (Exception e) { // Catch other potential errors
+                throw new StatusRuntimeException(Status.INTERNAL.withDescription("Failed to assign role: " + e.getMessage()));
+            }
+        });
+    }
+
+    @Override
+    public Uni<BulkAssignRolesResponse> bulkAssignRoles(BulkAssignRolesRequest request) {
+        List<UserRole> items = new ArrayList<>(request.getAssignmentsCount() + request.getUserAccountIdsCount());
+        try {
+            for (UserRolePair pair : request.getAssignmentsList()) {
+                items.add(new UserRole(UUID.fromString(pair.getUserAccountId()), UUID.fromString(pair.getRoleId())));
+            }
+            if (request.getUserAccountIdsCount() > 0) {
+                UUID roleId = UUID.fromString(request.getRoleId());
+                for (String userId : request.getUserAccountIdsList()) {
+                    items.add(new UserRole(UUID.fromString(userId), roleId));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(new StatusRuntimeException(Status.INVALID_ARGUMENT.withDescription(
+                    "Invalid user account or role ID format in item #" + items.size() + ".")));
+        }
+        return grpcCalls.offload(() -> {
+            BulkAssignRolesResponse.Builder response = BulkAssignRolesResponse.newBuilder();
+            // Counts are per distinct pair; a repeated pair only adds a status.
+            int created = 0;
+            int alreadyAssigned = 0;
+            int failed = 0;
+            for (BulkRoleAssignmentService.ItemResult result : bulkRoleAssignmentService.assignRoles(items)) {
+                if (!result.repeat()) {
+                    switch (result.outcome()) {
+                        case CREATED -> created++;
+                        case ALREADY_ASSIGNED -> alreadyAssigned++;
+                        default -> failed++;
+                    }
+                }
+                response.addStatuses(BulkAssignmentStatus.valueOf(result.outcome().name()));
+            }
+            return response.setCreated(created)
+                    .setAlreadyAssigned(alreadyAssigned)
+                    .setFailed(failed)
+                    .build();
+        });
+    }
 
+    @Override
+    public Uni<SetRolesForUserResponse> setRolesForUser(SetRolesForUserRequest request) {
+        UUID userId;
+        List<UUID> roleIds = new ArrayList<>(request.getRoleIdsCount());
         try {
-            UserRoleAssignmentDTO assignmentDTO = userRoleAssignmentService.assignRoleToUser(userId, roleId);
-            return Uni.createFrom().item(UserRoleAssignmentResponse.newBuilder()
-                    .setAssignment(convertAssignmentDTOToMessage(assignmentDTO))
-                    .build());
-        } catch (jakarta.ws.rs.NotFoundException e) {
-            return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription(e.getMessage())));
-        } catch (Exception e) { // Catch other potential errors
-            return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.INTERNAL.withDescription("Failed to assign role: " + e.getMessage())));
+            userId = UUID.fromString(request.getUserAccountId());
+            for (String roleId : request.getRoleIdsList()) {
+                roleIds.add(UUID.fromString(roleId));
+            }
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(new StatusRuntimeException(Status.INVALID_ARGUMENT.withDescription(
+                    "Invalid user account or role ID format.")));
         }
+        return grpcCalls.offload(() -> {
+            AssignmentDiffDTO diff = userRoleAssignmentService.setRolesForUser(userId, roleIds);
+            return SetRolesForUserResponse.newBuilder()
+                    .addAllAddedRoleIds(diff.getAdded().stream().map(UUID::toString).toList())
+                    .addAllRemovedRoleIds(diff.getRemoved().stream().map(UUID::toString).toList())
+                    .setUnchanged(diff.getUnchanged())
+                    .build();
+        });
     }
 
     @Override
     public Uni<Empty> removeRoleFromUser(RemoveRoleFromUserRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
         UUID userId = UUID.fromString(request.getUserAccountId());
         UUID roleId = UUID.fromString(request.getRoleId());
-
-        try {
-            boolean removed = userRoleAssignmentService.removeRoleFromUser(userId, roleId);
-            if (removed) {
-                return Uni.createFrom().item(Empty.newBuilder().build());
-            } else {
-                return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription("Assignment not found or user/role mismatch.")));
+        return grpcCalls.offload(() -> {
+            try {
+                if (userRoleAssignmentService.removeRoleFromUser(userId, roleId)) {
+                    return Empty.newBuilder().build();
+                }
+                throw new StatusRuntimeException(Status.NOT_FOUND.withDescription("Assignment not found or user/role mismatch."));
+            } catch (NotFoundException e) {
+                throw GrpcCalls.notFound(e);
             }
-        } catch (jakarta.ws.rs.NotFoundException e) {
-             return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription(e.getMessage())));
-        }
+        });
     }
 
     @Override
     public Uni<UserRolesListResponse> getRolesForUser(GetRolesForUserRequest request) {
-        UUID tenantId = UUID.fromString(request.getTenantId());
         UUID userId = UUID.fromString(request.getUserAccountId());
-
-        try {
-            List<RoleDTO> roleDTOs = userRoleAssignmentService.getRolesForUser(userId);
-            List<RoleMessage> roleMessages = roleDTOs.stream()
-                    .map(this::convertRoleDTOToRoleMessage)
-                    .collect(Collectors.toList());
-            return Uni.createFrom().item(UserRolesListResponse.newBuilder().addAllRoles(roleMessages).build());
-        } catch (jakarta.ws.rs.NotFoundException e) {
-             return Uni.createFrom().failure(new io.grpc.StatusRuntimeException(io.grpc.Status.NOT_FOUND.withDescription(e.getMessage())));
+        // The version is read before the roles, so that a concurrent change leaves it behind the data, not ahead.
+        String version = Long.toString(tenantRbacVersions.current(tenantContext.getRequiredTenantId()));
+        if (version.equals(request.getIfNoneMatch())) {
+            tenantRbacVersions.countNotModified();
+            return Uni.createFrom().item(UserRolesListResponse.newBuilder().setRbacVersion(version).setNotModified(true).build());
         }
+        return grpcCalls.translate(rbacReadPath.getRolesForUser(userId).map(found -> toListResponse(found, version)));
     }
 }
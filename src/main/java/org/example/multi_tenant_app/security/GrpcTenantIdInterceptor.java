@@ -3,18 +3,44 @@ package org.example.multi_tenant_app.security;
 import io.grpc.*;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.services.cache.TenantStatusIndex;
+import org.jboss.logging.Logger;
 
+import java.time.Duration;
 import java.util.UUID;
 
 /**
  * A gRPC ServerInterceptor to extract Tenant ID from metadata and populate TenantContext.
+ * Like {@link TenantIdFilter}, the common path allocates nothing: tenant IDs come from
+ * {@link TenantIdResolver}'s cache and logging is level-guarded. Calls for tenants that
+ * {@link TenantStatusIndex} knows to be unknown or suspended, or over their
+ * {@link TenantRateLimiter} limit, are closed right here.
  */
 @ApplicationScoped // Quarkus uses this to make it a CDI bean that can be discovered as an interceptor
 public class GrpcTenantIdInterceptor implements ServerInterceptor {
 
+    private static final Logger LOG = Logger.getLogger(GrpcTenantIdInterceptor.class);
+
+    // Invalid tenant IDs are client-controlled; don't let a client flood the log with them.
+    private static final RateLimitedLogger INVALID_TENANT_LOG = new RateLimitedLogger(LOG, Duration.ofSeconds(10));
+
     @Inject
     TenantContext tenantContext;
 
+    @Inject
+    TenantIdResolver tenantIdResolver;
+
+    @Inject
+    TenantStatusIndex tenantStatusIndex;
+
+    @Inject
+    TenantRateLimiter tenantRateLimiter;
+
+    // gRPC's retry pushback trailer, honoured by clients with a retry policy.
+    public static final Metadata.Key<String> RETRY_PUSHBACK_METADATA_KEY =
+            Metadata.Key.of("grpc-retry-pushback-ms", Metadata.ASCII_STRING_MARSHALLER);
+
     // Define the metadata key for Tenant ID
     public static final Metadata.Key<String> TENANT_ID_METADATA_KEY =
             Metadata.Key.of("x-tenant-id", Metadata.ASCII_STRING_MARSHALLER);
@@ -26,27 +52,46 @@ public class GrpcTenantIdInterceptor implements ServerInterceptor {
             ServerCallHandler<ReqT, RespT> next) {
 
         String tenantIdStr = headers.get(TENANT_ID_METADATA_KEY);
-        UUID tenantId = null;
 
         if (tenantIdStr != null && !tenantIdStr.isBlank()) {
-            try {
-                tenantId = UUID.fromString(tenantIdStr);
-                tenantContext.setCurrentTenantId(tenantId);
-                System.out.println("GrpcTenantIdInterceptor: TenantContext populated with Tenant ID: " + tenantId + " for method: " + call.getMethodDescriptor().getFullMethodName());
-            } catch (IllegalArgumentException e) {
-                System.err.println("GrpcTenantIdInterceptor: Invalid Tenant ID format in metadata: " + tenantIdStr);
+            UUID tenantId = tenantIdResolver.resolve(tenantIdStr);
+            if (tenantId == null) {
+                INVALID_TENANT_LOG.warnf("Invalid Tenant ID format in metadata: %s (method %s)",
+                        tenantIdStr, call.getMethodDescriptor().getFullMethodName());
                 // Terminate call with an error
                 call.close(Status.INVALID_ARGUMENT.withDescription("Invalid Tenant ID format in metadata: " + tenantIdStr), new Metadata());
                 return new ServerCall.Listener<ReqT>() {
                     // No-op listener implementation
                 };
             }
-        } else {
+            // Unknown and suspended tenants never reach the service implementation.
+            TenantStatusIndex.Admission admission = tenantStatusIndex.admission(tenantId);
+            if (admission != TenantStatusIndex.Admission.ADMITTED) {
+                call.close(rejection(tenantId, admission), new Metadata());
+                return new ServerCall.Listener<ReqT>() {
+                };
+            }
+            // No per-user limit here: the caller's identity is not known before the call is dispatched.
+            long retryAfterNanos = tenantRateLimiter.tryAcquire(tenantId, null);
+            if (retryAfterNanos > 0) {
+                Metadata trailers = new Metadata();
+                long retryAfterMillis = Math.max(1, (retryAfterNanos + 999_999L) / 1_000_000L);
+                trailers.put(RETRY_PUSHBACK_METADATA_KEY, Long.toString(retryAfterMillis));
+                call.close(Status.RESOURCE_EXHAUSTED.withDescription(
+                        ErrorCode.RATE_LIMITED.getCode() + ": " + ErrorCode.RATE_LIMITED.getDefaultMessage()), trailers);
+                return new ServerCall.Listener<ReqT>() {
+                };
+            }
+            tenantContext.setCurrentTenantId(tenantId);
+            if (LOG.isDebugEnabled()) {
+                LOG.debugf("TenantContext populated with Tenant ID: %s for method: %s", tenantId, call.getMethodDescriptor().getFullMethodName());
+            }
+        } else if (LOG.isDebugEnabled()) {
             // No tenant ID found in metadata.
             // Behavior depends on requirements. For gRPC, often tenant ID is expected.
             // If strictly required for all/most gRPC calls, could close call with FAILED_PRECONDITION or UNAUTHENTICATED.
             // For now, allowing call to proceed. Services must check TenantContext.getRequiredTenantId().
-            System.out.println("GrpcTenantIdInterceptor: No Tenant ID found in metadata for method: " + call.getMethodDescriptor().getFullMethodName());
+            LOG.debugf("No Tenant ID found in metadata for method: %s", call.getMethodDescriptor().getFullMethodName());
         }
 
         // It's important to clear the TenantContext after the call finishes to avoid leakage in pooled threads.
@@ -55,4 +100,14 @@ public class GrpcTenantIdInterceptor implements ServerInterceptor {
 
         return next.startCall(call, headers);
     }
+
+    // Same "<code>: <message>" description as the services' ServiceException mapping.
+    private static Status rejection(UUID tenantId, TenantStatusIndex.Admission admission) {
+        if (admission == TenantStatusIndex.Admission.UNKNOWN) {
+            return Status.NOT_FOUND.withDescription(
+                    ErrorCode.TENANT_NOT_FOUND.getCode() + ": Tenant with ID '" + tenantId + "' not found.");
+        }
+        return Status.FAILED_PRECONDITION.withDescription(
+                ErrorCode.TENANT_RESOLUTION_FAILED.getCode() + ": Tenant with ID '" + tenantId + "' is suspended.");
+    }
 }
@@ -0,0 +1,44 @@
+package org.example.multi_tenant_app.security;
+
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Emits at most one warning per interval; the rest are counted and the count is reported with
+ * the next warning that gets through. Meant for messages a client can trigger on every request
+ * (e.g. a malformed tenant header), where logging each one would let the client flood the log.
+ */
+final class RateLimitedLogger {
+
+    private final Logger delegate;
+    private final long intervalNanos;
+    private final AtomicLong nextAllowedNanos;
+    private final LongAdder suppressed = new LongAdder();
+
+    RateLimitedLogger(Logger delegate, Duration interval) {
+        this.delegate = delegate;
+        this.intervalNanos = interval.toNanos();
+        this.nextAllowedNanos = new AtomicLong(System.nanoTime());
+    }
+
+    void warnf(String format, Object param1, Object param2) {
+        if (!delegate.isEnabled(Logger.Level.WARN)) {
+            return;
+        }
+        long now = System.nanoTime();
+        long nextAllowed = nextAllowedNanos.get();
+        if (now - nextAllowed < 0 || !nextAllowedNanos.compareAndSet(nextAllowed, now + intervalNanos)) {
+            suppressed.increment();
+            return;
+        }
+        long suppressedCount = suppressed.sumThenReset();
+        if (suppressedCount > 0) {
+            delegate.warnf(format + " (%d similar messages suppressed)", param1, param2, suppressedCount);
+        } else {
+            delegate.warnf(format, param1, param2);
+        }
+    }
+}
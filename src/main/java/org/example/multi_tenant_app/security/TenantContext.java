@@ -1,6 +1,7 @@
 package org.example.multi_tenant_app.security;
 
 import jakarta.enterprise.context.RequestScoped;
+import org.jboss.logging.Logger;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +14,8 @@ import java.util.UUID;
 @RequestScoped
 public class TenantContext {
 
+    private static final Logger LOG = Logger.getLogger(TenantContext.class);
+
     private UUID currentTenantId;
 
     public Optional<UUID> getCurrentTenantId() {
@@ -24,7 +27,7 @@ public class TenantContext {
             // This case should ideally not happen within a single request if set correctly once.
             // Log a warning or throw an exception if tenant ID is being changed mid-request.
             // For now, allow overwrite, but this could be a point of caution.
-            System.err.println("Warning: TenantContext currentTenantId is being overwritten. Old: " + this.currentTenantId + ", New: " + currentTenantId);
+            LOG.warnf("TenantContext currentTenantId is being overwritten. Old: %s, New: %s", this.currentTenantId, currentTenantId);
         }
         this.currentTenantId = currentTenantId;
     }
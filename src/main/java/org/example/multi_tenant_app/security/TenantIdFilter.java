@@ -5,22 +5,43 @@ import jakarta.annotation.Priority;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
 import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceExceptionMapper;
+import org.example.multi_tenant_app.services.cache.TenantStatusIndex;
+import org.jboss.logging.Logger;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.UUID;
 
 @Provider
 @Priority(100) // Ensure it runs relatively early, but after authentication potentially
 public class TenantIdFilter implements ContainerRequestFilter {
 
+    private static final Logger LOG = Logger.getLogger(TenantIdFilter.class);
+
+    // Invalid tenant IDs are client-controlled; don't let a client flood the log with them.
+    private static final RateLimitedLogger INVALID_TENANT_LOG = new RateLimitedLogger(LOG, Duration.ofSeconds(10));
+
     @Inject
     TenantContext tenantContext;
 
     @Inject
     SecurityIdentity securityIdentity; // Injected to access authenticated user details
 
+    @Inject
+    TenantIdResolver tenantIdResolver;
+
+    @Inject
+    TenantStatusIndex tenantStatusIndex;
+
+    @Inject
+    TenantRateLimiter tenantRateLimiter;
+
     // JsonWebToken jwtPrincipal might not be correctly initialized or might be a
     // simple principal when OIDC is disabled and @TestSecurity is used.
     // It's safer to get it from SecurityIdentity and check its type.
@@ -30,23 +51,22 @@ public class TenantIdFilter implements ContainerRequestFilter {
     private static final String TENANT_ID_HEADER = "X-Tenant-ID";
     private static final String TENANT_ID_JWT_CLAIM = "tenant_id"; // Common claim name, adjust if different
 
+    // Runs on every request, so the common path allocates nothing beyond what the container
+    // already has: parsed tenant IDs are cached by TenantIdResolver and logging is level-guarded.
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
         UUID tenantId = null;
 
         // 1. Try to extract from JWT if user is authenticated and the principal is a JsonWebToken
-        if (securityIdentity != null && securityIdentity.getPrincipal() instanceof JsonWebToken) {
-            JsonWebToken actualJwt = (JsonWebToken) securityIdentity.getPrincipal();
-            if (actualJwt.containsClaim(TENANT_ID_JWT_CLAIM)) {
-                try {
-                    String tenantIdStr = actualJwt.getClaim(TENANT_ID_JWT_CLAIM);
-                    if (tenantIdStr != null && !tenantIdStr.isBlank()) {
-                        tenantId = UUID.fromString(tenantIdStr);
-                    }
-                } catch (Exception e) {
-                    // Log error: failed to parse tenant_id claim from JWT
-                    System.err.println("Error parsing tenant_id claim from JWT: " + e.getMessage());
+        if (securityIdentity != null && securityIdentity.getPrincipal() instanceof JsonWebToken jwt) {
+            Object claim = jwt.getClaim(TENANT_ID_JWT_CLAIM);
+            if (claim instanceof String tenantIdStr && !tenantIdStr.isBlank()) {
+                tenantId = tenantIdResolver.resolve(tenantIdStr);
+                if (tenantId == null) {
+                    INVALID_TENANT_LOG.warnf("Invalid %s claim in JWT: %s", TENANT_ID_JWT_CLAIM, tenantIdStr);
                 }
+            } else if (claim != null) {
+                INVALID_TENANT_LOG.warnf("Unexpected type of %s claim in JWT: %s", TENANT_ID_JWT_CLAIM, claim.getClass().getName());
             }
         }
 
@@ -55,11 +75,9 @@ public class TenantIdFilter implements ContainerRequestFilter {
         if (tenantId == null) {
             String tenantIdHeaderValue = requestContext.getHeaderString(TENANT_ID_HEADER);
             if (tenantIdHeaderValue != null && !tenantIdHeaderValue.isBlank()) {
-                try {
-                    tenantId = UUID.fromString(tenantIdHeaderValue);
-                } catch (IllegalArgumentException e) {
-                    // Log error: Invalid X-Tenant-ID header format
-                    System.err.println("Invalid X-Tenant-ID header format: " + tenantIdHeaderValue);
+                tenantId = tenantIdResolver.resolve(tenantIdHeaderValue);
+                if (tenantId == null) {
+                    INVALID_TENANT_LOG.warnf("Invalid %s header format: %s", TENANT_ID_HEADER, tenantIdHeaderValue);
                     // Optionally, could abort request with 400 Bad Request here if header is present but invalid
                     // requestContext.abortWith(Response.status(Response.Status.BAD_REQUEST).entity("Invalid X-Tenant-ID header format.").build());
                     // return;
@@ -68,15 +86,55 @@ public class TenantIdFilter implements ContainerRequestFilter {
         }
 
         if (tenantId != null) {
+            // Rejected here, before any resource method or transaction runs.
+            TenantStatusIndex.Admission admission = tenantStatusIndex.admission(tenantId);
+            if (admission != TenantStatusIndex.Admission.ADMITTED) {
+                requestContext.abortWith(rejection(tenantId, admission));
+                return;
+            }
+            String user = securityIdentity == null || securityIdentity.isAnonymous()
+                    ? null : securityIdentity.getPrincipal().getName();
+            long retryAfterNanos = tenantRateLimiter.tryAcquire(tenantId, user);
+            if (retryAfterNanos > 0) {
+                requestContext.abortWith(tooManyRequests(retryAfterNanos));
+                return;
+            }
             tenantContext.setCurrentTenantId(tenantId);
-            System.out.println("TenantContext populated with Tenant ID: " + tenantId + " for path: " + requestContext.getUriInfo().getPath());
-        } else {
-            // No tenant ID found in JWT or header.
-            // Behavior here depends on requirements:
-            // - Allow request to proceed (tenant-agnostic endpoints, or public parts of tenant endpoints)
-            // - Abort with 400/401/403 if tenant ID is strictly required for most/all paths
-            // For now, let it proceed. Services that require a tenantId will fail if TenantContext.getRequiredTenantId() is called.
-            System.out.println("No Tenant ID found in JWT or header for path: " + requestContext.getUriInfo().getPath());
         }
+        // No tenant ID found in JWT or header: let the request proceed (tenant-agnostic endpoints,
+        // or public parts of tenant endpoints). Services that require a tenantId will fail if
+        // TenantContext.getRequiredTenantId() is called.
+        if (LOG.isDebugEnabled()) {
+            String path = requestContext.getUriInfo().getPath();
+            if (tenantId != null) {
+                LOG.debugf("TenantContext populated with Tenant ID: %s for path: %s", tenantId, path);
+            } else {
+                LOG.debugf("No Tenant ID found in JWT or header for path: %s", path);
+            }
+        }
+    }
+
+    private static Response rejection(UUID tenantId, TenantStatusIndex.Admission admission) {
+        if (admission == TenantStatusIndex.Admission.UNKNOWN) {
+            return errorResponse(Response.Status.NOT_FOUND, ErrorCode.TENANT_NOT_FOUND,
+                    "Tenant with ID '" + tenantId + "' not found.").build();
+        }
+        return errorResponse(Response.Status.BAD_REQUEST, ErrorCode.TENANT_RESOLUTION_FAILED,
+                "Tenant with ID '" + tenantId + "' is suspended.").build();
+    }
+
+    private static Response tooManyRequests(long retryAfterNanos) {
+        // Retry-After has whole-second resolution; round up so that the retry succeeds.
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        return errorResponse(Response.Status.TOO_MANY_REQUESTS, ErrorCode.RATE_LIMITED, ErrorCode.RATE_LIMITED.getDefaultMessage())
+                .header("Retry-After", retryAfterSeconds)
+                .build();
+    }
+
+    // Same body as ServiceExceptionMapper produces, without creating (and logging) an exception per rejected request.
+    private static Response.ResponseBuilder errorResponse(Response.Status status, ErrorCode errorCode, String message) {
+        return Response.status(status)
+                .entity(new ServiceExceptionMapper.ErrorResponse(errorCode.getCode(), message, null))
+                .type(MediaType.APPLICATION_JSON);
     }
 }
@@ -0,0 +1,63 @@
+package org.example.multi_tenant_app.security;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.UUID;
+
+/**
+ * Turns the raw tenant ID of a request (header, gRPC metadata or JWT claim) into a {@link UUID}.
+ * <p>
+ * Requests come from a small set of tenants, so parsed IDs are kept in a fixed-size,
+ * direct-mapped cache keyed by the raw string: a hit costs one hash (usually already cached in
+ * the string) and one {@code equals}, and allocates nothing. Only misses parse the string
+ * (see {@link #parseUuid}). A colliding tenant simply replaces the slot's entry.
+ */
+@ApplicationScoped
+public class TenantIdResolver {
+
+    private static final int CACHE_SIZE = 4096; // Power of two
+
+    // Entries are immutable, so racing readers see either the old or the new entry, never a mix.
+    private record Entry(String raw, UUID id) {
+    }
+
+    private final Entry[] cache = new Entry[CACHE_SIZE];
+
+    /**
+     * @return the tenant ID, or {@code null} if {@code raw} is not a valid UUID
+     */
+    public UUID resolve(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        int hash = raw.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        Entry entry = cache[slot];
+        if (entry != null && entry.raw.equals(raw)) {
+            return entry.id;
+        }
+        UUID id = parseUuid(raw);
+        if (id != null) {
+            cache[slot] = new Entry(raw, id);
+        }
+        return id;
+    }
+
+    /**
+     * Parses a UUID, returning {@code null} instead of throwing if it is invalid. Accepts exactly
+     * what {@link UUID#fromString} accepts. Strings that cannot be a UUID at all are rejected
+     * without the cost of an exception, which matters when clients send garbage on every request.
+     */
+    public static UUID parseUuid(String s) {
+        int length = s.length();
+        if (length < 9 || length > 36) {
+            return null;
+        }
+        try {
+            // Since JDK 15 the canonical 36-character form is decoded without intermediate strings.
+            return UUID.fromString(s);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.multi_tenant_app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.config.RateLimitConfig;
+import org.example.multi_tenant_app.services.cache.TenantStatusIndex;
+import org.jboss.logging.Logger;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-tenant and per-user request rate limits, by tenant tier ({@code rate-limit.tiers}).
+ * Enforced by {@link TenantIdFilter} and {@link GrpcTenantIdInterceptor} before the request
+ * reaches any service code, so a rejection costs a map lookup and a CAS, nothing more.
+ * <p>
+ * Buckets live in a size-bounded Caffeine cache keyed by tenant ID (and tenant ID + user name
+ * for user buckets); reads of existing buckets take no lock. A tenant whose tier changes gets a
+ * new, full bucket on its next request.
+ */
+@ApplicationScoped
+public class TenantRateLimiter {
+
+    private static final Logger LOG = Logger.getLogger(TenantRateLimiter.class);
+
+    private record UserKey(UUID tenantId, String user) {
+    }
+
+    private record TierLimits(TokenBucket.Limits tenant, TokenBucket.Limits user) {
+    }
+
+    @Inject
+    RateLimitConfig config;
+
+    @Inject
+    TenantStatusIndex tenantStatusIndex;
+
+    private Map<String, TierLimits> tiers;
+    private TierLimits defaultTier;
+    private Cache<Object, TokenBucket> buckets;
+
+    private final LongAdder rejectedTenant = new LongAdder();
+    private final LongAdder rejectedUser = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        tiers = new HashMap<>();
+        config.tiers().forEach((name, tier) -> tiers.put(name, new TierLimits(
+                TokenBucket.Limits.of(tier.tenantRate(), tier.tenantBurst()),
+                TokenBucket.Limits.of(tier.userRate(), tier.userBurst()))));
+        defaultTier = tiers.get(config.defaultTier());
+        if (config.enabled() && defaultTier == null) {
+            LOG.warnf("Rate limit tier '%s' is not configured; tenants without a configured tier are not rate limited",
+                    config.defaultTier());
+        }
+        buckets = Caffeine.newBuilder()
+                .maximumSize(config.maxBuckets())
+                .expireAfterAccess(config.idleTimeout())
+                .build();
+    }
+
+    /**
+     * Takes one token from the tenant's bucket and, if {@code user} is not null, from the
+     * user's bucket (checked first, so one busy user cannot use up the whole tenant's budget).
+     * A request rejected by either bucket takes no token from the other.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds after which a retry can succeed
+     */
+    public long tryAcquire(UUID tenantId, String user) {
+        if (!config.enabled()) {
+            return 0;
+        }
+        String tierName = tenantStatusIndex.tierOf(tenantId);
+        TierLimits limits = tierName == null ? defaultTier : tiers.getOrDefault(tierName, defaultTier);
+        if (limits == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        TokenBucket userBucket = null;
+        if (user != null && limits.user() != null) {
+            userBucket = bucket(new UserKey(tenantId, user), limits.user(), now);
+            long wait = userBucket.tryAcquire(now);
+            if (wait > 0) {
+                rejectedUser.increment();
+                return wait;
+            }
+        }
+        if (limits.tenant() != null) {
+            long wait = bucket(tenantId, limits.tenant(), now).tryAcquire(now);
+            if (wait > 0) {
+                // The request does not go ahead, so it must not count against the user.
+                if (userBucket != null) {
+                    userBucket.refund();
+                }
+                rejectedTenant.increment();
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    private TokenBucket bucket(Object key, TokenBucket.Limits limits, long now) {
+        TokenBucket bucket = buckets.getIfPresent(key);
+        if (bucket != null && bucket.limits() == limits) {
+            return bucket;
+        }
+        return buckets.asMap().compute(key,
+                (k, current) -> current != null && current.limits() == limits ? current : new TokenBucket(limits, now));
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("buckets", buckets.estimatedSize());
+        stats.put("rejectedTenant", rejectedTenant.sum());
+        stats.put("rejectedUser", rejectedUser.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.multi_tenant_app.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm: the whole state is the
+ * "theoretical arrival time" of the next request, a single long updated with CAS. Taking a token
+ * pushes it one emission interval into the future; a request is rejected while it lies more than
+ * {@code burst} intervals ahead of now.
+ */
+final class TokenBucket {
+
+    record Limits(long emissionIntervalNanos, long burstToleranceNanos) {
+
+        /**
+         * @return {@code null} (no limit) if {@code ratePerSecond} is not positive; a non-positive
+         * burst defaults to one second's worth of requests
+         */
+        static Limits of(double ratePerSecond, int burst) {
+            if (ratePerSecond <= 0) {
+                return null;
+            }
+            long interval = Math.max(1, Math.round(1_000_000_000d / ratePerSecond));
+            int capacity = burst > 0 ? burst : (int) Math.max(1, Math.ceil(ratePerSecond));
+            return new Limits(interval, interval * capacity);
+        }
+    }
+
+    private final Limits limits;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(Limits limits, long nowNanos) {
+        this.limits = limits;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    Limits limits() {
+        return limits;
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrivalNanos.get();
+            long next = (arrival - nowNanos > 0 ? arrival : nowNanos) + limits.emissionIntervalNanos();
+            long wait = next - nowNanos - limits.burstToleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} for a request that was then rejected
+     * elsewhere. Never leaves more than {@code burst} tokens: an arrival time pushed into the
+     * past counts the same as now.
+     */
+    void refund() {
+        theoreticalArrivalNanos.addAndGet(-limits.emissionIntervalNanos());
+    }
+}
@@ -0,0 +1,226 @@
+package org.example.multi_tenant_app.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.config.RbacWriteCoalescingConfig;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.web.dtos.RolePermissionAssignmentDTO;
+import org.example.multi_tenant_app.web.dtos.UserRoleAssignmentDTO;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Group commit for single assignments: writes arriving within {@code rbac.write-coalescing.max-delay}
+ * of each other (at most {@code max-batch-size}) are committed in one transaction by a single
+ * flusher thread, so a burst of N assignments costs one commit instead of N. Writes arriving while
+ * a batch commits form the next batch, so batches grow with load.
+ * <p>
+ * Each write runs under its own savepoint: a write that fails (unknown user, role or permission)
+ * is rolled back alone and fails only its caller. If the transaction as a whole fails, each write
+ * of the batch is retried in a transaction of its own. Callers are completed after the commit.
+ */
+@ApplicationScoped
+public class AssignmentWriteCoalescer {
+
+    private static final Logger LOG = Logger.getLogger(AssignmentWriteCoalescer.class);
+
+    private record PendingWrite(Supplier<?> write, CompletableFuture<Object> result) {
+    }
+
+    @Inject
+    RbacWriteCoalescingConfig config;
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Inject
+    UserRoleAssignmentService userRoleAssignmentService;
+
+    @Inject
+    RolePermissionAssignmentService rolePermissionAssignmentService;
+
+    @Inject
+    AssignmentUpsertRepository assignmentUpsertRepository;
+
+    private volatile BlockingQueue<PendingWrite> pending;
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    void onStart(@Observes StartupEvent event) {
+        if (!config.enabled()) {
+            return;
+        }
+        pending = new ArrayBlockingQueue<>(Math.max(1, config.maxQueued()));
+        running = true;
+        flusher = new Thread(this::run, "rbac-write-coalescer");
+        flusher.setDaemon(true);
+        flusher.start();
+        LOG.infof("Coalescing assignment writes: up to %d per transaction, %d ms window",
+                config.maxBatchSize(), config.maxDelay().toMillis());
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        // The flusher commits what is still queued before it exits.
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        // Left over if the flusher timed out, or offered after it had found the queue empty.
+        List<PendingWrite> left = new ArrayList<>();
+        pending.drainTo(left);
+        left.forEach(AssignmentWriteCoalescer::failShutdown);
+    }
+
+    private static void failShutdown(PendingWrite write) {
+        write.result().completeExceptionally(new ServiceException(ErrorCode.UNKNOWN_ERROR,
+                Response.Status.SERVICE_UNAVAILABLE, "Shutting down; the assignment was not written. Retry."));
+    }
+
+    public boolean isEnabled() {
+        return pending != null;
+    }
+
+    /**
+     * {@link UserRoleAssignmentService#assignRoleToUser(UUID, UUID)}, committed together with
+     * other writes. Never blocks, so it may be called on an event-loop thread.
+     */
+    public Uni<UserRoleAssignmentDTO> assignRoleToUser(UUID userId, UUID roleId) {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        return enqueue(() -> userRoleAssignmentService.assignRoleToUser(tenantId, userId, roleId));
+    }
+
+    /**
+     * {@link RolePermissionAssignmentService#assignPermissionToRole(UUID, UUID)}, committed
+     * together with other writes. Never blocks.
+     */
+    public Uni<RolePermissionAssignmentDTO> assignPermissionToRole(UUID roleId, UUID permissionId) {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        return enqueue(() -> rolePermissionAssignmentService.assignPermissionToRole(tenantId, roleId, permissionId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Uni<T> enqueue(Supplier<T> write) {
+        return Uni.createFrom().deferred(() -> {
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            PendingWrite pendingWrite = new PendingWrite(write, result);
+            if (!running || !pending.offer(pendingWrite)) {
+                return Uni.createFrom().failure(new ServiceException(ErrorCode.RATE_LIMITED, Response.Status.TOO_MANY_REQUESTS,
+                        "Too many assignment writes queued; retry later."));
+            }
+            // Stopped meanwhile: unless the flusher or onStop took the write, nobody will.
+            if (!running && pending.remove(pendingWrite)) {
+                failShutdown(pendingWrite);
+            }
+            return Uni.createFrom().completionStage(result).map(value -> (T) value);
+        });
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(config.maxBatchSize());
+        while (running || !pending.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Waits for a first write, then for more until the window closes or the batch is full.
+    private void collect(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = pending.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        int maxBatchSize = Math.max(1, config.maxBatchSize());
+        long deadline = System.nanoTime() + config.maxDelay().toNanos();
+        while (batch.size() < maxBatchSize) {
+            PendingWrite next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        Object[] results = new Object[batch.size()];
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    try {
+                        results[i] = assignmentUpsertRepository.inSavepoint(batch.get(i).write());
+                    } catch (ServiceException e) {
+                        results[i] = e;
+                    }
+                }
+            });
+            batches.increment();
+            writes.add(batch.size());
+            LOG.debugf("Committed %d assignment writes in one transaction", batch.size());
+        } catch (RuntimeException e) {
+            fallbacks.increment();
+            LOG.warnf(e, "Coalesced transaction of %d assignment writes failed; retrying them one by one", batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                Supplier<?> write = batch.get(i).write();
+                try {
+                    results[i] = QuarkusTransaction.requiringNew().call(write::get);
+                } catch (RuntimeException itemFailure) {
+                    results[i] = itemFailure;
+                }
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<Object> result = batch.get(i).result();
+            if (results[i] instanceof RuntimeException failure) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(results[i]);
+            }
+        }
+    }
+
+    /**
+     * Batches committed as one transaction, the writes in them, and batches that failed as a
+     * whole and were retried write by write.
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("batches", batches.sum());
+        stats.put("writes", writes.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("queued", pending == null ? 0L : pending.size());
+        return stats;
+    }
+}
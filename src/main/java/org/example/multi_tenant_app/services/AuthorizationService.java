@@ -0,0 +1,118 @@
+package org.example.multi_tenant_app.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.services.authz.AuthorizationSnapshotLoader;
+import org.example.multi_tenant_app.services.authz.TenantAuthorizationSnapshot;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.jboss.logging.Logger;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers "can user U do P in tenant T" from an in-memory, per-tenant compiled snapshot.
+ * Snapshots are compiled lazily on first use and dropped whenever an RBAC change for the
+ * tenant commits, so the next check recompiles from the database. Concurrent misses for a
+ * tenant share one compile.
+ */
+@ApplicationScoped
+public class AuthorizationService {
+
+    private static final Logger LOG = Logger.getLogger(AuthorizationService.class);
+
+    @Inject
+    AuthorizationSnapshotLoader snapshotLoader;
+
+    private final ConcurrentMap<UUID, TenantAuthorizationSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation. A compile that started before an invalidation must not
+    // install its (possibly stale) result, so it re-checks the generation before publishing.
+    private final ConcurrentMap<UUID, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    // The compile in flight per tenant. Only callers that saw the same generation join it; one
+    // arriving after an invalidation starts its own.
+    private record Compilation(long generation, CompletableFuture<TenantAuthorizationSnapshot> result) {
+    }
+
+    private final ConcurrentMap<UUID, Compilation> compilations = new ConcurrentHashMap<>();
+
+    public boolean checkPermission(UUID tenantId, UUID userId, String permissionName) {
+        return getSnapshot(tenantId).isPermitted(userId, permissionName);
+    }
+
+    /**
+     * Returns the tenant's snapshot, compiling it from the database if needed (blocking).
+     */
+    public TenantAuthorizationSnapshot getSnapshot(UUID tenantId) {
+        TenantAuthorizationSnapshot snapshot = snapshots.get(tenantId);
+        return snapshot != null ? snapshot : compile(tenantId);
+    }
+
+    /**
+     * Returns the tenant's snapshot only if it is already compiled, otherwise {@code null}.
+     * Never touches the database, so it is safe to call from an event-loop thread.
+     */
+    public TenantAuthorizationSnapshot getCompiledSnapshot(UUID tenantId) {
+        return snapshots.get(tenantId);
+    }
+
+    public void invalidateTenant(UUID tenantId) {
+        generations.computeIfAbsent(tenantId, k -> new AtomicLong()).incrementAndGet();
+        if (snapshots.remove(tenantId) != null) {
+            LOG.debugf("Invalidated authorization snapshot for tenant %s", tenantId);
+        }
+    }
+
+    void onRbacChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) RbacChangeEvent event) {
+        invalidateTenant(event.getTenantId());
+    }
+
+    private TenantAuthorizationSnapshot compile(UUID tenantId) {
+        AtomicLong generation = generations.computeIfAbsent(tenantId, k -> new AtomicLong());
+        long observedGeneration = generation.get();
+        CompletableFuture<TenantAuthorizationSnapshot> result = new CompletableFuture<>();
+        Compilation compilation = compilations.compute(tenantId, (k, current) ->
+                current != null && current.generation() == observedGeneration ? current : new Compilation(observedGeneration, result));
+        if (compilation.result() != result) {
+            return await(compilation.result());
+        }
+        try {
+            // Installed by a compile that finished after our miss.
+            TenantAuthorizationSnapshot snapshot = snapshots.get(tenantId);
+            if (snapshot == null) {
+                long start = System.nanoTime();
+                TenantAuthorizationSnapshot compiled = snapshotLoader.load(tenantId);
+                snapshots.compute(tenantId, (k, current) -> generation.get() == observedGeneration ? compiled : current);
+                LOG.debugf("Compiled authorization snapshot for tenant %s (%d users) in %d us",
+                        tenantId, compiled.getUserCount(), (System.nanoTime() - start) / 1_000);
+                snapshot = compiled;
+            }
+            result.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            compilations.remove(tenantId, compilation);
+        }
+    }
+
+    private static TenantAuthorizationSnapshot await(CompletableFuture<TenantAuthorizationSnapshot> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // Rethrow the compiling caller's own exception, e.g. a ServiceException.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
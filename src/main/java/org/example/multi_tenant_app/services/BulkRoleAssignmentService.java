@@ -0,0 +1,178 @@
+package org.example.multi_tenant_app.services;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.config.RbacBulkAssignmentConfig;
+import org.example.multi_tenant_app.data.projections.ReadOnlyQueries;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository.UserRole;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Assigns many roles to many users of the current tenant. Distinct pairs are processed in chunks
+ * of {@code rbac.bulk-assignment.chunk-size}, each in its own transaction: set-based queries find
+ * the chunk's users and roles in the tenant and the pairs already assigned, and the remaining
+ * pairs are inserted as one JDBC batch. That is four round trips whatever the chunk's size, plus
+ * the commit-time writes of the change events: the tenant's version bump and, with the outbox
+ * enabled, one batch of outbox rows. Each created pair fires its own event.
+ */
+@ApplicationScoped
+public class BulkRoleAssignmentService {
+
+    private static final Logger LOG = Logger.getLogger(BulkRoleAssignmentService.class);
+
+    public enum Outcome {
+        CREATED(null),
+        ALREADY_ASSIGNED(null),
+        USER_NOT_FOUND(ErrorCode.USER_NOT_FOUND),
+        ROLE_NOT_FOUND(ErrorCode.ROLE_NOT_FOUND),
+        // The item's chunk failed as a whole and was rolled back.
+        FAILED(ErrorCode.ROLE_ASSIGNMENT_FAILED);
+
+        private final ErrorCode errorCode;
+
+        Outcome(ErrorCode errorCode) {
+            this.errorCode = errorCode;
+        }
+
+        /**
+         * @return the error code of a failed item, {@code null} if the role is assigned
+         */
+        public ErrorCode getErrorCode() {
+            return errorCode;
+        }
+    }
+
+    /**
+     * @param repeat true if the pair already occurred earlier in the request; it shares that
+     *               occurrence's outcome and is left out of the counts
+     */
+    public record ItemResult(UUID userAccountId, UUID roleId, Outcome outcome, boolean repeat) {
+    }
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Inject
+    RbacBulkAssignmentConfig config;
+
+    @Inject
+    AssignmentUpsertRepository assignmentUpsertRepository;
+
+    @Inject
+    Event<RbacChangeEvent> rbacChangeEvent;
+
+    /**
+     * Must not be called inside a transaction: every chunk commits on its own, so a failing chunk
+     * does not undo the ones before it.
+     *
+     * @return one result per item, in the order of {@code items}; repeated pairs share the outcome
+     * of their first occurrence
+     */
+    public List<ItemResult> assignRoles(List<UserRole> items) {
+        if (items.size() > config.maxItems()) {
+            throw ServiceException.badRequest("Bulk assignment contains " + items.size()
+                    + " items, the maximum is " + config.maxItems() + ".");
+        }
+        for (UserRole item : items) {
+            if (item.userAccountId() == null || item.roleId() == null) {
+                throw ServiceException.badRequest("Every assignment needs a user account ID and a role ID.");
+            }
+        }
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        List<UserRole> distinct = new ArrayList<>(new LinkedHashSet<>(items));
+        Map<UserRole, Outcome> outcomes = new HashMap<>();
+        int chunkSize = Math.max(1, config.chunkSize());
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<UserRole> chunk = distinct.subList(from, Math.min(distinct.size(), from + chunkSize));
+            try {
+                outcomes.putAll(QuarkusTransaction.requiringNew().call(() -> assignChunk(tenantId, chunk)));
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Bulk role assignment: chunk of %d items failed for tenant %s", chunk.size(), tenantId);
+                chunk.forEach(pair -> outcomes.put(pair, Outcome.FAILED));
+            }
+        }
+        List<ItemResult> results = new ArrayList<>(items.size());
+        Set<UserRole> seen = new HashSet<>();
+        for (UserRole item : items) {
+            results.add(new ItemResult(item.userAccountId(), item.roleId(), outcomes.get(item), !seen.add(item)));
+        }
+        return results;
+    }
+
+    private Map<UserRole, Outcome> assignChunk(UUID tenantId, List<UserRole> chunk) {
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> roleIds = new HashSet<>();
+        for (UserRole pair : chunk) {
+            userIds.add(pair.userAccountId());
+            roleIds.add(pair.roleId());
+        }
+        Set<UUID> tenantUsers = new HashSet<>(ReadOnlyQueries.create(
+                        "select u.id from UserAccount u where u.tenantId = ?1 and u.id in ?2", UUID.class)
+                .setParameter(1, tenantId)
+                .setParameter(2, userIds)
+                .getResultList());
+        Set<UUID> tenantRoles = new HashSet<>(ReadOnlyQueries.create(
+                        "select r.id from Role r where r.tenantId = ?1 and r.id in ?2", UUID.class)
+                .setParameter(1, tenantId)
+                .setParameter(2, roleIds)
+                .getResultList());
+        // A superset of the chunk's assigned pairs (its users x its roles); only membership is tested.
+        Set<UserRole> assigned = new HashSet<>();
+        if (!tenantUsers.isEmpty() && !tenantRoles.isEmpty()) {
+            for (Object[] row : ReadOnlyQueries.create("select ura.userAccountId, ura.roleId from UserRoleAssignment ura"
+                            + " where ura.tenantId = ?1 and ura.userAccountId in ?2 and ura.roleId in ?3", Object[].class)
+                    .setParameter(1, tenantId)
+                    .setParameter(2, tenantUsers)
+                    .setParameter(3, tenantRoles)
+                    .getResultList()) {
+                assigned.add(new UserRole((UUID) row[0], (UUID) row[1]));
+            }
+        }
+
+        Map<UserRole, Outcome> outcomes = new HashMap<>();
+        List<UserRole> toInsert = new ArrayList<>();
+        for (UserRole pair : chunk) {
+            if (!tenantUsers.contains(pair.userAccountId())) {
+                outcomes.put(pair, Outcome.USER_NOT_FOUND);
+            } else if (!tenantRoles.contains(pair.roleId())) {
+                outcomes.put(pair, Outcome.ROLE_NOT_FOUND);
+            } else if (assigned.contains(pair)) {
+                outcomes.put(pair, Outcome.ALREADY_ASSIGNED);
+            } else {
+                toInsert.add(pair);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return outcomes;
+        }
+
+        boolean[] inserted = assignmentUpsertRepository.insertUserRoles(tenantId, toInsert);
+        for (int i = 0; i < inserted.length; i++) {
+            UserRole pair = toInsert.get(i);
+            if (inserted[i]) {
+                outcomes.put(pair, Outcome.CREATED);
+                rbacChangeEvent.fire(RbacChangeEvent.userRoleAssignment(tenantId, pair.userAccountId(), pair.roleId(),
+                        RbacChangeEvent.Operation.CREATED));
+            } else {
+                outcomes.put(pair, Outcome.ALREADY_ASSIGNED);
+            }
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.multi_tenant_app.services;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.config.RbacListConfig;
+import org.example.multi_tenant_app.config.RbacReadPathConfig;
+import org.example.multi_tenant_app.config.RbacReadPathConfig.Mode;
+import org.example.multi_tenant_app.data.projections.KeysetCursor;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.reactive.ReactiveRbacReadService;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
+import org.example.multi_tenant_app.web.dtos.PageDTO;
+import org.example.multi_tenant_app.web.dtos.PermissionDTO;
+import org.example.multi_tenant_app.web.dtos.RoleDTO;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * The RBAC read APIs as {@link Uni}s, for the REST resources and gRPC services, which call them
+ * on the event loop. {@code rbac.read-path.mode} selects the implementation:
+ * <ul>
+ *     <li>{@code blocking}: cache hits are answered inline, misses run the JPA services on
+ *     {@link TenantFairExecutor}, queued under the caller's tenant.</li>
+ *     <li>{@code reactive}: {@link ReactiveRbacReadService} queries PostgreSQL without
+ *     occupying any thread while it waits. Needs a reactive datasource
+ *     ({@code quarkus.datasource.reactive.url}); without one this falls back to blocking.</li>
+ * </ul>
+ * Both fail with a {@code NotFoundException} for unknown users and roles, and use the tenant of
+ * the current {@link TenantContext}.
+ * <p>
+ * The lists also come as keyset-paginated pages ({@code rbac.lists}, see {@link KeysetCursor})
+ * and as streams that read page by page on demand. Pages are not cached.
+ */
+@ApplicationScoped
+public class RbacReadPath {
+
+    private static final Logger LOG = Logger.getLogger(RbacReadPath.class);
+
+    @Inject
+    RbacReadPathConfig config;
+
+    @Inject
+    RbacListConfig listConfig;
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    @Inject
+    RoleService roleService;
+
+    @Inject
+    UserRoleAssignmentService userRoleAssignmentService;
+
+    @Inject
+    RolePermissionAssignmentService rolePermissionAssignmentService;
+
+    @Inject
+    ReactiveRbacReadService reactiveReads;
+
+    private Mode mode;
+
+    @PostConstruct
+    void init() {
+        mode = config.mode();
+        if (mode == Mode.REACTIVE && !reactiveReads.isAvailable()) {
+            LOG.warn("rbac.read-path.mode is reactive, but the default datasource has no active reactive "
+                    + "PostgreSQL pool (is quarkus.datasource.reactive.url set?); using the blocking read path");
+            mode = Mode.BLOCKING;
+        }
+        LOG.infof("RBAC read path running in %s mode", mode);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Uni<Optional<RoleDTO>> getRoleById(UUID roleId) {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        if (mode == Mode.REACTIVE) {
+            return reactiveReads.getRoleById(tenantId, roleId);
+        }
+        Optional<RoleDTO> cached = roleService.findCachedRole(roleId);
+        if (cached.isPresent()) {
+            return Uni.createFrom().item(cached);
+        }
+        return tenantFairExecutor.submit(tenantId, () -> roleService.getRoleById(roleId));
+    }
+
+    public Uni<List<RoleDTO>> getRolesByTenant() {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        if (mode == Mode.REACTIVE) {
+            return reactiveReads.getRolesByTenant(tenantId);
+        }
+        return tenantFairExecutor.submit(tenantId, roleService::getRolesByTenant);
+    }
+
+    /**
+     * @param cursor {@code nextCursor} of the previous page, null for the first
+     * @param limit page size, null for {@code rbac.lists.default-page-size}
+     */
+    public Uni<PageDTO<RoleDTO>> getRolesPage(String cursor, Integer limit) {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        return rolesPage(tenantId, KeysetCursor.decode(cursor), pageSize(limit));
+    }
+
+    /**
+     * All of the tenant's roles, read {@code rbac.lists.stream-page-size} at a time as the
+     * subscriber asks for more, so memory stays at one page however many roles there are.
+     */
+    public Multi<RoleDTO> streamRolesByTenant() {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        return stream(after -> rolesPage(tenantId, after, listConfig.streamPageSize()));
+    }
+
+    private Uni<PageDTO<RoleDTO>> rolesPage(UUID tenantId, UUID after, int limit) {
+        if (mode == Mode.REACTIVE) {
+            return reactiveReads.getRolesPage(tenantId, after, limit);
+        }
+        return tenantFairExecutor.submit(tenantId, () -> roleService.getRolesPage(tenantId, after, limit));
+    }
+
+    public Uni<List<RoleDTO>> getRolesForUser(UUID userId) {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        if (mode == Mode.REACTIVE) {
+            return reactiveReads.getRolesForUser(tenantId, userId);
+        }
+        Optional<List<RoleDTO>> cached = userRoleAssignmentService.findCachedRolesForUser(userId);
+        if (cached.isPresent()) {
+            return Uni.createFrom().item(cached.get());
+        }
+        return tenantFairExecutor.submit(tenantId, () -> userRoleAssignmentService.getRolesForUser(userId));
+    }
+
+    public Uni<List<PermissionDTO>> getPermissionsForRole(UUID roleId) {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        if (mode == Mode.REACTIVE) {
+            return reactiveReads.getPermissionsForRole(tenantId, roleId);
+        }
+        Optional<List<PermissionDTO>> cached = rolePermissionAssignmentService.findCachedPermissionsForRole(roleId);
+        if (cached.isPresent()) {
+            return Uni.createFrom().item(cached.get());
+        }
+        return tenantFairExecutor.submit(tenantId, () -> rolePermissionAssignmentService.getPermissionsForRole(roleId));
+    }
+
+    public Uni<PageDTO<PermissionDTO>> getPermissionsForRolePage(UUID roleId, String cursor, Integer limit) {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        return permissionsForRolePage(tenantId, roleId, KeysetCursor.decode(cursor), pageSize(limit));
+    }
+
+    /**
+     * Fails with a {@code NotFoundException} before the first item if the role does not exist.
+     */
+    public Multi<PermissionDTO> streamPermissionsForRole(UUID roleId) {
+        UUID tenantId = tenantContext.getRequiredTenantId();
+        return stream(after -> permissionsForRolePage(tenantId, roleId, after, listConfig.streamPageSize()));
+    }
+
+    private Uni<PageDTO<PermissionDTO>> permissionsForRolePage(UUID tenantId, UUID roleId, UUID after, int limit) {
+        if (mode == Mode.REACTIVE) {
+            return reactiveReads.getPermissionsForRolePage(tenantId, roleId, after, limit);
+        }
+        return tenantFairExecutor.submit(tenantId,
+                () -> rolePermissionAssignmentService.getPermissionsForRolePage(tenantId, roleId, after, limit));
+    }
+
+    public Uni<PageDTO<PermissionDTO>> getGlobalPermissionsPage(String cursor, Integer limit) {
+        UUID tenantId = tenantContext.getCurrentTenantId().orElse(null);
+        return globalPermissionsPage(tenantId, KeysetCursor.decode(cursor), pageSize(limit));
+    }
+
+    public Multi<PermissionDTO> streamAllGlobalPermissions() {
+        UUID tenantId = tenantContext.getCurrentTenantId().orElse(null);
+        return stream(after -> globalPermissionsPage(tenantId, after, listConfig.streamPageSize()));
+    }
+
+    // The tenant only decides whose queue the blocking read waits in.
+    private Uni<PageDTO<PermissionDTO>> globalPermissionsPage(UUID tenantId, UUID after, int limit) {
+        if (mode == Mode.REACTIVE) {
+            return reactiveReads.getGlobalPermissionsPage(after, limit);
+        }
+        return tenantFairExecutor.submit(tenantId, () -> rolePermissionAssignmentService.getGlobalPermissionsPage(after, limit));
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return listConfig.defaultPageSize();
+        }
+        if (limit < 1 || limit > listConfig.maxPageSize()) {
+            throw ServiceException.badRequest("limit must be between 1 and " + listConfig.maxPageSize() + ".");
+        }
+        return limit;
+    }
+
+    // Reads the next page only once the previous one has been consumed and more items are requested.
+    private static <T> Multi<T> stream(Function<UUID, Uni<PageDTO<T>>> pages) {
+        return Multi.createBy().repeating()
+                .uni(AtomicReference<String>::new, cursor -> pages.apply(KeysetCursor.decode(cursor.get()))
+                        .invoke(page -> cursor.set(page.getNextCursor())))
+                .whilst(page -> page.getNextCursor() != null)
+                .onItem().transformToIterable(PageDTO::getItems);
+    }
+
+    public Uni<List<PermissionDTO>> getAllGlobalPermissions() {
+        if (mode == Mode.REACTIVE) {
+            return reactiveReads.getAllGlobalPermissions();
+        }
+        return tenantFairExecutor.submit(tenantContext.getCurrentTenantId().orElse(null),
+                rolePermissionAssignmentService::getAllGlobalPermissions);
+    }
+}
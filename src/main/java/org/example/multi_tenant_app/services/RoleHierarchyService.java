@@ -0,0 +1,98 @@
+package org.example.multi_tenant_app.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.RoleHierarchyClosure;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Maintains {@code roles.parent_role_id} together with its transitive closure
+ * ({@link RoleHierarchyClosure}). Moving a role only rewrites the paths between the role's
+ * subtree and its old/new ancestors; the rest of the closure is left untouched.
+ */
+@ApplicationScoped
+public class RoleHierarchyService {
+
+    @Inject
+    Event<RbacChangeEvent> rbacChangeEvent;
+
+    /**
+     * Makes {@code role} inherit from {@code newParentId} (or from nothing if null). The parent
+     * must belong to the same tenant as {@code role}.
+     *
+     * @throws ServiceException if the parent does not exist in the role's tenant or the change
+     *                          would create a cycle
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void setParent(Role role, UUID newParentId) {
+        if (Objects.equals(role.parentRoleId, newParentId)) {
+            return;
+        }
+        // Serializes hierarchy changes per tenant; otherwise two concurrent moves could each
+        // pass the cycle check and together form a cycle.
+        Tenant.findById(role.tenantId, LockModeType.PESSIMISTIC_WRITE);
+
+        Map<UUID, Integer> newAncestors = new HashMap<>();
+        if (newParentId != null) {
+            // Loaded by key, which the tenant filter does not cover, so the tenant is checked here.
+            Role parent = Role.findById(newParentId);
+            if (parent == null || !parent.tenantId.equals(role.tenantId)) {
+                throw ServiceException.notFound("Role " + newParentId);
+            }
+            if (newParentId.equals(role.id)
+                    || RoleHierarchyClosure.count("ancestorRoleId = ?1 and descendantRoleId = ?2", role.id, newParentId) > 0) {
+                throw new ServiceException(ErrorCode.ROLE_HIERARCHY_CYCLE, Response.Status.CONFLICT,
+                        "Role '" + newParentId + "' inherits from role '" + role.id + "' and cannot become its parent.");
+            }
+            newAncestors.put(newParentId, 1);
+            for (RoleHierarchyClosure path : RoleHierarchyClosure.<RoleHierarchyClosure>list("descendantRoleId", newParentId)) {
+                newAncestors.put(path.ancestorRoleId, path.depth + 1);
+            }
+        }
+
+        // The role itself (depth 0) and everything that inherits from it move together.
+        Map<UUID, Integer> subtree = new HashMap<>();
+        subtree.put(role.id, 0);
+        for (RoleHierarchyClosure path : RoleHierarchyClosure.<RoleHierarchyClosure>list("ancestorRoleId", role.id)) {
+            subtree.put(path.descendantRoleId, path.depth);
+        }
+
+        if (role.parentRoleId != null) {
+            List<UUID> oldAncestors = RoleHierarchyClosure.<RoleHierarchyClosure>list("descendantRoleId", role.id).stream()
+                    .map(path -> path.ancestorRoleId)
+                    .toList();
+            RoleHierarchyClosure.delete("ancestorRoleId in ?1 and descendantRoleId in ?2", oldAncestors, subtree.keySet());
+        }
+        newAncestors.forEach((ancestorId, ancestorDepth) -> subtree.forEach((descendantId, descendantDepth) ->
+                new RoleHierarchyClosure(role.tenantId, ancestorId, descendantId, ancestorDepth + descendantDepth).persist()));
+
+        role.parentRoleId = newParentId;
+    }
+
+    /**
+     * Detaches the direct children of a role that is about to be deleted. They keep their own
+     * permissions but no longer inherit from the deleted role or its ancestors.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void detachChildren(Role role) {
+        for (Role child : Role.<Role>list("parentRoleId", role.id)) {
+            setParent(child, null);
+            child.persist();
+            rbacChangeEvent.fire(RbacChangeEvent.role(child.tenantId, child.id, RbacChangeEvent.Operation.UPDATED));
+        }
+    }
+}
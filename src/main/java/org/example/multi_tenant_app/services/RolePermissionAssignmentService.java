@@ -2,19 +2,41 @@ package org.example.multi_tenant_app.services;
 
 import io.quarkus.hibernate.orm.panache.Panache;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.NotFoundException;
 import org.example.multi_tenant_app.data.entities.Permission;
 import org.example.multi_tenant_app.data.entities.Role;
 import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.example.multi_tenant_app.data.projections.KeysetCursor;
+import org.example.multi_tenant_app.data.projections.PermissionRow;
+import org.example.multi_tenant_app.data.projections.ReadOnlyQueries;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository.AssignmentUpsert;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.exceptions.StacklessNotFoundException;
 import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.authz.WildcardPermissionMatcher;
+import org.example.multi_tenant_app.services.cache.RbacExistenceFilter;
+import org.example.multi_tenant_app.services.cache.RbacReadCache;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.example.multi_tenant_app.web.dtos.AssignmentDiffDTO;
+import org.example.multi_tenant_app.web.dtos.PageDTO;
 import org.example.multi_tenant_app.web.dtos.PermissionDTO;
 import org.example.multi_tenant_app.web.dtos.RolePermissionAssignmentDTO;
 import org.hibernate.Filter;
 import org.hibernate.Session;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,6 +50,18 @@ public class RolePermissionAssignmentService {
     @Inject
     TenantContext tenantContext;
 
+    @Inject
+    Event<RbacChangeEvent> rbacChangeEvent;
+
+    @Inject
+    RbacReadCache rbacReadCache;
+
+    @Inject
+    RbacExistenceFilter existenceFilter;
+
+    @Inject
+    AssignmentUpsertRepository assignmentUpsertRepository;
+
     private void enableTenantFilterForRole() { // tenantId parameter removed
         UUID currentTenantId = tenantContext.getRequiredTenantId();
         Session session = Panache.getEntityManager().unwrap(Session.class);
@@ -44,6 +78,7 @@ public class RolePermissionAssignmentService {
         dto.setTenantId(assignment.tenantId);
         dto.setRoleId(assignment.roleId);
         dto.setPermissionId(assignment.permissionId);
+        dto.setPermissionPattern(assignment.permissionPattern);
         dto.setAssignedAt(assignment.assignedAt);
         return dto;
     }
@@ -60,39 +95,33 @@ public class RolePermissionAssignmentService {
     }
 
 
+    /**
+     * Idempotent: an existing assignment is returned as is. One statement, no lookups first; the
+     * foreign keys reject a role of another tenant ({@code ROLE_NOT_FOUND}) and an unknown
+     * permission ({@code PERMISSION_NOT_FOUND}), both 404.
+     */
     @Transactional
     public RolePermissionAssignmentDTO assignPermissionToRole(UUID roleId, UUID permissionId) { // tenantId removed
-        UUID currentTenantId = tenantContext.getRequiredTenantId();
-        enableTenantFilterForRole(); // Filter applies to Role entity checks using tenantId from context
-
-        // 1. Verify Role exists and belongs to the current tenant (filter will apply)
-        Role role = Role.findById(roleId);
-        if (role == null) {
-            throw new NotFoundException("Role not found in this tenant.");
-        }
-        if (role.isSystemRole) {
-            // Potentially throw an error if system roles' permissions cannot be modified
-            // Or this logic is handled at a higher level (e.g., specific admin APIs)
-        }
+        return assignPermissionToRole(tenantContext.getRequiredTenantId(), roleId, permissionId);
+    }
 
-        // 2. Verify Permission exists (Permissions are global)
-        Permission permission = Permission.findById(permissionId);
-        if (permission == null) {
-            throw new NotFoundException("Permission not found.");
+    /**
+     * {@link #assignPermissionToRole(UUID, UUID)} for an explicit tenant, inside the caller's
+     * transaction. Used by {@link AssignmentWriteCoalescer}; not {@code @Transactional} for the same
+     * reason as {@link UserRoleAssignmentService#assignRoleToUser(UUID, UUID, UUID)}.
+     */
+    public RolePermissionAssignmentDTO assignPermissionToRole(UUID tenantId, UUID roleId, UUID permissionId) {
+        AssignmentUpsert upsert = assignmentUpsertRepository.upsertRolePermission(tenantId, roleId, permissionId);
+        if (upsert.created()) {
+            rbacChangeEvent.fire(RbacChangeEvent.rolePermissionAssignment(tenantId, roleId, permissionId, RbacChangeEvent.Operation.CREATED));
         }
-
-        // 3. Check if assignment already exists (Filter will apply to RolePermissionAssignment as well)
-        RolePermissionAssignment existingAssignment = RolePermissionAssignment
-                .<RolePermissionAssignment>find("roleId = ?1 and permissionId = ?2", roleId, permissionId)
-                .firstResult(); // Filter ensures this is for the current tenant via the role's tenantId linkage in the assignment
-
-        if (existingAssignment != null) {
-            return convertToDTO(existingAssignment);
-        }
-
-        RolePermissionAssignment newAssignment = new RolePermissionAssignment(currentTenantId, roleId, permissionId);
-        newAssignment.persist();
-        return convertToDTO(newAssignment);
+        RolePermissionAssignmentDTO dto = new RolePermissionAssignmentDTO();
+        dto.setId(upsert.id());
+        dto.setTenantId(tenantId);
+        dto.setRoleId(roleId);
+        dto.setPermissionId(permissionId);
+        dto.setAssignedAt(upsert.assignedAt());
+        return dto;
     }
 
     @Transactional
@@ -111,30 +140,198 @@ public class RolePermissionAssignmentService {
         // Delete query needs to be explicitly scoped by tenant_id for safety,
         // as the filter on RolePermissionAssignment might not be active for delete by query.
         long deletedCount = RolePermissionAssignment.delete("tenantId = ?1 and roleId = ?2 and permissionId = ?3", currentTenantId, roleId, permissionId);
+        if (deletedCount > 0) {
+            rbacChangeEvent.fire(RbacChangeEvent.rolePermissionAssignment(currentTenantId, roleId, permissionId, RbacChangeEvent.Operation.DELETED));
+        }
         return deletedCount > 0;
     }
 
+    /**
+     * Replaces the role's catalog permissions with {@code permissionIds}, writing only the
+     * difference, like {@link UserRoleAssignmentService#setRolesForUser}. Pattern grants are not
+     * part of the set and are left alone.
+     *
+     * @throws ServiceException {@code ROLE_NOT_FOUND} / {@code PERMISSION_NOT_FOUND} (404) if the
+     * role is not one of the tenant's or an added permission does not exist; nothing is changed then
+     */
+    @Transactional
+    public AssignmentDiffDTO setPermissionsForRole(UUID roleId, Collection<UUID> permissionIds) {
+        UUID currentTenantId = tenantContext.getRequiredTenantId();
+        if (permissionIds.stream().anyMatch(Objects::isNull)) {
+            throw ServiceException.badRequest("Permission IDs must not be null.");
+        }
+        // No row means no such role, a single null row a role without catalog permissions.
+        List<UUID> rows = ReadOnlyQueries.create("select rpa.permissionId from Role r"
+                        + " left join RolePermissionAssignment rpa on rpa.roleId = r.id and rpa.tenantId = r.tenantId"
+                        + " and rpa.permissionId is not null"
+                        + " where r.tenantId = ?1 and r.id = ?2", UUID.class)
+                .setParameter(1, currentTenantId)
+                .setParameter(2, roleId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            throw new ServiceException(ErrorCode.ROLE_NOT_FOUND, Response.Status.NOT_FOUND, "Role not found in this tenant.");
+        }
+        Set<UUID> current = new LinkedHashSet<>(rows);
+        current.remove(null);
+        Set<UUID> desired = new LinkedHashSet<>(permissionIds);
+        List<UUID> added = desired.stream().filter(id -> !current.contains(id)).toList();
+        List<UUID> removed = current.stream().filter(id -> !desired.contains(id)).toList();
+        if (added.isEmpty() && removed.isEmpty()) {
+            return new AssignmentDiffDTO(List.of(), List.of(), current.size());
+        }
+
+        if (!added.isEmpty()) {
+            List<UUID> found = ReadOnlyQueries.create("select p.id from Permission p where p.id in ?1", UUID.class)
+                    .setParameter(1, added)
+                    .getResultList();
+            if (found.size() < added.size()) {
+                UUID missing = added.stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+                throw new ServiceException(ErrorCode.PERMISSION_NOT_FOUND, Response.Status.NOT_FOUND,
+                        "Permission not found: " + missing);
+            }
+            boolean[] inserted = assignmentUpsertRepository.insertRolePermissions(currentTenantId, roleId, added);
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i]) {
+                    rbacChangeEvent.fire(RbacChangeEvent.rolePermissionAssignment(currentTenantId, roleId, added.get(i), RbacChangeEvent.Operation.CREATED));
+                }
+            }
+        }
+        if (!removed.isEmpty()) {
+            RolePermissionAssignment.delete("tenantId = ?1 and roleId = ?2 and permissionId in ?3", currentTenantId, roleId, removed);
+            for (UUID permissionId : removed) {
+                rbacChangeEvent.fire(RbacChangeEvent.rolePermissionAssignment(currentTenantId, roleId, permissionId, RbacChangeEvent.Operation.DELETED));
+            }
+        }
+        return new AssignmentDiffDTO(added, removed, current.size() - removed.size());
+    }
+
     public List<PermissionDTO> getPermissionsForRole(UUID roleId) { // tenantId removed
-        enableTenantFilterForRole(); // Ensure role check is tenanted
+        UUID currentTenantId = tenantContext.getRequiredTenantId();
 
-        Role role = Role.findById(roleId); // Filter ensures it's the correct tenant's role
+        return rbacReadCache.get(RbacReadCache.Region.ROLE_PERMISSIONS, currentTenantId, roleId, () -> {
+            // Unknown IDs are usually rejected here, without a query.
+            if (existenceFilter.isKnownAbsent(currentTenantId, RbacExistenceFilter.Kind.ROLE, roleId)) {
+                throw new StacklessNotFoundException("Role not found in this tenant.");
+            }
+            // The role check and its catalog permissions in one statement: no row means no such
+            // role, a single all-null row a role without any. Wildcard grants are not listed here.
+            List<PermissionRow> rows = ReadOnlyQueries.create("select " + PermissionRow.SELECT_P + " from Role r"
+                            + " left join RolePermissionAssignment rpa on rpa.roleId = r.id and rpa.tenantId = r.tenantId"
+                            + " and rpa.permissionId is not null"
+                            + " left join Permission p on p.id = rpa.permissionId"
+                            + " where r.tenantId = ?1 and r.id = ?2", PermissionRow.class)
+                    .setParameter(1, currentTenantId)
+                    .setParameter(2, roleId)
+                    .getResultList();
+            if (rows.isEmpty()) {
+                existenceFilter.recordAbsent(currentTenantId, RbacExistenceFilter.Kind.ROLE, roleId);
+                throw new StacklessNotFoundException("Role not found in this tenant.");
+            }
+            return rows.stream()
+                    .filter(row -> row.id() != null)
+                    .map(PermissionRow::toDTO)
+                    .toList();
+        });
+    }
+
+    /**
+     * One page of {@link #getPermissionsForRole}, in permission ID order after {@code after}
+     * (null for the first page). Read from the database, not the cache; the tenant is explicit
+     * as in {@link RoleService#getRolesPage}.
+     *
+     * @throws StacklessNotFoundException if the role does not exist in the tenant
+     */
+    public PageDTO<PermissionDTO> getPermissionsForRolePage(UUID tenantId, UUID roleId, UUID after, int limit) {
+        // As in getPermissionsForRole, no row means no such role; the cursor goes into the join
+        // condition, so a role with no permissions after it still yields its single null row.
+        TypedQuery<PermissionRow> query = ReadOnlyQueries.create("select " + PermissionRow.SELECT_P + " from Role r"
+                        + " left join RolePermissionAssignment rpa on rpa.roleId = r.id and rpa.tenantId = r.tenantId"
+                        + " and rpa.permissionId is not null" + (after == null ? "" : " and rpa.permissionId > ?3")
+                        + " left join Permission p on p.id = rpa.permissionId"
+                        + " where r.tenantId = ?1 and r.id = ?2 order by rpa.permissionId", PermissionRow.class)
+                .setParameter(1, tenantId)
+                .setParameter(2, roleId)
+                .setMaxResults(limit + 1);
+        if (after != null) {
+            query.setParameter(3, after);
+        }
+        List<PermissionRow> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            throw new StacklessNotFoundException("Role not found in this tenant.");
+        }
+        return KeysetCursor.page(rows.stream().filter(row -> row.id() != null).map(PermissionRow::toDTO).toList(),
+                limit, PermissionDTO::getId);
+    }
+
+    /**
+     * {@link #getPermissionsForRole} answered from the cache only: empty on a miss, never touches
+     * the database, so it may be called on an event-loop thread.
+     */
+    public Optional<List<PermissionDTO>> findCachedPermissionsForRole(UUID roleId) {
+        return Optional.ofNullable(rbacReadCache.getIfPresent(RbacReadCache.Region.ROLE_PERMISSIONS,
+                tenantContext.getRequiredTenantId(), roleId));
+    }
+
+    /**
+     * Grants every permission matching {@code pattern} (e.g. {@code user:*}), including
+     * permissions added to the catalog later. Assigning the same pattern twice is a no-op.
+     */
+    @Transactional
+    public RolePermissionAssignmentDTO assignPermissionPatternToRole(UUID roleId, String pattern) {
+        UUID currentTenantId = tenantContext.getRequiredTenantId();
+        enableTenantFilterForRole();
+
+        try {
+            WildcardPermissionMatcher.validatePattern(pattern);
+        } catch (IllegalArgumentException e) {
+            throw ServiceException.badRequest(e.getMessage());
+        }
+        Role role = Role.findById(roleId);
         if (role == null) {
             throw new NotFoundException("Role not found in this tenant.");
         }
 
-        // Filter will apply to this list operation on RolePermissionAssignment
-        List<RolePermissionAssignment> assignments = RolePermissionAssignment.list("roleId = ?1", roleId);
+        RolePermissionAssignment existingAssignment = RolePermissionAssignment
+                .<RolePermissionAssignment>find("roleId = ?1 and permissionPattern = ?2", roleId, pattern)
+                .firstResult();
+        if (existingAssignment != null) {
+            return convertToDTO(existingAssignment);
+        }
+
+        RolePermissionAssignment newAssignment = new RolePermissionAssignment(currentTenantId, roleId, pattern);
+        newAssignment.persist();
+        rbacChangeEvent.fire(RbacChangeEvent.rolePermissionAssignment(currentTenantId, roleId, null, RbacChangeEvent.Operation.CREATED));
+        return convertToDTO(newAssignment);
+    }
+
+    @Transactional
+    public boolean removePermissionPatternFromRole(UUID roleId, String pattern) {
+        UUID currentTenantId = tenantContext.getRequiredTenantId();
+        enableTenantFilterForRole();
 
-        List<UUID> permissionIds = assignments.stream().map(rpa -> rpa.permissionId).collect(Collectors.toList());
+        Role role = Role.findById(roleId);
+        if (role == null) {
+            throw new NotFoundException("Role not found in this tenant.");
+        }
 
-        if (permissionIds.isEmpty()) {
-            return List.of();
+        long deletedCount = RolePermissionAssignment.delete("tenantId = ?1 and roleId = ?2 and permissionPattern = ?3", currentTenantId, roleId, pattern);
+        if (deletedCount > 0) {
+            rbacChangeEvent.fire(RbacChangeEvent.rolePermissionAssignment(currentTenantId, roleId, null, RbacChangeEvent.Operation.DELETED));
         }
+        return deletedCount > 0;
+    }
 
-        // Permissions are global, so no tenant filter needed for Permission.list(...)
-        return Permission.<Permission>list("id in ?1", permissionIds).stream()
-                .map(this::convertPermissionToDTO)
-                .collect(Collectors.toList());
+    public List<String> getPermissionPatternsForRole(UUID roleId) {
+        enableTenantFilterForRole();
+
+        Role role = Role.findById(roleId);
+        if (role == null) {
+            throw new NotFoundException("Role not found in this tenant.");
+        }
+        return RolePermissionAssignment.<RolePermissionAssignment>list("roleId = ?1 and permissionPattern is not null order by permissionPattern", roleId)
+                .stream()
+                .map(rpa -> rpa.permissionPattern)
+                .toList();
     }
 
     // Method to list all available global permissions (useful for UIs)
@@ -143,4 +340,18 @@ public class RolePermissionAssignmentService {
                 .map(this::convertPermissionToDTO)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * One page of {@link #getAllGlobalPermissions}, in ID order after {@code after} (null for the
+     * first page).
+     */
+    public PageDTO<PermissionDTO> getGlobalPermissionsPage(UUID after, int limit) {
+        TypedQuery<PermissionRow> query = ReadOnlyQueries.create("select " + PermissionRow.SELECT_P + " from Permission p"
+                        + (after == null ? "" : " where p.id > ?1") + " order by p.id", PermissionRow.class)
+                .setMaxResults(limit + 1);
+        if (after != null) {
+            query.setParameter(1, after);
+        }
+        return KeysetCursor.page(query.getResultList().stream().map(PermissionRow::toDTO).toList(), limit, PermissionDTO::getId);
+    }
 }
\ No newline at end of file
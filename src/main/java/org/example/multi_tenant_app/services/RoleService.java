@@ -2,10 +2,19 @@ package org.example.multi_tenant_app.services;
 
 import io.quarkus.hibernate.orm.panache.Panache;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.projections.KeysetCursor;
+import org.example.multi_tenant_app.data.projections.ReadOnlyQueries;
+import org.example.multi_tenant_app.data.projections.RoleRow;
+import org.example.multi_tenant_app.exceptions.ServiceException;
 import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.cache.RbacReadCache;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.example.multi_tenant_app.web.dtos.PageDTO;
 import org.example.multi_tenant_app.web.dtos.RoleDTO;
 import org.hibernate.Filter;
 import org.hibernate.Session;
@@ -22,6 +31,15 @@ public class RoleService {
     @Inject
     TenantContext tenantContext;
 
+    @Inject
+    Event<RbacChangeEvent> rbacChangeEvent;
+
+    @Inject
+    RoleHierarchyService roleHierarchyService;
+
+    @Inject
+    RbacReadCache rbacReadCache;
+
     // --- Utility method to enable tenant filter using TenantContext ---
     private void enableTenantFilter() {
         UUID currentTenantId = tenantContext.getRequiredTenantId(); // Throws if not set
@@ -41,6 +59,7 @@ public class RoleService {
         dto.setName(role.name);
         dto.setDescription(role.description);
         dto.setSystemRole(role.isSystemRole);
+        dto.setParentRoleId(role.parentRoleId);
         dto.setCreatedAt(role.createdAt);
         dto.setUpdatedAt(role.updatedAt);
         return dto;
@@ -65,13 +84,30 @@ public class RoleService {
         role.updatedAt = LocalDateTime.now();
 
         role.persist();
+        if (roleDTO.getParentRoleId() != null) {
+            enableTenantFilter(); // The parent must be one of the current tenant's roles
+            roleHierarchyService.setParent(role, roleDTO.getParentRoleId());
+        }
+        rbacChangeEvent.fire(RbacChangeEvent.role(currentTenantId, role.id, RbacChangeEvent.Operation.CREATED));
         return convertToDTO(role);
     }
 
     public Optional<RoleDTO> getRoleById(UUID roleId) { // tenantId parameter removed
-        enableTenantFilter(); // Uses tenantId from context
-        // findByIdOptional will be affected by the enabled tenant filter
-        return Role.<Role>findByIdOptional(roleId).map(this::convertToDTO);
+        UUID currentTenantId = tenantContext.getRequiredTenantId();
+        return Optional.ofNullable(rbacReadCache.get(RbacReadCache.Region.ROLES, currentTenantId, roleId, () -> {
+            enableTenantFilter(); // Uses tenantId from context
+            // findByIdOptional will be affected by the enabled tenant filter
+            return Role.<Role>findByIdOptional(roleId).map(this::convertToDTO).orElse(null);
+        }));
+    }
+
+    /**
+     * {@link #getRoleById} answered from the cache only: empty on a miss, never touches the
+     * database, so it may be called on an event-loop thread.
+     */
+    public Optional<RoleDTO> findCachedRole(UUID roleId) {
+        return Optional.ofNullable(rbacReadCache.getIfPresent(RbacReadCache.Region.ROLES,
+                tenantContext.getRequiredTenantId(), roleId));
     }
 
     public List<RoleDTO> getRolesByTenant() { // tenantId parameter removed
@@ -82,6 +118,23 @@ public class RoleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the tenant's roles in ID order, starting after {@code after} (null for the
+     * first page); see {@link KeysetCursor}. Takes the tenant explicitly rather than from
+     * {@link TenantContext}, because the streaming gRPC list fetches later pages on threads that
+     * have no request context.
+     */
+    public PageDTO<RoleDTO> getRolesPage(UUID tenantId, UUID after, int limit) {
+        TypedQuery<RoleRow> query = ReadOnlyQueries.create("select " + RoleRow.SELECT_R + " from Role r where r.tenantId = ?1"
+                        + (after == null ? "" : " and r.id > ?2") + " order by r.id", RoleRow.class)
+                .setParameter(1, tenantId)
+                .setMaxResults(limit + 1);
+        if (after != null) {
+            query.setParameter(2, after);
+        }
+        return KeysetCursor.page(query.getResultList().stream().map(RoleRow::toDTO).toList(), limit, RoleDTO::getId);
+    }
+
     @Transactional
     public Optional<RoleDTO> updateRole(UUID roleId, RoleDTO roleDTO) { // tenantId parameter removed
         UUID currentTenantId = tenantContext.getRequiredTenantId();
@@ -106,9 +159,19 @@ public class RoleService {
         roleToUpdate.name = roleDTO.getName();
         roleToUpdate.description = roleDTO.getDescription();
         // tenantId and isSystemRole are generally not updatable by typical users.
+        // The parent changes only when the update names one or asks to clear it.
+        if (roleDTO.isClearParent()) {
+            if (roleDTO.getParentRoleId() != null) {
+                throw ServiceException.badRequest("'parentRoleId' and 'clearParent' cannot be combined.");
+            }
+            roleHierarchyService.setParent(roleToUpdate, null);
+        } else if (roleDTO.getParentRoleId() != null) {
+            roleHierarchyService.setParent(roleToUpdate, roleDTO.getParentRoleId());
+        }
         roleToUpdate.updatedAt = LocalDateTime.now();
 
         roleToUpdate.persist(); // Panache handles update
+        rbacChangeEvent.fire(RbacChangeEvent.role(currentTenantId, roleId, RbacChangeEvent.Operation.UPDATED));
         return Optional.of(convertToDTO(roleToUpdate));
     }
 
@@ -122,8 +185,13 @@ public class RoleService {
                 return false; // Or throw new ForbiddenException("System roles cannot be deleted.");
             }
             // TODO: Add logic to check if role is assigned to any users before deletion
+            roleHierarchyService.detachChildren(roleOpt.get());
             // For now, direct delete:
-            return Role.deleteById(roleId);
+            boolean deleted = Role.deleteById(roleId);
+            if (deleted) {
+                rbacChangeEvent.fire(RbacChangeEvent.role(roleOpt.get().tenantId, roleId, RbacChangeEvent.Operation.DELETED));
+            }
+            return deleted;
         }
         return false;
     }
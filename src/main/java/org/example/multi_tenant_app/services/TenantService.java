@@ -0,0 +1,146 @@
+package org.example.multi_tenant_app.services;
+
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.services.cache.RbacReadCache;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.example.multi_tenant_app.web.dtos.TenantDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Tenant registry backed by the {@code tenants} table, shared by the REST and gRPC APIs.
+ * Lookups by ID go through the {@link RbacReadCache.Region#TENANTS} cache region. Every write
+ * fires a tenant-wide {@link RbacChangeEvent}, which evicts the entry on this node and, via the
+ * invalidation broadcast, on all other nodes.
+ */
+@ApplicationScoped
+public class TenantService {
+
+    public static final String DEFAULT_STATUS = "ACTIVE";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * One page of a keyset-paginated listing; {@code nextAfter} is the cursor for the next page,
+     * or {@code null} on the last page.
+     */
+    public record Page(List<TenantDTO> tenants, UUID nextAfter) {
+    }
+
+    @Inject
+    Event<RbacChangeEvent> rbacChangeEvent;
+
+    @Inject
+    RbacReadCache rbacReadCache;
+
+    private TenantDTO convertToDTO(Tenant tenant) {
+        if (tenant == null) return null;
+        TenantDTO dto = new TenantDTO();
+        dto.setId(tenant.id);
+        dto.setName(tenant.name);
+        dto.setStatus(tenant.status);
+        dto.setTier(tenant.tier);
+        dto.setCreatedAt(tenant.createdAt);
+        dto.setUpdatedAt(tenant.updatedAt);
+        return dto;
+    }
+
+    @Transactional
+    public TenantDTO createTenant(TenantDTO tenantDTO) {
+        if (tenantDTO.getName() == null || tenantDTO.getName().isBlank()) {
+            throw ServiceException.badRequest("Tenant name cannot be empty.");
+        }
+        requireUniqueName(tenantDTO.getName(), null, ErrorCode.TENANT_CREATION_FAILED);
+
+        Tenant tenant = new Tenant(tenantDTO.getName(),
+                tenantDTO.getStatus() == null || tenantDTO.getStatus().isBlank() ? DEFAULT_STATUS : tenantDTO.getStatus(),
+                tenantDTO.getTier() == null || tenantDTO.getTier().isBlank() ? Tenant.DEFAULT_TIER : tenantDTO.getTier());
+        tenant.persist();
+        // Like update and delete: lets other nodes drop what they derived while it did not exist yet.
+        rbacChangeEvent.fire(RbacChangeEvent.tenant(tenant.id));
+        return convertToDTO(tenant);
+    }
+
+    public Optional<TenantDTO> getTenant(UUID tenantId) {
+        // Not-found results are not cached, so a tenant created on another node is found at once.
+        return Optional.ofNullable(rbacReadCache.get(RbacReadCache.Region.TENANTS, tenantId, tenantId,
+                () -> convertToDTO(Tenant.findById(tenantId))));
+    }
+
+    /**
+     * Lists tenants ordered by ID, starting after {@code after} (exclusive, null for the first
+     * page). Each page is one indexed range query, independent of how deep into the table it is.
+     */
+    public Page listTenants(UUID after, int pageSize) {
+        int size = pageSize <= 0 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        // One extra row tells whether there is a next page.
+        List<Tenant> rows = (after == null
+                ? Tenant.<Tenant>findAll(Sort.by("id"))
+                : Tenant.<Tenant>find("id > ?1", Sort.by("id"), after))
+                .range(0, size)
+                .list();
+        boolean hasMore = rows.size() > size;
+        List<TenantDTO> tenants = rows.subList(0, Math.min(size, rows.size())).stream()
+                .map(this::convertToDTO)
+                .toList();
+        return new Page(tenants, hasMore ? tenants.get(tenants.size() - 1).getId() : null);
+    }
+
+    /**
+     * Updates the non-blank fields of {@code tenantDTO}.
+     */
+    @Transactional
+    public Optional<TenantDTO> updateTenant(UUID tenantId, TenantDTO tenantDTO) {
+        Tenant tenant = Tenant.findById(tenantId);
+        if (tenant == null) {
+            return Optional.empty();
+        }
+        if (tenantDTO.getName() != null && !tenantDTO.getName().isBlank() && !tenantDTO.getName().equals(tenant.name)) {
+            requireUniqueName(tenantDTO.getName(), tenantId, ErrorCode.TENANT_UPDATE_FAILED);
+            tenant.name = tenantDTO.getName();
+        }
+        if (tenantDTO.getStatus() != null && !tenantDTO.getStatus().isBlank()) {
+            tenant.status = tenantDTO.getStatus();
+        }
+        if (tenantDTO.getTier() != null && !tenantDTO.getTier().isBlank()) {
+            tenant.tier = tenantDTO.getTier();
+        }
+        tenant.updatedAt = LocalDateTime.now();
+        rbacChangeEvent.fire(RbacChangeEvent.tenant(tenantId));
+        return Optional.of(convertToDTO(tenant));
+    }
+
+    /**
+     * Deletes the tenant and, through the schema's cascading foreign keys, all of its users,
+     * roles and assignments.
+     */
+    @Transactional
+    public boolean deleteTenant(UUID tenantId) {
+        boolean deleted = Tenant.deleteById(tenantId);
+        if (deleted) {
+            rbacChangeEvent.fire(RbacChangeEvent.tenant(tenantId));
+        }
+        return deleted;
+    }
+
+    private void requireUniqueName(String name, UUID exceptTenantId, ErrorCode errorCode) {
+        long clashes = exceptTenantId == null
+                ? Tenant.count("name", name)
+                : Tenant.count("name = ?1 and id <> ?2", name, exceptTenantId);
+        if (clashes > 0) {
+            throw new ServiceException(errorCode, Response.Status.CONFLICT,
+                    "A tenant named '" + name + "' already exists.");
+        }
+    }
+}
@@ -2,21 +2,39 @@ package org.example.multi_tenant_app.services;
 
 import io.quarkus.hibernate.orm.panache.Panache;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
-import jakarta.ws.rs.NotFoundException;
-import org.example.multi_tenant_app.data.entities.Role;
-import org.example.multi_tenant_app.data.entities.UserAccount;
+import jakarta.ws.rs.core.Response;
 import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.example.multi_tenant_app.data.projections.ReadOnlyQueries;
+import org.example.multi_tenant_app.data.projections.RoleRow;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository.AssignmentUpsert;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository.UserRole;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.exceptions.StacklessNotFoundException;
 import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.cache.RbacExistenceFilter;
+import org.example.multi_tenant_app.services.cache.RbacReadCache;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.example.multi_tenant_app.web.dtos.AssignmentDiffDTO;
 import org.example.multi_tenant_app.web.dtos.RoleDTO;
 import org.example.multi_tenant_app.web.dtos.UserRoleAssignmentDTO;
 import org.hibernate.Filter;
 import org.hibernate.Session;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class UserRoleAssignmentService {
@@ -31,6 +49,18 @@ public class UserRoleAssignmentService {
     @Inject
     TenantContext tenantContext;
 
+    @Inject
+    Event<RbacChangeEvent> rbacChangeEvent;
+
+    @Inject
+    RbacReadCache rbacReadCache;
+
+    @Inject
+    RbacExistenceFilter existenceFilter;
+
+    @Inject
+    AssignmentUpsertRepository assignmentUpsertRepository;
+
     private void enableTenantFilter() {
         UUID currentTenantId = tenantContext.getRequiredTenantId();
         Session session = Panache.getEntityManager().unwrap(Session.class);
@@ -41,47 +71,34 @@ public class UserRoleAssignmentService {
         }
     }
 
-    private UserRoleAssignmentDTO convertToDTO(UserRoleAssignment assignment) {
-        if (assignment == null) return null;
-        UserRoleAssignmentDTO dto = new UserRoleAssignmentDTO();
-        dto.setId(assignment.id);
-        dto.setTenantId(assignment.tenantId);
-        dto.setUserAccountId(assignment.userAccountId);
-        dto.setRoleId(assignment.roleId);
-        dto.setAssignedAt(assignment.assignedAt);
-        return dto;
-    }
-
+    /**
+     * Idempotent: an existing assignment is returned as is. One statement, no lookups first; the
+     * tenant-scoped foreign keys reject a user or role of another tenant
+     * ({@code USER_NOT_FOUND} / {@code ROLE_NOT_FOUND}, 404).
+     */
     @Transactional
     public UserRoleAssignmentDTO assignRoleToUser(UUID userId, UUID roleId) { // tenantId parameter removed
-        UUID currentTenantId = tenantContext.getRequiredTenantId();
-        enableTenantFilter(); // Enable filter for subsequent checks
-
-        // 1. Verify UserAccount exists and belongs to the current tenant
-        // The enabled filter will apply to these Panache operations.
-        UserAccount user = UserAccount.findById(userId);
-        if (user == null) { // Filter would make it null if not in current tenant
-            throw new NotFoundException("UserAccount not found in this tenant.");
-        }
-
-        // 2. Verify Role exists and belongs to the current tenant
-        Role role = Role.findById(roleId);
-        if (role == null) { // Filter would make it null if not in current tenant
-            throw new NotFoundException("Role not found in this tenant.");
-        }
-
-        // 3. Check if assignment already exists (Filter applies to UserRoleAssignment as well)
-        UserRoleAssignment existingAssignment = UserRoleAssignment
-                .<UserRoleAssignment>find("userAccountId = ?1 and roleId = ?2", userId, roleId)
-                .firstResult(); // Filter ensures it's for the current tenant
+        return assignRoleToUser(tenantContext.getRequiredTenantId(), userId, roleId);
+    }
 
-        if (existingAssignment != null) {
-            return convertToDTO(existingAssignment);
+    /**
+     * {@link #assignRoleToUser(UUID, UUID)} for an explicit tenant, inside the caller's transaction.
+     * Used by {@link AssignmentWriteCoalescer}, which commits many assignments at once. Not
+     * {@code @Transactional} on purpose: on a {@link ServiceException} the interceptor would mark the
+     * shared transaction rollback-only, where the coalescer rolls back only this write's savepoint.
+     */
+    public UserRoleAssignmentDTO assignRoleToUser(UUID tenantId, UUID userId, UUID roleId) {
+        AssignmentUpsert upsert = assignmentUpsertRepository.upsertUserRole(tenantId, userId, roleId);
+        if (upsert.created()) {
+            rbacChangeEvent.fire(RbacChangeEvent.userRoleAssignment(tenantId, userId, roleId, RbacChangeEvent.Operation.CREATED));
         }
-
-        UserRoleAssignment newAssignment = new UserRoleAssignment(currentTenantId, userId, roleId);
-        newAssignment.persist();
-        return convertToDTO(newAssignment);
+        UserRoleAssignmentDTO dto = new UserRoleAssignmentDTO();
+        dto.setId(upsert.id());
+        dto.setTenantId(tenantId);
+        dto.setUserAccountId(userId);
+        dto.setRoleId(roleId);
+        dto.setAssignedAt(upsert.assignedAt());
+        return dto;
     }
 
     @Transactional
@@ -93,41 +110,176 @@ public class UserRoleAssignmentService {
         // and if the query implicitly involves tenantId or if Panache applies it broadly.
         // Explicitly adding tenantId to delete query for safety.
         long deletedCount = UserRoleAssignment.delete("tenantId = ?1 and userAccountId = ?2 and roleId = ?3", currentTenantId, userId, roleId);
+        if (deletedCount > 0) {
+            rbacChangeEvent.fire(RbacChangeEvent.userRoleAssignment(currentTenantId, userId, roleId, RbacChangeEvent.Operation.DELETED));
+        }
         return deletedCount > 0;
     }
 
-    public List<RoleDTO> getRolesForUser(UUID userId) { // tenantId parameter removed
+    /**
+     * Replaces the user's roles with {@code roleIds}, writing only the difference: one query reads
+     * the current roles, and inserts and deletes run only for what changed. An unchanged set
+     * writes nothing and fires no events, so caches are not invalidated either.
+     *
+     * @throws ServiceException {@code USER_NOT_FOUND} / {@code ROLE_NOT_FOUND} (404) if the user or
+     * an added role is not one of the tenant's; nothing is changed then
+     */
+    @Transactional
+    public AssignmentDiffDTO setRolesForUser(UUID userId, Collection<UUID> roleIds) {
         UUID currentTenantId = tenantContext.getRequiredTenantId();
-        enableTenantFilter();
-
-        // Verify UserAccount exists (filter will ensure it's for the current tenant)
-        UserAccount user = UserAccount.findById(userId);
-        if (user == null) {
-            throw new NotFoundException("UserAccount not found in this tenant.");
+        if (roleIds.stream().anyMatch(Objects::isNull)) {
+            throw ServiceException.badRequest("Role IDs must not be null.");
+        }
+        // No row means no such user, a single null row a user without roles.
+        List<UUID> rows = ReadOnlyQueries.create("select ura.roleId from UserAccount u"
+                        + " left join UserRoleAssignment ura on ura.userAccountId = u.id and ura.tenantId = u.tenantId"
+                        + " where u.tenantId = ?1 and u.id = ?2", UUID.class)
+                .setParameter(1, currentTenantId)
+                .setParameter(2, userId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            throw new ServiceException(ErrorCode.USER_NOT_FOUND, Response.Status.NOT_FOUND, "UserAccount not found in this tenant.");
+        }
+        Set<UUID> current = new LinkedHashSet<>(rows);
+        current.remove(null);
+        Set<UUID> desired = new LinkedHashSet<>(roleIds);
+        List<UUID> added = desired.stream().filter(id -> !current.contains(id)).toList();
+        List<UUID> removed = current.stream().filter(id -> !desired.contains(id)).toList();
+        if (added.isEmpty() && removed.isEmpty()) {
+            return new AssignmentDiffDTO(List.of(), List.of(), current.size());
         }
 
-        // Filter will apply to this list operation on UserRoleAssignment
-        List<UserRoleAssignment> assignments = UserRoleAssignment.list("userAccountId = ?1", userId);
+        if (!added.isEmpty()) {
+            List<UUID> found = ReadOnlyQueries.create("select r.id from Role r where r.tenantId = ?1 and r.id in ?2", UUID.class)
+                    .setParameter(1, currentTenantId)
+                    .setParameter(2, added)
+                    .getResultList();
+            if (found.size() < added.size()) {
+                UUID missing = added.stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+                throw new ServiceException(ErrorCode.ROLE_NOT_FOUND, Response.Status.NOT_FOUND,
+                        "Role not found in this tenant: " + missing);
+            }
+            List<UserRole> pairs = added.stream().map(roleId -> new UserRole(userId, roleId)).toList();
+            boolean[] inserted = assignmentUpsertRepository.insertUserRoles(currentTenantId, pairs);
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i]) {
+                    rbacChangeEvent.fire(RbacChangeEvent.userRoleAssignment(currentTenantId, userId, added.get(i), RbacChangeEvent.Operation.CREATED));
+                }
+            }
+        }
+        if (!removed.isEmpty()) {
+            UserRoleAssignment.delete("tenantId = ?1 and userAccountId = ?2 and roleId in ?3", currentTenantId, userId, removed);
+            for (UUID roleId : removed) {
+                rbacChangeEvent.fire(RbacChangeEvent.userRoleAssignment(currentTenantId, userId, roleId, RbacChangeEvent.Operation.DELETED));
+            }
+        }
+        return new AssignmentDiffDTO(added, removed, current.size() - removed.size());
+    }
 
-        List<UUID> roleIds = assignments.stream().map(ura -> ura.roleId).collect(Collectors.toList());
+    public List<RoleDTO> getRolesForUser(UUID userId) { // tenantId parameter removed
+        UUID currentTenantId = tenantContext.getRequiredTenantId();
 
+        // The user's role IDs and the roles themselves are cached separately, so renaming a role
+        // only evicts that role instead of every user list that contains it.
+        List<UUID> roleIds = rbacReadCache.getIfPresent(RbacReadCache.Region.USER_ROLE_IDS, currentTenantId, userId);
+        if (roleIds == null) {
+            return loadRolesForUser(currentTenantId, userId);
+        }
         if (roleIds.isEmpty()) {
             return List.of();
         }
 
-        // Filter is already enabled and will apply to this Role query
-        return Role.<Role>list("id in ?1", roleIds).stream()
-                .map(role -> {
-                    RoleDTO dto = new RoleDTO();
-                    dto.setId(role.id);
-                    dto.setTenantId(role.tenantId);
-                    dto.setName(role.name);
-                    dto.setDescription(role.description);
-                    dto.setSystemRole(role.isSystemRole);
-                    dto.setCreatedAt(role.createdAt);
-                    dto.setUpdatedAt(role.updatedAt);
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        Map<UUID, RoleDTO> rolesById = new HashMap<>();
+        List<UUID> missingRoleIds = new ArrayList<>();
+        for (UUID roleId : roleIds) {
+            RoleDTO cached = rbacReadCache.getIfPresent(RbacReadCache.Region.ROLES, currentTenantId, roleId);
+            if (cached != null) {
+                rolesById.put(roleId, cached);
+            } else {
+                missingRoleIds.add(roleId);
+            }
+        }
+
+        if (!missingRoleIds.isEmpty()) {
+            long generation = rbacReadCache.generation(RbacReadCache.Region.ROLES, currentTenantId);
+            List<RoleRow> rows = ReadOnlyQueries.create("select " + RoleRow.SELECT_R
+                            + " from Role r where r.tenantId = ?1 and r.id in ?2", RoleRow.class)
+                    .setParameter(1, currentTenantId)
+                    .setParameter(2, missingRoleIds)
+                    .getResultList();
+            for (RoleRow row : rows) {
+                RoleDTO dto = row.toDTO();
+                rbacReadCache.putIfUnchanged(RbacReadCache.Region.ROLES, currentTenantId, dto.getId(), dto, generation);
+                rolesById.put(dto.getId(), dto);
+            }
+        }
+
+        // Roles deleted since the ID list was cached are simply not found any more.
+        List<RoleDTO> roles = new ArrayList<>(roleIds.size());
+        for (UUID roleId : roleIds) {
+            RoleDTO dto = rolesById.get(roleId);
+            if (dto != null) {
+                roles.add(dto);
+            }
+        }
+        return roles;
+    }
+
+    // The user check, the assignments and the roles in one statement: no row means no such user,
+    // a single all-null row a user without roles. Fills both cache regions.
+    private List<RoleDTO> loadRolesForUser(UUID tenantId, UUID userId) {
+        // Unknown IDs are usually rejected here, without a query.
+        if (existenceFilter.isKnownAbsent(tenantId, RbacExistenceFilter.Kind.USER, userId)) {
+            throw new StacklessNotFoundException("UserAccount not found in this tenant.");
+        }
+        long roleIdsGeneration = rbacReadCache.generation(RbacReadCache.Region.USER_ROLE_IDS, tenantId);
+        long rolesGeneration = rbacReadCache.generation(RbacReadCache.Region.ROLES, tenantId);
+        List<RoleRow> rows = ReadOnlyQueries.create("select " + RoleRow.SELECT_R + " from UserAccount u"
+                        + " left join UserRoleAssignment ura on ura.userAccountId = u.id and ura.tenantId = u.tenantId"
+                        + " left join Role r on r.id = ura.roleId and r.tenantId = u.tenantId"
+                        + " where u.tenantId = ?1 and u.id = ?2", RoleRow.class)
+                .setParameter(1, tenantId)
+                .setParameter(2, userId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            existenceFilter.recordAbsent(tenantId, RbacExistenceFilter.Kind.USER, userId);
+            throw new StacklessNotFoundException("UserAccount not found in this tenant.");
+        }
+
+        List<RoleDTO> roles = new ArrayList<>(rows.size());
+        List<UUID> roleIds = new ArrayList<>(rows.size());
+        for (RoleRow row : rows) {
+            if (row.id() != null) {
+                RoleDTO dto = row.toDTO();
+                rbacReadCache.putIfUnchanged(RbacReadCache.Region.ROLES, tenantId, dto.getId(), dto, rolesGeneration);
+                roles.add(dto);
+                roleIds.add(dto.getId());
+            }
+        }
+        rbacReadCache.putIfUnchanged(RbacReadCache.Region.USER_ROLE_IDS, tenantId, userId, List.copyOf(roleIds), roleIdsGeneration);
+        return roles;
+    }
+
+    /**
+     * {@link #getRolesForUser} answered from the cache only: empty unless the user's role IDs and
+     * every one of those roles are cached. Never touches the database, so it may be called on an
+     * event-loop thread.
+     */
+    public Optional<List<RoleDTO>> findCachedRolesForUser(UUID userId) {
+        UUID currentTenantId = tenantContext.getRequiredTenantId();
+        List<UUID> roleIds = rbacReadCache.getIfPresent(RbacReadCache.Region.USER_ROLE_IDS, currentTenantId, userId);
+        if (roleIds == null) {
+            return Optional.empty();
+        }
+        List<RoleDTO> roles = new ArrayList<>(roleIds.size());
+        for (UUID roleId : roleIds) {
+            RoleDTO cached = rbacReadCache.getIfPresent(RbacReadCache.Region.ROLES, currentTenantId, roleId);
+            if (cached == null) {
+                // Missing or deleted; only the database can tell which.
+                return Optional.empty();
+            }
+            roles.add(cached);
+        }
+        return Optional.of(roles);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package org.example.multi_tenant_app.services.authz;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads a tenant's complete RBAC graph in three queries and compiles it into a
+ * {@link TenantAuthorizationSnapshot}. Inherited permissions come pre-expanded from the role
+ * hierarchy closure table, so compilation never walks the hierarchy. Wildcard grants are
+ * read by the same queries and handed to the snapshot as patterns.
+ */
+@ApplicationScoped
+public class AuthorizationSnapshotLoader {
+
+    private static final Logger LOG = Logger.getLogger(AuthorizationSnapshotLoader.class);
+
+    @Inject
+    PermissionRegistry permissionRegistry;
+
+    // REQUIRES_NEW gives us a fresh session: the caller's session may have the Hibernate
+    // tenantFilter enabled for a different tenant than the one being compiled.
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public TenantAuthorizationSnapshot load(UUID tenantId) {
+        EntityManager em = Panache.getEntityManager();
+
+        // Inactive users are left out of the snapshot, so every check for them is denied.
+        List<Object[]> userRoleRows = em.createQuery(
+                        "select ura.userAccountId, ura.roleId from UserRoleAssignment ura, UserAccount u " +
+                        "where u.id = ura.userAccountId and u.isActive = true and ura.tenantId = ?1", Object[].class)
+                .setParameter(1, tenantId)
+                .getResultList();
+
+        List<Object[]> rolePermissionRows = em.createQuery(
+                        "select rpa.roleId, rpa.permissionId, rpa.permissionPattern from RolePermissionAssignment rpa where rpa.tenantId = ?1", Object[].class)
+                .setParameter(1, tenantId)
+                .getResultList();
+
+        // (role, permission) for every permission a role inherits from one of its ancestors.
+        List<Object[]> inheritedPermissionRows = em.createQuery(
+                        "select c.descendantRoleId, rpa.permissionId, rpa.permissionPattern from RoleHierarchyClosure c, RolePermissionAssignment rpa " +
+                        "where rpa.roleId = c.ancestorRoleId and rpa.tenantId = c.tenantId and c.tenantId = ?1", Object[].class)
+                .setParameter(1, tenantId)
+                .getResultList();
+
+        Map<UUID, List<UUID>> rolesByUser = new HashMap<>();
+        for (Object[] row : userRoleRows) {
+            rolesByUser.computeIfAbsent((UUID) row[0], k -> new ArrayList<>()).add((UUID) row[1]);
+        }
+        Map<UUID, BitSet> permissionsByRole = new HashMap<>();
+        Map<UUID, Set<String>> patternsByRole = new HashMap<>();
+        addPermissions(tenantId, rolePermissionRows, permissionsByRole, patternsByRole);
+        addPermissions(tenantId, inheritedPermissionRows, permissionsByRole, patternsByRole);
+        return TenantAuthorizationSnapshot.compile(tenantId, permissionRegistry, rolesByUser, permissionsByRole, patternsByRole);
+    }
+
+    private void addPermissions(UUID tenantId, List<Object[]> rolePermissionRows,
+                                Map<UUID, BitSet> permissionsByRole, Map<UUID, Set<String>> patternsByRole) {
+        boolean refreshed = false;
+        for (Object[] row : rolePermissionRows) {
+            if (row[2] != null) {
+                patternsByRole.computeIfAbsent((UUID) row[0], k -> new HashSet<>()).add((String) row[2]);
+                continue;
+            }
+            UUID permissionId = (UUID) row[1];
+            int ordinal = permissionRegistry.ordinalOf(permissionId);
+            if (ordinal == PermissionRegistry.UNKNOWN && !refreshed) {
+                // Permission added to the catalog after startup.
+                permissionRegistry.refresh();
+                refreshed = true;
+                ordinal = permissionRegistry.ordinalOf(permissionId);
+            }
+            if (ordinal == PermissionRegistry.UNKNOWN) {
+                LOG.warnf("Skipping unknown permission %s assigned to role %s in tenant %s", permissionId, row[0], tenantId);
+                continue;
+            }
+            permissionsByRole.computeIfAbsent((UUID) row[0], k -> new BitSet()).set(ordinal);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.multi_tenant_app.services.authz;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable set of permission ordinals (see {@link PermissionRegistry}) packed into 64-bit words.
+ * A role's permission set is one of these; a user's effective set is the OR of its roles' sets.
+ */
+public final class PermissionBitSet {
+
+    public static final PermissionBitSet EMPTY = new PermissionBitSet(new long[0]);
+
+    private final long[] words;
+    private final int hash;
+
+    private PermissionBitSet(long[] words) {
+        this.words = words;
+        this.hash = Arrays.hashCode(words);
+    }
+
+    public static PermissionBitSet of(BitSet bits) {
+        return bits.isEmpty() ? EMPTY : new PermissionBitSet(bits.toLongArray());
+    }
+
+    public boolean contains(int ordinal) {
+        int wordIndex = ordinal >>> 6;
+        return ordinal >= 0 && wordIndex < words.length && (words[wordIndex] & (1L << ordinal)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    public PermissionBitSet or(PermissionBitSet other) {
+        if (other.words.length == 0) return this;
+        if (words.length == 0) return other;
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] result = longer.clone();
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return new PermissionBitSet(result);
+    }
+
+    public boolean intersects(PermissionBitSet other) {
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public BitSet toBitSet() {
+        return BitSet.valueOf(words);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PermissionBitSet)) return false;
+        PermissionBitSet other = (PermissionBitSet) o;
+        return hash == other.hash && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
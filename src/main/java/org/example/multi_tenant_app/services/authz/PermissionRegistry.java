@@ -0,0 +1,99 @@
+package org.example.multi_tenant_app.services.authz;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.transaction.Transactional;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.jboss.logging.Logger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Assigns every permission in the global catalog a dense int ordinal, loaded once at startup.
+ * Ordinals are stable for the lifetime of the process: a refresh only appends permissions
+ * that were not known yet, so already compiled bitsets stay valid.
+ */
+@ApplicationScoped
+public class PermissionRegistry {
+
+    private static final Logger LOG = Logger.getLogger(PermissionRegistry.class);
+
+    public static final int UNKNOWN = -1;
+
+    private volatile Catalog catalog = new Catalog(new String[0], Map.of(), Map.of());
+
+    // One refresh at a time; each runs a query.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    void onStart(@Observes StartupEvent event) {
+        refresh();
+    }
+
+    /**
+     * Re-reads the permission catalog and appends permissions that are not registered yet.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            appendNew(Permission.list("order by name"));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void appendNew(List<Permission> permissions) {
+        Catalog current = catalog;
+        String[] names = Arrays.copyOf(current.names, current.names.length + permissions.size());
+        Map<String, Integer> ordinalByName = new HashMap<>(current.ordinalByName);
+        Map<UUID, Integer> ordinalById = new HashMap<>(current.ordinalById);
+        int next = current.names.length;
+        for (Permission permission : permissions) {
+            if (!ordinalById.containsKey(permission.id)) {
+                names[next] = permission.name;
+                ordinalByName.put(permission.name, next);
+                ordinalById.put(permission.id, next);
+                next++;
+            }
+        }
+        if (next != current.names.length) {
+            catalog = new Catalog(Arrays.copyOf(names, next), Map.copyOf(ordinalByName), Map.copyOf(ordinalById));
+            LOG.infof("Permission registry now holds %d permissions", next);
+        }
+    }
+
+    public int ordinalOf(String permissionName) {
+        return catalog.ordinalByName.getOrDefault(permissionName, UNKNOWN);
+    }
+
+    public int ordinalOf(UUID permissionId) {
+        return catalog.ordinalById.getOrDefault(permissionId, UNKNOWN);
+    }
+
+    public String nameOf(int ordinal) {
+        String[] names = catalog.names;
+        return ordinal >= 0 && ordinal < names.length ? names[ordinal] : null;
+    }
+
+    public int size() {
+        return catalog.names.length;
+    }
+
+    private static final class Catalog {
+        final String[] names;
+        final Map<String, Integer> ordinalByName;
+        final Map<UUID, Integer> ordinalById;
+
+        Catalog(String[] names, Map<String, Integer> ordinalByName, Map<UUID, Integer> ordinalById) {
+            this.names = names;
+            this.ordinalByName = ordinalByName;
+            this.ordinalById = ordinalById;
+        }
+    }
+}
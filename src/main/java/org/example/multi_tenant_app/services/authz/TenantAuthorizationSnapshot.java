@@ -0,0 +1,152 @@
+package org.example.multi_tenant_app.services.authz;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable, pre-compiled view of one tenant's user -> role -> permission graph.
+ * The role indirection is flattened at compile time: each user maps to the OR of its roles'
+ * {@link PermissionBitSet}s, so a permission check is one map lookup plus one bit test.
+ * Users with the same effective permissions share a single bitset instance.
+ * <p>
+ * Wildcard grants (e.g. {@code user:*}) are compiled the same way, as a second per-user set of
+ * pattern indexes. All of the tenant's patterns go into one {@link WildcardPermissionMatcher},
+ * so a check that misses the concrete bitset costs one automaton walk plus one intersection.
+ */
+public final class TenantAuthorizationSnapshot {
+
+    private final UUID tenantId;
+    private final PermissionRegistry permissionRegistry;
+    private final Map<UUID, PermissionBitSet> permissionsByUser;
+    private final Map<UUID, PermissionBitSet> patternsByUser;
+    private final WildcardPermissionMatcher patternMatcher;
+
+    private TenantAuthorizationSnapshot(UUID tenantId, PermissionRegistry permissionRegistry,
+                                        Map<UUID, PermissionBitSet> permissionsByUser,
+                                        Map<UUID, PermissionBitSet> patternsByUser,
+                                        WildcardPermissionMatcher patternMatcher) {
+        this.tenantId = tenantId;
+        this.permissionRegistry = permissionRegistry;
+        this.permissionsByUser = permissionsByUser;
+        this.patternsByUser = patternsByUser;
+        this.patternMatcher = patternMatcher;
+    }
+
+    /**
+     * Compiles a snapshot from the raw assignment data of a tenant.
+     *
+     * @param tenantId           the tenant the data belongs to
+     * @param permissionRegistry resolves permission names to ordinals at check time
+     * @param rolesByUser        role IDs assigned to each (active) user
+     * @param permissionsByRole  permission ordinals granted to each role
+     * @param patternsByRole     wildcard permission patterns granted to each role
+     */
+    public static TenantAuthorizationSnapshot compile(UUID tenantId,
+                                                      PermissionRegistry permissionRegistry,
+                                                      Map<UUID, ? extends Collection<UUID>> rolesByUser,
+                                                      Map<UUID, BitSet> permissionsByRole,
+                                                      Map<UUID, ? extends Collection<String>> patternsByRole) {
+        Map<UUID, PermissionBitSet> roleSets = new HashMap<>();
+        permissionsByRole.forEach((roleId, bits) -> roleSets.put(roleId, PermissionBitSet.of(bits)));
+
+        Map<String, Integer> patternIndexes = new LinkedHashMap<>();
+        Map<UUID, PermissionBitSet> rolePatternSets = new HashMap<>();
+        patternsByRole.forEach((roleId, patterns) -> {
+            BitSet bits = new BitSet();
+            for (String pattern : patterns) {
+                bits.set(patternIndexes.computeIfAbsent(pattern, k -> patternIndexes.size()));
+            }
+            rolePatternSets.put(roleId, PermissionBitSet.of(bits));
+        });
+
+        Map<PermissionBitSet, PermissionBitSet> interned = new HashMap<>();
+        Map<UUID, PermissionBitSet> permissionsByUser = new HashMap<>();
+        Map<UUID, PermissionBitSet> patternsByUser = new HashMap<>();
+        rolesByUser.forEach((userId, roleIds) -> {
+            PermissionBitSet effective = PermissionBitSet.EMPTY;
+            PermissionBitSet patterns = PermissionBitSet.EMPTY;
+            for (UUID roleId : roleIds) {
+                effective = effective.or(roleSets.getOrDefault(roleId, PermissionBitSet.EMPTY));
+                patterns = patterns.or(rolePatternSets.getOrDefault(roleId, PermissionBitSet.EMPTY));
+            }
+            if (!effective.isEmpty()) {
+                permissionsByUser.put(userId, interned.computeIfAbsent(effective, k -> k));
+            }
+            if (!patterns.isEmpty()) {
+                patternsByUser.put(userId, interned.computeIfAbsent(patterns, k -> k));
+            }
+        });
+        WildcardPermissionMatcher matcher = WildcardPermissionMatcher.compile(new ArrayList<>(patternIndexes.keySet()));
+        return new TenantAuthorizationSnapshot(tenantId, permissionRegistry,
+                Map.copyOf(permissionsByUser), Map.copyOf(patternsByUser), matcher);
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public boolean isPermitted(UUID userId, String permissionName) {
+        PermissionBitSet permissions = permissionsByUser.get(userId);
+        if (permissions != null && permissions.contains(permissionRegistry.ordinalOf(permissionName))) {
+            return true;
+        }
+        PermissionBitSet patterns = patternsByUser.get(userId);
+        return patterns != null && patterns.intersects(patternMatcher.match(permissionName));
+    }
+
+    public boolean isPermitted(UUID userId, int permissionOrdinal) {
+        PermissionBitSet permissions = permissionsByUser.get(userId);
+        if (permissions != null && permissions.contains(permissionOrdinal)) {
+            return true;
+        }
+        PermissionBitSet patterns = patternsByUser.get(userId);
+        String permissionName = permissionRegistry.nameOf(permissionOrdinal);
+        return patterns != null && permissionName != null && patterns.intersects(patternMatcher.match(permissionName));
+    }
+
+    /**
+     * Concrete permissions of the user; wildcard grants are expanded against the permission
+     * catalog, so a pattern matching no catalog permission contributes nothing.
+     */
+    public Set<String> getEffectivePermissions(UUID userId) {
+        PermissionBitSet permissions = permissionsByUser.get(userId);
+        PermissionBitSet patterns = patternsByUser.get(userId);
+        if (permissions == null && patterns == null) {
+            return Set.of();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        if (permissions != null) {
+            permissions.toBitSet().stream().forEach(ordinal -> names.add(permissionRegistry.nameOf(ordinal)));
+        }
+        if (patterns != null) {
+            for (int ordinal = 0; ordinal < permissionRegistry.size(); ordinal++) {
+                String name = permissionRegistry.nameOf(ordinal);
+                if (name != null && patterns.intersects(patternMatcher.match(name))) {
+                    names.add(name);
+                }
+            }
+        }
+        return names;
+    }
+
+    public int getUserCount() {
+        if (patternsByUser.isEmpty()) {
+            return permissionsByUser.size();
+        }
+        Set<UUID> users = new HashSet<>(permissionsByUser.keySet());
+        users.addAll(patternsByUser.keySet());
+        return users.size();
+    }
+
+    public int getPatternCount() {
+        return patternMatcher.getPatternCount();
+    }
+}
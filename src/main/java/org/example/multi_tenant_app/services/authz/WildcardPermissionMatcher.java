@@ -0,0 +1,217 @@
+package org.example.multi_tenant_app.services.authz;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deterministic automaton over a fixed set of wildcard permission patterns.
+ * <p>
+ * Permission names are sequences of segments separated by {@code ':'} or {@code '/'}
+ * (e.g. {@code document:folder/reports:read}). In a pattern, a segment that is exactly
+ * {@code *} matches any one non-empty segment, so {@code user:*} matches {@code user:create}
+ * and {@code document:folder/*:read} matches {@code document:folder/reports:read}.
+ * <p>
+ * The patterns are first arranged in a segment trie, which is then determinized: each state
+ * stands for every trie node a name prefix can be at. {@link #match} therefore does one map
+ * lookup per segment, however many patterns (wildcard or not) were compiled.
+ */
+public final class WildcardPermissionMatcher {
+
+    public static final String WILDCARD = "*";
+    public static final int MAX_PATTERN_LENGTH = 255;
+
+    private static final char NO_SEPARATOR = '\0';
+    private static final State DEAD = new State(PermissionBitSet.EMPTY);
+    public static final WildcardPermissionMatcher EMPTY = new WildcardPermissionMatcher(DEAD, 0);
+
+    private final State start;
+    private final int patternCount;
+
+    private WildcardPermissionMatcher(State start, int patternCount) {
+        this.start = start;
+        this.patternCount = patternCount;
+    }
+
+    /**
+     * @param patterns the patterns; the position of a pattern in this list is its index in
+     *                 the sets returned by {@link #match}
+     * @throws IllegalArgumentException if a pattern is invalid, see {@link #validatePattern}
+     */
+    public static WildcardPermissionMatcher compile(List<String> patterns) {
+        if (patterns.isEmpty()) {
+            return EMPTY;
+        }
+        TrieNode root = new TrieNode();
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            validatePattern(pattern);
+            TrieNode node = root;
+            for (String token : tokenize(pattern)) {
+                node = isWildcardToken(token)
+                        ? node.wildcards.computeIfAbsent(separatorOf(token), k -> new TrieNode())
+                        : node.literals.computeIfAbsent(token, k -> new TrieNode());
+            }
+            node.accepted.set(i);
+        }
+        return new WildcardPermissionMatcher(determinize(root), patterns.size());
+    }
+
+    /**
+     * @throws IllegalArgumentException unless the pattern is non-blank, at most
+     *                                  {@value #MAX_PATTERN_LENGTH} characters long and uses
+     *                                  {@code *} only as a whole segment
+     */
+    public static void validatePattern(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Permission pattern cannot be empty.");
+        }
+        if (pattern.length() > MAX_PATTERN_LENGTH) {
+            throw new IllegalArgumentException("Permission pattern cannot exceed " + MAX_PATTERN_LENGTH + " characters.");
+        }
+        for (String token : tokenize(pattern)) {
+            String segment = token.isEmpty() || !isSeparator(token.charAt(0)) ? token : token.substring(1);
+            if (segment.contains(WILDCARD) && !segment.equals(WILDCARD)) {
+                throw new IllegalArgumentException(
+                        "'*' must be a whole segment of the permission pattern, e.g. 'user:*': " + pattern);
+            }
+        }
+    }
+
+    public int getPatternCount() {
+        return patternCount;
+    }
+
+    /**
+     * @return the indexes of all patterns matching {@code permissionName}
+     */
+    public PermissionBitSet match(String permissionName) {
+        State state = start;
+        int length = permissionName.length();
+        int tokenStart = 0;
+        while (true) {
+            // Every token but the first starts with its separator.
+            int tokenEnd = tokenStart == 0 ? 0 : tokenStart + 1;
+            while (tokenEnd < length && !isSeparator(permissionName.charAt(tokenEnd))) {
+                tokenEnd++;
+            }
+            state = state.next(permissionName, tokenStart, tokenEnd);
+            if (state == DEAD) {
+                return PermissionBitSet.EMPTY;
+            }
+            if (tokenEnd >= length) {
+                return state.accepted;
+            }
+            tokenStart = tokenEnd;
+        }
+    }
+
+    // "document:folder/*:read" -> ["document", ":folder", "/*", ":read"]
+    private static List<String> tokenize(String name) {
+        List<String> tokens = new ArrayList<>();
+        int tokenStart = 0;
+        for (int i = 0; i < name.length(); i++) {
+            if (isSeparator(name.charAt(i))) {
+                tokens.add(name.substring(tokenStart, i));
+                tokenStart = i;
+            }
+        }
+        tokens.add(name.substring(tokenStart));
+        return tokens;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ':' || c == '/';
+    }
+
+    private static boolean isWildcardToken(String token) {
+        return token.endsWith(WILDCARD) && token.length() == (separatorOf(token) == NO_SEPARATOR ? 1 : 2);
+    }
+
+    private static char separatorOf(String token) {
+        return !token.isEmpty() && isSeparator(token.charAt(0)) ? token.charAt(0) : NO_SEPARATOR;
+    }
+
+    private static State determinize(TrieNode root) {
+        Map<Set<TrieNode>, State> states = new HashMap<>();
+        Deque<Set<TrieNode>> pending = new ArrayDeque<>();
+        State start = stateFor(Set.of(root), states, pending);
+        while (!pending.isEmpty()) {
+            Set<TrieNode> nodes = pending.poll();
+            State state = states.get(nodes);
+
+            // Wildcard-only successors, used for segments no pattern spells out.
+            Map<Character, Set<TrieNode>> wildcardTargets = new HashMap<>();
+            for (TrieNode node : nodes) {
+                node.wildcards.forEach((separator, child) ->
+                        wildcardTargets.computeIfAbsent(separator, k -> new HashSet<>()).add(child));
+            }
+            wildcardTargets.forEach((separator, targets) ->
+                    state.wildcardTransitions.put(separator, stateFor(targets, states, pending)));
+
+            // A literal segment follows the literal edges plus the wildcard edge for its separator.
+            Map<String, Set<TrieNode>> literalTargets = new HashMap<>();
+            for (TrieNode node : nodes) {
+                node.literals.forEach((token, child) ->
+                        literalTargets.computeIfAbsent(token, k -> new HashSet<>()).add(child));
+            }
+            literalTargets.forEach((token, targets) -> {
+                boolean emptySegment = token.length() == (separatorOf(token) == NO_SEPARATOR ? 0 : 1);
+                Set<TrieNode> wildcardChildren = wildcardTargets.get(separatorOf(token));
+                if (wildcardChildren != null && !emptySegment) {
+                    targets.addAll(wildcardChildren);
+                }
+                state.literalTransitions.put(token, stateFor(targets, states, pending));
+            });
+        }
+        return start;
+    }
+
+    private static State stateFor(Set<TrieNode> nodes, Map<Set<TrieNode>, State> states, Deque<Set<TrieNode>> pending) {
+        State state = states.get(nodes);
+        if (state == null) {
+            BitSet accepted = new BitSet();
+            nodes.forEach(node -> accepted.or(node.accepted));
+            state = new State(PermissionBitSet.of(accepted));
+            states.put(nodes, state);
+            pending.add(nodes);
+        }
+        return state;
+    }
+
+    private static final class TrieNode {
+        final Map<String, TrieNode> literals = new HashMap<>();
+        final Map<Character, TrieNode> wildcards = new HashMap<>();
+        final BitSet accepted = new BitSet();
+    }
+
+    private static final class State {
+        final Map<String, State> literalTransitions = new HashMap<>();
+        final Map<Character, State> wildcardTransitions = new HashMap<>();
+        final PermissionBitSet accepted;
+
+        State(PermissionBitSet accepted) {
+            this.accepted = accepted;
+        }
+
+        State next(String name, int tokenStart, int tokenEnd) {
+            State next = literalTransitions.get(name.substring(tokenStart, tokenEnd));
+            if (next != null) {
+                return next;
+            }
+            char separator = tokenStart < tokenEnd && isSeparator(name.charAt(tokenStart)) ? name.charAt(tokenStart) : NO_SEPARATOR;
+            int segmentLength = tokenEnd - tokenStart - (separator == NO_SEPARATOR ? 0 : 1);
+            if (segmentLength == 0) {
+                return DEAD; // '*' never matches an empty segment
+            }
+            next = wildcardTransitions.get(separator);
+            return next != null ? next : DEAD;
+        }
+    }
+}
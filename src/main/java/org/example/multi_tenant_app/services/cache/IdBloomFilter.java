@@ -0,0 +1,93 @@
+package org.example.multi_tenant_app.services.cache;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe, add-only Bloom filter over UUIDs. {@link #mightContain} never returns
+ * {@code false} for an added ID; it returns {@code true} for an absent ID with roughly the
+ * false-positive probability the filter was sized for.
+ */
+public final class IdBloomFilter {
+
+    private static final int MAX_HASHES = 16;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private IdBloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * @param expectedInsertions number of IDs the filter should hold at the target error rate
+     * @param falsePositiveRate  target probability that an absent ID is reported as present
+     */
+    public static IdBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be in (0, 1): " + falsePositiveRate);
+        }
+        long n = Math.max(expectedInsertions, 1);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        bits = Math.min(bits, Integer.MAX_VALUE * 64L);
+        int hashes = (int) Math.round((double) bits / n * Math.log(2));
+        return new IdBloomFilter(bits, Math.max(1, Math.min(MAX_HASHES, hashes)));
+    }
+
+    public void put(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int wordIndex = (int) (bit >>> 6);
+            long word = words.get(wordIndex);
+            while ((word & mask) == 0 && !words.compareAndSet(wordIndex, word, word | mask)) {
+                word = words.get(wordIndex);
+            }
+        }
+    }
+
+    public boolean mightContain(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private static long hash1(UUID id) {
+        return mix(id.getLeastSignificantBits() ^ mix(id.getMostSignificantBits() + GOLDEN_GAMMA));
+    }
+
+    // Odd, so the probe sequence h1 + i * h2 never degenerates to a single bit.
+    private static long hash2(long h1) {
+        return mix(h1 + GOLDEN_GAMMA) | 1L;
+    }
+
+    // MurmurHash3 finalizer: UUIDs that are not random (e.g. time-based) still spread evenly.
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
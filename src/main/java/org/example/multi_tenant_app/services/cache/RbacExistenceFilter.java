@@ -0,0 +1,223 @@
+package org.example.multi_tenant_app.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.config.RbacExistenceFilterConfig;
+import org.example.multi_tenant_app.data.projections.ReadOnlyQueries;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
+import org.jboss.logging.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers "does this user/role ID certainly not exist in the tenant" without a database round
+ * trip, so lookups of unknown IDs (typically clients probing random UUIDs) are rejected early.
+ * <p>
+ * Two layers: a per-tenant {@link IdBloomFilter} of all user and role IDs, and a short-TTL
+ * negative cache for IDs the database recently reported missing (i.e. Bloom false positives).
+ * A tenant's filter is built on the tenant-fair executor after a lookup misses in the database,
+ * and is only trusted for {@code max-age} after it was built; once older it is rebuilt on the
+ * next miss, and until then IDs it does not hold are looked up. An ID inserted without an
+ * {@link RbacChangeEvent}, e.g. a user account, may therefore be reported missing for at most
+ * {@code max-age}.
+ * <p>
+ * IDs are added to the filter as soon as a change event mentions them, both while the writing
+ * transaction is running and again after it commits, so a freshly created role is never
+ * rejected. With cross-node invalidation enabled, the events of other nodes feed it too. Bloom
+ * filters cannot forget, so deleted IDs simply fall through to the database.
+ * <p>
+ * Never blocks, so the reactive read path uses it as well.
+ */
+@ApplicationScoped
+public class RbacExistenceFilter {
+
+    private static final Logger LOG = Logger.getLogger(RbacExistenceFilter.class);
+
+    private static final int MIN_EXPECTED_INSERTIONS = 1_000;
+
+    public enum Kind {
+        USER,
+        ROLE
+    }
+
+    private record Key(UUID tenantId, Kind kind, UUID id) {
+    }
+
+    private record TenantFilters(IdBloomFilter users, IdBloomFilter roles, long builtAtNanos) {
+
+        IdBloomFilter of(Kind kind) {
+            return kind == Kind.USER ? users : roles;
+        }
+    }
+
+    @Inject
+    RbacExistenceFilterConfig config;
+
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    private final ConcurrentMap<UUID, TenantFilters> filters = new ConcurrentHashMap<>();
+
+    // Bumped whenever an ID is added or the tenant is invalidated. A build that raced with either
+    // may be missing IDs and is discarded instead of installed.
+    private final ConcurrentMap<UUID, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    // Tenants with a build queued or running; one at a time per tenant.
+    private final Set<UUID> building = ConcurrentHashMap.newKeySet();
+
+    private Cache<Key, Boolean> negatives;
+
+    private final LongAdder bloomRejections = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        negatives = Caffeine.newBuilder()
+                .maximumSize(config.negativeMaxEntries())
+                .expireAfterWrite(config.negativeTtl())
+                .build();
+    }
+
+    /**
+     * @return {@code true} only if the ID certainly does not exist; {@code false} means "look it up".
+     */
+    public boolean isKnownAbsent(UUID tenantId, Kind kind, UUID id) {
+        if (!config.enabled()) {
+            return false;
+        }
+        if (negatives.getIfPresent(new Key(tenantId, kind, id)) != null) {
+            negativeHits.increment();
+            return true;
+        }
+        TenantFilters tenantFilters = filters.get(tenantId);
+        if (isFresh(tenantFilters) && !tenantFilters.of(kind).mightContain(id)) {
+            bloomRejections.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers for {@code negative-ttl} that the database did not find the ID, and has the
+     * tenant's filter built if it has none or only an expired one.
+     */
+    public void recordAbsent(UUID tenantId, Kind kind, UUID id) {
+        if (!config.enabled()) {
+            return;
+        }
+        negatives.put(new Key(tenantId, kind, id), Boolean.TRUE);
+        if (!isFresh(filters.get(tenantId)) && building.add(tenantId)) {
+            tenantFairExecutor.submit(tenantId, () -> build(tenantId))
+                    .onTermination().invoke(() -> building.remove(tenantId))
+                    .subscribe().with(
+                            installed -> {
+                            },
+                            failure -> LOG.debugf(failure, "Existence filter for tenant %s not built", tenantId));
+        }
+    }
+
+    public void recordPresent(UUID tenantId, Kind kind, UUID id) {
+        if (id == null) {
+            return;
+        }
+        generation(tenantId).incrementAndGet();
+        TenantFilters tenantFilters = filters.get(tenantId);
+        if (tenantFilters != null) {
+            tenantFilters.of(kind).put(id);
+        }
+        negatives.invalidate(new Key(tenantId, kind, id));
+    }
+
+    public void invalidateTenant(UUID tenantId) {
+        generation(tenantId).incrementAndGet();
+        filters.remove(tenantId);
+        negatives.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId));
+    }
+
+    // Runs inside the writing transaction, before its rows become visible to other requests.
+    void onRbacChange(@Observes RbacChangeEvent event) {
+        apply(event);
+    }
+
+    // Runs again after commit, for a filter built or a miss recorded while the transaction was in flight.
+    void onRbacChangeCommitted(@Observes(during = TransactionPhase.AFTER_SUCCESS) RbacChangeEvent event) {
+        apply(event);
+    }
+
+    private void apply(RbacChangeEvent event) {
+        UUID tenantId = event.getTenantId();
+        switch (event.getEntityType()) {
+            case ROLE -> {
+                if (event.getOperation() != RbacChangeEvent.Operation.DELETED) {
+                    recordPresent(tenantId, Kind.ROLE, event.getRoleId());
+                }
+            }
+            case USER_ROLE_ASSIGNMENT -> {
+                recordPresent(tenantId, Kind.USER, event.getUserAccountId());
+                recordPresent(tenantId, Kind.ROLE, event.getRoleId());
+            }
+            case ROLE_PERMISSION_ASSIGNMENT -> recordPresent(tenantId, Kind.ROLE, event.getRoleId());
+            case TENANT -> invalidateTenant(tenantId);
+        }
+    }
+
+    private boolean isFresh(TenantFilters tenantFilters) {
+        return tenantFilters != null && System.nanoTime() - tenantFilters.builtAtNanos() < config.maxAge().toNanos();
+    }
+
+    private AtomicLong generation(UUID tenantId) {
+        return generations.computeIfAbsent(tenantId, k -> new AtomicLong());
+    }
+
+    // Returns whether the filter was installed.
+    private boolean build(UUID tenantId) {
+        AtomicLong generation = generation(tenantId);
+        long observedGeneration = generation.get();
+        long start = System.nanoTime();
+        TenantFilters built = new TenantFilters(
+                filterOf(ReadOnlyQueries.create("select u.id from UserAccount u where u.tenantId = ?1", UUID.class)
+                        .setParameter(1, tenantId)
+                        .getResultList()),
+                filterOf(ReadOnlyQueries.create("select r.id from Role r where r.tenantId = ?1", UUID.class)
+                        .setParameter(1, tenantId)
+                        .getResultList()),
+                start);
+        TenantFilters installed = filters.compute(tenantId,
+                (k, current) -> generation.get() == observedGeneration ? built : current);
+        builds.increment();
+        LOG.debugf("Built existence filters for tenant %s in %d us", tenantId, (System.nanoTime() - start) / 1_000);
+        return installed == built;
+    }
+
+    private IdBloomFilter filterOf(List<UUID> ids) {
+        // Headroom for IDs added through events until the next build.
+        IdBloomFilter filter = IdBloomFilter.create(Math.max(MIN_EXPECTED_INSERTIONS, ids.size() * 2L), config.falsePositiveRate());
+        ids.forEach(filter::put);
+        return filter;
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("tenants", (long) filters.size());
+        stats.put("bloomRejections", bloomRejections.sum());
+        stats.put("negativeHits", negativeHits.sum());
+        stats.put("negativeEntries", negatives.estimatedSize());
+        stats.put("builds", builds.sum());
+        return stats;
+    }
+}
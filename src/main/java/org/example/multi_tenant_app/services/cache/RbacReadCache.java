@@ -0,0 +1,169 @@
+package org.example.multi_tenant_app.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.config.RbacCacheConfig;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Size- and TTL-bounded read-through cache in front of the tenant and role/permission read paths.
+ * Every entry is keyed by (tenantId, id), and committed {@link RbacChangeEvent}s evict exactly
+ * the entries they affect. Cached values are shared between callers and must be treated as
+ * read-only.
+ */
+@ApplicationScoped
+public class RbacReadCache {
+
+    public enum Region {
+        USER_ROLE_IDS,    // (tenant, user) -> List<UUID> of assigned role IDs
+        ROLES,            // (tenant, role) -> RoleDTO
+        ROLE_PERMISSIONS, // (tenant, role) -> List<PermissionDTO>
+        TENANTS,          // (tenant, tenant) -> TenantDTO
+        RBAC_VERSIONS     // (tenant, tenant) -> Long, see TenantRbacVersions; keep last
+    }
+
+    private record Key(UUID tenantId, UUID id) {
+    }
+
+    @Inject
+    RbacCacheConfig config;
+
+    private final Map<Region, Cache<Key, Object>> caches = new EnumMap<>(Region.class);
+    // Invalidation generation per region and tenant, so a write only discards concurrent fills of
+    // its own tenant. Never removed: at most one counter per tenant and region.
+    private final Map<Region, ConcurrentMap<UUID, AtomicLong>> generations = new EnumMap<>(Region.class);
+    private final Map<Region, LongAdder> invalidations = new EnumMap<>(Region.class);
+
+    @PostConstruct
+    void init() {
+        for (Region region : Region.values()) {
+            caches.put(region, Caffeine.newBuilder()
+                    .maximumSize(config.maxEntries())
+                    .expireAfterWrite(config.ttl())
+                    .recordStats()
+                    .build());
+            generations.put(region, new ConcurrentHashMap<>());
+            invalidations.put(region, new LongAdder());
+        }
+    }
+
+    /**
+     * Returns the cached value or computes it with {@code loader}. The loader runs outside any
+     * cache lock: holding Caffeine's per-key lock (a {@code synchronized} map bin) across a
+     * database call would block other keys of the same bin for as long as the query takes.
+     * Instead a value loaded while the tenant's entries in the region were invalidated is
+     * returned but not cached. Concurrent misses on the same key may each run the loader. A {@code null} result is not cached; exceptions propagate to the caller.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(Region region, UUID tenantId, UUID id, Supplier<V> loader) {
+        if (!config.enabled()) {
+            return loader.get();
+        }
+        long observedGeneration = generation(region, tenantId);
+        V cached = (V) caches.get(region).getIfPresent(new Key(tenantId, id));
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.get();
+        if (loaded != null) {
+            putIfUnchanged(region, tenantId, id, loaded, observedGeneration);
+        }
+        return loaded;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V getIfPresent(Region region, UUID tenantId, UUID id) {
+        return config.enabled() ? (V) caches.get(region).getIfPresent(new Key(tenantId, id)) : null;
+    }
+
+    /**
+     * Current invalidation generation of a tenant's entries in a region. Capture it before reading
+     * the database and pass it to {@link #putIfUnchanged} so a value read before a concurrent
+     * commit in the same tenant is not kept.
+     */
+    public long generation(Region region, UUID tenantId) {
+        AtomicLong generation = generations.get(region).get(tenantId);
+        return generation == null ? 0 : generation.get();
+    }
+
+    public void putIfUnchanged(Region region, UUID tenantId, UUID id, Object value, long observedGeneration) {
+        if (!config.enabled() || generation(region, tenantId) != observedGeneration) {
+            return;
+        }
+        Key key = new Key(tenantId, id);
+        caches.get(region).put(key, value);
+        // An invalidation may have slipped in between the check and the put; undo the put then.
+        if (generation(region, tenantId) != observedGeneration) {
+            caches.get(region).invalidate(key);
+        }
+    }
+
+    public void invalidate(Region region, UUID tenantId, UUID id) {
+        advance(region, tenantId);
+        caches.get(region).invalidate(new Key(tenantId, id));
+    }
+
+    private void advance(Region region, UUID tenantId) {
+        generations.get(region).computeIfAbsent(tenantId, k -> new AtomicLong()).incrementAndGet();
+        invalidations.get(region).increment();
+    }
+
+    void onRbacChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) RbacChangeEvent event) {
+        UUID tenantId = event.getTenantId();
+        switch (event.getEntityType()) {
+            case USER_ROLE_ASSIGNMENT -> invalidate(Region.USER_ROLE_IDS, tenantId, event.getUserAccountId());
+            case ROLE_PERMISSION_ASSIGNMENT -> invalidate(Region.ROLE_PERMISSIONS, tenantId, event.getRoleId());
+            case ROLE -> {
+                // Deleted roles disappear from cached user role lists when they are resolved,
+                // since the role lookup no longer finds them.
+                invalidate(Region.ROLES, tenantId, event.getRoleId());
+                invalidate(Region.ROLE_PERMISSIONS, tenantId, event.getRoleId());
+            }
+            case TENANT -> invalidateTenant(tenantId);
+        }
+        // After the data: a reader that sees the new version can no longer get the old data.
+        invalidate(Region.RBAC_VERSIONS, tenantId, tenantId);
+    }
+
+    // Regions are cleared in declaration order, so RBAC_VERSIONS goes last here too.
+    public void invalidateTenant(UUID tenantId) {
+        caches.forEach((region, cache) -> {
+            advance(region, tenantId);
+            cache.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId));
+        });
+    }
+
+    /**
+     * Hit/miss/eviction counters per region.
+     */
+    public Map<String, Map<String, Long>> getStats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        caches.forEach((region, cache) -> {
+            CacheStats s = cache.stats();
+            Map<String, Long> regionStats = new LinkedHashMap<>();
+            regionStats.put("size", cache.estimatedSize());
+            regionStats.put("hits", s.hitCount());
+            regionStats.put("misses", s.missCount());
+            regionStats.put("evictions", s.evictionCount());
+            regionStats.put("invalidations", invalidations.get(region).sum());
+            stats.put(region.name(), regionStats);
+        });
+        return stats;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.multi_tenant_app.services.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.services.cache.RbacReadCache.Region;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-tenant RBAC version, so that an unchanged version means unchanged role and assignment
+ * reads. The REST resources send it as an {@code ETag} and the gRPC services as
+ * {@code rbac_version}; a client presenting the current one gets no data.
+ * <p>
+ * The version lives only in memory, in the {@link Region#RBAC_VERSIONS} cache region. A tenant
+ * without an entry gets a new random version. Every committed {@link RbacChangeEvent}, local or
+ * received from another node, evicts the entry after the data it describes, so the next read
+ * starts a new version. Writers therefore never touch the database for it, and checking it
+ * never reads the database.
+ * <p>
+ * The entry expires with the rest of the read cache, so without cross-node invalidation a
+ * change made on another node is reflected after {@code rbac.cache.ttl}, as for cached reads.
+ * Each node chooses its own versions: a client that moves to another node, or comes back after
+ * a restart, gets one full read. With the read cache disabled nothing is kept, and every read
+ * gets a new version.
+ * <p>
+ * Read the version <em>before</em> reading the data it describes. A change committed in
+ * between then leaves the response newer than its version, which is harmless; the other
+ * order could label old data with the new version.
+ */
+@ApplicationScoped
+public class TenantRbacVersions {
+
+    @Inject
+    RbacReadCache rbacReadCache;
+
+    private final LongAdder notModified = new LongAdder();
+
+    /**
+     * Current version of the tenant's RBAC data.
+     */
+    public long current(UUID tenantId) {
+        return rbacReadCache.get(Region.RBAC_VERSIONS, tenantId, tenantId, TenantRbacVersions::newVersion);
+    }
+
+    // Random rather than counted, so that versions chosen by different nodes or before a restart
+    // do not repeat.
+    private static Long newVersion() {
+        return ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    }
+
+    public void countNotModified() {
+        notModified.increment();
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("notModified", notModified.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.multi_tenant_app.services.cache;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.config.TenantStatusIndexConfig;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of every tenant's status and tier, consulted by the tenant filter and
+ * interceptor so that requests for unknown or suspended tenants are rejected, and the others
+ * rate limited by tier, without touching the database.
+ * <p>
+ * Loaded in full at startup and kept current by:
+ * <ul>
+ *     <li>{@link TenantStatusListener}, for tenant rows written by this node (after commit);</li>
+ *     <li>remote tenant {@link RbacChangeEvent}s, which re-read that one tenant;</li>
+ *     <li>a delta poll on {@code updated_at}, for tenants created on other nodes or outside
+ *     the app, and a periodic full reload, for deletions made outside the app.</li>
+ * </ul>
+ * Until the first load succeeds every tenant is admitted, as before the index existed.
+ */
+@ApplicationScoped
+public class TenantStatusIndex {
+
+    private static final Logger LOG = Logger.getLogger(TenantStatusIndex.class);
+
+    public enum Admission {
+        ADMITTED,
+        UNKNOWN,
+        SUSPENDED
+    }
+
+    private record Entry(boolean admitted, String tier, LocalDateTime updatedAt) {
+    }
+
+    @Inject
+    TenantStatusIndexConfig config;
+
+    private final ConcurrentMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile LocalDateTime newestUpdate;
+    private volatile long lastFullRefreshNanos;
+
+    private Set<String> rejectedStatuses;
+    private ScheduledExecutorService poller;
+
+    private final LongAdder rejectedUnknown = new LongAdder();
+    private final LongAdder rejectedSuspended = new LongAdder();
+    private final LongAdder deltaPolls = new LongAdder();
+    private final LongAdder fullRefreshes = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        rejectedStatuses = config.rejectedStatuses().stream()
+                .map(status -> status.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!config.enabled()) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tenant-status-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresh();
+        long intervalMillis = Math.max(1, config.pollInterval().toMillis());
+        poller.scheduleWithFixedDelay(this::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /**
+     * Lock-free; never touches the database.
+     */
+    public Admission admission(UUID tenantId) {
+        if (!loaded) {
+            return Admission.ADMITTED;
+        }
+        Entry entry = entries.get(tenantId);
+        if (entry == null) {
+            rejectedUnknown.increment();
+            return Admission.UNKNOWN;
+        }
+        if (!entry.admitted()) {
+            rejectedSuspended.increment();
+            return Admission.SUSPENDED;
+        }
+        return Admission.ADMITTED;
+    }
+
+    /**
+     * @return the tenant's rate limit tier, or {@code null} if the tenant is not (yet) known
+     */
+    public String tierOf(UUID tenantId) {
+        Entry entry = entries.get(tenantId);
+        return entry == null ? null : entry.tier();
+    }
+
+    /**
+     * Records the committed state of a tenant row. Of two versions of the same tenant the one
+     * with the later {@code updated_at} wins, so a poll that read a row just before this node
+     * updated it cannot undo the update.
+     */
+    public void put(UUID tenantId, String status, String tier, LocalDateTime updatedAt) {
+        if (!config.enabled() || tenantId == null) {
+            return;
+        }
+        Entry entry = new Entry(status == null || !rejectedStatuses.contains(status.toUpperCase(Locale.ROOT)),
+                tier == null ? null : tier.intern(), updatedAt);
+        entries.merge(tenantId, entry, (current, candidate) ->
+                current.updatedAt() != null && candidate.updatedAt() != null && current.updatedAt().isAfter(candidate.updatedAt())
+                        ? current : candidate);
+    }
+
+    public void remove(UUID tenantId) {
+        entries.remove(tenantId);
+    }
+
+    // Tenants changed on other nodes; local changes already arrived through TenantStatusListener.
+    void onRbacChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) RbacChangeEvent event) {
+        if (!loaded || !event.isRemote() || event.getEntityType() != RbacChangeEvent.EntityType.TENANT) {
+            return;
+        }
+        UUID tenantId = event.getTenantId();
+        try {
+            Tenant tenant = QuarkusTransaction.requiringNew().call(() -> Tenant.<Tenant>findById(tenantId));
+            if (tenant == null) {
+                remove(tenantId);
+            } else {
+                put(tenant.id, tenant.status, tenant.tier, tenant.updatedAt);
+            }
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to re-read tenant %s, the next poll will pick it up", tenantId);
+        }
+    }
+
+    private void refresh() {
+        try {
+            if (!loaded || System.nanoTime() - lastFullRefreshNanos >= config.fullRefreshInterval().toNanos()) {
+                fullRefresh();
+            } else {
+                deltaRefresh();
+            }
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to refresh tenant status index, will retry in %s", config.pollInterval());
+        }
+    }
+
+    private void fullRefresh() {
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<Object[]> rows = QuarkusTransaction.requiringNew().call(() -> query(null));
+        Set<UUID> present = new HashSet<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            apply(row);
+            present.add((UUID) row[0]);
+        }
+        // Entries written after the query started may belong to tenants it could not see yet.
+        entries.entrySet().removeIf(entry -> !present.contains(entry.getKey())
+                && (entry.getValue().updatedAt() == null || entry.getValue().updatedAt().isBefore(startedAt)));
+        lastFullRefreshNanos = start;
+        loaded = true;
+        fullRefreshes.increment();
+        LOG.debugf("Loaded status of %d tenants in %d us", rows.size(), (System.nanoTime() - start) / 1_000);
+    }
+
+    private void deltaRefresh() {
+        LocalDateTime watermark = newestUpdate;
+        LocalDateTime since = watermark == null ? null : watermark.minus(config.pollOverlap());
+        List<Object[]> rows = QuarkusTransaction.requiringNew().call(() -> query(since));
+        rows.forEach(this::apply);
+        deltaPolls.increment();
+    }
+
+    private List<Object[]> query(LocalDateTime since) {
+        if (since == null) {
+            return Panache.getEntityManager()
+                    .createQuery("select t.id, t.status, t.updatedAt, t.tier from Tenant t", Object[].class)
+                    .getResultList();
+        }
+        return Panache.getEntityManager()
+                .createQuery("select t.id, t.status, t.updatedAt, t.tier from Tenant t where t.updatedAt >= ?1", Object[].class)
+                .setParameter(1, since)
+                .getResultList();
+    }
+
+    private void apply(Object[] row) {
+        LocalDateTime updatedAt = (LocalDateTime) row[2];
+        put((UUID) row[0], (String) row[1], (String) row[3], updatedAt);
+        LocalDateTime watermark = newestUpdate;
+        if (updatedAt != null && (watermark == null || updatedAt.isAfter(watermark))) {
+            newestUpdate = updatedAt; // Only the poller thread advances the watermark.
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("tenants", (long) entries.size());
+        stats.put("rejectedUnknown", rejectedUnknown.sum());
+        stats.put("rejectedSuspended", rejectedSuspended.sum());
+        stats.put("deltaPolls", deltaPolls.sum());
+        stats.put("fullRefreshes", fullRefreshes.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.multi_tenant_app.services.cache;
+
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.example.multi_tenant_app.data.entities.Tenant;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity listener on {@link Tenant} that feeds every tenant write of this node into the
+ * {@link TenantStatusIndex} once its transaction has committed, whichever code path made it.
+ */
+@ApplicationScoped
+@Unremovable // Only referenced from @EntityListeners
+public class TenantStatusListener {
+
+    @Inject
+    TenantStatusIndex tenantStatusIndex;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @PostPersist
+    @PostUpdate
+    void onWrite(Tenant tenant) {
+        // Captured now: the entity may change again before the transaction completes.
+        UUID tenantId = tenant.id;
+        String status = tenant.status;
+        String tier = tenant.tier;
+        LocalDateTime updatedAt = tenant.updatedAt;
+        afterCommit(() -> tenantStatusIndex.put(tenantId, status, tier, updatedAt));
+    }
+
+    @PostRemove
+    void onRemove(Tenant tenant) {
+        UUID tenantId = tenant.id;
+        afterCommit(() -> tenantStatusIndex.remove(tenantId));
+    }
+
+    private void afterCommit(Runnable action) {
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.multi_tenant_app.services.events;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * CDI event fired by the RBAC services whenever a role, a user-role assignment or a
+ * role-permission assignment changes. Observers that hold derived state (e.g. the compiled
+ * authorization snapshots) should observe it with {@code TransactionPhase.AFTER_SUCCESS}
+ * so that they only react to committed changes.
+ * <p>
+ * Events received from other nodes are re-fired locally with {@link #isRemote()} set, so that
+ * local observers evict their state but the events are not published again.
+ */
+public final class RbacChangeEvent {
+
+    public enum EntityType {
+        ROLE,
+        USER_ROLE_ASSIGNMENT,
+        ROLE_PERMISSION_ASSIGNMENT,
+        TENANT // Everything RBAC-related in the tenant may have changed
+    }
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final UUID tenantId;
+    private final EntityType entityType;
+    private final Operation operation; // Null when unknown, e.g. for events received from other nodes
+    private final UUID roleId;
+    private final UUID userAccountId; // Only set for USER_ROLE_ASSIGNMENT
+    private final UUID permissionId;  // Only set for ROLE_PERMISSION_ASSIGNMENT
+    private final boolean remote;
+
+    private RbacChangeEvent(UUID tenantId, EntityType entityType, Operation operation,
+                            UUID roleId, UUID userAccountId, UUID permissionId, boolean remote) {
+        this.tenantId = tenantId;
+        this.entityType = entityType;
+        this.operation = operation;
+        this.roleId = roleId;
+        this.userAccountId = userAccountId;
+        this.permissionId = permissionId;
+        this.remote = remote;
+    }
+
+    public static RbacChangeEvent of(UUID tenantId, EntityType entityType, UUID roleId, UUID userAccountId, UUID permissionId) {
+        return new RbacChangeEvent(tenantId, entityType, null, roleId, userAccountId, permissionId, false);
+    }
+
+    public static RbacChangeEvent role(UUID tenantId, UUID roleId, Operation operation) {
+        return new RbacChangeEvent(tenantId, EntityType.ROLE, operation, roleId, null, null, false);
+    }
+
+    public static RbacChangeEvent userRoleAssignment(UUID tenantId, UUID userAccountId, UUID roleId, Operation operation) {
+        return new RbacChangeEvent(tenantId, EntityType.USER_ROLE_ASSIGNMENT, operation, roleId, userAccountId, null, false);
+    }
+
+    public static RbacChangeEvent rolePermissionAssignment(UUID tenantId, UUID roleId, UUID permissionId, Operation operation) {
+        return new RbacChangeEvent(tenantId, EntityType.ROLE_PERMISSION_ASSIGNMENT, operation, roleId, null, permissionId, false);
+    }
+
+    public static RbacChangeEvent tenant(UUID tenantId) {
+        return of(tenantId, EntityType.TENANT, null, null, null);
+    }
+
+    /**
+     * Copy of this event marked as originating on another node.
+     */
+    public RbacChangeEvent asRemote() {
+        return remote ? this : new RbacChangeEvent(tenantId, entityType, operation, roleId, userAccountId, permissionId, true);
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public UUID getRoleId() {
+        return roleId;
+    }
+
+    public UUID getUserAccountId() {
+        return userAccountId;
+    }
+
+    public UUID getPermissionId() {
+        return permissionId;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    // Equality ignores the operation and the origin: both are irrelevant for invalidation, so
+    // e.g. an assignment that is created and removed again within one batch coalesces to one event.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RbacChangeEvent other)) {
+            return false;
+        }
+        return tenantId.equals(other.tenantId)
+               && entityType == other.entityType
+               && Objects.equals(roleId, other.roleId)
+               && Objects.equals(userAccountId, other.userAccountId)
+               && Objects.equals(permissionId, other.permissionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tenantId, entityType, roleId, userAccountId, permissionId);
+    }
+
+    @Override
+    public String toString() {
+        return "RbacChangeEvent{" +
+               "tenantId=" + tenantId +
+               ", entityType=" + entityType +
+               ", operation=" + operation +
+               ", roleId=" + roleId +
+               ", userAccountId=" + userAccountId +
+               ", permissionId=" + permissionId +
+               ", remote=" + remote +
+               '}';
+    }
+}
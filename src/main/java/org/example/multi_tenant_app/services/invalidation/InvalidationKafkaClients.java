@@ -0,0 +1,59 @@
+package org.example.multi_tenant_app.services.invalidation;
+
+import io.smallrye.common.annotation.Identifier;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.multi_tenant_app.config.RbacInvalidationConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the Kafka clients used for cross-node invalidation from the application's
+ * {@code kafka.*} configuration. Tests replace this bean with an in-memory stand-in.
+ */
+@ApplicationScoped
+public class InvalidationKafkaClients {
+
+    @Inject
+    @Identifier("default-kafka-broker")
+    Map<String, Object> kafkaConfig;
+
+    @Inject
+    RbacInvalidationConfig invalidationConfig;
+
+    public Producer<String, byte[]> createProducer() {
+        Map<String, Object> config = new HashMap<>(kafkaConfig);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        // Records are already batched per flush; linger lets the client pack several tenants into one request.
+        config.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, (int) invalidationConfig.flushInterval().toMillis());
+        config.putIfAbsent(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        return new KafkaProducer<>(config);
+    }
+
+    /**
+     * A consumer without a group: every node must see every invalidation, and a node never resumes
+     * from a committed offset, so the listener assigns itself all partitions instead of
+     * subscribing. That leaves nothing behind on the broker when a node goes away.
+     */
+    public Consumer<String, byte[]> createConsumer(String nodeId) {
+        Map<String, Object> config = new HashMap<>(kafkaConfig);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        config.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.CLIENT_ID_CONFIG, "rbac-invalidation-" + nodeId);
+        return new KafkaConsumer<>(config);
+    }
+}
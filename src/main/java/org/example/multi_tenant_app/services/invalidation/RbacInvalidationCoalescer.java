@@ -0,0 +1,47 @@
+package org.example.multi_tenant_app.services.invalidation;
+
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reduces a burst of change events to the smallest equivalent set of invalidations: duplicates
+ * are dropped, and a tenant with more than {@code tenantCollapseThreshold} distinct changes (or
+ * with a tenant-wide change) is reduced to a single {@link RbacChangeEvent#tenant} event.
+ */
+public final class RbacInvalidationCoalescer {
+
+    private RbacInvalidationCoalescer() {
+    }
+
+    /**
+     * @return the coalesced events grouped by tenant, in order of first appearance.
+     */
+    public static Map<UUID, List<RbacChangeEvent>> coalesce(Collection<RbacChangeEvent> events, int tenantCollapseThreshold) {
+        Map<UUID, Set<RbacChangeEvent>> byTenant = new LinkedHashMap<>();
+        for (RbacChangeEvent event : events) {
+            Set<RbacChangeEvent> tenantEvents = byTenant.computeIfAbsent(event.getTenantId(), k -> new LinkedHashSet<>());
+            if (tenantEvents.size() == 1 && tenantEvents.iterator().next().getEntityType() == RbacChangeEvent.EntityType.TENANT) {
+                continue; // Already collapsed
+            }
+            if (event.getEntityType() == RbacChangeEvent.EntityType.TENANT
+                    || (!tenantEvents.contains(event) && tenantEvents.size() >= tenantCollapseThreshold)) {
+                tenantEvents.clear();
+                tenantEvents.add(RbacChangeEvent.tenant(event.getTenantId()));
+                continue;
+            }
+            tenantEvents.add(event);
+        }
+
+        Map<UUID, List<RbacChangeEvent>> result = new LinkedHashMap<>();
+        byTenant.forEach((tenantId, tenantEvents) -> result.put(tenantId, new ArrayList<>(tenantEvents)));
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.multi_tenant_app.services.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.example.multi_tenant_app.config.RbacInvalidationConfig;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumes the invalidation topic and re-fires the changes published by other nodes as remote
+ * {@link RbacChangeEvent}s, so local caches evict exactly as they do for local writes. All
+ * records returned by one poll are coalesced before anything is evicted.
+ */
+@ApplicationScoped
+public class RbacInvalidationListener {
+
+    private static final Logger LOG = Logger.getLogger(RbacInvalidationListener.class);
+
+    @Inject
+    RbacInvalidationConfig config;
+
+    @Inject
+    InvalidationKafkaClients kafkaClients;
+
+    @Inject
+    RbacInvalidationPublisher publisher;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Event<RbacChangeEvent> rbacChangeEvent;
+
+    private volatile boolean running;
+    private Consumer<String, byte[]> consumer;
+    private Thread pollThread;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!config.enabled()) {
+            return;
+        }
+        consumer = kafkaClients.createConsumer(publisher.getNodeId());
+        running = true;
+        pollThread = new Thread(this::pollLoop, "rbac-invalidation-listener");
+        pollThread.setDaemon(true);
+        pollThread.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+        if (pollThread == null) {
+            return;
+        }
+        running = false;
+        consumer.wakeup();
+        pollThread.join(5000);
+    }
+
+    private void pollLoop() {
+        try {
+            List<TopicPartition> partitions = awaitPartitions();
+            consumer.assign(partitions);
+            // A node that starts (or restarts) has cold caches, so older invalidations are irrelevant.
+            consumer.seekToEnd(partitions);
+            while (running) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(config.pollTimeout());
+                if (records.isEmpty()) {
+                    continue;
+                }
+                try {
+                    apply(records);
+                } catch (RuntimeException e) {
+                    LOG.error("Failed to apply RBAC invalidations", e);
+                }
+            }
+        } catch (WakeupException | InterruptedException e) {
+            if (running) {
+                LOG.error("RBAC invalidation listener woken up unexpectedly", e);
+            }
+        } finally {
+            consumer.close();
+        }
+    }
+
+    // Read once: partitions added to the topic later are only picked up on restart.
+    private List<TopicPartition> awaitPartitions() throws InterruptedException {
+        while (true) {
+            List<PartitionInfo> infos = consumer.partitionsFor(config.topic());
+            if (infos != null && !infos.isEmpty()) {
+                return infos.stream().map(info -> new TopicPartition(info.topic(), info.partition())).toList();
+            }
+            if (!running) {
+                return List.of();
+            }
+            LOG.warnf("RBAC invalidation topic %s has no partitions yet; retrying", config.topic());
+            Thread.sleep(config.pollTimeout().toMillis());
+        }
+    }
+
+    void apply(Iterable<ConsumerRecord<String, byte[]>> records) {
+        List<RbacChangeEvent> events = new ArrayList<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            RbacInvalidationMessage message;
+            try {
+                message = objectMapper.readValue(record.value(), RbacInvalidationMessage.class);
+            } catch (IOException e) {
+                LOG.warnf(e, "Skipping malformed RBAC invalidation at offset %d", record.offset());
+                continue;
+            }
+            if (publisher.getNodeId().equals(message.originNodeId())) {
+                continue; // Already applied locally when the transaction committed
+            }
+            events.addAll(message.toEvents());
+        }
+
+        RbacInvalidationCoalescer.coalesce(events, config.tenantCollapseThreshold())
+                .values()
+                .forEach(tenantEvents -> tenantEvents.forEach(e -> rbacChangeEvent.fire(e.asRemote())));
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.multi_tenant_app.services.invalidation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Wire format of one record on the invalidation topic: the coalesced changes of one tenant,
+ * tagged with the node that published them. Field names are kept short because a bulk change
+ * can carry many entries.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RbacInvalidationMessage(
+        @JsonProperty("o") String originNodeId,
+        @JsonProperty("t") UUID tenantId,
+        @JsonProperty("c") List<Change> changes) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Change(
+            @JsonProperty("e") RbacChangeEvent.EntityType entityType,
+            @JsonProperty("r") UUID roleId,
+            @JsonProperty("u") UUID userAccountId,
+            @JsonProperty("p") UUID permissionId) {
+    }
+
+    public static RbacInvalidationMessage of(String originNodeId, UUID tenantId, List<RbacChangeEvent> events) {
+        return new RbacInvalidationMessage(originNodeId, tenantId, events.stream()
+                .map(e -> new Change(e.getEntityType(), e.getRoleId(), e.getUserAccountId(), e.getPermissionId()))
+                .toList());
+    }
+
+    public List<RbacChangeEvent> toEvents() {
+        return changes.stream()
+                .map(c -> RbacChangeEvent.of(tenantId, c.entityType(), c.roleId(), c.userAccountId(), c.permissionId()).asRemote())
+                .toList();
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.multi_tenant_app.services.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.example.multi_tenant_app.config.RbacInvalidationConfig;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes committed local {@link RbacChangeEvent}s to the invalidation topic so that other
+ * nodes can evict their caches. Events are buffered for {@code rbac.invalidation.flush-interval},
+ * coalesced, and sent as one record per tenant (keyed by tenant ID to keep per-tenant order).
+ */
+@ApplicationScoped
+public class RbacInvalidationPublisher {
+
+    private static final Logger LOG = Logger.getLogger(RbacInvalidationPublisher.class);
+
+    @Inject
+    RbacInvalidationConfig config;
+
+    @Inject
+    InvalidationKafkaClients kafkaClients;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<RbacChangeEvent> pending = new ConcurrentLinkedQueue<>();
+    private volatile Producer<String, byte[]> producer;
+    private ScheduledExecutorService flusher;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!config.enabled()) {
+            return;
+        }
+        producer = kafkaClients.createProducer();
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rbac-invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, config.flushInterval().toMillis());
+        flusher.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        LOG.infof("Publishing RBAC invalidations to topic %s as node %s", config.topic(), nodeId);
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flushSafely();
+        producer.close(Duration.ofSeconds(5));
+    }
+
+    void onRbacChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) RbacChangeEvent event) {
+        // Remote events came from the topic in the first place.
+        if (producer != null && !event.isRemote()) {
+            pending.add(event);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.error("Failed to publish RBAC invalidations", e);
+        }
+    }
+
+    void flush() {
+        List<RbacChangeEvent> drained = new ArrayList<>();
+        RbacChangeEvent event;
+        while ((event = pending.poll()) != null) {
+            drained.add(event);
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, List<RbacChangeEvent>> byTenant = RbacInvalidationCoalescer.coalesce(drained, config.tenantCollapseThreshold());
+        byTenant.forEach((tenantId, events) -> {
+            byte[] payload;
+            try {
+                payload = objectMapper.writeValueAsBytes(RbacInvalidationMessage.of(nodeId, tenantId, events));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize RBAC invalidation for tenant " + tenantId, e);
+            }
+            producer.send(new ProducerRecord<>(config.topic(), tenantId.toString(), payload), (metadata, error) -> {
+                if (error != null) {
+                    // Other nodes fall back to rbac.cache.ttl for this tenant.
+                    LOG.warnf(error, "Failed to publish RBAC invalidation for tenant %s", tenantId);
+                }
+            });
+        });
+        LOG.debugf("Published %d RBAC changes as invalidations for %d tenant(s)", drained.size(), byTenant.size());
+    }
+}
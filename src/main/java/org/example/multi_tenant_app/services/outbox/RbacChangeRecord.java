@@ -0,0 +1,32 @@
+package org.example.multi_tenant_app.services.outbox;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.multi_tenant_app.data.entities.RbacOutboxEvent;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Value of a record on the RBAC change feed topic (key: tenant ID). Delivery is at-least-once.
+ * {@code id} identifies the change and is the same on every redelivery, so consumers can drop
+ * duplicates by the ids they have already seen. It is assigned when the outbox row is inserted,
+ * not when its transaction commits, so it does not follow commit order: a record may arrive
+ * after one with a higher id. Never skip a record because its id is below one already seen.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RbacChangeRecord(
+        long id,
+        UUID tenantId,
+        RbacChangeEvent.EntityType entityType,
+        RbacChangeEvent.Operation operation,
+        UUID roleId,
+        UUID userAccountId,
+        UUID permissionId,
+        LocalDateTime occurredAt) {
+
+    public static RbacChangeRecord of(RbacOutboxEvent row) {
+        return new RbacChangeRecord(row.id, row.tenantId, row.entityType, row.operation,
+                row.roleId, row.userAccountId, row.permissionId, row.createdAt);
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.multi_tenant_app.services.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.example.multi_tenant_app.config.RbacOutboxConfig;
+import org.example.multi_tenant_app.data.entities.RbacOutboxEvent;
+import org.example.multi_tenant_app.services.invalidation.InvalidationKafkaClients;
+import org.hibernate.Timeouts;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox table to the RBAC change feed topic. Each run publishes a batch of rows in
+ * id order, waits for Kafka to acknowledge all of them and only then deletes them, all in one
+ * transaction: a failure leaves the rows in place to be sent again (at-least-once delivery).
+ */
+@ApplicationScoped
+public class RbacOutboxRelay {
+
+    private static final Logger LOG = Logger.getLogger(RbacOutboxRelay.class);
+
+    @Inject
+    RbacOutboxConfig config;
+
+    @Inject
+    InvalidationKafkaClients kafkaClients;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private Producer<String, byte[]> producer;
+    private ScheduledExecutorService executor;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!config.enabled()) {
+            return;
+        }
+        producer = kafkaClients.createProducer();
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rbac-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, config.pollInterval().toMillis());
+        executor.scheduleWithFixedDelay(this::drain, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        executor.awaitTermination(config.sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        producer.close(Duration.ofSeconds(5));
+    }
+
+    private void drain() {
+        try {
+            // Keep going without pausing while there is a backlog.
+            int relayed;
+            do {
+                relayed = QuarkusTransaction.requiringNew().call(this::relayBatch);
+            } while (relayed == config.batchSize() && !executor.isShutdown());
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to relay RBAC outbox, will retry in %s", config.pollInterval());
+        }
+    }
+
+    /**
+     * Must run in a transaction.
+     *
+     * @return the number of rows relayed
+     */
+    int relayBatch() throws InterruptedException, ExecutionException, TimeoutException {
+        // SKIP LOCKED lets relays on several replicas work on disjoint batches (where the database supports it).
+        List<RbacOutboxEvent> batch = RbacOutboxEvent.<RbacOutboxEvent>find("order by id")
+                .withLock(LockModeType.PESSIMISTIC_WRITE)
+                .withHint("jakarta.persistence.lock.timeout", Timeouts.SKIP_LOCKED_MILLI)
+                .range(0, config.batchSize() - 1)
+                .list();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<RecordMetadata>> acks = new ArrayList<>(batch.size());
+        for (RbacOutboxEvent row : batch) {
+            acks.add(producer.send(new ProducerRecord<>(config.topic(), row.tenantId.toString(), serialize(row))));
+        }
+        producer.flush();
+        long deadline = System.nanoTime() + config.sendTimeout().toNanos();
+        for (Future<RecordMetadata> ack : acks) {
+            ack.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+
+        deleteRelayed(batch);
+        LOG.debugf("Relayed %d RBAC outbox rows (ids %d..%d)", batch.size(), batch.get(0).id, batch.get(batch.size() - 1).id);
+        return batch.size();
+    }
+
+    // Deletes by contiguous id ranges of the rows actually read. Ids in a gap may belong to
+    // transactions that had not committed when the batch was read, so gaps are never covered.
+    private static void deleteRelayed(List<RbacOutboxEvent> batch) {
+        long rangeStart = batch.get(0).id;
+        long previous = rangeStart;
+        for (int i = 1; i < batch.size(); i++) {
+            long id = batch.get(i).id;
+            if (id != previous + 1) {
+                RbacOutboxEvent.delete("id >= ?1 and id <= ?2", rangeStart, previous);
+                rangeStart = id;
+            }
+            previous = id;
+        }
+        RbacOutboxEvent.delete("id >= ?1 and id <= ?2", rangeStart, previous);
+    }
+
+    private byte[] serialize(RbacOutboxEvent row) {
+        try {
+            return objectMapper.writeValueAsBytes(RbacChangeRecord.of(row));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize RBAC outbox row " + row.id, e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.multi_tenant_app.services.outbox;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.example.multi_tenant_app.config.RbacOutboxConfig;
+import org.example.multi_tenant_app.data.entities.RbacOutboxEvent;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends every local RBAC change to the outbox table. Unlike the cache observers this one is
+ * notified immediately, i.e. inside the service's transaction, so the outbox row commits or
+ * rolls back together with the change it describes.
+ * <p>
+ * The rows of one transaction are written together just before it commits, as one JDBC batch:
+ * the identity key keeps Hibernate from batching them, and a bulk assignment may record
+ * thousands of changes.
+ */
+@ApplicationScoped
+public class RbacOutboxWriter {
+
+    // Rows recorded by the current transaction, held in its synchronization registry.
+    private static final String PENDING_ROWS = RbacOutboxWriter.class.getName() + ".pendingRows";
+
+    private static final String INSERT = "INSERT INTO rbac_outbox"
+            + " (tenant_id, entity_type, operation, role_id, user_account_id, permission_id, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Inject
+    RbacOutboxConfig config;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @SuppressWarnings("unchecked")
+    void onRbacChange(@Observes RbacChangeEvent event) {
+        // Remote events were recorded by the node that made the change.
+        if (!config.enabled() || event.isRemote() || event.getOperation() == null) {
+            return;
+        }
+        if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+            new RbacOutboxEvent(event).persist();
+            return;
+        }
+        List<RbacOutboxEvent> rows = (List<RbacOutboxEvent>) transactionSynchronizationRegistry.getResource(PENDING_ROWS);
+        if (rows == null) {
+            List<RbacOutboxEvent> pending = new ArrayList<>();
+            transactionSynchronizationRegistry.putResource(PENDING_ROWS, pending);
+            // A regular synchronization: it runs before Hibernate's interposed one, while the
+            // session's connection is still enlisted.
+            register(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    insert(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                }
+            });
+            rows = pending;
+        }
+        rows.add(new RbacOutboxEvent(event));
+    }
+
+    private void register(Synchronization synchronization) {
+        try {
+            transactionManager.getTransaction().registerSynchronization(synchronization);
+        } catch (RollbackException | SystemException e) {
+            throw new IllegalStateException("Cannot record RBAC changes in this transaction", e);
+        }
+    }
+
+    private static void insert(List<RbacOutboxEvent> rows) {
+        Panache.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (RbacOutboxEvent row : rows) {
+                    statement.setObject(1, row.tenantId);
+                    statement.setString(2, row.entityType.name());
+                    statement.setString(3, row.operation.name());
+                    statement.setObject(4, row.roleId);
+                    statement.setObject(5, row.userAccountId);
+                    statement.setObject(6, row.permissionId);
+                    statement.setObject(7, row.createdAt);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
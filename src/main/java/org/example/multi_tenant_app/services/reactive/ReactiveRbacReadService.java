@@ -0,0 +1,317 @@
+package org.example.multi_tenant_app.services.reactive;
+
+import io.quarkus.arc.InjectableInstance;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.data.projections.KeysetCursor;
+import org.example.multi_tenant_app.exceptions.StacklessNotFoundException;
+import org.example.multi_tenant_app.services.cache.RbacExistenceFilter;
+import org.example.multi_tenant_app.services.cache.RbacReadCache;
+import org.example.multi_tenant_app.web.dtos.PageDTO;
+import org.example.multi_tenant_app.web.dtos.PermissionDTO;
+import org.example.multi_tenant_app.web.dtos.RoleDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The RBAC read APIs of {@code RoleService}, {@code UserRoleAssignmentService} and
+ * {@code RolePermissionAssignmentService} on the reactive PostgreSQL client. Queries are sent from
+ * the calling event loop and complete on it, so a read holds no thread while the database works.
+ * <p>
+ * Results are the same DTOs and share {@link RbacReadCache} with the blocking services, so both
+ * paths fill and evict the same entries. There is no Hibernate session here, hence no tenant
+ * filter: every query is scoped by an explicit {@code tenant_id} predicate instead.
+ */
+@ApplicationScoped
+public class ReactiveRbacReadService {
+
+    private static final String ROLE_COLUMNS =
+            "id, tenant_id, name, description, is_system_role, parent_role_id, created_at, updated_at";
+
+    private static final String PERMISSION_COLUMNS = "id, name, description, created_at, updated_at";
+
+    // Unsatisfied when the default datasource is not PostgreSQL (e.g. H2 in tests), and inactive
+    // unless quarkus.datasource.reactive.url is set, which is only done for the reactive mode.
+    @Inject
+    InjectableInstance<Pool> pools;
+
+    @Inject
+    RbacReadCache rbacReadCache;
+
+    @Inject
+    RbacExistenceFilter existenceFilter;
+
+    private volatile Pool pool;
+
+    // Checked without creating the pool.
+    public boolean isAvailable() {
+        return pools.isResolvable() && pools.getHandle().getBean().isActive();
+    }
+
+    private Pool pool() {
+        Pool current = pool;
+        if (current == null) {
+            current = pools.get();
+            pool = current;
+        }
+        return current;
+    }
+
+    private static RoleDTO toRoleDTO(Row row) {
+        RoleDTO dto = new RoleDTO();
+        dto.setId(row.getUUID("id"));
+        dto.setTenantId(row.getUUID("tenant_id"));
+        dto.setName(row.getString("name"));
+        dto.setDescription(row.getString("description"));
+        dto.setSystemRole(row.getBoolean("is_system_role"));
+        dto.setParentRoleId(row.getUUID("parent_role_id"));
+        dto.setCreatedAt(row.getLocalDateTime("created_at"));
+        dto.setUpdatedAt(row.getLocalDateTime("updated_at"));
+        return dto;
+    }
+
+    private static PermissionDTO toPermissionDTO(Row row) {
+        PermissionDTO dto = new PermissionDTO();
+        dto.setId(row.getUUID("id"));
+        dto.setName(row.getString("name"));
+        dto.setDescription(row.getString("description"));
+        dto.setCreatedAt(row.getLocalDateTime("created_at"));
+        dto.setUpdatedAt(row.getLocalDateTime("updated_at"));
+        return dto;
+    }
+
+    public Uni<Optional<RoleDTO>> getRoleById(UUID tenantId, UUID roleId) {
+        RoleDTO cached = rbacReadCache.getIfPresent(RbacReadCache.Region.ROLES, tenantId, roleId);
+        if (cached != null) {
+            return Uni.createFrom().item(Optional.of(cached));
+        }
+        long generation = rbacReadCache.generation(RbacReadCache.Region.ROLES, tenantId);
+        return pool().preparedQuery("SELECT " + ROLE_COLUMNS + " FROM roles WHERE tenant_id = $1 AND id = $2")
+                .execute(Tuple.of(tenantId, roleId))
+                .map(rows -> {
+                    if (rows.size() == 0) {
+                        return Optional.empty();
+                    }
+                    RoleDTO dto = toRoleDTO(rows.iterator().next());
+                    rbacReadCache.putIfUnchanged(RbacReadCache.Region.ROLES, tenantId, roleId, dto, generation);
+                    return Optional.of(dto);
+                });
+    }
+
+    public Uni<List<RoleDTO>> getRolesByTenant(UUID tenantId) {
+        return pool().preparedQuery("SELECT " + ROLE_COLUMNS + " FROM roles WHERE tenant_id = $1")
+                .execute(Tuple.of(tenantId))
+                .map(rows -> {
+                    List<RoleDTO> roles = new ArrayList<>(rows.size());
+                    rows.forEach(row -> roles.add(toRoleDTO(row)));
+                    return roles;
+                });
+    }
+
+    public Uni<PageDTO<RoleDTO>> getRolesPage(UUID tenantId, UUID after, int limit) {
+        Tuple parameters = Tuple.of(tenantId);
+        String keyset = "";
+        if (after != null) {
+            parameters.addValue(after);
+            keyset = " AND id > $2";
+        }
+        parameters.addValue(limit + 1);
+        return pool().preparedQuery("SELECT " + ROLE_COLUMNS + " FROM roles WHERE tenant_id = $1" + keyset
+                        + " ORDER BY id LIMIT $" + parameters.size())
+                .execute(parameters)
+                .map(rows -> {
+                    List<RoleDTO> roles = new ArrayList<>(rows.size());
+                    rows.forEach(row -> roles.add(toRoleDTO(row)));
+                    return KeysetCursor.page(roles, limit, RoleDTO::getId);
+                });
+    }
+
+    /**
+     * @return a Uni failing with {@link StacklessNotFoundException} if the user does not exist in
+     * the tenant
+     */
+    public Uni<List<RoleDTO>> getRolesForUser(UUID tenantId, UUID userId) {
+        List<UUID> cachedRoleIds = rbacReadCache.getIfPresent(RbacReadCache.Region.USER_ROLE_IDS, tenantId, userId);
+        Uni<List<UUID>> roleIds = cachedRoleIds != null
+                ? Uni.createFrom().item(cachedRoleIds)
+                : loadRoleIdsForUser(tenantId, userId);
+        return roleIds.flatMap(ids -> resolveRoles(tenantId, ids));
+    }
+
+    private Uni<List<UUID>> loadRoleIdsForUser(UUID tenantId, UUID userId) {
+        if (existenceFilter.isKnownAbsent(tenantId, RbacExistenceFilter.Kind.USER, userId)) {
+            return Uni.createFrom().failure(new StacklessNotFoundException("UserAccount not found in this tenant."));
+        }
+        long generation = rbacReadCache.generation(RbacReadCache.Region.USER_ROLE_IDS, tenantId);
+        // One round trip: no row means no such user, a single null role_id a user without roles.
+        return pool().preparedQuery("SELECT ura.role_id FROM user_accounts u"
+                        + " LEFT JOIN user_role_assignments ura ON ura.user_account_id = u.id AND ura.tenant_id = u.tenant_id"
+                        + " WHERE u.tenant_id = $1 AND u.id = $2")
+                .execute(Tuple.of(tenantId, userId))
+                .map(rows -> {
+                    if (rows.size() == 0) {
+                        existenceFilter.recordAbsent(tenantId, RbacExistenceFilter.Kind.USER, userId);
+                        throw new StacklessNotFoundException("UserAccount not found in this tenant.");
+                    }
+                    List<UUID> ids = new ArrayList<>(rows.size());
+                    for (Row row : rows) {
+                        UUID roleId = row.getUUID("role_id");
+                        if (roleId != null) {
+                            ids.add(roleId);
+                        }
+                    }
+                    List<UUID> roleIds = List.copyOf(ids);
+                    rbacReadCache.putIfUnchanged(RbacReadCache.Region.USER_ROLE_IDS, tenantId, userId, roleIds, generation);
+                    return roleIds;
+                });
+    }
+
+    private Uni<List<RoleDTO>> resolveRoles(UUID tenantId, List<UUID> roleIds) {
+        if (roleIds.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+        Map<UUID, RoleDTO> rolesById = new HashMap<>();
+        List<UUID> missingRoleIds = new ArrayList<>();
+        for (UUID roleId : roleIds) {
+            RoleDTO cached = rbacReadCache.getIfPresent(RbacReadCache.Region.ROLES, tenantId, roleId);
+            if (cached != null) {
+                rolesById.put(roleId, cached);
+            } else {
+                missingRoleIds.add(roleId);
+            }
+        }
+        if (missingRoleIds.isEmpty()) {
+            return Uni.createFrom().item(inOrder(roleIds, rolesById));
+        }
+        long generation = rbacReadCache.generation(RbacReadCache.Region.ROLES, tenantId);
+        return pool().preparedQuery("SELECT " + ROLE_COLUMNS + " FROM roles WHERE tenant_id = $1 AND id = ANY($2)")
+                .execute(Tuple.of(tenantId, missingRoleIds.toArray(new UUID[0])))
+                .map(rows -> {
+                    for (Row row : rows) {
+                        RoleDTO dto = toRoleDTO(row);
+                        rbacReadCache.putIfUnchanged(RbacReadCache.Region.ROLES, tenantId, dto.getId(), dto, generation);
+                        rolesById.put(dto.getId(), dto);
+                    }
+                    return inOrder(roleIds, rolesById);
+                });
+    }
+
+    // Roles deleted since the ID list was cached are simply not found any more.
+    private static List<RoleDTO> inOrder(List<UUID> roleIds, Map<UUID, RoleDTO> rolesById) {
+        List<RoleDTO> roles = new ArrayList<>(roleIds.size());
+        for (UUID roleId : roleIds) {
+            RoleDTO dto = rolesById.get(roleId);
+            if (dto != null) {
+                roles.add(dto);
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * @return a Uni failing with {@link StacklessNotFoundException} if the role does not exist in
+     * the tenant
+     */
+    public Uni<List<PermissionDTO>> getPermissionsForRole(UUID tenantId, UUID roleId) {
+        List<PermissionDTO> cached = rbacReadCache.getIfPresent(RbacReadCache.Region.ROLE_PERMISSIONS, tenantId, roleId);
+        if (cached != null) {
+            return Uni.createFrom().item(cached);
+        }
+        if (existenceFilter.isKnownAbsent(tenantId, RbacExistenceFilter.Kind.ROLE, roleId)) {
+            return Uni.createFrom().failure(new StacklessNotFoundException("Role not found in this tenant."));
+        }
+        long generation = rbacReadCache.generation(RbacReadCache.Region.ROLE_PERMISSIONS, tenantId);
+        // One round trip, as for user roles: no row means no such role. Wildcard grants
+        // (permission_id null) are not catalog permissions and are left out, as in the blocking path.
+        return pool().preparedQuery("SELECT p.id, p.name, p.description, p.created_at, p.updated_at FROM roles r"
+                        + " LEFT JOIN role_permission_assignments rpa ON rpa.role_id = r.id AND rpa.tenant_id = r.tenant_id"
+                        + " AND rpa.permission_id IS NOT NULL"
+                        + " LEFT JOIN permissions p ON p.id = rpa.permission_id"
+                        + " WHERE r.tenant_id = $1 AND r.id = $2")
+                .execute(Tuple.of(tenantId, roleId))
+                .map(rows -> {
+                    if (rows.size() == 0) {
+                        existenceFilter.recordAbsent(tenantId, RbacExistenceFilter.Kind.ROLE, roleId);
+                        throw new StacklessNotFoundException("Role not found in this tenant.");
+                    }
+                    List<PermissionDTO> permissions = new ArrayList<>(rows.size());
+                    for (Row row : rows) {
+                        if (row.getUUID("id") != null) {
+                            permissions.add(toPermissionDTO(row));
+                        }
+                    }
+                    List<PermissionDTO> result = List.copyOf(permissions);
+                    rbacReadCache.putIfUnchanged(RbacReadCache.Region.ROLE_PERMISSIONS, tenantId, roleId, result, generation);
+                    return result;
+                });
+    }
+
+    /**
+     * @return a Uni failing with {@link StacklessNotFoundException} if the role does not exist in
+     * the tenant
+     */
+    public Uni<PageDTO<PermissionDTO>> getPermissionsForRolePage(UUID tenantId, UUID roleId, UUID after, int limit) {
+        Tuple parameters = Tuple.of(tenantId, roleId);
+        String keyset = "";
+        if (after != null) {
+            parameters.addValue(after);
+            keyset = " AND rpa.permission_id > $3";
+        }
+        parameters.addValue(limit + 1);
+        return pool().preparedQuery("SELECT p.id, p.name, p.description, p.created_at, p.updated_at FROM roles r"
+                        + " LEFT JOIN role_permission_assignments rpa ON rpa.role_id = r.id AND rpa.tenant_id = r.tenant_id"
+                        + " AND rpa.permission_id IS NOT NULL" + keyset
+                        + " LEFT JOIN permissions p ON p.id = rpa.permission_id"
+                        + " WHERE r.tenant_id = $1 AND r.id = $2 ORDER BY rpa.permission_id LIMIT $" + parameters.size())
+                .execute(parameters)
+                .map(rows -> {
+                    if (rows.size() == 0) {
+                        throw new StacklessNotFoundException("Role not found in this tenant.");
+                    }
+                    List<PermissionDTO> permissions = new ArrayList<>(rows.size());
+                    for (Row row : rows) {
+                        if (row.getUUID("id") != null) {
+                            permissions.add(toPermissionDTO(row));
+                        }
+                    }
+                    return KeysetCursor.page(permissions, limit, PermissionDTO::getId);
+                });
+    }
+
+    public Uni<PageDTO<PermissionDTO>> getGlobalPermissionsPage(UUID after, int limit) {
+        Tuple parameters = Tuple.tuple();
+        String keyset = "";
+        if (after != null) {
+            parameters.addValue(after);
+            keyset = " WHERE id > $1";
+        }
+        parameters.addValue(limit + 1);
+        return pool().preparedQuery("SELECT " + PERMISSION_COLUMNS + " FROM permissions" + keyset
+                        + " ORDER BY id LIMIT $" + parameters.size())
+                .execute(parameters)
+                .map(rows -> {
+                    List<PermissionDTO> permissions = new ArrayList<>(rows.size());
+                    rows.forEach(row -> permissions.add(toPermissionDTO(row)));
+                    return KeysetCursor.page(permissions, limit, PermissionDTO::getId);
+                });
+    }
+
+    public Uni<List<PermissionDTO>> getAllGlobalPermissions() {
+        return pool().query("SELECT " + PERMISSION_COLUMNS + " FROM permissions")
+                .execute()
+                .map(rows -> {
+                    List<PermissionDTO> permissions = new ArrayList<>(rows.size());
+                    rows.forEach(row -> permissions.add(toPermissionDTO(row)));
+                    return permissions;
+                });
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.multi_tenant_app.services.scheduling;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InjectableContext;
+import io.quarkus.arc.ManagedContext;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.config.TenantSchedulingConfig;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.services.cache.TenantStatusIndex;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking service calls on a dedicated pool shared fairly between tenants (see
+ * {@link WeightedFairScheduler}), instead of the shared worker pool, where one tenant's burst of
+ * slow calls could take every thread. Tenants are weighted by tier.
+ * <p>
+ * The caller's CDI request context (and with it {@code TenantContext} and the request's
+ * Hibernate session) is carried over to the pool thread.
+ */
+@ApplicationScoped
+public class TenantFairExecutor {
+
+    private static final Logger LOG = Logger.getLogger(TenantFairExecutor.class);
+
+    // Calls made without a tenant context share one queue.
+    private static final String UNSCOPED = "unscoped";
+
+    @Inject
+    TenantSchedulingConfig config;
+
+    @Inject
+    TenantStatusIndex tenantStatusIndex;
+
+    private WeightedFairScheduler scheduler;
+
+    @PostConstruct
+    void init() {
+        scheduler = new WeightedFairScheduler("tenant-pool", config.threads(),
+                config.maxConcurrencyPerTenant(), config.maxQueuedPerTenant());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        List<Runnable> dropped = scheduler.shutdown();
+        for (Runnable task : dropped) {
+            if (task instanceof Call call) {
+                call.abandon();
+            }
+        }
+        if (!dropped.isEmpty()) {
+            LOG.infof("Failed %d calls still queued at shutdown", dropped.size());
+        }
+    }
+
+    // A queued call. One dropped at shutdown fails its caller instead of leaving it waiting.
+    private interface Call extends Runnable {
+        void abandon();
+    }
+
+    private static ServiceException shuttingDown() {
+        return new ServiceException(ErrorCode.UNKNOWN_ERROR, Response.Status.SERVICE_UNAVAILABLE,
+                "Shutting down; the request was not processed. Retry.");
+    }
+
+    /**
+     * @return a Uni that, when subscribed, queues {@code work} under {@code tenantId} (null for
+     * none) and emits its result; it fails with a 429 {@link ServiceException} if the tenant's
+     * queue is full, and with a 503 if the executor shuts down before {@code work} runs
+     */
+    public <T> Uni<T> submit(UUID tenantId, Supplier<T> work) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        // Captured at the call, which is on the request's thread; the Uni may be subscribed from a
+        // continuation running elsewhere. Failing that, whatever is active at subscription.
+        InjectableContext.ContextState callerState = requestContext.isActive() ? requestContext.getState() : null;
+        return Uni.createFrom().emitter(emitter -> {
+            InjectableContext.ContextState state = callerState != null ? callerState
+                    : requestContext.isActive() ? requestContext.getState() : null;
+            // Set on cancellation as well as completion; a task whose caller has gone is skipped.
+            AtomicBoolean terminated = new AtomicBoolean();
+            emitter.onTermination(() -> terminated.set(true));
+            Call task = new Call() {
+                @Override
+                public void run() {
+                    if (terminated.get()) {
+                        return;
+                    }
+                    T result = null;
+                    Throwable failure = null;
+                    if (state != null) {
+                        requestContext.activate(state);
+                    } else {
+                        requestContext.activate();
+                    }
+                    try {
+                        result = work.get();
+                    } catch (Throwable e) {
+                        failure = e;
+                    } finally {
+                        if (state != null) {
+                            requestContext.deactivate();
+                        } else {
+                            requestContext.terminate();
+                        }
+                    }
+                    // Emitted outside the request context: downstream belongs to the caller.
+                    if (failure != null) {
+                        emitter.fail(failure);
+                    } else {
+                        emitter.complete(result);
+                    }
+                }
+
+                @Override
+                public void abandon() {
+                    emitter.fail(shuttingDown());
+                }
+            };
+            try {
+                scheduler.execute(tenantId == null ? UNSCOPED : tenantId, weightOf(tenantId), task);
+            } catch (RejectedExecutionException e) {
+                emitter.fail(scheduler.isShutdown() ? shuttingDown()
+                        : new ServiceException(ErrorCode.RATE_LIMITED, Response.Status.TOO_MANY_REQUESTS,
+                                "Too many requests queued for tenant " + tenantId + "; retry later."));
+            }
+        });
+    }
+
+    private int weightOf(UUID tenantId) {
+        String tier = tenantId == null ? null : tenantStatusIndex.tierOf(tenantId);
+        Integer weight = tier == null ? null : config.tierWeights().get(tier);
+        return weight == null ? 1 : weight;
+    }
+
+    public Map<String, Long> getStats() {
+        return scheduler.getStats();
+    }
+}
@@ -0,0 +1,254 @@
+package org.example.multi_tenant_app.services.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed thread pool that shares its threads between keys (tenants) by weighted fair queuing
+ * instead of first come, first served.
+ * <p>
+ * Every key has its own FIFO queue and a virtual-time tag. A free thread always takes the next
+ * task of the eligible key with the smallest tag, and charges the key the task's run time divided
+ * by its weight (an estimate when the task starts, corrected when it ends). A key that has been
+ * idle re-enters at the current virtual time, so it cannot save up credit. A key is eligible
+ * while fewer than {@code maxConcurrencyPerKey} of its tasks run, which leaves threads for other
+ * keys even when one key's tasks are all slow.
+ */
+public final class WeightedFairScheduler {
+
+    private static final long INITIAL_COST_ESTIMATE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int maxConcurrencyPerKey;
+    private final int maxQueuedPerKey;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Map<Object, KeyQueue> queues = new HashMap<>();
+    private final PriorityQueue<KeyQueue> eligible = new PriorityQueue<>(
+            Comparator.comparingLong((KeyQueue q) -> q.tag).thenComparingLong(q -> q.sequence));
+    private final List<Thread> threads = new ArrayList<>();
+
+    // All guarded by lock.
+    private long virtualTime;
+    private long sequence;
+    private int running;
+    private int queued;
+    private boolean shutdown;
+    private long completed;
+    private long rejected;
+    private long queueWaitNanos;
+
+    private static final class KeyQueue {
+        final Object key;
+        final int weight;
+        final ArrayDeque<Task> tasks = new ArrayDeque<>();
+        long tag;
+        long sequence;
+        long costEstimateNanos = INITIAL_COST_ESTIMATE_NANOS;
+        int running;
+        boolean inEligible;
+
+        KeyQueue(Object key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+
+    private record Task(Runnable runnable, long enqueuedNanos) {
+    }
+
+    private record Dispatch(KeyQueue queue, Task task, long charged) {
+    }
+
+    public WeightedFairScheduler(String name, int threadCount, int maxConcurrencyPerKey, int maxQueuedPerKey) {
+        this.maxConcurrencyPerKey = Math.max(1, maxConcurrencyPerKey);
+        this.maxQueuedPerKey = Math.max(1, maxQueuedPerKey);
+        for (int i = 0; i < Math.max(1, threadCount); i++) {
+            Thread thread = new Thread(this::work, name + "-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * @param weight relative share of the threads {@code key} gets while several keys are busy;
+     *               only read when the key has no queued or running tasks
+     * @throws RejectedExecutionException if {@code key} already has {@code maxQueuedPerKey} tasks
+     *                                    waiting, or the scheduler is shut down
+     */
+    public void execute(Object key, int weight, Runnable runnable) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Scheduler is shut down");
+            }
+            KeyQueue queue = queues.computeIfAbsent(key, k -> new KeyQueue(k, Math.max(1, weight)));
+            if (queue.tasks.size() >= maxQueuedPerKey) {
+                rejected++;
+                throw new RejectedExecutionException("Too many queued tasks for " + key);
+            }
+            queue.tasks.add(new Task(runnable, System.nanoTime()));
+            queued++;
+            makeEligibleIfReady(queue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Dispatch dispatch;
+            lock.lock();
+            try {
+                while (eligible.isEmpty() && !shutdown) {
+                    workAvailable.awaitUninterruptibly();
+                }
+                if (shutdown) {
+                    return;
+                }
+                dispatch = next();
+            } finally {
+                lock.unlock();
+            }
+            run(dispatch);
+        }
+    }
+
+    // Must hold lock and eligible must not be empty.
+    private Dispatch next() {
+        KeyQueue queue = eligible.poll();
+        queue.inEligible = false;
+        virtualTime = Math.max(virtualTime, queue.tag);
+        Task task = queue.tasks.poll();
+        queued--;
+        queue.running++;
+        running++;
+        // Charge the expected cost now, so a key does not get all free threads at once.
+        long charged = queue.costEstimateNanos / queue.weight;
+        queue.tag += charged;
+        queueWaitNanos += System.nanoTime() - task.enqueuedNanos();
+        makeEligibleIfReady(queue);
+        return new Dispatch(queue, task, charged);
+    }
+
+    private void run(Dispatch dispatch) {
+        KeyQueue queue = dispatch.queue();
+        long start = System.nanoTime();
+        try {
+            dispatch.task().runnable().run();
+        } catch (Throwable e) {
+            // The runnable is expected to report its own failures. Whatever escapes, including an
+            // Error, must not kill the thread or skip the bookkeeping below.
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            lock.lock();
+            try {
+                queue.running--;
+                running--;
+                completed++;
+                queue.tag += elapsed / queue.weight - dispatch.charged();
+                queue.costEstimateNanos += (elapsed - queue.costEstimateNanos) / 4;
+                if (queue.running == 0 && queue.tasks.isEmpty()) {
+                    queues.remove(queue.key); // Re-enters at the current virtual time anyway
+                } else {
+                    makeEligibleIfReady(queue);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Must hold lock.
+    private void makeEligibleIfReady(KeyQueue queue) {
+        if (queue.inEligible || queue.tasks.isEmpty() || queue.running >= maxConcurrencyPerKey) {
+            return;
+        }
+        queue.tag = Math.max(queue.tag, virtualTime);
+        queue.sequence = sequence++;
+        queue.inEligible = true;
+        eligible.add(queue);
+        workAvailable.signal();
+    }
+
+    /**
+     * Stops taking tasks; running ones finish.
+     *
+     * @return the tasks that were still queued, in no particular order; they will never run, so
+     * the caller must tell whoever is waiting for them
+     */
+    public List<Runnable> shutdown() {
+        List<Runnable> dropped = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            for (KeyQueue queue : queues.values()) {
+                for (Task task : queue.tasks) {
+                    dropped.add(task.runnable());
+                }
+                queue.tasks.clear();
+            }
+            eligible.clear();
+            queued = 0;
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return dropped;
+    }
+
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        lock.lock();
+        try {
+            long deepest = 0;
+            for (KeyQueue queue : queues.values()) {
+                deepest = Math.max(deepest, queue.tasks.size());
+            }
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("threads", (long) threads.size());
+            stats.put("running", (long) running);
+            stats.put("queued", (long) queued);
+            stats.put("activeKeys", (long) queues.size());
+            stats.put("maxQueueDepth", deepest);
+            stats.put("completed", completed);
+            stats.put("rejected", rejected);
+            long dispatched = completed + running;
+            stats.put("avgQueueWaitMicros", dispatched == 0 ? 0 : queueWaitNanos / dispatched / 1_000);
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of tasks waiting for {@code key}, 0 if it has none
+     */
+    public int getQueueDepth(Object key) {
+        lock.lock();
+        try {
+            KeyQueue queue = queues.get(key);
+            return queue == null ? 0 : queue.tasks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.services.AuthorizationService;
+import org.example.multi_tenant_app.web.dtos.PermissionCheckDTO;
+
+import java.util.UUID;
+
+@Path("/api/v1/tenants/{tenantId}/authz")
+@Produces(MediaType.APPLICATION_JSON)
+public class AuthorizationResource {
+
+    @Inject
+    AuthorizationService authorizationService;
+
+    // GET /api/v1/tenants/{tenantId}/authz/check?userId={userId}&permission=user:create
+    @GET
+    @Path("/check")
+    public Response checkPermission(@PathParam("tenantId") UUID tenantId,
+                                    @QueryParam("userId") UUID userId,
+                                    @QueryParam("permission") String permission) {
+        if (userId == null || permission == null || permission.isBlank()) {
+            throw ServiceException.badRequest("Query parameters 'userId' and 'permission' are required.");
+        }
+        boolean allowed = authorizationService.checkPermission(tenantId, userId, permission);
+        return Response.ok(new PermissionCheckDTO(tenantId, userId, permission, allowed)).build();
+    }
+}
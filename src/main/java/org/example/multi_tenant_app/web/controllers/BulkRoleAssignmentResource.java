@@ -0,0 +1,76 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.data.repositories.AssignmentUpsertRepository.UserRole;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.services.BulkRoleAssignmentService;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
+import org.example.multi_tenant_app.web.dtos.BulkRoleAssignmentRequestDTO;
+import org.example.multi_tenant_app.web.dtos.BulkRoleAssignmentResponseDTO;
+import org.example.multi_tenant_app.web.dtos.BulkRoleAssignmentResultDTO;
+import org.example.multi_tenant_app.web.dtos.UserRolePairDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Service calls run on the tenant-fair executor (see scheduling.tenant-pool).
+@Path("/api/v1/tenants/{tenantId}/role-assignments")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class BulkRoleAssignmentResource {
+
+    @Inject
+    BulkRoleAssignmentService bulkRoleAssignmentService;
+
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    // POST /api/v1/tenants/{tenantId}/role-assignments/bulk
+    // 200 with one result per item and counts per distinct pair; unknown users or roles fail only their own items.
+    @POST
+    @Path("/bulk")
+    public Uni<Response> assignRoles(@PathParam("tenantId") UUID tenantId, BulkRoleAssignmentRequestDTO request) {
+        if (request == null) {
+            throw ServiceException.badRequest("Request body is required.");
+        }
+        List<UserRole> items = new ArrayList<>();
+        if (request.getAssignments() != null) {
+            for (UserRolePairDTO pair : request.getAssignments()) {
+                items.add(new UserRole(pair.getUserAccountId(), pair.getRoleId()));
+            }
+        }
+        if (request.getUserAccountIds() != null && !request.getUserAccountIds().isEmpty()) {
+            if (request.getRoleId() == null) {
+                throw ServiceException.badRequest("'roleId' is required together with 'userAccountIds'.");
+            }
+            for (UUID userId : request.getUserAccountIds()) {
+                items.add(new UserRole(userId, request.getRoleId()));
+            }
+        }
+        return tenantFairExecutor.submit(tenantId, () -> {
+            List<BulkRoleAssignmentService.ItemResult> results = bulkRoleAssignmentService.assignRoles(items);
+            // Counts are per distinct pair; a repeated pair only adds a result.
+            int created = 0;
+            int alreadyAssigned = 0;
+            int failed = 0;
+            List<BulkRoleAssignmentResultDTO> dtos = new ArrayList<>(results.size());
+            for (BulkRoleAssignmentService.ItemResult result : results) {
+                if (!result.repeat()) {
+                    switch (result.outcome()) {
+                        case CREATED -> created++;
+                        case ALREADY_ASSIGNED -> alreadyAssigned++;
+                        default -> failed++;
+                    }
+                }
+                dtos.add(new BulkRoleAssignmentResultDTO(result.userAccountId(), result.roleId(), result.outcome().name(),
+                        result.outcome().getErrorCode() == null ? null : result.outcome().getErrorCode().getCode()));
+            }
+            return Response.ok(new BulkRoleAssignmentResponseDTO(created, alreadyAssigned, failed, dtos)).build();
+        });
+    }
+}
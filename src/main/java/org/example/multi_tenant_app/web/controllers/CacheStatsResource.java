@@ -0,0 +1,74 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.services.cache.RbacExistenceFilter;
+import org.example.multi_tenant_app.services.cache.RbacReadCache;
+import org.example.multi_tenant_app.security.TenantRateLimiter;
+import org.example.multi_tenant_app.services.cache.TenantRbacVersions;
+import org.example.multi_tenant_app.services.cache.TenantStatusIndex;
+
+@Path("/api/v1/admin/caches")
+@Produces(MediaType.APPLICATION_JSON)
+public class CacheStatsResource {
+
+    @Inject
+    RbacReadCache rbacReadCache;
+
+    @Inject
+    RbacExistenceFilter existenceFilter;
+
+    @Inject
+    TenantStatusIndex tenantStatusIndex;
+
+    @Inject
+    TenantRateLimiter tenantRateLimiter;
+
+    @Inject
+    TenantRbacVersions tenantRbacVersions;
+
+    // GET /api/v1/admin/caches/rbac -> {"USER_ROLE_IDS": {"size": .., "hits": .., "misses": .., ...}, ...}
+    @GET
+    @Path("/rbac")
+    @RolesAllowed("system-admin") // Counters span all tenants
+    public Response getRbacCacheStats() {
+        return Response.ok(rbacReadCache.getStats()).build();
+    }
+
+    // GET /api/v1/admin/caches/rbac/existence -> {"tenants": .., "bloomRejections": .., "negativeHits": .., ...}
+    @GET
+    @Path("/rbac/existence")
+    @RolesAllowed("system-admin")
+    public Response getRbacExistenceFilterStats() {
+        return Response.ok(existenceFilter.getStats()).build();
+    }
+
+    // GET /api/v1/admin/caches/rbac/versions -> {"notModified": ..}
+    @GET
+    @Path("/rbac/versions")
+    @RolesAllowed("system-admin")
+    public Response getRbacVersionStats() {
+        return Response.ok(tenantRbacVersions.getStats()).build();
+    }
+
+    // GET /api/v1/admin/caches/tenants/status -> {"tenants": .., "rejectedUnknown": .., "rejectedSuspended": .., ...}
+    @GET
+    @Path("/tenants/status")
+    @RolesAllowed("system-admin")
+    public Response getTenantStatusIndexStats() {
+        return Response.ok(tenantStatusIndex.getStats()).build();
+    }
+
+    // GET /api/v1/admin/caches/tenants/rate-limits -> {"buckets": .., "rejectedTenant": .., "rejectedUser": ..}
+    @GET
+    @Path("/tenants/rate-limits")
+    @RolesAllowed("system-admin")
+    public Response getRateLimitStats() {
+        return Response.ok(tenantRateLimiter.getStats()).build();
+    }
+}
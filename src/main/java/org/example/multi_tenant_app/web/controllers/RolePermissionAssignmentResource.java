@@ -1,16 +1,24 @@
 package org.example.multi_tenant_app.web.controllers;
 
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
+import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.services.AssignmentWriteCoalescer;
+import org.example.multi_tenant_app.services.RbacReadPath;
 import org.example.multi_tenant_app.services.RolePermissionAssignmentService;
-import org.example.multi_tenant_app.web.dtos.PermissionDTO;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
+import org.example.multi_tenant_app.web.dtos.PermissionPatternDTO;
 import org.example.multi_tenant_app.web.dtos.RolePermissionAssignmentDTO;
 
 import java.util.List;
 import java.util.UUID;
 
+// Service calls run on the tenant-fair executor (see scheduling.tenant-pool).
+// Reads go through RbacReadPath (see rbac.read-path).
 @Path("/api/v1/tenants/{tenantId}/roles/{roleId}/permissions")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON) // Some methods might not consume JSON (e.g., DELETE)
@@ -19,49 +27,125 @@ public class RolePermissionAssignmentResource {
     @Inject
     RolePermissionAssignmentService rolePermissionAssignmentService;
 
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    @Inject
+    RbacReadPath rbacReadPath;
+
+    @Inject
+    AssignmentWriteCoalescer assignmentWriteCoalescer;
+
     @POST
     @Path("/{permissionId}") // Assign a specific permission to a role
-    public Response assignPermissionToRole(@PathParam("tenantId") UUID tenantId,
-                                           @PathParam("roleId") UUID roleId,
-                                           @PathParam("permissionId") UUID permissionId) {
-        try {
-            RolePermissionAssignmentDTO assignment = rolePermissionAssignmentService.assignPermissionToRole(roleId, permissionId);
-            return Response.status(Response.Status.CREATED).entity(assignment).build();
-        } catch (NotFoundException e) {
-            return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
-        } catch (Exception e) { // Catch other potential errors (e.g., system role modification attempt)
-            // Consider specific exceptions for forbidden operations
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity("{\"error\":\"Failed to assign permission: " + e.getMessage() + "\"}").build();
-        }
+    public Uni<Response> assignPermissionToRole(@PathParam("tenantId") UUID tenantId,
+                                               @PathParam("roleId") UUID roleId,
+                                               @PathParam("permissionId") UUID permissionId) {
+        // An unknown role or permission surfaces as a ServiceException (ROLE_NOT_FOUND /
+        // PERMISSION_NOT_FOUND) and is mapped to 404 by ServiceExceptionMapper. With
+        // rbac.write-coalescing the write is committed together with concurrent ones.
+        Uni<RolePermissionAssignmentDTO> assignment = assignmentWriteCoalescer.isEnabled()
+                ? assignmentWriteCoalescer.assignPermissionToRole(roleId, permissionId)
+                : tenantFairExecutor.submit(tenantId, () -> rolePermissionAssignmentService.assignPermissionToRole(roleId, permissionId));
+        return assignment.map(dto -> Response.status(Response.Status.CREATED).entity(dto).build());
     }
 
     @DELETE
     @Path("/{permissionId}") // Remove a specific permission from a role
-    public Response removePermissionFromRole(@PathParam("tenantId") UUID tenantId,
-                                             @PathParam("roleId") UUID roleId,
-                                             @PathParam("permissionId") UUID permissionId) {
-        try {
-            boolean removed = rolePermissionAssignmentService.removePermissionFromRole(roleId, permissionId);
-            if (removed) {
-                return Response.noContent().build();
-            } else {
-                return Response.status(Response.Status.NOT_FOUND)
-                               .entity("{\"error\":\"Assignment not found or role/permission mismatch.\"}").build();
+    public Uni<Response> removePermissionFromRole(@PathParam("tenantId") UUID tenantId,
+                                                 @PathParam("roleId") UUID roleId,
+                                                 @PathParam("permissionId") UUID permissionId) {
+        return tenantFairExecutor.submit(tenantId, () -> {
+            try {
+                boolean removed = rolePermissionAssignmentService.removePermissionFromRole(roleId, permissionId);
+                if (removed) {
+                    return Response.noContent().build();
+                } else {
+                    return Response.status(Response.Status.NOT_FOUND)
+                                   .entity("{\"error\":\"Assignment not found or role/permission mismatch.\"}").build();
+                }
+            } catch (NotFoundException e) {
+                 return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
             }
-        } catch (NotFoundException e) {
-             return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        });
+    }
+
+    // PUT /api/v1/tenants/{tenantId}/roles/{roleId}/permissions with the complete list of permission IDs.
+    // Replaces the role's catalog permissions (patterns are kept) and returns what was added and removed.
+    @PUT
+    public Uni<Response> setPermissionsForRole(@PathParam("tenantId") UUID tenantId,
+                                               @PathParam("roleId") UUID roleId,
+                                               List<UUID> permissionIds) {
+        if (permissionIds == null) {
+            throw ServiceException.badRequest("Request body must be a list of permission IDs.");
         }
+        return tenantFairExecutor.submit(tenantId, () ->
+                Response.ok(rolePermissionAssignmentService.setPermissionsForRole(roleId, permissionIds)).build());
     }
 
     @GET
-    public Response getPermissionsForRole(@PathParam("tenantId") UUID tenantId,
-                                          @PathParam("roleId") UUID roleId) {
-        try {
-            List<PermissionDTO> permissions = rolePermissionAssignmentService.getPermissionsForRole(roleId);
-            return Response.ok(permissions).build();
-        } catch (NotFoundException e) {
-            return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
-        }
+    public Uni<Response> getPermissionsForRole(@PathParam("tenantId") UUID tenantId,
+                                              @PathParam("roleId") UUID roleId,
+                                              @QueryParam("limit") Integer limit,
+                                              @QueryParam("after") String after) {
+        // With limit and/or after, returns one page ({items, nextCursor}), as GET /roles does.
+        Uni<?> permissions = limit != null || after != null
+                ? rbacReadPath.getPermissionsForRolePage(roleId, after, limit)
+                : rbacReadPath.getPermissionsForRole(roleId);
+        return permissions
+                .map(body -> Response.ok(body).build())
+                .onFailure(NotFoundException.class).recoverWithItem(e -> Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\":\"" + e.getMessage() + "\"}").build());
+    }
+
+    @GET
+    @Path("/patterns") // Wildcard grants such as "user:*"; sibling path like "/available"
+    public Uni<Response> getPermissionPatternsForRole(@PathParam("tenantId") UUID tenantId,
+                                                     @PathParam("roleId") UUID roleId) {
+        return tenantFairExecutor.submit(tenantId, () -> {
+            try {
+                List<String> patterns = rolePermissionAssignmentService.getPermissionPatternsForRole(roleId);
+                return Response.ok(patterns).build();
+            } catch (NotFoundException e) {
+                return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+            }
+        });
+    }
+
+    @POST
+    @Path("/patterns")
+    public Uni<Response> assignPermissionPatternToRole(@PathParam("tenantId") UUID tenantId,
+                                                      @PathParam("roleId") UUID roleId,
+                                                      @Valid PermissionPatternDTO request) {
+        return tenantFairExecutor.submit(tenantId, () -> {
+            // An invalid pattern surfaces as a ServiceException and is mapped to 400 by ServiceExceptionMapper.
+            try {
+                RolePermissionAssignmentDTO assignment = rolePermissionAssignmentService.assignPermissionPatternToRole(roleId, request.getPattern());
+                return Response.status(Response.Status.CREATED).entity(assignment).build();
+            } catch (NotFoundException e) {
+                return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+            }
+        });
+    }
+
+    @DELETE
+    @Path("/patterns")
+    public Uni<Response> removePermissionPatternFromRole(@PathParam("tenantId") UUID tenantId,
+                                                        @PathParam("roleId") UUID roleId,
+                                                        @QueryParam("pattern") String pattern) {
+        return tenantFairExecutor.submit(tenantId, () -> {
+            try {
+                boolean removed = rolePermissionAssignmentService.removePermissionPatternFromRole(roleId, pattern);
+                if (removed) {
+                    return Response.noContent().build();
+                } else {
+                    return Response.status(Response.Status.NOT_FOUND)
+                                   .entity("{\"error\":\"Pattern is not assigned to this role.\"}").build();
+                }
+            } catch (NotFoundException e) {
+                return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+            }
+        });
     }
 
     // Optional: Endpoint to list all available global permissions (could be in a separate PermissionResource)
@@ -69,10 +153,16 @@ public class RolePermissionAssignmentResource {
     @Path("/available") // Sibling path to avoid conflict with {permissionId}
     // This path might be better as /api/v1/permissions if it's truly global and not tenant/role specific context
     // For now, placing it here for convenience of this resource.
-    public Response getAllGlobalPermissions(@PathParam("tenantId") UUID tenantId, @PathParam("roleId") UUID roleId) {
+    public Uni<Response> getAllGlobalPermissions(@PathParam("tenantId") UUID tenantId, @PathParam("roleId") UUID roleId,
+                                                 @QueryParam("limit") Integer limit,
+                                                 @QueryParam("after") String after) {
         // tenantId and roleId are in path but not strictly needed for this global listing
         // They are included to fit the resource path structure, but service method is global.
-        List<PermissionDTO> permissions = rolePermissionAssignmentService.getAllGlobalPermissions();
-        return Response.ok(permissions).build();
+        if (limit != null || after != null) {
+            return rbacReadPath.getGlobalPermissionsPage(after, limit)
+                    .map(page -> Response.ok(page).build());
+        }
+        return rbacReadPath.getAllGlobalPermissions()
+                .map(permissions -> Response.ok(permissions).build());
     }
 }
@@ -1,7 +1,11 @@
 package org.example.multi_tenant_app.web.controllers;
 
+import io.smallrye.mutiny.Uni;
+import org.example.multi_tenant_app.services.RbacReadPath;
 import org.example.multi_tenant_app.services.RoleService;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
 import org.example.multi_tenant_app.web.dtos.RoleDTO;
+import org.example.multi_tenant_app.web.filters.TenantVersioned;
 
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -11,9 +15,10 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.annotation.security.RolesAllowed; // Added for security
 
-import java.util.List;
 import java.util.UUID;
 
+// Service calls run on the tenant-fair executor (see scheduling.tenant-pool),
+// so one tenant cannot take every worker thread. Reads go through RbacReadPath (see rbac.read-path).
 @Path("/api/v1/tenants/{tenantId}/roles")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -22,73 +27,93 @@ public class RoleResource {
     @Inject
     RoleService roleService;
 
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    @Inject
+    RbacReadPath rbacReadPath;
+
     @POST
     @RolesAllowed({"tenant-admin", "system-admin"}) // Only tenant or system admins can create roles
-    public Response createRole(@PathParam("tenantId") UUID tenantId, @Valid RoleDTO roleDTO) {
+    public Uni<Response> createRole(@PathParam("tenantId") UUID tenantId, @Valid RoleDTO roleDTO) {
         // TenantId from path is used by TenantIdFilter to set context.
         // Service method no longer takes tenantId directly.
         // Optional: Validate roleDTO.getTenantId() against context if it's set in DTO.
         if (roleDTO.getTenantId() != null && !roleDTO.getTenantId().equals(tenantId)) {
-            return Response.status(Response.Status.BAD_REQUEST)
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
                     .entity("{\"error\":\"Tenant ID in DTO must match tenant ID in path or be null.\"}")
-                    .build();
+                    .build());
         }
         roleDTO.setTenantId(tenantId); // Ensure DTO has tenantId consistent with context for service layer if needed
 
-        RoleDTO createdRole = roleService.createRole(roleDTO);
-        return Response.created(
-                UriBuilder.fromResource(RoleResource.class)
-                        .path("/{roleId}")
-                        .build(tenantId, createdRole.getId()) // tenantId still needed for URI building
-        ).entity(createdRole).build();
+        return tenantFairExecutor.submit(tenantId, () -> {
+            RoleDTO createdRole = roleService.createRole(roleDTO);
+            return Response.created(
+                    UriBuilder.fromResource(RoleResource.class)
+                            .path("/{roleId}")
+                            .build(tenantId, createdRole.getId()) // tenantId still needed for URI building
+            ).entity(createdRole).build();
+        });
     }
 
     @GET
+    @TenantVersioned // ETag / If-None-Match on the tenant's RBAC version
     @RolesAllowed({"user", "tenant-admin", "system-admin"}) // Any authenticated user in the tenant can list roles
-    public Response getRolesForTenant(@PathParam("tenantId") UUID tenantId) {
+    public Uni<Response> getRolesForTenant(@PathParam("tenantId") UUID tenantId,
+                                           @QueryParam("limit") Integer limit,
+                                           @QueryParam("after") String after) {
         // TenantId from path is used by TenantIdFilter to set context.
         // Service method no longer takes tenantId directly.
-        List<RoleDTO> roles = roleService.getRolesByTenant();
-        return Response.ok(roles).build();
+        // With limit and/or after, returns one page ({items, nextCursor}); pass nextCursor as after for the next.
+        if (limit != null || after != null) {
+            return rbacReadPath.getRolesPage(after, limit)
+                    .map(page -> Response.ok(page).build());
+        }
+        return rbacReadPath.getRolesByTenant()
+                .map(roles -> Response.ok(roles).build());
     }
 
     @GET
     @Path("/{roleId}")
+    @TenantVersioned
     @RolesAllowed({"user", "tenant-admin", "system-admin"}) // Any authenticated user in the tenant can get a specific role
-    public Response getRoleById(@PathParam("tenantId") UUID tenantId, @PathParam("roleId") UUID roleId) {
+    public Uni<Response> getRoleById(@PathParam("tenantId") UUID tenantId, @PathParam("roleId") UUID roleId) {
         // TenantId from path is used by TenantIdFilter to set context.
-        return roleService.getRoleById(roleId) // Service no longer takes tenantId
-                .map(role -> Response.ok(role).build())
-                .orElse(Response.status(Response.Status.NOT_FOUND).build());
+        return rbacReadPath.getRoleById(roleId)
+                .map(role -> role
+                        .map(found -> Response.ok(found).build())
+                        .orElse(Response.status(Response.Status.NOT_FOUND).build()));
     }
 
     @PUT
     @Path("/{roleId}")
     @RolesAllowed({"tenant-admin", "system-admin"}) // Only tenant or system admins can update roles
-    public Response updateRole(@PathParam("tenantId") UUID tenantId, @PathParam("roleId") UUID roleId, @Valid RoleDTO roleDTO) {
+    public Uni<Response> updateRole(@PathParam("tenantId") UUID tenantId, @PathParam("roleId") UUID roleId, @Valid RoleDTO roleDTO) {
         // TenantId from path is used by TenantIdFilter to set context.
         // Optional: Validate roleDTO.getTenantId() against context if it's set in DTO.
         if (roleDTO.getTenantId() != null && !roleDTO.getTenantId().equals(tenantId)) {
-            return Response.status(Response.Status.BAD_REQUEST)
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
                     .entity("{\"error\":\"Tenant ID in DTO must match tenant ID in path or be null for update.\"}")
-                    .build();
+                    .build());
         }
         roleDTO.setTenantId(tenantId); // Ensure DTO has tenantId for service, if it uses it for validation against context
 
-        return roleService.updateRole(roleId, roleDTO) // Service no longer takes tenantId
+        return tenantFairExecutor.submit(tenantId, () -> roleService.updateRole(roleId, roleDTO) // Service no longer takes tenantId
                 .map(updatedRole -> Response.ok(updatedRole).build())
-                .orElse(Response.status(Response.Status.NOT_FOUND).build());
+                .orElse(Response.status(Response.Status.NOT_FOUND).build()));
     }
 
     @DELETE
     @Path("/{roleId}")
     @RolesAllowed({"tenant-admin", "system-admin"}) // Only tenant or system admins can delete roles
-    public Response deleteRole(@PathParam("tenantId") UUID tenantId, @PathParam("roleId") UUID roleId) {
+    public Uni<Response> deleteRole(@PathParam("tenantId") UUID tenantId, @PathParam("roleId") UUID roleId) {
         // TenantId from path is used by TenantIdFilter to set context.
-        if (roleService.deleteRole(roleId)) { // Service no longer takes tenantId
-            return Response.noContent().build();
-        }
-        return Response.status(Response.Status.NOT_FOUND).build();
-        // Consider more specific error if deletion is forbidden (e.g., system role, role in use)
+        return tenantFairExecutor.submit(tenantId, () -> {
+            if (roleService.deleteRole(roleId)) { // Service no longer takes tenantId
+                return Response.noContent().build();
+            }
+            return Response.status(Response.Status.NOT_FOUND).build();
+            // Consider more specific error if deletion is forbidden (e.g., system role, role in use)
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.services.AssignmentWriteCoalescer;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
+
+@Path("/api/v1/admin/scheduler")
+@Produces(MediaType.APPLICATION_JSON)
+public class SchedulerStatsResource {
+
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    @Inject
+    AssignmentWriteCoalescer assignmentWriteCoalescer;
+
+    // GET /api/v1/admin/scheduler/tenant-pool -> {"threads": .., "running": .., "queued": .., "maxQueueDepth": .., ...}
+    @GET
+    @Path("/tenant-pool")
+    @RolesAllowed("system-admin") // Counters span all tenants
+    public Response getTenantPoolStats() {
+        return Response.ok(tenantFairExecutor.getStats()).build();
+    }
+
+    // GET /api/v1/admin/scheduler/write-coalescer -> {"batches": .., "writes": .., "fallbacks": .., "queued": ..}
+    @GET
+    @Path("/write-coalescer")
+    @RolesAllowed("system-admin")
+    public Response getWriteCoalescerStats() {
+        return Response.ok(assignmentWriteCoalescer.getStats()).build();
+    }
+}
@@ -1,16 +1,23 @@
 package org.example.multi_tenant_app.web.controllers;
 
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.services.AssignmentWriteCoalescer;
+import org.example.multi_tenant_app.services.RbacReadPath;
 import org.example.multi_tenant_app.services.UserRoleAssignmentService;
-import org.example.multi_tenant_app.web.dtos.RoleDTO;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
 import org.example.multi_tenant_app.web.dtos.UserRoleAssignmentDTO;
+import org.example.multi_tenant_app.web.filters.TenantVersioned;
 
 import java.util.List;
 import java.util.UUID;
 
+// Service calls run on the tenant-fair executor (see scheduling.tenant-pool).
+// Reads go through RbacReadPath (see rbac.read-path).
 @Path("/api/v1/tenants/{tenantId}/users/{userId}/roles")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON) // Though some methods might not consume JSON
@@ -19,6 +26,15 @@ public class UserRoleAssignmentResource {
     @Inject
     UserRoleAssignmentService userRoleAssignmentService;
 
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    @Inject
+    RbacReadPath rbacReadPath;
+
+    @Inject
+    AssignmentWriteCoalescer assignmentWriteCoalescer;
+
     // Assign a role to a user (typically roleId is in payload or as a sub-resource path)
     // Path for assigning a specific role: POST /api/v1/tenants/{tenantId}/users/{userId}/roles/{roleId}
     // Or, if roleId is in payload: POST /api/v1/tenants/{tenantId}/users/{userId}/roles
@@ -26,48 +42,61 @@ public class UserRoleAssignmentResource {
 
     @POST
     @Path("/{roleId}") // Assign a specific role
-    public Response assignRoleToUser(@PathParam("tenantId") UUID tenantId,
-                                     @PathParam("userId") UUID userId,
-                                     @PathParam("roleId") UUID roleId) {
-        try {
-            UserRoleAssignmentDTO assignment = userRoleAssignmentService.assignRoleToUser(userId, roleId);
-            // Consider what to return: the assignment, 201 Created, or 204 No Content if idempotent.
-            // Returning the assignment details can be useful.
-            return Response.status(Response.Status.CREATED).entity(assignment).build();
-        } catch (NotFoundException e) {
-            return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
-        } catch (Exception e) { // Catch other potential errors, e.g., conflict if already assigned (service might handle this)
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity("{\"error\":\"Failed to assign role: " + e.getMessage() + "\"}").build();
-        }
+    public Uni<Response> assignRoleToUser(@PathParam("tenantId") UUID tenantId,
+                                         @PathParam("userId") UUID userId,
+                                         @PathParam("roleId") UUID roleId) {
+        // A user or role outside the tenant surfaces as a ServiceException (USER_NOT_FOUND /
+        // ROLE_NOT_FOUND) and is mapped to 404 by ServiceExceptionMapper. With rbac.write-coalescing
+        // the write is committed together with concurrent ones.
+        Uni<UserRoleAssignmentDTO> assignment = assignmentWriteCoalescer.isEnabled()
+                ? assignmentWriteCoalescer.assignRoleToUser(userId, roleId)
+                : tenantFairExecutor.submit(tenantId, () -> userRoleAssignmentService.assignRoleToUser(userId, roleId));
+        // Consider what to return: the assignment, 201 Created, or 204 No Content if idempotent.
+        // Returning the assignment details can be useful.
+        return assignment.map(dto -> Response.status(Response.Status.CREATED).entity(dto).build());
     }
 
     @DELETE
     @Path("/{roleId}") // Remove a specific role from a user
-    public Response removeRoleFromUser(@PathParam("tenantId") UUID tenantId,
-                                       @PathParam("userId") UUID userId,
-                                       @PathParam("roleId") UUID roleId) {
-        try {
-            boolean removed = userRoleAssignmentService.removeRoleFromUser(userId, roleId);
-            if (removed) {
-                return Response.noContent().build();
-            } else {
-                // This could mean the user/role/assignment wasn't found, or user didn't have the role.
-                return Response.status(Response.Status.NOT_FOUND)
-                               .entity("{\"error\":\"Assignment not found or user/role mismatch.\"}").build();
+    public Uni<Response> removeRoleFromUser(@PathParam("tenantId") UUID tenantId,
+                                           @PathParam("userId") UUID userId,
+                                           @PathParam("roleId") UUID roleId) {
+        return tenantFairExecutor.submit(tenantId, () -> {
+            try {
+                boolean removed = userRoleAssignmentService.removeRoleFromUser(userId, roleId);
+                if (removed) {
+                    return Response.noContent().build();
+                } else {
+                    // This could mean the user/role/assignment wasn't found, or user didn't have the role.
+                    return Response.status(Response.Status.NOT_FOUND)
+                                   .entity("{\"error\":\"Assignment not found or user/role mismatch.\"}").build();
+                }
+            } catch (NotFoundException e) { // If service throws NotFound for user/role
+                 return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
             }
-        } catch (NotFoundException e) { // If service throws NotFound for user/role
-             return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
+        });
+    }
+
+    // PUT /api/v1/tenants/{tenantId}/users/{userId}/roles with the complete list of role IDs.
+    // Replaces the user's roles and returns what was added and removed; an unchanged list writes nothing.
+    @PUT
+    public Uni<Response> setRolesForUser(@PathParam("tenantId") UUID tenantId,
+                                         @PathParam("userId") UUID userId,
+                                         List<UUID> roleIds) {
+        if (roleIds == null) {
+            throw ServiceException.badRequest("Request body must be a list of role IDs.");
         }
+        return tenantFairExecutor.submit(tenantId, () ->
+                Response.ok(userRoleAssignmentService.setRolesForUser(userId, roleIds)).build());
     }
 
     @GET
-    public Response getRolesForUser(@PathParam("tenantId") UUID tenantId,
-                                    @PathParam("userId") UUID userId) {
-        try {
-            List<RoleDTO> roles = userRoleAssignmentService.getRolesForUser(userId);
-            return Response.ok(roles).build();
-        } catch (NotFoundException e) {
-            return Response.status(Response.Status.NOT_FOUND).entity("{\"error\":\"" + e.getMessage() + "\"}").build();
-        }
+    @TenantVersioned // ETag / If-None-Match on the tenant's RBAC version
+    public Uni<Response> getRolesForUser(@PathParam("tenantId") UUID tenantId,
+                                        @PathParam("userId") UUID userId) {
+        return rbacReadPath.getRolesForUser(userId)
+                .map(roles -> Response.ok(roles).build())
+                .onFailure(NotFoundException.class).recoverWithItem(e -> Response.status(Response.Status.NOT_FOUND)
+                        .entity("{\"error\":\"" + e.getMessage() + "\"}").build());
     }
 }
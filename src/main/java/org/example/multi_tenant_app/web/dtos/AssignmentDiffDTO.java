@@ -0,0 +1,45 @@
+package org.example.multi_tenant_app.web.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+// Result of replacing a role or permission set: what was written. Both lists empty means nothing changed.
+public class AssignmentDiffDTO {
+
+    private List<UUID> added;
+    private List<UUID> removed;
+    private int unchanged; // Assignments that were already there and stay
+
+    public AssignmentDiffDTO() {
+    }
+
+    public AssignmentDiffDTO(List<UUID> added, List<UUID> removed, int unchanged) {
+        this.added = added;
+        this.removed = removed;
+        this.unchanged = unchanged;
+    }
+
+    public List<UUID> getAdded() {
+        return added;
+    }
+
+    public void setAdded(List<UUID> added) {
+        this.added = added;
+    }
+
+    public List<UUID> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<UUID> removed) {
+        this.removed = removed;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.multi_tenant_app.web.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Explicit (user, role) pairs, one role for many users ({@code roleId} + {@code userAccountIds}),
+ * or both; the pairs come first in the results.
+ */
+public class BulkRoleAssignmentRequestDTO {
+
+    private List<UserRolePairDTO> assignments = new ArrayList<>();
+    private UUID roleId;
+    private List<UUID> userAccountIds = new ArrayList<>();
+
+    public BulkRoleAssignmentRequestDTO() {
+    }
+
+    public List<UserRolePairDTO> getAssignments() {
+        return assignments;
+    }
+
+    public void setAssignments(List<UserRolePairDTO> assignments) {
+        this.assignments = assignments;
+    }
+
+    public UUID getRoleId() {
+        return roleId;
+    }
+
+    public void setRoleId(UUID roleId) {
+        this.roleId = roleId;
+    }
+
+    public List<UUID> getUserAccountIds() {
+        return userAccountIds;
+    }
+
+    public void setUserAccountIds(List<UUID> userAccountIds) {
+        this.userAccountIds = userAccountIds;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.multi_tenant_app.web.dtos;
+
+import java.util.List;
+
+public class BulkRoleAssignmentResponseDTO {
+
+    private int created;
+    private int alreadyAssigned;
+    private int failed;
+    private List<BulkRoleAssignmentResultDTO> results; // One per requested item, in request order
+
+    public BulkRoleAssignmentResponseDTO() {
+    }
+
+    public BulkRoleAssignmentResponseDTO(int created, int alreadyAssigned, int failed,
+                                         List<BulkRoleAssignmentResultDTO> results) {
+        this.created = created;
+        this.alreadyAssigned = alreadyAssigned;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getAlreadyAssigned() {
+        return alreadyAssigned;
+    }
+
+    public void setAlreadyAssigned(int alreadyAssigned) {
+        this.alreadyAssigned = alreadyAssigned;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkRoleAssignmentResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkRoleAssignmentResultDTO> results) {
+        this.results = results;
+    }
+}
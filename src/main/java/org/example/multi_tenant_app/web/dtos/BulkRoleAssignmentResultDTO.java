@@ -0,0 +1,53 @@
+package org.example.multi_tenant_app.web.dtos;
+
+import java.util.UUID;
+
+public class BulkRoleAssignmentResultDTO {
+
+    private UUID userAccountId;
+    private UUID roleId;
+    private String status; // CREATED, ALREADY_ASSIGNED, USER_NOT_FOUND, ROLE_NOT_FOUND or FAILED
+    private String errorCode; // e.g. USR_002; null unless the item failed
+
+    public BulkRoleAssignmentResultDTO() {
+    }
+
+    public BulkRoleAssignmentResultDTO(UUID userAccountId, UUID roleId, String status, String errorCode) {
+        this.userAccountId = userAccountId;
+        this.roleId = roleId;
+        this.status = status;
+        this.errorCode = errorCode;
+    }
+
+    public UUID getUserAccountId() {
+        return userAccountId;
+    }
+
+    public void setUserAccountId(UUID userAccountId) {
+        this.userAccountId = userAccountId;
+    }
+
+    public UUID getRoleId() {
+        return roleId;
+    }
+
+    public void setRoleId(UUID roleId) {
+        this.roleId = roleId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.multi_tenant_app.web.dtos;
+
+import java.util.List;
+
+// One page of a keyset-paginated list. Pass nextCursor as 'after' for the next page; null on the last page.
+public class PageDTO<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    public PageDTO() {
+    }
+
+    public PageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.multi_tenant_app.web.dtos;
+
+import java.util.UUID;
+
+public class PermissionCheckDTO {
+
+    private UUID tenantId;
+    private UUID userAccountId;
+    private String permission; // e.g., user:create
+    private boolean allowed;
+
+    public PermissionCheckDTO() {
+    }
+
+    public PermissionCheckDTO(UUID tenantId, UUID userAccountId, String permission, boolean allowed) {
+        this.tenantId = tenantId;
+        this.userAccountId = userAccountId;
+        this.permission = permission;
+        this.allowed = allowed;
+    }
+
+    // Getters and Setters
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(UUID tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public UUID getUserAccountId() {
+        return userAccountId;
+    }
+
+    public void setUserAccountId(UUID userAccountId) {
+        this.userAccountId = userAccountId;
+    }
+
+    public String getPermission() {
+        return permission;
+    }
+
+    public void setPermission(String permission) {
+        this.permission = permission;
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public void setAllowed(boolean allowed) {
+        this.allowed = allowed;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.multi_tenant_app.web.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class PermissionPatternDTO {
+
+    @NotBlank(message = "Pattern cannot be blank")
+    @Size(max = 255, message = "Pattern cannot exceed 255 characters")
+    private String pattern; // e.g., user:* or document:folder/*:read
+
+    public PermissionPatternDTO() {
+    }
+
+    public PermissionPatternDTO(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.multi_tenant_app.web.dtos;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -24,6 +25,12 @@ public class RoleDTO {
 
     private boolean isSystemRole; // Typically not set by user input for new roles
 
+    private UUID parentRoleId; // Role whose permissions this role inherits, null for a top-level role
+
+    // Updates only: a null parentRoleId leaves the parent as it is, unless this is set
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private boolean clearParent;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -69,6 +76,22 @@ public class RoleDTO {
         isSystemRole = systemRole;
     }
 
+    public UUID getParentRoleId() {
+        return parentRoleId;
+    }
+
+    public void setParentRoleId(UUID parentRoleId) {
+        this.parentRoleId = parentRoleId;
+    }
+
+    public boolean isClearParent() {
+        return clearParent;
+    }
+
+    public void setClearParent(boolean clearParent) {
+        this.clearParent = clearParent;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -15,8 +15,9 @@ public class RolePermissionAssignmentDTO {
     @NotNull(message = "Role ID cannot be null")
     private UUID roleId;
 
-    @NotNull(message = "Permission ID cannot be null")
-    private UUID permissionId;
+    private UUID permissionId; // Set for concrete grants
+
+    private String permissionPattern; // Set for wildcard grants, e.g. "user:*"
 
     private LocalDateTime assignedAt;
 
@@ -53,6 +54,14 @@ public class RolePermissionAssignmentDTO {
         this.permissionId = permissionId;
     }
 
+    public String getPermissionPattern() {
+        return permissionPattern;
+    }
+
+    public void setPermissionPattern(String permissionPattern) {
+        this.permissionPattern = permissionPattern;
+    }
+
     public LocalDateTime getAssignedAt() {
         return assignedAt;
     }
@@ -0,0 +1,73 @@
+package org.example.multi_tenant_app.web.dtos;
+
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class TenantDTO {
+
+    private UUID id;
+
+    @Size(max = 100, message = "Tenant name cannot exceed 100 characters")
+    private String name;
+
+    @Size(max = 50, message = "Tenant status cannot exceed 50 characters")
+    private String status; // e.g., ACTIVE, INACTIVE, SUSPENDED
+
+    @Size(max = 50, message = "Tenant tier cannot exceed 50 characters")
+    private String tier; // Rate limit tier, e.g. standard, premium
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getTier() {
+        return tier;
+    }
+
+    public void setTier(String tier) {
+        this.tier = tier;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.multi_tenant_app.web.dtos;
+
+import java.util.UUID;
+
+public class UserRolePairDTO {
+
+    private UUID userAccountId;
+    private UUID roleId;
+
+    public UserRolePairDTO() {
+    }
+
+    public UserRolePairDTO(UUID userAccountId, UUID roleId) {
+        this.userAccountId = userAccountId;
+        this.roleId = roleId;
+    }
+
+    public UUID getUserAccountId() {
+        return userAccountId;
+    }
+
+    public void setUserAccountId(UUID userAccountId) {
+        this.userAccountId = userAccountId;
+    }
+
+    public UUID getRoleId() {
+        return roleId;
+    }
+
+    public void setRoleId(UUID roleId) {
+        this.roleId = roleId;
+    }
+}
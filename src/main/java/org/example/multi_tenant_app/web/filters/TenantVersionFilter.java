@@ -0,0 +1,80 @@
+package org.example.multi_tenant_app.web.filters;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.cache.TenantRbacVersions;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Conditional GETs for {@link TenantVersioned} resources. The request side runs after
+ * {@code TenantIdFilter} has set the tenant, and before the resource method: if
+ * {@code If-None-Match} names the tenant's current RBAC version, it answers 304 without reading
+ * the data. Otherwise it remembers the version, read before the resource reads the data, and the
+ * response side sends it as a weak {@code ETag} on a 200.
+ */
+@Provider
+@TenantVersioned
+@Priority(200) // After TenantIdFilter (100)
+public class TenantVersionFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String ETAG_PROPERTY = TenantVersionFilter.class.getName() + ".etag";
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Inject
+    TenantRbacVersions tenantRbacVersions;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        Optional<UUID> tenantId = tenantContext.getCurrentTenantId();
+        if (tenantId.isEmpty()) {
+            return;
+        }
+        String version = Long.toString(tenantRbacVersions.current(tenantId.get()));
+        String etag = "W/\"" + version + "\"";
+        if (matches(requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH), version)) {
+            tenantRbacVersions.countNotModified();
+            requestContext.abortWith(Response.notModified().header(HttpHeaders.ETAG, etag).build());
+        } else {
+            requestContext.setProperty(ETAG_PROPERTY, etag);
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object etag = requestContext.getProperty(ETAG_PROPERTY);
+        if (etag != null && responseContext.getStatus() == Response.Status.OK.getStatusCode()) {
+            responseContext.getHeaders().putSingle(HttpHeaders.ETAG, etag);
+        }
+    }
+
+    // If-None-Match is "*" or a list of (possibly weak) quoted tags; GETs compare weakly.
+    // "*" is not honoured: whether the resource exists is only known after a database read.
+    static boolean matches(String ifNoneMatch, String version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String quoted = "\"" + version + "\"";
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
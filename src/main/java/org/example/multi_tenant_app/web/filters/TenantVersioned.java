@@ -0,0 +1,19 @@
+package org.example.multi_tenant_app.web.filters;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET whose response depends only on the tenant's RBAC data, so that it carries the
+ * tenant's RBAC version as its {@code ETag} and answers a matching {@code If-None-Match} with
+ * 304. See {@link TenantVersionFilter}.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface TenantVersioned {
+}
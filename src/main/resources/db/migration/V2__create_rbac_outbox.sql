@@ -0,0 +1,14 @@
+-- V2: Transactional outbox for RBAC change events
+
+-- One row per committed role / assignment change, written in the same transaction as the change.
+-- The relay publishes rows in id order and deletes them by contiguous id range once Kafka has acknowledged them.
+CREATE TABLE rbac_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tenant_id UUID NOT NULL, -- No FK: the row must survive the deletion of the tenant it describes
+    entity_type VARCHAR(50) NOT NULL, -- ROLE, USER_ROLE_ASSIGNMENT, ROLE_PERMISSION_ASSIGNMENT
+    operation VARCHAR(20) NOT NULL,   -- CREATED, UPDATED, DELETED
+    role_id UUID,
+    user_account_id UUID,
+    permission_id UUID,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,19 @@
+-- V3: Role hierarchy
+
+-- A role inherits every permission of its parent role (and, transitively, of the parent's ancestors).
+-- Children are detached by the application before their parent role is deleted.
+ALTER TABLE roles ADD COLUMN parent_role_id UUID REFERENCES roles(id);
+CREATE INDEX idx_roles_parent_role_id ON roles(parent_role_id);
+
+-- Transitive closure of roles.parent_role_id, maintained incrementally on every hierarchy change.
+-- One row per (ancestor, descendant) pair with depth >= 1; a role is not its own ancestor here.
+CREATE TABLE role_hierarchy_closure (
+    id UUID PRIMARY KEY,
+    tenant_id UUID NOT NULL REFERENCES tenants(id) ON DELETE CASCADE,
+    ancestor_role_id UUID NOT NULL REFERENCES roles(id) ON DELETE CASCADE,
+    descendant_role_id UUID NOT NULL REFERENCES roles(id) ON DELETE CASCADE,
+    depth INT NOT NULL,
+    UNIQUE (ancestor_role_id, descendant_role_id)
+);
+CREATE INDEX idx_role_hierarchy_closure_tenant_id ON role_hierarchy_closure(tenant_id);
+CREATE INDEX idx_role_hierarchy_closure_descendant ON role_hierarchy_closure(descendant_role_id);
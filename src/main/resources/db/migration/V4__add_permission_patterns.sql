@@ -0,0 +1,9 @@
+-- V4: Wildcard permission grants
+
+-- A role permission assignment grants either one catalog permission or a wildcard pattern
+-- such as 'user:*' or 'document:folder/*:read' ('*' matches exactly one segment).
+ALTER TABLE role_permission_assignments ALTER COLUMN permission_id DROP NOT NULL;
+ALTER TABLE role_permission_assignments ADD COLUMN permission_pattern VARCHAR(255);
+ALTER TABLE role_permission_assignments ADD CONSTRAINT chk_rpa_permission_xor_pattern
+    CHECK ((permission_id IS NULL AND permission_pattern IS NOT NULL) OR (permission_id IS NOT NULL AND permission_pattern IS NULL));
+ALTER TABLE role_permission_assignments ADD CONSTRAINT uq_rpa_tenant_role_pattern UNIQUE (tenant_id, role_id, permission_pattern);
@@ -0,0 +1,4 @@
+-- V5: Tenant tiers
+
+-- Selects the rate limits applied to the tenant's requests (see rate-limit.tiers).
+ALTER TABLE tenants ADD COLUMN tier VARCHAR(50) NOT NULL DEFAULT 'standard';
@@ -0,0 +1,14 @@
+-- V6: Tenant-scoped foreign keys for assignments
+
+-- An assignment may only reference a user or role of its own tenant. The single-column foreign
+-- keys from V1 only check that the referenced row exists, in any tenant. These composite keys let
+-- the assignment upserts rely on the database for validation instead of looking rows up first.
+ALTER TABLE user_accounts ADD CONSTRAINT uq_user_accounts_tenant_id_id UNIQUE (tenant_id, id);
+ALTER TABLE roles ADD CONSTRAINT uq_roles_tenant_id_id UNIQUE (tenant_id, id);
+
+ALTER TABLE user_role_assignments ADD CONSTRAINT fk_ura_tenant_user_account_id
+    FOREIGN KEY (tenant_id, user_account_id) REFERENCES user_accounts (tenant_id, id) ON DELETE CASCADE;
+ALTER TABLE user_role_assignments ADD CONSTRAINT fk_ura_tenant_role_id
+    FOREIGN KEY (tenant_id, role_id) REFERENCES roles (tenant_id, id) ON DELETE CASCADE;
+ALTER TABLE role_permission_assignments ADD CONSTRAINT fk_rpa_tenant_role_id
+    FOREIGN KEY (tenant_id, role_id) REFERENCES roles (tenant_id, id) ON DELETE CASCADE;
@@ -0,0 +1,5 @@
+-- V7: Per-tenant RBAC version
+
+-- Incremented by every transaction that changes the tenant's roles or assignments, and served as
+-- the ETag / rbac_version of RBAC reads (see docs/conditional_reads.md). Shared by all nodes.
+ALTER TABLE tenants ADD COLUMN rbac_version BIGINT NOT NULL DEFAULT 0;
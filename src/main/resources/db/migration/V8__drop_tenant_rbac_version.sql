@@ -0,0 +1,5 @@
+-- V8: Drop the per-tenant RBAC version column
+
+-- The version is now kept in memory by each node (see docs/conditional_reads.md); incrementing a
+-- shared row in every RBAC write serialized a tenant's concurrent writers on that row.
+ALTER TABLE tenants DROP COLUMN rbac_version;
@@ -0,0 +1,263 @@
+package org.example.multi_tenant_app.benchmarks;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.smallrye.mutiny.Uni;
+import org.example.multi_tenant_app.grpc.health.HealthCheckRequest;
+import org.example.multi_tenant_app.grpc.health.HealthCheckResponse;
+import org.example.multi_tenant_app.grpc.health.HealthCheckServiceGrpc;
+import org.example.multi_tenant_app.grpc.health.MutinyHealthCheckServiceGrpc;
+import org.example.multi_tenant_app.grpc.role.GetRolesForTenantRequest;
+import org.example.multi_tenant_app.grpc.role.MutinyRoleGrpcServiceGrpc;
+import org.example.multi_tenant_app.grpc.role.RoleGrpcServiceGrpc;
+import org.example.multi_tenant_app.grpc.role.RoleListResponse;
+import org.example.multi_tenant_app.services.scheduling.WeightedFairScheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event-loop stalls with and without offloading, measured in one JVM. Unlike
+ * {@link GrpcEventLoopStallBenchmark} it needs no running instance or database.
+ * <p>
+ * A gRPC server on {@code event-loops} Netty event-loop threads invokes its Mutiny services on
+ * those threads, as Quarkus does. {@code in-flight} closed-loop clients call GetRolesForTenant,
+ * whose work parks for {@code service-ms} in place of a query. Meanwhile {@code probe-channels}
+ * clients send a HealthCheck every {@code probe-interval-ms}; it is answered inline, so its
+ * latency is the time it waited for its event loop. Two modes run one after the other:
+ * <ul>
+ *     <li>{@code inline}: the work runs on the event loop, as the RBAC services did before
+ *     {@code GrpcCalls.offload}.</li>
+ *     <li>{@code offload}: the work is queued on a {@link WeightedFairScheduler} sized like the
+ *     tenant pool, and the result is emitted from the pool thread, as
+ *     {@code TenantFairExecutor.submit} does. The request-context handover of {@code submit}
+ *     needs a running ArC container and is left out; it does not touch the event loop.</li>
+ * </ul>
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath org.example.multi_tenant_app.benchmarks.EventLoopOffloadBenchmark
+ *                  in-flight=256 event-loops=2 seconds=10"
+ * </pre>
+ */
+public class EventLoopOffloadBenchmark {
+
+    private static final HealthCheckResponse SERVING =
+            HealthCheckResponse.newBuilder().setStatus(HealthCheckResponse.ServingStatus.SERVING).build();
+
+    private final int inFlight;
+    private final int eventLoops;
+    private final long serviceNanos;
+    private final int poolThreads;
+    private final int probeChannels;
+    private final long probeIntervalMillis;
+    private final int seconds;
+
+    private EventLoopOffloadBenchmark(int inFlight, int eventLoops, long serviceNanos, int poolThreads,
+                                      int probeChannels, long probeIntervalMillis, int seconds) {
+        this.inFlight = inFlight;
+        this.eventLoops = eventLoops;
+        this.serviceNanos = serviceNanos;
+        this.poolThreads = poolThreads;
+        this.probeChannels = probeChannels;
+        this.probeIntervalMillis = probeIntervalMillis;
+        this.seconds = seconds;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        EventLoopOffloadBenchmark benchmark = new EventLoopOffloadBenchmark(
+                intArg(args, "in-flight", 256),
+                intArg(args, "event-loops", 2),
+                TimeUnit.MILLISECONDS.toNanos(intArg(args, "service-ms", 10)),
+                intArg(args, "pool-threads", 32),
+                intArg(args, "probe-channels", 4),
+                intArg(args, "probe-interval-ms", 5),
+                intArg(args, "seconds", 10));
+        System.out.printf("in-flight=%d event-loops=%d service=%dms pool-threads=%d on Java %s, %d CPUs%n",
+                benchmark.inFlight, benchmark.eventLoops, TimeUnit.NANOSECONDS.toMillis(benchmark.serviceNanos),
+                benchmark.poolThreads, Runtime.version(), Runtime.getRuntime().availableProcessors());
+
+        benchmark.run("inline", null);
+        WeightedFairScheduler pool = new WeightedFairScheduler("tenant-pool", benchmark.poolThreads,
+                benchmark.poolThreads / 2, benchmark.inFlight);
+        try {
+            benchmark.run("offload", pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void run(String mode, WeightedFairScheduler pool) throws IOException, InterruptedException {
+        String tenant = UUID.randomUUID().toString();
+        RoleListResponse roles = RoleListResponse.getDefaultInstance();
+        MutinyRoleGrpcServiceGrpc.RoleGrpcServiceImplBase roleService = new MutinyRoleGrpcServiceGrpc.RoleGrpcServiceImplBase() {
+            @Override
+            public Uni<RoleListResponse> getRolesForTenant(GetRolesForTenantRequest request) {
+                if (pool == null) {
+                    return Uni.createFrom().item(() -> {
+                        query();
+                        return roles;
+                    });
+                }
+                return Uni.createFrom().emitter(emitter -> {
+                    try {
+                        pool.execute(request.getTenantId(), 1, () -> {
+                            query();
+                            emitter.complete(roles);
+                        });
+                    } catch (RejectedExecutionException e) {
+                        emitter.fail(e);
+                    }
+                });
+            }
+        };
+        MutinyHealthCheckServiceGrpc.HealthCheckServiceImplBase healthService = new MutinyHealthCheckServiceGrpc.HealthCheckServiceImplBase() {
+            @Override
+            public Uni<HealthCheckResponse> check(HealthCheckRequest request) {
+                return Uni.createFrom().item(SERVING);
+            }
+        };
+
+        NioEventLoopGroup boss = new NioEventLoopGroup(1);
+        NioEventLoopGroup workers = new NioEventLoopGroup(eventLoops);
+        Server server = NettyServerBuilder.forPort(0)
+                .bossEventLoopGroup(boss)
+                .workerEventLoopGroup(workers)
+                .channelType(NioServerSocketChannel.class)
+                .directExecutor() // Services are invoked on the event loop, as in Quarkus
+                .addService(roleService)
+                .addService(healthService)
+                .build()
+                .start();
+        List<ManagedChannel> channels = new ArrayList<>();
+        AtomicBoolean recording = new AtomicBoolean();
+        AtomicBoolean stopping = new AtomicBoolean();
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        try {
+            // One connection per event loop, so the load reaches every loop.
+            for (int c = 0; c < eventLoops; c++) {
+                ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+                channels.add(channel);
+                RoleGrpcServiceGrpc.RoleGrpcServiceStub stub = RoleGrpcServiceGrpc.newStub(channel);
+                GetRolesForTenantRequest request = GetRolesForTenantRequest.newBuilder().setTenantId(tenant).build();
+                for (int i = c; i < inFlight; i += eventLoops) {
+                    call(stub, request, recording, stopping, completed, failed);
+                }
+            }
+
+            ConcurrentLinkedQueue<Long> probeLatencies = new ConcurrentLinkedQueue<>();
+            List<Thread> probers = new ArrayList<>();
+            for (int c = 0; c < probeChannels; c++) {
+                ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+                channels.add(channel);
+                HealthCheckServiceGrpc.HealthCheckServiceBlockingStub probe = HealthCheckServiceGrpc.newBlockingStub(channel);
+                Thread prober = new Thread(() -> {
+                    HealthCheckRequest request = HealthCheckRequest.getDefaultInstance();
+                    while (!stopping.get()) {
+                        long start = System.nanoTime();
+                        probe.withDeadlineAfter(60, TimeUnit.SECONDS).check(request);
+                        if (recording.get()) {
+                            probeLatencies.add(System.nanoTime() - start);
+                        }
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(probeIntervalMillis);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }, "probe-" + c);
+                prober.setDaemon(true);
+                probers.add(prober);
+                prober.start();
+            }
+
+            TimeUnit.SECONDS.sleep(Math.max(1, seconds / 2)); // Warm-up
+            recording.set(true);
+            long start = System.nanoTime();
+            TimeUnit.SECONDS.sleep(seconds);
+            recording.set(false);
+            long elapsed = System.nanoTime() - start;
+            stopping.set(true);
+            for (Thread prober : probers) {
+                prober.join(TimeUnit.SECONDS.toMillis(60));
+            }
+
+            long[] probes = probeLatencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-8s load %6.0f calls/s (%d failed)  probes %5d  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+                    mode, completed.sum() * 1e9 / elapsed, failed.sum(), probes.length,
+                    percentileMillis(probes, 0.50), percentileMillis(probes, 0.99),
+                    probes.length == 0 ? 0 : probes[probes.length - 1] / 1e6);
+        } finally {
+            stopping.set(true);
+            channels.forEach(ManagedChannel::shutdownNow);
+            server.shutdownNow().awaitTermination(10, TimeUnit.SECONDS);
+            workers.shutdownGracefully();
+            boss.shutdownGracefully();
+        }
+    }
+
+    private static void call(RoleGrpcServiceGrpc.RoleGrpcServiceStub stub, GetRolesForTenantRequest request,
+                             AtomicBoolean recording, AtomicBoolean stopping, LongAdder completed, LongAdder failed) {
+        if (stopping.get()) {
+            return;
+        }
+        stub.getRolesForTenant(request, new StreamObserver<>() {
+            @Override
+            public void onNext(RoleListResponse value) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (recording.get()) {
+                    failed.increment();
+                }
+                call(stub, request, recording, stopping, completed, failed);
+            }
+
+            @Override
+            public void onCompleted() {
+                if (recording.get()) {
+                    completed.increment();
+                }
+                call(stub, request, recording, stopping, completed, failed);
+            }
+        });
+    }
+
+    // Stands in for a JDBC round trip: parks the calling thread, as a socket read would.
+    private void query() {
+        long deadline = System.nanoTime() + serviceNanos;
+        for (long left = serviceNanos; left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return Integer.parseInt(arg.substring(name.length() + 1));
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.multi_tenant_app.benchmarks;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import org.example.multi_tenant_app.grpc.health.HealthCheckRequest;
+import org.example.multi_tenant_app.grpc.health.HealthCheckServiceGrpc;
+import org.example.multi_tenant_app.grpc.role.GetRolesForTenantRequest;
+import org.example.multi_tenant_app.grpc.role.RoleGrpcServiceGrpc;
+import org.example.multi_tenant_app.grpc.role_permission.GetPermissionsForRoleRequest;
+import org.example.multi_tenant_app.grpc.role_permission.RolePermissionAssignmentGrpcServiceGrpc;
+import org.example.multi_tenant_app.grpc.user_role.GetRolesForUserRequest;
+import org.example.multi_tenant_app.grpc.user_role.UserRoleAssignmentGrpcServiceGrpc;
+import org.example.multi_tenant_app.security.GrpcTenantIdInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Saturates the RBAC gRPC services of a running instance and meanwhile probes the event loops
+ * with HealthCheck, a method that never leaves the event loop. While RBAC database work is
+ * offloaded the probes stay fast however saturated the tenant pool is; a service blocking an
+ * event loop would show up as probe latency of the order of a database round trip.
+ * <p>
+ * {@code in-flight} closed-loop clients cycle through GetRolesForTenant (always a query),
+ * GetRolesForUser and GetPermissionsForRole (cache hits once warm), sending x-tenant-id.
+ * {@code probe-channels} separate connections, which the server spreads over its event loops,
+ * each send one probe every {@code probe-interval-ms}. Start the app against a seeded database:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath org.example.multi_tenant_app.benchmarks.GrpcEventLoopStallBenchmark
+ *                  target=localhost:9000 tenant=&lt;uuid&gt; user=&lt;uuid&gt; role=&lt;uuid&gt; in-flight=512"
+ * </pre>
+ */
+public class GrpcEventLoopStallBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        String target = arg(args, "target", "localhost:9000");
+        String tenant = arg(args, "tenant", null);
+        String user = arg(args, "user", null);
+        String role = arg(args, "role", null);
+        if (tenant == null || user == null || role == null) {
+            System.err.println("Usage: target=host:port tenant=<uuid> user=<uuid> role=<uuid> "
+                    + "[in-flight=512] [load-channels=4] [probe-channels=16] [probe-interval-ms=5] [seconds=10]");
+            System.exit(2);
+        }
+        int inFlight = Integer.parseInt(arg(args, "in-flight", "512"));
+        int loadChannels = Integer.parseInt(arg(args, "load-channels", "4"));
+        int probeChannels = Integer.parseInt(arg(args, "probe-channels", "16"));
+        long probeIntervalMillis = Long.parseLong(arg(args, "probe-interval-ms", "5"));
+        int seconds = Integer.parseInt(arg(args, "seconds", "10"));
+
+        Metadata headers = new Metadata();
+        headers.put(GrpcTenantIdInterceptor.TENANT_ID_METADATA_KEY, tenant);
+        List<ManagedChannel> channels = new ArrayList<>();
+        AtomicBoolean recording = new AtomicBoolean();
+        AtomicBoolean stopping = new AtomicBoolean();
+        LongAdder completed = new LongAdder();
+        LongAdder exhausted = new LongAdder();
+        LongAdder failed = new LongAdder();
+
+        for (int c = 0; c < loadChannels; c++) {
+            ManagedChannel channel = ManagedChannelBuilder.forTarget(target).usePlaintext()
+                    .intercept(MetadataUtils.newAttachHeadersInterceptor(headers)).build();
+            channels.add(channel);
+            LoadClient client = new LoadClient(channel, tenant, user, role, recording, stopping, completed, exhausted, failed);
+            for (int i = c; i < inFlight; i += loadChannels) {
+                client.next(i);
+            }
+        }
+
+        ConcurrentLinkedQueue<Long> probeLatencies = new ConcurrentLinkedQueue<>();
+        List<Thread> probers = new ArrayList<>();
+        for (int c = 0; c < probeChannels; c++) {
+            ManagedChannel channel = ManagedChannelBuilder.forTarget(target).usePlaintext().build();
+            channels.add(channel);
+            HealthCheckServiceGrpc.HealthCheckServiceBlockingStub probe = HealthCheckServiceGrpc.newBlockingStub(channel);
+            Thread prober = new Thread(() -> {
+                HealthCheckRequest request = HealthCheckRequest.getDefaultInstance();
+                while (!stopping.get()) {
+                    long start = System.nanoTime();
+                    probe.withDeadlineAfter(10, TimeUnit.SECONDS).check(request);
+                    if (recording.get()) {
+                        probeLatencies.add(System.nanoTime() - start);
+                    }
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(probeIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "probe-" + c);
+            prober.setDaemon(true);
+            probers.add(prober);
+            prober.start();
+        }
+
+        TimeUnit.SECONDS.sleep(Math.max(1, seconds / 2)); // Warm-up: caches, JIT, connections
+        recording.set(true);
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        recording.set(false);
+        long elapsed = System.nanoTime() - start;
+        stopping.set(true);
+        for (Thread prober : probers) {
+            prober.join(TimeUnit.SECONDS.toMillis(15));
+        }
+        channels.forEach(ManagedChannel::shutdownNow);
+
+        long[] probes = probeLatencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("RBAC load: %d in flight, %.0f calls/s, %d RESOURCE_EXHAUSTED, %d other failures%n",
+                inFlight, completed.sum() * 1e9 / elapsed, exhausted.sum(), failed.sum());
+        System.out.printf("Event-loop probes: %d, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                probes.length, percentileMillis(probes, 0.50), percentileMillis(probes, 0.99),
+                percentileMillis(probes, 0.999), probes.length == 0 ? 0 : probes[probes.length - 1] / 1e6);
+    }
+
+    private static final class LoadClient {
+        private final RoleGrpcServiceGrpc.RoleGrpcServiceStub roles;
+        private final UserRoleAssignmentGrpcServiceGrpc.UserRoleAssignmentGrpcServiceStub userRoles;
+        private final RolePermissionAssignmentGrpcServiceGrpc.RolePermissionAssignmentGrpcServiceStub rolePermissions;
+        private final GetRolesForTenantRequest rolesForTenant;
+        private final GetRolesForUserRequest rolesForUser;
+        private final GetPermissionsForRoleRequest permissionsForRole;
+        private final AtomicBoolean recording;
+        private final AtomicBoolean stopping;
+        private final LongAdder completed;
+        private final LongAdder exhausted;
+        private final LongAdder failed;
+        private final AtomicLong sequence = new AtomicLong();
+
+        LoadClient(ManagedChannel channel, String tenant, String user, String role, AtomicBoolean recording,
+                   AtomicBoolean stopping, LongAdder completed, LongAdder exhausted, LongAdder failed) {
+            this.roles = RoleGrpcServiceGrpc.newStub(channel);
+            this.userRoles = UserRoleAssignmentGrpcServiceGrpc.newStub(channel);
+            this.rolePermissions = RolePermissionAssignmentGrpcServiceGrpc.newStub(channel);
+            this.rolesForTenant = GetRolesForTenantRequest.newBuilder().setTenantId(tenant).build();
+            this.rolesForUser = GetRolesForUserRequest.newBuilder().setTenantId(tenant).setUserAccountId(user).build();
+            this.permissionsForRole = GetPermissionsForRoleRequest.newBuilder().setTenantId(tenant).setRoleId(role).build();
+            this.recording = recording;
+            this.stopping = stopping;
+            this.completed = completed;
+            this.exhausted = exhausted;
+            this.failed = failed;
+        }
+
+        void next(long slot) {
+            if (stopping.get()) {
+                return;
+            }
+            switch ((int) ((slot + sequence.getAndIncrement()) % 3)) {
+                case 0 -> roles.getRolesForTenant(rolesForTenant, observer(slot));
+                case 1 -> userRoles.getRolesForUser(rolesForUser, observer(slot));
+                default -> rolePermissions.getPermissionsForRole(permissionsForRole, observer(slot));
+            }
+        }
+
+        private <T> StreamObserver<T> observer(long slot) {
+            return new StreamObserver<>() {
+                @Override
+                public void onNext(T value) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    if (recording.get()) {
+                        if (Status.fromThrowable(t).getCode() == Status.Code.RESOURCE_EXHAUSTED) {
+                            exhausted.increment();
+                        } else {
+                            failed.increment();
+                        }
+                    }
+                    next(slot);
+                }
+
+                @Override
+                public void onCompleted() {
+                    if (recording.get()) {
+                        completed.increment();
+                    }
+                    next(slot);
+                }
+            };
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static String arg(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return arg.substring(name.length() + 1);
+            }
+        }
+        return defaultValue;
+    }
+}
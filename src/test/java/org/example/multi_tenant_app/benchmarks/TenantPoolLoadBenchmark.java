@@ -0,0 +1,160 @@
+package org.example.multi_tenant_app.benchmarks;
+
+import org.example.multi_tenant_app.services.scheduling.WeightedFairScheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Closed-loop load test of the scheduler behind TenantFairExecutor: {@code in-flight} clients
+ * (2048 by default) each keep one call queued or running, spread over {@code tenants} tenants.
+ * A call blocks for {@code service-ms}, first taking one of {@code connections} permits when
+ * that is set (the datasource pool; 0 = unbounded, as for calls that wait on something other
+ * than a pooled connection). Reports throughput and latency percentiles from submit to
+ * completion, queue wait included.
+ * <p>
+ * Not a JMH benchmark: JMH measures per-thread operations and cannot hold thousands of calls in
+ * flight. Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath org.example.multi_tenant_app.benchmarks.TenantPoolLoadBenchmark
+ *                  in-flight=2048 connections=0 seconds=10"
+ * </pre>
+ */
+public class TenantPoolLoadBenchmark {
+
+    private static final int MAX_SAMPLES = 16_000_000;
+
+    private final int inFlight;
+    private final int tenants;
+    private final int poolThreads;
+    private final int maxConcurrencyPerTenant;
+    private final long serviceNanos;
+    private final int connections;
+    private final int seconds;
+
+    private TenantPoolLoadBenchmark(int inFlight, int tenants, int poolThreads, int maxConcurrencyPerTenant,
+                                       long serviceNanos, int connections, int seconds) {
+        this.inFlight = inFlight;
+        this.tenants = tenants;
+        this.poolThreads = poolThreads;
+        this.maxConcurrencyPerTenant = maxConcurrencyPerTenant;
+        this.serviceNanos = serviceNanos;
+        this.connections = connections;
+        this.seconds = seconds;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int inFlight = intArg(args, "in-flight", 2048);
+        TenantPoolLoadBenchmark benchmark = new TenantPoolLoadBenchmark(
+                inFlight,
+                intArg(args, "tenants", 256),
+                intArg(args, "pool-threads", 16),
+                intArg(args, "max-concurrency-per-tenant", 64),
+                TimeUnit.MILLISECONDS.toNanos(intArg(args, "service-ms", 10)),
+                intArg(args, "connections", 0),
+                intArg(args, "seconds", 10));
+        System.out.printf("in-flight=%d tenants=%d service=%dms connections=%s on Java %s%n",
+                inFlight, benchmark.tenants, TimeUnit.NANOSECONDS.toMillis(benchmark.serviceNanos),
+                benchmark.connections == 0 ? "unbounded" : benchmark.connections, Runtime.version());
+
+        benchmark.run("worker-pool(" + benchmark.poolThreads + ")", new WeightedFairScheduler("load-pool",
+                benchmark.poolThreads, benchmark.maxConcurrencyPerTenant, inFlight));
+    }
+
+    private void run(String mode, WeightedFairScheduler scheduler) throws InterruptedException {
+        Semaphore pool = connections > 0 ? new Semaphore(connections, true) : null;
+        long[] latencies = new long[MAX_SAMPLES];
+        AtomicInteger samples = new AtomicInteger();
+        AtomicLong completed = new AtomicLong();
+        AtomicBoolean recording = new AtomicBoolean();
+        AtomicBoolean stopping = new AtomicBoolean();
+        CountDownLatch drained = new CountDownLatch(inFlight);
+
+        class Client {
+            final int tenant;
+
+            Client(int tenant) {
+                this.tenant = tenant;
+            }
+
+            void submit() {
+                if (stopping.get()) {
+                    drained.countDown();
+                    return;
+                }
+                long submitted = System.nanoTime();
+                scheduler.execute(tenant, 1, () -> {
+                    call(pool);
+                    if (recording.get()) {
+                        completed.incrementAndGet();
+                        int index = samples.getAndIncrement();
+                        if (index < MAX_SAMPLES) {
+                            latencies[index] = System.nanoTime() - submitted;
+                        }
+                    }
+                    submit();
+                });
+            }
+        }
+
+        for (int i = 0; i < inFlight; i++) {
+            new Client(i % tenants).submit();
+        }
+        TimeUnit.SECONDS.sleep(Math.max(1, seconds / 2)); // Warm-up
+        recording.set(true);
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        recording.set(false);
+        long elapsed = System.nanoTime() - start;
+        stopping.set(true);
+        drained.await(seconds + 60L, TimeUnit.SECONDS);
+        scheduler.shutdown();
+
+        long[] sorted = Arrays.copyOf(latencies, Math.min(samples.get(), MAX_SAMPLES));
+        Arrays.sort(sorted);
+        System.out.printf("%-20s %10.0f calls/s  p50 %8.2f ms  p99 %8.2f ms  p99.9 %8.2f ms  max %8.2f ms%n",
+                mode, completed.get() * 1e9 / elapsed,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99),
+                percentileMillis(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    // Stands in for a JDBC round trip: parks the calling thread, as a socket read would.
+    private void call(Semaphore pool) {
+        if (pool != null) {
+            pool.acquireUninterruptibly();
+        }
+        try {
+            long deadline = System.nanoTime() + serviceNanos;
+            for (long left = serviceNanos; left > 0; left = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(left);
+            }
+        } finally {
+            if (pool != null) {
+                pool.release();
+            }
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return Integer.parseInt(arg.substring(name.length() + 1));
+            }
+        }
+        return defaultValue;
+    }
+}
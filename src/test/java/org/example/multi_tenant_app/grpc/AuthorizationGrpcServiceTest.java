@@ -0,0 +1,152 @@
+package org.example.multi_tenant_app.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.grpc.GrpcClientUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.example.multi_tenant_app.grpc.authz.AuthorizationGrpcService;
+import org.example.multi_tenant_app.grpc.authz.BatchCheckRequest;
+import org.example.multi_tenant_app.grpc.authz.BatchCheckResponse;
+import org.example.multi_tenant_app.grpc.authz.CheckPermissionRequest;
+import org.example.multi_tenant_app.grpc.authz.StreamCheckRequest;
+import org.example.multi_tenant_app.grpc.authz.StreamCheckResponse;
+import org.example.multi_tenant_app.security.GrpcTenantIdInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class AuthorizationGrpcServiceTest {
+
+    @GrpcClient
+    AuthorizationGrpcService authorizationGrpcService;
+
+    private AuthorizationGrpcService client;
+    private UUID tenantId;
+    private UUID otherTenantId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("gRPC Authz Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "bob", "bob@example.org");
+            user.persist();
+            Role role = new Role(tenant.id, "editor", "Edit users", false);
+            role.persist();
+            new UserRoleAssignment(tenant.id, user.id, role.id).persist();
+            for (String name : List.of("user:read", "user:update")) {
+                Permission permission = Permission.find("name", name).firstResult();
+                new RolePermissionAssignment(tenant.id, role.id, permission.id).persist();
+            }
+            Tenant otherTenant = new Tenant("gRPC Authz Other Tenant " + UUID.randomUUID(), "ACTIVE");
+            otherTenant.persist();
+            tenantId = tenant.id;
+            otherTenantId = otherTenant.id;
+            userId = user.id;
+        });
+        Metadata headers = new Metadata();
+        headers.put(GrpcTenantIdInterceptor.TENANT_ID_METADATA_KEY, tenantId.toString());
+        client = GrpcClientUtils.attachHeaders(authorizationGrpcService, headers);
+    }
+
+    private CheckPermissionRequest check(String permission) {
+        return CheckPermissionRequest.newBuilder()
+                .setTenantId(tenantId.toString())
+                .setUserAccountId(userId.toString())
+                .setPermissionName(permission)
+                .build();
+    }
+
+    @Test
+    void testCheckPermission() {
+        assertTrue(client.checkPermission(check("user:update"))
+                .await().atMost(Duration.ofSeconds(5)).getAllowed());
+        assertFalse(client.checkPermission(check("user:delete"))
+                .await().atMost(Duration.ofSeconds(5)).getAllowed());
+    }
+
+    @Test
+    void testCheckPermission_DefaultsToCallTenant() {
+        assertTrue(client.checkPermission(check("user:update").toBuilder().clearTenantId().build())
+                .await().atMost(Duration.ofSeconds(5)).getAllowed());
+    }
+
+    @Test
+    void testCheckPermission_RejectsOtherTenant() {
+        CheckPermissionRequest request = check("user:read").toBuilder().setTenantId(otherTenantId.toString()).build();
+
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> client.checkPermission(request).await().atMost(Duration.ofSeconds(5)));
+        assertEquals(Status.Code.PERMISSION_DENIED, e.getStatus().getCode());
+    }
+
+    @Test
+    void testCheckPermission_RequiresTenantMetadata() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> authorizationGrpcService.checkPermission(check("user:read")).await().atMost(Duration.ofSeconds(5)));
+        assertEquals(Status.Code.PERMISSION_DENIED, e.getStatus().getCode());
+    }
+
+    @Test
+    void testBatchCheck_RejectsMixedTenants() {
+        BatchCheckRequest request = BatchCheckRequest.newBuilder()
+                .addChecks(check("user:read"))
+                .addChecks(check("user:read").toBuilder().setTenantId(otherTenantId.toString()))
+                .build();
+
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> client.batchCheck(request).await().atMost(Duration.ofSeconds(5)));
+        assertEquals(Status.Code.PERMISSION_DENIED, e.getStatus().getCode());
+    }
+
+    @Test
+    void testBatchCheck_PreservesRequestOrder() {
+        BatchCheckResponse response = client.batchCheck(BatchCheckRequest.newBuilder()
+                        .addChecks(check("user:read"))
+                        .addChecks(check("user:delete"))
+                        .addChecks(check("user:update"))
+                        .build())
+                .await().atMost(Duration.ofSeconds(5));
+        assertEquals(List.of(true, false, true), response.getAllowedList());
+    }
+
+    @Test
+    void testCheckStream_CorrelatesResponses() {
+        List<StreamCheckRequest> requests = List.of(
+                StreamCheckRequest.newBuilder().setCorrelationId(1).setCheck(check("user:read")).build(),
+                StreamCheckRequest.newBuilder().setCorrelationId(2).setCheck(check("user:delete")).build(),
+                StreamCheckRequest.newBuilder().setCorrelationId(3).setCheck(
+                        check("user:read").toBuilder().setTenantId(otherTenantId.toString()).build()).build());
+
+        Map<Long, StreamCheckResponse> responses = client
+                .checkStream(Multi.createFrom().iterable(requests))
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(5))
+                .stream()
+                .collect(Collectors.toMap(StreamCheckResponse::getCorrelationId, r -> r));
+
+        assertEquals(3, responses.size());
+        assertTrue(responses.get(1L).getAllowed());
+        assertFalse(responses.get(2L).getAllowed());
+        assertFalse(responses.get(3L).getError().isEmpty());
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.multi_tenant_app.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import org.example.multi_tenant_app.config.AuthorizationConfig;
+import org.example.multi_tenant_app.grpc.authz.BatchCheckRequest;
+import org.example.multi_tenant_app.grpc.authz.BatchCheckResponse;
+import org.example.multi_tenant_app.grpc.authz.CheckPermissionRequest;
+import org.example.multi_tenant_app.grpc.authz.CheckPermissionResponse;
+import org.example.multi_tenant_app.grpc.authz.MutinyAuthorizationGrpcServiceGrpc;
+import org.example.multi_tenant_app.grpc.authz.StreamCheckRequest;
+import org.example.multi_tenant_app.grpc.authz.StreamCheckResponse;
+import org.example.multi_tenant_app.security.GrpcTenantIdInterceptor;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.AuthorizationService;
+import org.example.multi_tenant_app.services.authz.PermissionRegistry;
+import org.example.multi_tenant_app.services.authz.TenantAuthorizationSnapshot;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput of unary CheckPermission calls against one CheckStream, over a real HTTP/2
+ * connection on localhost. The server is {@link AuthorizationGrpcServiceImpl} with a warm
+ * snapshot, behind an interceptor that parses {@code x-tenant-id} on every call as
+ * {@code GrpcTenantIdInterceptor} does. The interceptor's admission check and rate limiter are
+ * left out, so the unary figure is, if anything, flattering.
+ * <p>
+ * Not a {@code @QuarkusTest} and not in the {@code benchmarks} package: it wires the service's
+ * injection points by hand. Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ *     -Dexec.args="-cp %classpath org.example.multi_tenant_app.grpc.AuthorizationStreamBenchmark
+ *                  checks=50000 concurrency=64 warmups=3 rounds=7"
+ * </pre>
+ * Both paths need a few rounds of 50,000 checks before the JIT has settled.
+ */
+public class AuthorizationStreamBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int checks = intArg(args, "checks", 50_000);
+        int concurrency = intArg(args, "concurrency", 64);
+        int warmups = intArg(args, "warmups", 3);
+        int rounds = intArg(args, "rounds", 7);
+        UUID tenantId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID roleId = UUID.randomUUID();
+
+        Map<String, Integer> ordinals = Map.of("user:read", 0, "user:update", 1);
+        PermissionRegistry permissionRegistry = new PermissionRegistry() {
+            @Override
+            public int ordinalOf(String permissionName) {
+                return ordinals.getOrDefault(permissionName, UNKNOWN);
+            }
+        };
+        BitSet granted = new BitSet();
+        granted.set(0, 2);
+        TenantAuthorizationSnapshot snapshot = TenantAuthorizationSnapshot.compile(tenantId, permissionRegistry,
+                Map.of(userId, List.of(roleId)), Map.of(roleId, granted), Map.of());
+
+        AuthorizationGrpcServiceImpl service = new AuthorizationGrpcServiceImpl();
+        service.authorizationService = new AuthorizationService() {
+            @Override
+            public TenantAuthorizationSnapshot getCompiledSnapshot(UUID id) {
+                return snapshot;
+            }
+        };
+        service.authorizationConfig = new AuthorizationConfig() {
+            @Override
+            public int batchCheckMaxItems() {
+                return 100;
+            }
+
+            @Override
+            public int streamMaxInFlight() {
+                return 256;
+            }
+        };
+        // One tenant for the whole run, so the request-scoped context can be shared.
+        service.tenantContext = new TenantContext();
+        service.tenantContext.setCurrentTenantId(tenantId);
+
+        MutinyAuthorizationGrpcServiceGrpc.AuthorizationGrpcServiceImplBase bindable =
+                new MutinyAuthorizationGrpcServiceGrpc.AuthorizationGrpcServiceImplBase() {
+                    @Override
+                    public Uni<CheckPermissionResponse> checkPermission(CheckPermissionRequest request) {
+                        return service.checkPermission(request);
+                    }
+
+                    @Override
+                    public Uni<BatchCheckResponse> batchCheck(BatchCheckRequest request) {
+                        return service.batchCheck(request);
+                    }
+
+                    @Override
+                    public Multi<StreamCheckResponse> checkStream(Multi<StreamCheckRequest> requests) {
+                        return service.checkStream(requests);
+                    }
+                };
+        ServerInterceptor tenantHeader = new ServerInterceptor() {
+            @Override
+            public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                      ServerCallHandler<ReqT, RespT> next) {
+                if (!tenantId.equals(UUID.fromString(headers.get(GrpcTenantIdInterceptor.TENANT_ID_METADATA_KEY)))) {
+                    throw new IllegalStateException("Unexpected tenant");
+                }
+                return next.startCall(call, headers);
+            }
+        };
+
+        Server server = NettyServerBuilder.forPort(0)
+                .addService(ServerInterceptors.intercept(bindable, tenantHeader))
+                .build()
+                .start();
+        Metadata headers = new Metadata();
+        headers.put(GrpcTenantIdInterceptor.TENANT_ID_METADATA_KEY, tenantId.toString());
+        ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", server.getPort())
+                .usePlaintext()
+                .intercept(MetadataUtils.newAttachHeadersInterceptor(headers))
+                .build();
+        MutinyAuthorizationGrpcServiceGrpc.MutinyAuthorizationGrpcServiceStub client =
+                MutinyAuthorizationGrpcServiceGrpc.newMutinyStub(channel);
+
+        CheckPermissionRequest request = CheckPermissionRequest.newBuilder()
+                .setUserAccountId(userId.toString())
+                .setPermissionName("user:read")
+                .build();
+        System.out.printf("checks=%d unary-concurrency=%d on Java %s, %d CPUs%n",
+                checks, concurrency, Runtime.version(), Runtime.getRuntime().availableProcessors());
+        try {
+            for (int round = 0; round < warmups + rounds; round++) {
+                long unaryStart = System.nanoTime();
+                long unaryAllowed = Multi.createFrom().range(0, checks)
+                        .onItem().transformToUni(i -> client.checkPermission(request))
+                        .merge(concurrency)
+                        .filter(CheckPermissionResponse::getAllowed)
+                        .collect().with(Collectors.counting())
+                        .await().atMost(Duration.ofMinutes(5));
+                long unaryNanos = System.nanoTime() - unaryStart;
+
+                long streamStart = System.nanoTime();
+                long streamAllowed = client
+                        .checkStream(Multi.createFrom().range(0, checks)
+                                .map(i -> StreamCheckRequest.newBuilder().setCorrelationId(i).setCheck(request).build()))
+                        .filter(StreamCheckResponse::getAllowed)
+                        .collect().with(Collectors.counting())
+                        .await().atMost(Duration.ofMinutes(5));
+                long streamNanos = System.nanoTime() - streamStart;
+
+                if (unaryAllowed != checks || streamAllowed != checks) {
+                    throw new IllegalStateException("Allowed " + unaryAllowed + " unary and " + streamAllowed + " streamed checks");
+                }
+                System.out.printf("round %d%s: unary %,.0f checks/s, stream %,.0f checks/s (%.1fx)%n",
+                        round, round < warmups ? " (warm-up)" : "", checks / (unaryNanos / 1e9),
+                        checks / (streamNanos / 1e9), (double) unaryNanos / streamNanos);
+            }
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return Integer.parseInt(arg.substring(name.length() + 1));
+            }
+        }
+        return defaultValue;
+    }
+}
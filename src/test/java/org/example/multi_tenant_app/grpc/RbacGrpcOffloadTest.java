@@ -0,0 +1,326 @@
+package org.example.multi_tenant_app.grpc;
+
+import com.google.protobuf.Empty;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.grpc.GrpcClientUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.example.multi_tenant_app.grpc.role.CreateRoleRequest;
+import org.example.multi_tenant_app.grpc.role.DeleteRoleRequest;
+import org.example.multi_tenant_app.grpc.role.GetRoleRequest;
+import org.example.multi_tenant_app.grpc.role.GetRolesForTenantRequest;
+import org.example.multi_tenant_app.grpc.role.RoleGrpcService;
+import org.example.multi_tenant_app.grpc.role.RoleListResponse;
+import org.example.multi_tenant_app.grpc.role.RoleMessage;
+import org.example.multi_tenant_app.grpc.role.UpdateRoleRequest;
+import org.example.multi_tenant_app.grpc.role_permission.AssignPermissionToRoleRequest;
+import org.example.multi_tenant_app.grpc.role_permission.GetPermissionsForRoleRequest;
+import org.example.multi_tenant_app.grpc.role_permission.PermissionListResponse;
+import org.example.multi_tenant_app.grpc.role_permission.RolePermissionAssignmentGrpcService;
+import org.example.multi_tenant_app.grpc.user_role.AssignRoleToUserRequest;
+import org.example.multi_tenant_app.grpc.user_role.BulkAssignRolesRequest;
+import org.example.multi_tenant_app.grpc.user_role.BulkAssignRolesResponse;
+import org.example.multi_tenant_app.grpc.user_role.BulkAssignmentStatus;
+import org.example.multi_tenant_app.grpc.user_role.GetRolesForUserRequest;
+import org.example.multi_tenant_app.grpc.user_role.RemoveRoleFromUserRequest;
+import org.example.multi_tenant_app.grpc.user_role.UserRoleAssignmentGrpcService;
+import org.example.multi_tenant_app.grpc.user_role.UserRolesListResponse;
+import org.example.multi_tenant_app.security.GrpcTenantIdInterceptor;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The RBAC gRPC services are non-blocking methods, so they are invoked on the Vert.x event loop.
+ * Quarkus refuses to open a Hibernate session or a transaction on an event-loop thread
+ * (BlockingOperationNotAllowedException), so any database access left inline fails these calls
+ * with UNKNOWN instead of silently stalling the loop.
+ */
+@QuarkusTest
+class RbacGrpcOffloadTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @GrpcClient
+    RoleGrpcService roleGrpcService;
+
+    @GrpcClient
+    UserRoleAssignmentGrpcService userRoleAssignmentGrpcService;
+
+    @GrpcClient
+    RolePermissionAssignmentGrpcService rolePermissionAssignmentGrpcService;
+
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    private UUID tenantId;
+    private UUID userId;
+    private UUID roleId;
+    private UUID permissionId;
+
+    private RoleGrpcService roles;
+    private UserRoleAssignmentGrpcService userRoles;
+    private RolePermissionAssignmentGrpcService rolePermissions;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("gRPC Offload Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "carol", "carol@example.org");
+            user.persist();
+            Role role = new Role(tenant.id, "auditor", "Reads audit logs", false);
+            role.persist();
+            new UserRoleAssignment(tenant.id, user.id, role.id).persist();
+            Permission userRead = Permission.find("name", "user:read").firstResult();
+            new RolePermissionAssignment(tenant.id, role.id, userRead.id).persist();
+            tenantId = tenant.id;
+            userId = user.id;
+            roleId = role.id;
+            permissionId = Permission.<Permission>find("name", "user:update").firstResult().id;
+        });
+        Metadata headers = new Metadata();
+        headers.put(GrpcTenantIdInterceptor.TENANT_ID_METADATA_KEY, tenantId.toString());
+        roles = GrpcClientUtils.attachHeaders(roleGrpcService, headers);
+        userRoles = GrpcClientUtils.attachHeaders(userRoleAssignmentGrpcService, headers);
+        rolePermissions = GrpcClientUtils.attachHeaders(rolePermissionAssignmentGrpcService, headers);
+    }
+
+    private long offloadedCalls() {
+        return tenantFairExecutor.getStats().get("completed");
+    }
+
+    @Test
+    void testRoleLifecycle_RunsOffTheEventLoop() {
+        RoleMessage created = roles.createRole(CreateRoleRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setName("reviewer")
+                        .setDescription("Reviews changes")
+                        .build())
+                .await().atMost(TIMEOUT).getRole();
+        assertEquals("reviewer", created.getName());
+
+        RoleMessage updated = roles.updateRole(UpdateRoleRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setRoleId(created.getId())
+                        .setName("senior-reviewer")
+                        .build())
+                .await().atMost(TIMEOUT).getRole();
+        assertEquals("senior-reviewer", updated.getName());
+
+        GetRoleRequest get = GetRoleRequest.newBuilder()
+                .setTenantId(tenantId.toString())
+                .setRoleId(created.getId())
+                .build();
+        assertEquals("senior-reviewer", roles.getRole(get).await().atMost(TIMEOUT).getRole().getName());
+        assertEquals(2, roles.getRolesForTenant(GetRolesForTenantRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .build())
+                .await().atMost(TIMEOUT).getRolesCount());
+
+        roles.deleteRole(DeleteRoleRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setRoleId(created.getId())
+                        .build())
+                .await().atMost(TIMEOUT);
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> roles.getRole(get).await().atMost(TIMEOUT));
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+
+    @Test
+    void testAssignments_RunOffTheEventLoop() {
+        UUID otherRoleId = QuarkusTransaction.requiringNew().call(() -> {
+            Role role = new Role(tenantId, "support", "Answers tickets", false);
+            role.persist();
+            return role.id;
+        });
+        userRoles.assignRoleToUser(AssignRoleToUserRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setUserAccountId(userId.toString())
+                        .setRoleId(otherRoleId.toString())
+                        .build())
+                .await().atMost(TIMEOUT);
+        userRoles.removeRoleFromUser(RemoveRoleFromUserRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setUserAccountId(userId.toString())
+                        .setRoleId(otherRoleId.toString())
+                        .build())
+                .await().atMost(TIMEOUT);
+
+        rolePermissions.assignPermissionToRole(AssignPermissionToRoleRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setRoleId(roleId.toString())
+                        .setPermissionId(permissionId.toString())
+                        .build())
+                .await().atMost(TIMEOUT);
+        assertEquals(2, rolePermissions.getPermissionsForRole(GetPermissionsForRoleRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setRoleId(roleId.toString())
+                        .build())
+                .await().atMost(TIMEOUT).getPermissionsCount());
+    }
+
+    @Test
+    void testBulkAssignRoles_RunsOffTheEventLoop() {
+        BulkAssignRolesResponse response = userRoles.bulkAssignRoles(BulkAssignRolesRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setRoleId(roleId.toString())
+                        .addUserAccountIds(userId.toString())
+                        .addUserAccountIds(UUID.randomUUID().toString())
+                        .addUserAccountIds(userId.toString()) // Repeated: a status, but counted once
+                        .build())
+                .await().atMost(TIMEOUT);
+        assertEquals(List.of(BulkAssignmentStatus.ALREADY_ASSIGNED, BulkAssignmentStatus.USER_NOT_FOUND,
+                        BulkAssignmentStatus.ALREADY_ASSIGNED),
+                response.getStatusesList());
+        assertEquals(1, response.getAlreadyAssigned());
+        assertEquals(1, response.getFailed());
+
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> userRoles
+                .bulkAssignRoles(BulkAssignRolesRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setRoleId("not-a-uuid")
+                        .addUserAccountIds(userId.toString())
+                        .build())
+                .await().atMost(TIMEOUT));
+        assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+    }
+
+    @Test
+    void testCacheHits_AreAnsweredInline() {
+        GetRolesForUserRequest rolesForUser = GetRolesForUserRequest.newBuilder()
+                .setTenantId(tenantId.toString())
+                .setUserAccountId(userId.toString())
+                .build();
+        GetPermissionsForRoleRequest permissionsForRole = GetPermissionsForRoleRequest.newBuilder()
+                .setTenantId(tenantId.toString())
+                .setRoleId(roleId.toString())
+                .build();
+
+        // Misses go to the tenant-fair executor and fill the cache.
+        long before = offloadedCalls();
+        UserRolesListResponse loadedRoles = userRoles.getRolesForUser(rolesForUser).await().atMost(TIMEOUT);
+        PermissionListResponse loadedPermissions = rolePermissions.getPermissionsForRole(permissionsForRole)
+                .await().atMost(TIMEOUT);
+        assertEquals(before + 2, offloadedCalls());
+
+        // Hits never leave the event loop.
+        for (int i = 0; i < 5; i++) {
+            assertEquals(loadedRoles, userRoles.getRolesForUser(rolesForUser).await().atMost(TIMEOUT));
+            assertEquals(loadedPermissions, rolePermissions.getPermissionsForRole(permissionsForRole)
+                    .await().atMost(TIMEOUT));
+        }
+        assertEquals(before + 2, offloadedCalls());
+        assertEquals("auditor", loadedRoles.getRoles(0).getName());
+        assertEquals("user:read", loadedPermissions.getPermissions(0).getName());
+    }
+
+    @Test
+    void testCurrentRbacVersion_IsNotModifiedWithoutReading() {
+        GetRolesForTenantRequest request = GetRolesForTenantRequest.newBuilder()
+                .setTenantId(tenantId.toString())
+                .build();
+        RoleListResponse listed = roles.getRolesForTenant(request).await().atMost(TIMEOUT);
+        assertFalse(listed.getRbacVersion().isEmpty());
+
+        long before = offloadedCalls();
+        RoleListResponse unchanged = roles.getRolesForTenant(request.toBuilder()
+                        .setIfNoneMatch(listed.getRbacVersion())
+                        .build())
+                .await().atMost(TIMEOUT);
+        assertTrue(unchanged.getNotModified());
+        assertEquals(0, unchanged.getRolesCount());
+        assertEquals(before, offloadedCalls());
+
+        roles.createRole(CreateRoleRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setName("reviewer")
+                        .build())
+                .await().atMost(TIMEOUT);
+        RoleListResponse changed = roles.getRolesForTenant(request.toBuilder()
+                        .setIfNoneMatch(listed.getRbacVersion())
+                        .build())
+                .await().atMost(TIMEOUT);
+        assertFalse(changed.getNotModified());
+        assertEquals(2, changed.getRolesCount());
+        assertNotEquals(listed.getRbacVersion(), changed.getRbacVersion());
+    }
+
+    @Test
+    void testStreamedLists_SpanSeveralPages() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < 4; i++) {
+                new Role(tenantId, "streamed-" + i, null, false).persist();
+            }
+        });
+        GetRolesForTenantRequest request = GetRolesForTenantRequest.newBuilder()
+                .setTenantId(tenantId.toString())
+                .build();
+        List<String> streamed = roles.streamRolesForTenant(request)
+                .map(RoleMessage::getName)
+                .collect().asList().await().atMost(TIMEOUT);
+        List<String> listed = roles.getRolesForTenant(request).await().atMost(TIMEOUT).getRolesList().stream()
+                .map(RoleMessage::getName)
+                .toList();
+        assertEquals(5, streamed.size());
+        assertEquals(Set.copyOf(listed), Set.copyOf(streamed));
+
+        assertEquals(rolePermissions.getAllGlobalPermissions(Empty.getDefaultInstance())
+                        .await().atMost(TIMEOUT).getPermissionsCount(),
+                rolePermissions.streamAllGlobalPermissions(Empty.getDefaultInstance())
+                        .collect().asList().await().atMost(TIMEOUT).size());
+        assertEquals(1, rolePermissions.streamPermissionsForRole(GetPermissionsForRoleRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setRoleId(roleId.toString())
+                        .build())
+                .collect().asList().await().atMost(TIMEOUT).size());
+    }
+
+    @Test
+    void testStreamedPermissionsOfUnknownRole_AreNotFound() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> rolePermissions
+                .streamPermissionsForRole(GetPermissionsForRoleRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setRoleId(UUID.randomUUID().toString())
+                        .build())
+                .collect().asList().await().atMost(TIMEOUT));
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+
+        e = assertThrows(StatusRuntimeException.class, () -> rolePermissions
+                .streamPermissionsForRole(GetPermissionsForRoleRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setRoleId("not-a-uuid")
+                        .build())
+                .collect().asList().await().atMost(TIMEOUT));
+        assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+    }
+
+    @Test
+    void testUnknownUser_IsNotFound() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> userRoles
+                .getRolesForUser(GetRolesForUserRequest.newBuilder()
+                        .setTenantId(tenantId.toString())
+                        .setUserAccountId(UUID.randomUUID().toString())
+                        .build())
+                .await().atMost(TIMEOUT));
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+}
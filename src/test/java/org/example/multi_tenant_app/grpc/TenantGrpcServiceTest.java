@@ -0,0 +1,88 @@
+package org.example.multi_tenant_app.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import org.example.multi_tenant_app.grpc.tenant.GetTenantRequest;
+import org.example.multi_tenant_app.grpc.tenant.ListTenantsRequest;
+import org.example.multi_tenant_app.grpc.tenant.ListTenantsResponse;
+import org.example.multi_tenant_app.grpc.tenant.Tenant;
+import org.example.multi_tenant_app.grpc.tenant.TenantService;
+import org.example.multi_tenant_app.grpc.tenant.UpdateTenantRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class TenantGrpcServiceTest {
+
+    @GrpcClient
+    TenantService tenantService;
+
+    private static UUID persistTenant(String name) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            org.example.multi_tenant_app.data.entities.Tenant tenant =
+                    new org.example.multi_tenant_app.data.entities.Tenant(name, "ACTIVE");
+            tenant.persist();
+            return tenant.id;
+        });
+    }
+
+    @Test
+    void testGetTenant_ReadsDatabaseAndSeesUpdates() {
+        String name = "gRPC Tenant " + UUID.randomUUID();
+        UUID tenantId = persistTenant(name);
+        GetTenantRequest get = GetTenantRequest.newBuilder().setId(tenantId.toString()).build();
+
+        Tenant tenant = tenantService.getTenant(get).await().atMost(Duration.ofSeconds(5));
+        assertEquals(name, tenant.getName());
+        assertEquals("ACTIVE", tenant.getStatus());
+
+        // The cached entry must be evicted by the update.
+        tenantService.updateTenant(UpdateTenantRequest.newBuilder()
+                        .setId(tenantId.toString())
+                        .setStatus("SUSPENDED")
+                        .build())
+                .await().atMost(Duration.ofSeconds(5));
+        assertEquals("SUSPENDED", tenantService.getTenant(get).await().atMost(Duration.ofSeconds(5)).getStatus());
+    }
+
+    @Test
+    void testGetTenant_NotFound() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> tenantService
+                .getTenant(GetTenantRequest.newBuilder().setId(UUID.randomUUID().toString()).build())
+                .await().atMost(Duration.ofSeconds(5)));
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+
+    @Test
+    void testListTenants_PagesThroughAllTenants() {
+        List<UUID> created = List.of(
+                persistTenant("gRPC Paged " + UUID.randomUUID()),
+                persistTenant("gRPC Paged " + UUID.randomUUID()),
+                persistTenant("gRPC Paged " + UUID.randomUUID()));
+
+        List<String> seen = new ArrayList<>();
+        String pageToken = "";
+        do {
+            ListTenantsResponse page = tenantService.listTenants(ListTenantsRequest.newBuilder()
+                            .setPageSize(2)
+                            .setPageToken(pageToken)
+                            .build())
+                    .await().atMost(Duration.ofSeconds(5));
+            assertTrue(page.getTenantsCount() <= 2);
+            page.getTenantsList().forEach(tenant -> seen.add(tenant.getId()));
+            pageToken = page.getNextPageToken();
+        } while (!pageToken.isEmpty());
+
+        assertEquals(seen.size(), seen.stream().distinct().count(), "pages must not overlap");
+        created.forEach(id -> assertTrue(seen.contains(id.toString())));
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.multi_tenant_app.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantIdResolverTest {
+
+    @Test
+    void testParseMatchesUuidFromString() {
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = UUID.randomUUID();
+            assertEquals(id, TenantIdResolver.parseUuid(id.toString()));
+            assertEquals(id, TenantIdResolver.parseUuid(id.toString().toUpperCase()));
+        }
+        assertEquals(new UUID(-1, -1), TenantIdResolver.parseUuid("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+        // Non-canonical forms UUID.fromString accepts keep working.
+        assertEquals(UUID.fromString("1-2-3-4-5"), TenantIdResolver.parseUuid("1-2-3-4-5"));
+    }
+
+    @Test
+    void testParseRejectsInvalidInput() {
+        assertNull(TenantIdResolver.parseUuid(""));
+        assertNull(TenantIdResolver.parseUuid("not-a-uuid"));
+        assertNull(TenantIdResolver.parseUuid("123e4567-e89b-12d3-a456-42661417400g"));
+        assertNull(TenantIdResolver.parseUuid("123e4567+e89b-12d3-a456-426614174000"));
+        assertNull(TenantIdResolver.parseUuid("123e4567-e89b-12d3-a456-42661417400\u00e9"));
+    }
+
+    @Test
+    void testResolveReturnsCachedInstance() {
+        TenantIdResolver resolver = new TenantIdResolver();
+        String raw = UUID.randomUUID().toString();
+        UUID first = resolver.resolve(raw);
+        assertSame(first, resolver.resolve(new String(raw.toCharArray())));
+        assertNull(resolver.resolve("garbage"));
+        assertNull(resolver.resolve(null));
+    }
+}
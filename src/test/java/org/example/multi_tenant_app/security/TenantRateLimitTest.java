@@ -0,0 +1,98 @@
+package org.example.multi_tenant_app.security;
+
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.grpc.GrpcClientUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.grpc.authz.AuthorizationGrpcService;
+import org.example.multi_tenant_app.grpc.authz.CheckPermissionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class TenantRateLimitTest {
+
+    // Configured in the test profile: burst of 3, then one request per 100 s.
+    private static final String TIGHT_TIER = "test-tight";
+
+    @GrpcClient
+    AuthorizationGrpcService authorizationGrpcService;
+
+    private UUID tenantId;
+    private UUID otherTenantId;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = QuarkusTransaction.requiringNew().call(() -> {
+            Tenant tenant = new Tenant("Rate Limited Tenant " + UUID.randomUUID(), "ACTIVE", TIGHT_TIER);
+            tenant.persist();
+            return tenant.id;
+        });
+        otherTenantId = QuarkusTransaction.requiringNew().call(() -> {
+            Tenant tenant = new Tenant("Other Rate Limited Tenant " + UUID.randomUUID(), "ACTIVE", TIGHT_TIER);
+            tenant.persist();
+            return tenant.id;
+        });
+    }
+
+    private io.restassured.response.ValidatableResponse check() {
+        return check(tenantId);
+    }
+
+    private io.restassured.response.ValidatableResponse check(UUID tenantId) {
+        return given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .queryParam("userId", UUID.randomUUID().toString())
+                .queryParam("permission", "user:read")
+                .when()
+                .get("/api/v1/tenants/" + tenantId + "/authz/check")
+                .then();
+    }
+
+    @Test
+    void testRest_RejectsWith429AfterBurst() {
+        for (int i = 0; i < 3; i++) {
+            check().statusCode(200);
+        }
+        check().statusCode(429)
+                .header("Retry-After", notNullValue())
+                .body("code", equalTo("ERR_RATE_LIMITED"));
+
+        // Another tenant on the same tier keeps its own bucket, while the first stays throttled.
+        check(otherTenantId).statusCode(200);
+        check().statusCode(429);
+    }
+
+    @Test
+    void testGrpc_RejectsWithResourceExhaustedAfterBurst() {
+        Metadata headers = new Metadata();
+        headers.put(GrpcTenantIdInterceptor.TENANT_ID_METADATA_KEY, tenantId.toString());
+        AuthorizationGrpcService client = GrpcClientUtils.attachHeaders(authorizationGrpcService, headers);
+        CheckPermissionRequest request = CheckPermissionRequest.newBuilder()
+                .setTenantId(tenantId.toString())
+                .setUserAccountId(UUID.randomUUID().toString())
+                .setPermissionName("user:read")
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(client.checkPermission(request).await().atMost(Duration.ofSeconds(5)).getAllowed());
+        }
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> client.checkPermission(request).await().atMost(Duration.ofSeconds(5)));
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, e.getStatus().getCode());
+        assertNotNull(e.getTrailers());
+        assertNotNull(e.getTrailers().get(GrpcTenantIdInterceptor.RETRY_PUSHBACK_METADATA_KEY));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.multi_tenant_app.security;
+
+import org.example.multi_tenant_app.config.RateLimitConfig;
+import org.example.multi_tenant_app.services.cache.TenantStatusIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantRateLimiterTest {
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    private static TenantRateLimiter rateLimiter(double tenantRate, int tenantBurst, double userRate, int userBurst) {
+        RateLimitConfig.Tier tier = new RateLimitConfig.Tier() {
+            @Override
+            public double tenantRate() {
+                return tenantRate;
+            }
+
+            @Override
+            public int tenantBurst() {
+                return tenantBurst;
+            }
+
+            @Override
+            public double userRate() {
+                return userRate;
+            }
+
+            @Override
+            public int userBurst() {
+                return userBurst;
+            }
+        };
+        TenantRateLimiter rateLimiter = new TenantRateLimiter();
+        rateLimiter.config = new RateLimitConfig() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public String defaultTier() {
+                return "standard";
+            }
+
+            @Override
+            public long maxBuckets() {
+                return 100;
+            }
+
+            @Override
+            public Duration idleTimeout() {
+                return Duration.ofMinutes(10);
+            }
+
+            @Override
+            public Map<String, Tier> tiers() {
+                return Map.of("standard", tier);
+            }
+        };
+        rateLimiter.tenantStatusIndex = new TenantStatusIndex(); // Knows no tenant: default tier
+        rateLimiter.init();
+        return rateLimiter;
+    }
+
+    @Test
+    void testTenantRejection_DoesNotUseTheUserToken() throws InterruptedException {
+        // The tenant refills every 500 ms; the user, with 2 tokens, practically never.
+        TenantRateLimiter rateLimiter = rateLimiter(2, 1, 0.001, 2);
+        assertEquals(0, rateLimiter.tryAcquire(tenantId, "alice"));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.tryAcquire(tenantId, "alice") > 0);
+        }
+
+        Thread.sleep(600);
+
+        // Had the rejected requests taken alice's second token, this would be rejected for her.
+        assertEquals(0, rateLimiter.tryAcquire(tenantId, "alice"));
+        assertEquals(3L, rateLimiter.getStats().get("rejectedTenant"));
+        assertEquals(0L, rateLimiter.getStats().get("rejectedUser"));
+    }
+
+    @Test
+    void testUserRejection_DoesNotUseTheTenantToken() {
+        TenantRateLimiter rateLimiter = rateLimiter(0.001, 2, 0.001, 1);
+        assertEquals(0, rateLimiter.tryAcquire(tenantId, "alice"));
+        assertTrue(rateLimiter.tryAcquire(tenantId, "alice") > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire(tenantId, "bob"));
+        assertTrue(rateLimiter.tryAcquire(tenantId, "carol") > 0);
+        assertEquals(1L, rateLimiter.getStats().get("rejectedUser"));
+        assertEquals(1L, rateLimiter.getStats().get("rejectedTenant"));
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.multi_tenant_app.security;
+
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.grpc.GrpcClientUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.grpc.authz.AuthorizationGrpcService;
+import org.example.multi_tenant_app.grpc.authz.CheckPermissionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class TenantStatusRejectionTest {
+
+    @GrpcClient
+    AuthorizationGrpcService authorizationGrpcService;
+
+    private UUID activeTenantId;
+    private UUID suspendedTenantId;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant active = new Tenant("Active Tenant " + UUID.randomUUID(), "ACTIVE");
+            active.persist();
+            Tenant suspended = new Tenant("Suspended Tenant " + UUID.randomUUID(), "SUSPENDED");
+            suspended.persist();
+            activeTenantId = active.id;
+            suspendedTenantId = suspended.id;
+        });
+    }
+
+    private io.restassured.response.ValidatableResponse checkAs(UUID headerTenantId) {
+        return given()
+                .header("X-Tenant-ID", headerTenantId.toString())
+                .queryParam("userId", UUID.randomUUID().toString())
+                .queryParam("permission", "user:read")
+                .when()
+                .get("/api/v1/tenants/" + activeTenantId + "/authz/check")
+                .then();
+    }
+
+    @Test
+    void testRest_RejectsUnknownAndSuspendedTenants() {
+        checkAs(activeTenantId).statusCode(200);
+        checkAs(UUID.randomUUID()).statusCode(404).body("code", equalTo("TEN_003"));
+        checkAs(suspendedTenantId).statusCode(400).body("code", equalTo("TEN_005"));
+    }
+
+    @Test
+    @TestSecurity(user = "testUser", roles = {"user"})
+    void testRest_SuspensionTakesEffectOnCommit() {
+        checkAs(activeTenantId).statusCode(200);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("status", "SUSPENDED"))
+                .when()
+                .put("/api/v1/tenants/" + activeTenantId)
+                .then()
+                .statusCode(200);
+
+        checkAs(activeTenantId).statusCode(400).body("code", equalTo("TEN_005"));
+    }
+
+    private Status.Code grpcCheckAs(UUID headerTenantId) {
+        Metadata headers = new Metadata();
+        headers.put(GrpcTenantIdInterceptor.TENANT_ID_METADATA_KEY, headerTenantId.toString());
+        AuthorizationGrpcService client = GrpcClientUtils.attachHeaders(authorizationGrpcService, headers);
+        CheckPermissionRequest request = CheckPermissionRequest.newBuilder()
+                .setTenantId(activeTenantId.toString())
+                .setUserAccountId(UUID.randomUUID().toString())
+                .setPermissionName("user:read")
+                .build();
+        try {
+            client.checkPermission(request).await().atMost(Duration.ofSeconds(5));
+            return Status.Code.OK;
+        } catch (StatusRuntimeException e) {
+            return e.getStatus().getCode();
+        }
+    }
+
+    @Test
+    void testGrpc_RejectsUnknownAndSuspendedTenants() {
+        assertEquals(Status.Code.OK, grpcCheckAs(activeTenantId));
+        assertEquals(Status.Code.NOT_FOUND, grpcCheckAs(UUID.randomUUID()));
+        assertEquals(Status.Code.FAILED_PRECONDITION, grpcCheckAs(suspendedTenantId));
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.multi_tenant_app.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testBurstThenSustainedRate() {
+        // 10 per second, burst of 5
+        TokenBucket bucket = new TokenBucket(TokenBucket.Limits.of(10, 5), 0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0), "request " + i + " of the burst");
+        }
+        long wait = bucket.tryAcquire(0);
+        assertEquals(SECOND / 10, wait);
+        assertTrue(bucket.tryAcquire(wait - 1) > 0);
+        assertEquals(0, bucket.tryAcquire(wait));
+        assertTrue(bucket.tryAcquire(wait) > 0);
+    }
+
+    @Test
+    void testIdleBucketRefillsOnlyUpToBurst() {
+        TokenBucket bucket = new TokenBucket(TokenBucket.Limits.of(10, 2), 0);
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void testRefundReturnsTheTokenButNotMoreThanTheBurst() {
+        TokenBucket bucket = new TokenBucket(TokenBucket.Limits.of(10, 2), 0);
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        bucket.refund();
+        assertEquals(0, bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0) > 0);
+
+        // Refunded while full: still only the burst.
+        long later = 60 * SECOND;
+        bucket.refund();
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void testLimitsDefaults() {
+        assertNull(TokenBucket.Limits.of(0, 10));
+        TokenBucket.Limits limits = TokenBucket.Limits.of(2.5, 0);
+        assertEquals(400_000_000L, limits.emissionIntervalNanos());
+        assertEquals(3 * 400_000_000L, limits.burstToleranceNanos()); // One second's worth, rounded up
+    }
+
+    @Test
+    void testConcurrentAcquireNeverExceedsBurst() throws InterruptedException {
+        int burst = 1_000;
+        TokenBucket bucket = new TokenBucket(TokenBucket.Limits.of(0.001, burst), 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(burst, granted.get());
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.multi_tenant_app.services;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.RbacOutboxEvent;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.web.dtos.AssignmentDiffDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replace-semantics writes: only the difference is written, and an unchanged set costs a single
+ * read with no writes and no change events (counted through the outbox).
+ */
+@QuarkusTest
+class AssignmentSetTest {
+
+    @Inject
+    UserRoleAssignmentService userRoleAssignmentService;
+
+    @Inject
+    RolePermissionAssignmentService rolePermissionAssignmentService;
+
+    @Inject
+    TenantContext tenantContext;
+
+    private ManagedContext requestContext;
+    private UUID tenantId;
+    private UUID userId;
+    private UUID editorId;
+    private UUID viewerId;
+    private UUID auditorId;
+    private UUID userReadId;
+    private UUID userUpdateId;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Set Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "heidi", "heidi@example.org");
+            user.persist();
+            Role editor = new Role(tenant.id, "editor", "Edits things", false);
+            editor.persist();
+            Role viewer = new Role(tenant.id, "viewer", "Views things", false);
+            viewer.persist();
+            Role auditor = new Role(tenant.id, "auditor", "Audits things", false);
+            auditor.persist();
+            new UserRoleAssignment(tenant.id, user.id, editor.id).persist();
+            new UserRoleAssignment(tenant.id, user.id, viewer.id).persist();
+            userReadId = Permission.<Permission>find("name", "user:read").firstResult().id;
+            userUpdateId = Permission.<Permission>find("name", "user:update").firstResult().id;
+            new RolePermissionAssignment(tenant.id, editor.id, userReadId).persist();
+            new RolePermissionAssignment(tenant.id, editor.id, "user:*").persist();
+            tenantId = tenant.id;
+            userId = user.id;
+            editorId = editor.id;
+            viewerId = viewer.id;
+            auditorId = auditor.id;
+        });
+        requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        tenantContext.setCurrentTenantId(tenantId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestContext.terminate();
+    }
+
+    private long outboxRows() {
+        return QuarkusTransaction.requiringNew().call(() -> RbacOutboxEvent.count("tenantId", tenantId));
+    }
+
+    private Set<UUID> assignedRoles() {
+        return QuarkusTransaction.requiringNew().call(() -> UserRoleAssignment.<UserRoleAssignment>list("tenantId = ?1 and userAccountId = ?2", tenantId, userId)
+                .stream().map(a -> a.roleId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testSetRolesForUser_WritesOnlyTheDifference() {
+        AssignmentDiffDTO diff = userRoleAssignmentService.setRolesForUser(userId, List.of(editorId, auditorId));
+
+        assertEquals(List.of(auditorId), diff.getAdded());
+        assertEquals(List.of(viewerId), diff.getRemoved());
+        assertEquals(1, diff.getUnchanged());
+        assertEquals(Set.of(editorId, auditorId), assignedRoles());
+        assertEquals(2L, outboxRows()); // One CREATED, one DELETED
+    }
+
+    @Test
+    void testSetRolesForUser_UnchangedSetWritesNothing() {
+        List<AssignmentDiffDTO> diffs = new ArrayList<>();
+        List<String> statements = StatementCounter.record(
+                () -> diffs.add(userRoleAssignmentService.setRolesForUser(userId, List.of(viewerId, editorId))));
+
+        assertEquals(1, statements.size(), () -> "Statements: " + statements);
+        assertTrue(diffs.get(0).getAdded().isEmpty());
+        assertTrue(diffs.get(0).getRemoved().isEmpty());
+        assertEquals(2, diffs.get(0).getUnchanged());
+        assertEquals(0L, outboxRows());
+    }
+
+    @Test
+    void testSetRolesForUser_UnknownRoleChangesNothing() {
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> userRoleAssignmentService.setRolesForUser(userId, List.of(auditorId, UUID.randomUUID())));
+        assertEquals(ErrorCode.ROLE_NOT_FOUND, e.getErrorCode());
+        assertEquals(Set.of(editorId, viewerId), assignedRoles());
+
+        ServiceException unknownUser = assertThrows(ServiceException.class,
+                () -> userRoleAssignmentService.setRolesForUser(UUID.randomUUID(), List.of(editorId)));
+        assertEquals(ErrorCode.USER_NOT_FOUND, unknownUser.getErrorCode());
+    }
+
+    @Test
+    void testSetPermissionsForRole_KeepsPatternsAndSkipsUnchanged() {
+        AssignmentDiffDTO diff = rolePermissionAssignmentService.setPermissionsForRole(editorId, List.of(userUpdateId));
+        assertEquals(List.of(userUpdateId), diff.getAdded());
+        assertEquals(List.of(userReadId), diff.getRemoved());
+        assertEquals(List.of("user:*"), QuarkusTransaction.requiringNew().call(() -> RolePermissionAssignment
+                .<RolePermissionAssignment>list("tenantId = ?1 and roleId = ?2 and permissionId is null", tenantId, editorId)
+                .stream().map(a -> a.permissionPattern).toList()));
+
+        long outboxBefore = outboxRows();
+        List<String> statements = StatementCounter.record(
+                () -> rolePermissionAssignmentService.setPermissionsForRole(editorId, List.of(userUpdateId)));
+        assertEquals(1, statements.size(), () -> "Statements: " + statements);
+        assertEquals(outboxBefore, outboxRows());
+
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> rolePermissionAssignmentService.setPermissionsForRole(editorId, List.of(UUID.randomUUID())));
+        assertEquals(ErrorCode.PERMISSION_NOT_FOUND, e.getErrorCode());
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.multi_tenant_app.services;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.RbacOutboxEvent;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.web.dtos.RolePermissionAssignmentDTO;
+import org.example.multi_tenant_app.web.dtos.UserRoleAssignmentDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assignments are written without looking anything up first: one statement on the assignment
+ * table, with the tenant-scoped foreign keys rejecting users, roles and permissions the tenant
+ * cannot use.
+ */
+@QuarkusTest
+class AssignmentUpsertTest {
+
+    @Inject
+    UserRoleAssignmentService userRoleAssignmentService;
+
+    @Inject
+    RolePermissionAssignmentService rolePermissionAssignmentService;
+
+    @Inject
+    TenantContext tenantContext;
+
+    private ManagedContext requestContext;
+    private UUID tenantId;
+    private UUID userId;
+    private UUID roleId;
+    private UUID otherTenantUserId;
+    private UUID otherTenantRoleId;
+    private UUID permissionId;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Upsert Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            Tenant otherTenant = new Tenant("Upsert Other Tenant " + UUID.randomUUID(), "ACTIVE");
+            otherTenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "frank", "frank@example.org");
+            user.persist();
+            UserAccount otherTenantUser = new UserAccount(otherTenant.id, "grace", "grace@example.org");
+            otherTenantUser.persist();
+            Role role = new Role(tenant.id, "editor", "Edits things", false);
+            role.persist();
+            Role otherTenantRole = new Role(otherTenant.id, "editor", "Edits other things", false);
+            otherTenantRole.persist();
+            tenantId = tenant.id;
+            userId = user.id;
+            roleId = role.id;
+            otherTenantUserId = otherTenantUser.id;
+            otherTenantRoleId = otherTenantRole.id;
+            permissionId = Permission.<Permission>find("name", "user:read").firstResult().id;
+        });
+        requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        tenantContext.setCurrentTenantId(tenantId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestContext.terminate();
+    }
+
+    // The outbox row written for the CREATED event is not part of the assignment itself.
+    private static List<String> assignmentStatements(List<String> statements) {
+        return statements.stream().filter(sql -> !sql.contains("rbac_outbox")).toList();
+    }
+
+    @Test
+    void testAssignRoleToUser_OneStatementAndIdempotent() {
+        List<UserRoleAssignmentDTO> created = new ArrayList<>();
+        List<String> statements = StatementCounter.record(
+                () -> created.add(userRoleAssignmentService.assignRoleToUser(userId, roleId)));
+
+        assertEquals(1, assignmentStatements(statements).size(), () -> "Statements: " + statements);
+        assertEquals(1L, QuarkusTransaction.requiringNew().call(() -> RbacOutboxEvent.count("tenantId", tenantId)));
+
+        UserRoleAssignmentDTO again = userRoleAssignmentService.assignRoleToUser(userId, roleId);
+        assertEquals(created.get(0).getId(), again.getId());
+        assertEquals(created.get(0).getAssignedAt(), again.getAssignedAt());
+        assertEquals(1L, QuarkusTransaction.requiringNew().call(
+                () -> UserRoleAssignment.count("tenantId = ?1 and userAccountId = ?2", tenantId, userId)));
+        // No second CREATED event for an assignment that already existed.
+        assertEquals(1L, QuarkusTransaction.requiringNew().call(() -> RbacOutboxEvent.count("tenantId", tenantId)));
+    }
+
+    @Test
+    void testAssignRoleToUser_RejectsUnknownAndCrossTenantIds() {
+        assertErrorCode(ErrorCode.ROLE_NOT_FOUND, () -> userRoleAssignmentService.assignRoleToUser(userId, otherTenantRoleId));
+        assertErrorCode(ErrorCode.ROLE_NOT_FOUND, () -> userRoleAssignmentService.assignRoleToUser(userId, UUID.randomUUID()));
+        assertErrorCode(ErrorCode.USER_NOT_FOUND, () -> userRoleAssignmentService.assignRoleToUser(otherTenantUserId, roleId));
+        assertErrorCode(ErrorCode.USER_NOT_FOUND, () -> userRoleAssignmentService.assignRoleToUser(UUID.randomUUID(), roleId));
+        assertEquals(0L, QuarkusTransaction.requiringNew().call(() -> RbacOutboxEvent.count("tenantId", tenantId)));
+    }
+
+    @Test
+    void testAssignPermissionToRole_OneStatementAndRejectsUnknownIds() {
+        List<RolePermissionAssignmentDTO> created = new ArrayList<>();
+        List<String> statements = StatementCounter.record(
+                () -> created.add(rolePermissionAssignmentService.assignPermissionToRole(roleId, permissionId)));
+
+        assertEquals(1, assignmentStatements(statements).size(), () -> "Statements: " + statements);
+        assertEquals(created.get(0).getId(), rolePermissionAssignmentService.assignPermissionToRole(roleId, permissionId).getId());
+
+        assertErrorCode(ErrorCode.PERMISSION_NOT_FOUND,
+                () -> rolePermissionAssignmentService.assignPermissionToRole(roleId, UUID.randomUUID()));
+        assertErrorCode(ErrorCode.ROLE_NOT_FOUND,
+                () -> rolePermissionAssignmentService.assignPermissionToRole(otherTenantRoleId, permissionId));
+    }
+
+    private static void assertErrorCode(ErrorCode expected, Runnable assignment) {
+        ServiceException e = assertThrows(ServiceException.class, assignment::run);
+        assertEquals(expected, e.getErrorCode());
+        assertEquals(404, e.getHttpStatus().getStatusCode());
+    }
+}
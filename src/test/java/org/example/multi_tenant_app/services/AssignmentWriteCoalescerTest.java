@@ -0,0 +1,135 @@
+package org.example.multi_tenant_app.services;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.data.entities.RbacOutboxEvent;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.example.multi_tenant_app.exceptions.ErrorCode;
+import org.example.multi_tenant_app.exceptions.ServiceException;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.web.dtos.UserRoleAssignmentDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs with rbac.write-coalescing enabled and a 20 ms window, so writes queued back to back here
+ * are committed in one transaction. The other tests keep the default, uncoalesced assign path.
+ */
+@QuarkusTest
+@TestProfile(AssignmentWriteCoalescerTest.CoalescingProfile.class)
+class AssignmentWriteCoalescerTest {
+
+    public static class CoalescingProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "rbac.write-coalescing.enabled", "true",
+                    "rbac.write-coalescing.max-delay", "20ms");
+        }
+    }
+
+    private static final int ROLES = 5;
+
+    @Inject
+    AssignmentWriteCoalescer assignmentWriteCoalescer;
+
+    @Inject
+    TenantContext tenantContext;
+
+    private ManagedContext requestContext;
+    private UUID tenantId;
+    private UUID userId;
+    private final List<UUID> roleIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        roleIds.clear();
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Coalescer Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "ivan", "ivan@example.org");
+            user.persist();
+            for (int i = 0; i < ROLES; i++) {
+                Role role = new Role(tenant.id, "role-" + i, "Coalesced role", false);
+                role.persist();
+                roleIds.add(role.id);
+            }
+            tenantId = tenant.id;
+            userId = user.id;
+        });
+        requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        tenantContext.setCurrentTenantId(tenantId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestContext.terminate();
+    }
+
+    private long stat(String name) {
+        return assignmentWriteCoalescer.getStats().get(name);
+    }
+
+    private CompletableFuture<UserRoleAssignmentDTO> assign(UUID roleId) {
+        return assignmentWriteCoalescer.assignRoleToUser(userId, roleId).subscribeAsCompletionStage();
+    }
+
+    @Test
+    void testFailedWriteDoesNotFailTheBatch() throws Exception {
+        assertTrue(assignmentWriteCoalescer.isEnabled());
+        long batches = stat("batches");
+        long fallbacks = stat("fallbacks");
+        List<CompletableFuture<UserRoleAssignmentDTO>> assigned = new ArrayList<>();
+        assigned.add(assign(roleIds.get(0)));
+        CompletableFuture<UserRoleAssignmentDTO> unknownRole = assign(UUID.randomUUID());
+        for (int i = 1; i < ROLES; i++) {
+            assigned.add(assign(roleIds.get(i)));
+        }
+
+        for (int i = 0; i < ROLES; i++) {
+            UserRoleAssignmentDTO dto = assigned.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals(roleIds.get(i), dto.getRoleId());
+            assertEquals(tenantId, dto.getTenantId());
+        }
+        ExecutionException e = assertThrows(ExecutionException.class, () -> unknownRole.get(5, TimeUnit.SECONDS));
+        ServiceException cause = assertInstanceOf(ServiceException.class, e.getCause());
+        assertEquals(ErrorCode.ROLE_NOT_FOUND, cause.getErrorCode());
+        // The failed write was rolled back to its savepoint: one commit, no write-by-write retry.
+        assertEquals(batches + 1, stat("batches"));
+        assertEquals(fallbacks, stat("fallbacks"));
+
+        assertEquals((long) ROLES, QuarkusTransaction.requiringNew().call(
+                () -> UserRoleAssignment.count("tenantId = ?1 and userAccountId = ?2", tenantId, userId)));
+        // One CREATED event, and with it one outbox row, per assignment that was written.
+        assertEquals((long) ROLES, QuarkusTransaction.requiringNew().call(() -> RbacOutboxEvent.count("tenantId", tenantId)));
+    }
+
+    @Test
+    void testRepeatedWriteInOneBatchIsIdempotent() throws Exception {
+        CompletableFuture<UserRoleAssignmentDTO> first = assign(roleIds.get(0));
+        CompletableFuture<UserRoleAssignmentDTO> second = assign(roleIds.get(0));
+
+        assertEquals(first.get(5, TimeUnit.SECONDS).getId(), second.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1L, QuarkusTransaction.requiringNew().call(() -> RbacOutboxEvent.count("tenantId", tenantId)));
+    }
+}
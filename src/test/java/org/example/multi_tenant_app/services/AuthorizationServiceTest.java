@@ -0,0 +1,86 @@
+package org.example.multi_tenant_app.services;
+
+import org.example.multi_tenant_app.services.authz.AuthorizationSnapshotLoader;
+import org.example.multi_tenant_app.services.authz.TenantAuthorizationSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorizationServiceTest {
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseLoad = new CountDownLatch(1);
+
+    private AuthorizationService authorizationService;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        authorizationService = new AuthorizationService();
+        authorizationService.snapshotLoader = new AuthorizationSnapshotLoader() {
+            @Override
+            public TenantAuthorizationSnapshot load(UUID tenantId) {
+                loads.incrementAndGet();
+                loadStarted.countDown();
+                try {
+                    assertTrue(releaseLoad.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return TenantAuthorizationSnapshot.compile(tenantId, null, Map.of(), Map.of(), Map.of());
+            }
+        };
+        callers = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentMisses_ShareOneCompile() throws Exception {
+        Future<TenantAuthorizationSnapshot> first = callers.submit(() -> authorizationService.getSnapshot(tenantId));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        Future<TenantAuthorizationSnapshot> second = callers.submit(() -> authorizationService.getSnapshot(tenantId));
+        Future<TenantAuthorizationSnapshot> third = callers.submit(() -> authorizationService.getSnapshot(tenantId));
+        Thread.sleep(100); // Let them reach the compile in flight
+
+        releaseLoad.countDown();
+
+        TenantAuthorizationSnapshot snapshot = first.get(5, TimeUnit.SECONDS);
+        assertSame(snapshot, second.get(5, TimeUnit.SECONDS));
+        assertSame(snapshot, third.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertSame(snapshot, authorizationService.getCompiledSnapshot(tenantId));
+    }
+
+    @Test
+    void testMissAfterInvalidation_DoesNotJoinStaleCompile() throws Exception {
+        Future<TenantAuthorizationSnapshot> stale = callers.submit(() -> authorizationService.getSnapshot(tenantId));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        authorizationService.invalidateTenant(tenantId);
+        Future<TenantAuthorizationSnapshot> fresh = callers.submit(() -> authorizationService.getSnapshot(tenantId));
+        Thread.sleep(100);
+
+        releaseLoad.countDown();
+
+        stale.get(5, TimeUnit.SECONDS);
+        TenantAuthorizationSnapshot snapshot = fresh.get(5, TimeUnit.SECONDS);
+        assertEquals(2, loads.get());
+        assertSame(snapshot, authorizationService.getCompiledSnapshot(tenantId));
+    }
+}
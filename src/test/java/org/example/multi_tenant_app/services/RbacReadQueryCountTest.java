@@ -0,0 +1,141 @@
+package org.example.multi_tenant_app.services;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.example.multi_tenant_app.services.cache.RbacReadCache;
+import org.example.multi_tenant_app.web.dtos.PermissionDTO;
+import org.example.multi_tenant_app.web.dtos.RoleDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round trips per uncached read on the hottest RBAC endpoints, counted with {@link StatementCounter}.
+ */
+@QuarkusTest
+class RbacReadQueryCountTest {
+
+    @Inject
+    UserRoleAssignmentService userRoleAssignmentService;
+
+    @Inject
+    RolePermissionAssignmentService rolePermissionAssignmentService;
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Inject
+    RbacReadCache rbacReadCache;
+
+    private ManagedContext requestContext;
+    private UUID tenantId;
+    private UUID userId;
+    private UUID userWithoutRolesId;
+    private UUID roleId;
+    private UUID otherRoleId;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Query Count Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "dave", "dave@example.org");
+            user.persist();
+            UserAccount userWithoutRoles = new UserAccount(tenant.id, "erin", "erin@example.org");
+            userWithoutRoles.persist();
+            Role role = new Role(tenant.id, "editor", "Edits things", false);
+            role.persist();
+            Role otherRole = new Role(tenant.id, "viewer", "Views things", false);
+            otherRole.persist();
+            new UserRoleAssignment(tenant.id, user.id, role.id).persist();
+            new UserRoleAssignment(tenant.id, user.id, otherRole.id).persist();
+            for (String name : List.of("user:read", "user:update")) {
+                new RolePermissionAssignment(tenant.id, role.id,
+                        Permission.<Permission>find("name", name).firstResult().id).persist();
+            }
+            new RolePermissionAssignment(tenant.id, role.id, "user:*").persist();
+            tenantId = tenant.id;
+            userId = user.id;
+            userWithoutRolesId = userWithoutRoles.id;
+            roleId = role.id;
+            otherRoleId = otherRole.id;
+        });
+        requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        tenantContext.setCurrentTenantId(tenantId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestContext.terminate();
+    }
+
+    @Test
+    void testRolesForUser_OneStatementWhenUncached() {
+        List<RoleDTO> roles = new ArrayList<>();
+        List<String> statements = StatementCounter.record(
+                () -> roles.addAll(userRoleAssignmentService.getRolesForUser(userId)));
+
+        assertEquals(1, statements.size(), () -> "Statements: " + statements);
+        assertEquals(Set.of("editor", "viewer"), roles.stream().map(RoleDTO::getName).collect(Collectors.toSet()));
+
+        // Everything is cached now.
+        assertEquals(0, StatementCounter.record(() -> userRoleAssignmentService.getRolesForUser(userId)).size());
+    }
+
+    @Test
+    void testRolesForUser_OneStatementForEvictedRoles() {
+        userRoleAssignmentService.getRolesForUser(userId);
+        rbacReadCache.invalidate(RbacReadCache.Region.ROLES, tenantId, otherRoleId);
+
+        List<String> statements = StatementCounter.record(() -> assertEquals(2,
+                userRoleAssignmentService.getRolesForUser(userId).size()));
+        assertEquals(1, statements.size(), () -> "Statements: " + statements);
+    }
+
+    @Test
+    void testRolesForUser_UserWithoutRolesAndUnknownUser() {
+        List<String> statements = StatementCounter.record(
+                () -> assertEquals(List.of(), userRoleAssignmentService.getRolesForUser(userWithoutRolesId)));
+        assertEquals(1, statements.size(), () -> "Statements: " + statements);
+
+        assertThrows(NotFoundException.class, () -> userRoleAssignmentService.getRolesForUser(UUID.randomUUID()));
+    }
+
+    @Test
+    void testPermissionsForRole_OneStatementWhenUncached() {
+        List<PermissionDTO> permissions = new ArrayList<>();
+        List<String> statements = StatementCounter.record(
+                () -> permissions.addAll(rolePermissionAssignmentService.getPermissionsForRole(roleId)));
+
+        assertEquals(1, statements.size(), () -> "Statements: " + statements);
+        // The "user:*" wildcard grant is not a catalog permission and is not listed.
+        assertEquals(Set.of("user:read", "user:update"),
+                permissions.stream().map(PermissionDTO::getName).collect(Collectors.toSet()));
+
+        List<String> withoutPermissions = StatementCounter.record(
+                () -> assertEquals(List.of(), rolePermissionAssignmentService.getPermissionsForRole(otherRoleId)));
+        assertEquals(1, withoutPermissions.size(), () -> "Statements: " + withoutPermissions);
+
+        assertThrows(NotFoundException.class, () -> rolePermissionAssignmentService.getPermissionsForRole(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.multi_tenant_app.services;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test-only {@link StatementInspector} that records the SQL Hibernate prepares on the calling
+ * thread inside {@link #record}, so background jobs (outbox relay, status index polls) running
+ * at the same time do not skew query-count assertions.
+ */
+@PersistenceUnitExtension
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * @return the statements {@code work} prepared on this thread
+     */
+    public static List<String> record(Runnable work) {
+        List<String> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            work.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return statements;
+    }
+}
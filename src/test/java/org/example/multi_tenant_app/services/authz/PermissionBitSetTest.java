@@ -0,0 +1,39 @@
+package org.example.multi_tenant_app.services.authz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionBitSetTest {
+
+    private static PermissionBitSet of(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return PermissionBitSet.of(bits);
+    }
+
+    @Test
+    void testContains() {
+        PermissionBitSet set = of(0, 3, 64, 130);
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(64));
+        assertTrue(set.contains(130));
+        assertFalse(set.contains(1));
+        assertFalse(set.contains(65));
+        assertFalse(set.contains(1_000)); // Beyond the last word
+        assertFalse(set.contains(PermissionRegistry.UNKNOWN));
+    }
+
+    @Test
+    void testOrIsUnionAndCanonical() {
+        PermissionBitSet union = of(1, 70).or(of(2));
+        assertEquals(of(1, 2, 70), union);
+        assertEquals(of(1, 2, 70).hashCode(), union.hashCode());
+        assertSame(PermissionBitSet.EMPTY, PermissionBitSet.EMPTY.or(PermissionBitSet.EMPTY));
+        assertTrue(of().isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.multi_tenant_app.services.authz;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WildcardPermissionMatcherTest {
+
+    private static BitSet matches(WildcardPermissionMatcher matcher, String name) {
+        return matcher.match(name).toBitSet();
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    @Test
+    void testWildcardMatchesExactlyOneSegment() {
+        WildcardPermissionMatcher matcher = WildcardPermissionMatcher.compile(List.of("user:*"));
+        assertEquals(bits(0), matches(matcher, "user:create"));
+        assertEquals(bits(0), matches(matcher, "user:manage_permissions"));
+        assertEquals(bits(), matches(matcher, "user"));
+        assertEquals(bits(), matches(matcher, "user:"));          // '*' needs a non-empty segment
+        assertEquals(bits(), matches(matcher, "user:create:all"));
+        assertEquals(bits(), matches(matcher, "users:create"));
+        assertEquals(bits(), matches(matcher, "role:create"));
+    }
+
+    @Test
+    void testSeparatorsAreDistinct() {
+        WildcardPermissionMatcher matcher = WildcardPermissionMatcher.compile(List.of("document:folder/*:read"));
+        assertEquals(bits(0), matches(matcher, "document:folder/reports:read"));
+        assertEquals(bits(), matches(matcher, "document:folder:reports:read"));
+        assertEquals(bits(), matches(matcher, "document:folder/reports/q1:read"));
+        assertEquals(bits(), matches(matcher, "document:folder/reports:write"));
+    }
+
+    @Test
+    void testOverlappingLiteralAndWildcardPatterns() {
+        WildcardPermissionMatcher matcher = WildcardPermissionMatcher.compile(
+                List.of("user:create", "user:*", "*:create", "*:*", "document:*:read"));
+        assertEquals(bits(0, 1, 2, 3), matches(matcher, "user:create"));
+        assertEquals(bits(1, 3), matches(matcher, "user:delete"));
+        assertEquals(bits(2, 3), matches(matcher, "role:create"));
+        assertEquals(bits(3), matches(matcher, "role:delete"));
+        assertEquals(bits(), matches(matcher, "document:x:read:all"));
+        assertEquals(bits(4), matches(matcher, "document:x:read"));
+        assertEquals(bits(), matches(matcher, ""));
+    }
+
+    @Test
+    void testAgreesWithNaiveMatchingOnManyPatterns() {
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            patterns.add("res" + (i % 20) + ":" + (i % 3 == 0 ? "*" : "act" + (i % 7)) + (i % 5 == 0 ? "/*" : ""));
+        }
+        WildcardPermissionMatcher matcher = WildcardPermissionMatcher.compile(patterns);
+        for (int r = 0; r < 25; r++) {
+            for (int a = 0; a < 9; a++) {
+                for (String suffix : new String[] {"", "/x", "/x/y"}) {
+                    String name = "res" + r + ":act" + a + suffix;
+                    BitSet expected = new BitSet();
+                    for (int i = 0; i < patterns.size(); i++) {
+                        if (name.matches(patterns.get(i).replace("*", "[^:/]+"))) {
+                            expected.set(i);
+                        }
+                    }
+                    assertEquals(expected, matches(matcher, name), name);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testValidatePattern() {
+        WildcardPermissionMatcher.validatePattern("user:*");
+        WildcardPermissionMatcher.validatePattern("*");
+        WildcardPermissionMatcher.validatePattern("user:create");
+        assertThrows(IllegalArgumentException.class, () -> WildcardPermissionMatcher.validatePattern("user:cre*"));
+        assertThrows(IllegalArgumentException.class, () -> WildcardPermissionMatcher.validatePattern("**"));
+        assertThrows(IllegalArgumentException.class, () -> WildcardPermissionMatcher.validatePattern(" "));
+        assertThrows(IllegalArgumentException.class, () -> WildcardPermissionMatcher.validatePattern("a".repeat(256)));
+    }
+
+    @Test
+    void testEmptyMatcher() {
+        assertSame(PermissionBitSet.EMPTY, WildcardPermissionMatcher.EMPTY.match("user:create"));
+        assertEquals(0, WildcardPermissionMatcher.compile(List.of()).getPatternCount());
+    }
+}
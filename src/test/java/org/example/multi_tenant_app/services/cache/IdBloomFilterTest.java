@@ -0,0 +1,65 @@
+package org.example.multi_tenant_app.services.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        IdBloomFilter filter = IdBloomFilter.create(10_000, 0.01);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            filter.put(id);
+        }
+        for (UUID id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateIsNearTarget() {
+        IdBloomFilter filter = IdBloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID());
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "False positive rate too high: " + falsePositives / 100_000.0);
+    }
+
+    @Test
+    void testSequentialIdsAreSpread() {
+        // Non-random UUIDs (e.g. generated by a sequence) must not collapse onto a few bits.
+        IdBloomFilter filter = IdBloomFilter.create(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put(new UUID(0, i));
+        }
+        int falsePositives = 0;
+        for (int i = 1_000; i < 11_000; i++) {
+            if (filter.mightContain(new UUID(0, i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "False positive rate too high: " + falsePositives / 10_000.0);
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        IdBloomFilter filter = IdBloomFilter.create(0, 0.01);
+        assertFalse(filter.mightContain(UUID.randomUUID()));
+        assertTrue(filter.getBitCount() >= 64);
+        assertThrows(IllegalArgumentException.class, () -> IdBloomFilter.create(10, 1.0));
+    }
+}
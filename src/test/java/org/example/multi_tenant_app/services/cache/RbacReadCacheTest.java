@@ -0,0 +1,76 @@
+package org.example.multi_tenant_app.services.cache;
+
+import org.example.multi_tenant_app.config.RbacCacheConfig;
+import org.example.multi_tenant_app.services.cache.RbacReadCache.Region;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RbacReadCacheTest {
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID otherTenantId = UUID.randomUUID();
+    private final UUID roleId = UUID.randomUUID();
+
+    private RbacReadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RbacReadCache();
+        cache.config = new RbacCacheConfig() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public long maxEntries() {
+                return 100;
+            }
+
+            @Override
+            public Duration ttl() {
+                return Duration.ofMinutes(10);
+            }
+        };
+        cache.init();
+    }
+
+    @Test
+    void testFillIsDroppedAfterAnInvalidationInItsTenant() {
+        long generation = cache.generation(Region.ROLES, tenantId);
+        cache.invalidate(Region.ROLES, tenantId, UUID.randomUUID());
+
+        cache.putIfUnchanged(Region.ROLES, tenantId, roleId, "stale", generation);
+
+        assertNull(cache.getIfPresent(Region.ROLES, tenantId, roleId));
+    }
+
+    @Test
+    void testFillIsKeptAfterAnInvalidationInAnotherTenant() {
+        long generation = cache.generation(Region.ROLES, tenantId);
+        cache.invalidate(Region.ROLES, otherTenantId, roleId);
+        cache.invalidateTenant(otherTenantId);
+
+        cache.putIfUnchanged(Region.ROLES, tenantId, roleId, "fresh", generation);
+
+        assertEquals("fresh", cache.getIfPresent(Region.ROLES, tenantId, roleId));
+    }
+
+    @Test
+    void testTenantInvalidationDropsEveryRegion() {
+        long generation = cache.generation(Region.ROLE_PERMISSIONS, tenantId);
+        cache.putIfUnchanged(Region.ROLES, tenantId, roleId, "role", cache.generation(Region.ROLES, tenantId));
+
+        cache.invalidateTenant(tenantId);
+        cache.putIfUnchanged(Region.ROLE_PERMISSIONS, tenantId, roleId, "stale", generation);
+
+        assertNull(cache.getIfPresent(Region.ROLES, tenantId, roleId));
+        assertNull(cache.getIfPresent(Region.ROLE_PERMISSIONS, tenantId, roleId));
+        assertEquals(1L, cache.getStats().get(Region.ROLES.name()).get("invalidations"));
+    }
+}
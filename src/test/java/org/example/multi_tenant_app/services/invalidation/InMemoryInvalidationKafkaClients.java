@@ -0,0 +1,85 @@
+package org.example.multi_tenant_app.services.invalidation;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Kafka stand-in for tests: published records are captured by a {@link MockProducer}
+ * and records "from other nodes" are injected into the {@link MockConsumer} with {@link #deliver}.
+ */
+@Alternative
+@Priority(1)
+@ApplicationScoped
+public class InMemoryInvalidationKafkaClients extends InvalidationKafkaClients {
+
+    private static final TopicPartition PARTITION = new TopicPartition("rbac-invalidations", 0);
+
+    private final MockProducer<String, byte[]> producer =
+            new MockProducer<>(true, null, new StringSerializer(), new ByteArraySerializer());
+    private final IdleMockConsumer consumer = new IdleMockConsumer();
+    private final AtomicLong nextOffset = new AtomicLong();
+
+    @Override
+    public Producer<String, byte[]> createProducer() {
+        return producer;
+    }
+
+    @Override
+    public Consumer<String, byte[]> createConsumer(String nodeId) {
+        // What the listener looks up before it assigns itself the topic and seeks to the end.
+        consumer.updatePartitions(PARTITION.topic(), List.of(new PartitionInfo(PARTITION.topic(), PARTITION.partition(),
+                null, new Node[0], new Node[0])));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, 0L));
+        return consumer;
+    }
+
+    public List<ProducerRecord<String, byte[]>> published() {
+        return producer.history();
+    }
+
+    public void deliver(String key, byte[] value) {
+        long offset = nextOffset.getAndIncrement();
+        consumer.schedulePollTask(() -> consumer.addRecord(
+                new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), offset, key, value)));
+    }
+
+    // MockConsumer returns immediately from poll(); back off a little so the listener does not spin.
+    private static final class IdleMockConsumer extends MockConsumer<String, byte[]> {
+
+        IdleMockConsumer() {
+            super("earliest");
+        }
+
+        @Override
+        public ConsumerRecords<String, byte[]> poll(Duration timeout) {
+            ConsumerRecords<String, byte[]> records = super.poll(timeout);
+            if (records.isEmpty()) {
+                try {
+                    Thread.sleep(Math.min(timeout.toMillis(), 10));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return records;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.multi_tenant_app.services.invalidation;
+
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.example.multi_tenant_app.services.events.RbacChangeEvent.Operation.CREATED;
+import static org.example.multi_tenant_app.services.events.RbacChangeEvent.Operation.DELETED;
+import static org.example.multi_tenant_app.services.events.RbacChangeEvent.Operation.UPDATED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RbacInvalidationCoalescerTest {
+
+    private final UUID tenantA = UUID.randomUUID();
+    private final UUID tenantB = UUID.randomUUID();
+
+    @Test
+    void dropsDuplicatesAndGroupsByTenant() {
+        UUID roleId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        List<RbacChangeEvent> events = List.of(
+                RbacChangeEvent.userRoleAssignment(tenantA, userId, roleId, CREATED),
+                RbacChangeEvent.role(tenantB, roleId, UPDATED),
+                RbacChangeEvent.userRoleAssignment(tenantA, userId, roleId, DELETED),
+                RbacChangeEvent.role(tenantB, roleId, UPDATED).asRemote());
+
+        Map<UUID, List<RbacChangeEvent>> coalesced = RbacInvalidationCoalescer.coalesce(events, 10);
+
+        assertEquals(List.of(tenantA, tenantB), new ArrayList<>(coalesced.keySet()));
+        assertEquals(List.of(RbacChangeEvent.userRoleAssignment(tenantA, userId, roleId, CREATED)), coalesced.get(tenantA));
+        assertEquals(List.of(RbacChangeEvent.role(tenantB, roleId, UPDATED)), coalesced.get(tenantB));
+    }
+
+    @Test
+    void collapsesTenantAboveThreshold() {
+        List<RbacChangeEvent> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(RbacChangeEvent.role(tenantA, UUID.randomUUID(), CREATED));
+        }
+        events.add(RbacChangeEvent.role(tenantB, UUID.randomUUID(), CREATED));
+
+        Map<UUID, List<RbacChangeEvent>> coalesced = RbacInvalidationCoalescer.coalesce(events, 3);
+
+        assertEquals(List.of(RbacChangeEvent.tenant(tenantA)), coalesced.get(tenantA));
+        assertEquals(1, coalesced.get(tenantB).size());
+    }
+
+    @Test
+    void tenantWideEventAbsorbsOtherChanges() {
+        List<RbacChangeEvent> events = List.of(
+                RbacChangeEvent.role(tenantA, UUID.randomUUID(), CREATED),
+                RbacChangeEvent.tenant(tenantA),
+                RbacChangeEvent.role(tenantA, UUID.randomUUID(), CREATED));
+
+        assertEquals(List.of(RbacChangeEvent.tenant(tenantA)), RbacInvalidationCoalescer.coalesce(events, 10).get(tenantA));
+    }
+}
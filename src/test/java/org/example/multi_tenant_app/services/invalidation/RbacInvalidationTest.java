@@ -0,0 +1,120 @@
+package org.example.multi_tenant_app.services.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.services.AuthorizationService;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class RbacInvalidationTest {
+
+    @Inject
+    InMemoryInvalidationKafkaClients kafka;
+
+    @Inject
+    RbacInvalidationPublisher publisher;
+
+    @Inject
+    AuthorizationService authorizationService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private UUID tenantId;
+    private UUID roleId;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Invalidation Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            Role role = new Role(tenant.id, "operator", "Operates things", false);
+            role.persist();
+            tenantId = tenant.id;
+            roleId = role.id;
+        });
+    }
+
+    @Test
+    void testCommittedChangeIsPublished() throws Exception {
+        UUID permissionId = QuarkusTransaction.requiringNew().call(
+                () -> Permission.<Permission>find("name", "user:read").firstResult().id);
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .post("/api/v1/tenants/" + tenantId + "/roles/" + roleId + "/permissions/" + permissionId)
+                .then()
+                .statusCode(201);
+
+        awaitTrue(() -> publishedFor(tenantId) != null);
+        RbacInvalidationMessage message = objectMapper.readValue(publishedFor(tenantId).value(), RbacInvalidationMessage.class);
+        assertEquals(publisher.getNodeId(), message.originNodeId());
+        assertEquals(List.of(RbacChangeEvent.rolePermissionAssignment(tenantId, roleId, permissionId, RbacChangeEvent.Operation.CREATED)), message.toEvents());
+    }
+
+    @Test
+    void testRemoteChangeEvictsLocalSnapshot() throws Exception {
+        authorizationService.getSnapshot(tenantId);
+        assertNotNull(authorizationService.getCompiledSnapshot(tenantId));
+
+        deliver("other-node", RbacChangeEvent.role(tenantId, roleId, RbacChangeEvent.Operation.UPDATED));
+
+        awaitTrue(() -> authorizationService.getCompiledSnapshot(tenantId) == null);
+    }
+
+    @Test
+    void testOwnChangesAreNotAppliedTwice() throws Exception {
+        UUID otherTenantId = QuarkusTransaction.requiringNew().call(() -> {
+            Tenant tenant = new Tenant("Invalidation Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            return tenant.id;
+        });
+        authorizationService.getSnapshot(tenantId);
+        authorizationService.getSnapshot(otherTenantId);
+
+        deliver(publisher.getNodeId(), RbacChangeEvent.role(tenantId, roleId, RbacChangeEvent.Operation.UPDATED));
+        deliver("other-node", RbacChangeEvent.tenant(otherTenantId));
+
+        // Records are applied in order, so once the second one is through the first was skipped.
+        awaitTrue(() -> authorizationService.getCompiledSnapshot(otherTenantId) == null);
+        assertNotNull(authorizationService.getCompiledSnapshot(tenantId));
+    }
+
+    private void deliver(String originNodeId, RbacChangeEvent event) throws Exception {
+        byte[] payload = objectMapper.writeValueAsBytes(
+                RbacInvalidationMessage.of(originNodeId, event.getTenantId(), List.of(event)));
+        kafka.deliver(event.getTenantId().toString(), payload);
+    }
+
+    private ProducerRecord<String, byte[]> publishedFor(UUID tenant) {
+        return kafka.published().stream()
+                .filter(r -> r.key().equals(tenant.toString()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5s");
+            Thread.sleep(20);
+        }
+    }
+}
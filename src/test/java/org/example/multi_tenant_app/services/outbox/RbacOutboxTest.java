@@ -0,0 +1,106 @@
+package org.example.multi_tenant_app.services.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.RbacOutboxEvent;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.services.events.RbacChangeEvent;
+import org.example.multi_tenant_app.services.invalidation.InMemoryInvalidationKafkaClients;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class RbacOutboxTest {
+
+    @Inject
+    InMemoryInvalidationKafkaClients kafka;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private UUID tenantId;
+    private UUID roleId;
+    private UUID permissionId;
+
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Outbox Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            Role role = new Role(tenant.id, "publisher", "Publishes things", false);
+            role.persist();
+            tenantId = tenant.id;
+            roleId = role.id;
+            permissionId = Permission.<Permission>find("name", "role:read").firstResult().id;
+        });
+    }
+
+    private String assignmentPath() {
+        return "/api/v1/tenants/" + tenantId + "/roles/" + roleId + "/permissions/" + permissionId;
+    }
+
+    @Test
+    void testWritesAreRelayedInOrderAndRemovedFromOutbox() throws Exception {
+        given().header("X-Tenant-ID", tenantId.toString()).when().post(assignmentPath()).then().statusCode(201);
+        given().header("X-Tenant-ID", tenantId.toString()).when().delete(assignmentPath()).then().statusCode(204);
+
+        awaitTrue(() -> relayedFor(tenantId).size() == 2);
+        List<RbacChangeRecord> records = relayedFor(tenantId);
+        assertEquals(RbacChangeEvent.Operation.CREATED, records.get(0).operation());
+        assertEquals(RbacChangeEvent.Operation.DELETED, records.get(1).operation());
+        assertEquals(RbacChangeEvent.EntityType.ROLE_PERMISSION_ASSIGNMENT, records.get(0).entityType());
+        assertEquals(permissionId, records.get(0).permissionId());
+        assertTrue(records.get(0).id() < records.get(1).id());
+
+        awaitTrue(() -> QuarkusTransaction.requiringNew().call(() -> RbacOutboxEvent.count("tenantId", tenantId)) == 0);
+    }
+
+    @Test
+    void testFailedWriteLeavesNoOutboxRow() throws Exception {
+        UUID unknownPermissionId = UUID.randomUUID();
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .post("/api/v1/tenants/" + tenantId + "/roles/" + roleId + "/permissions/" + unknownPermissionId)
+                .then()
+                .statusCode(404);
+
+        assertEquals(0L, QuarkusTransaction.requiringNew().call(() -> RbacOutboxEvent.count("tenantId", tenantId)));
+        assertTrue(relayedFor(tenantId).isEmpty());
+    }
+
+    private List<RbacChangeRecord> relayedFor(UUID tenant) {
+        return kafka.published().stream()
+                .filter(r -> r.topic().equals("rbac-changes") && r.key().equals(tenant.toString()))
+                .map(r -> {
+                    try {
+                        return objectMapper.readValue(r.value(), RbacChangeRecord.class);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5s");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.multi_tenant_app.services.reactive;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.example.multi_tenant_app.config.RbacReadPathConfig.Mode;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.example.multi_tenant_app.services.RbacReadPath;
+import org.example.multi_tenant_app.web.dtos.PageDTO;
+import org.example.multi_tenant_app.web.dtos.PermissionDTO;
+import org.example.multi_tenant_app.web.dtos.RoleDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the reactive read path against PostgreSQL, which the other tests cannot: their H2
+ * datasource has no reactive pool. The profile switches the default datasource to a PostgreSQL
+ * container from Dev Services, so the test needs Docker and is skipped without it.
+ */
+@QuarkusTest
+@TestProfile(ReactiveRbacReadServiceTest.PostgresProfile.class)
+@EnabledIf("dockerAvailable")
+class ReactiveRbacReadServiceTest {
+
+    public static class PostgresProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "quarkus.datasource.db-kind", "postgresql",
+                    "quarkus.datasource.devservices.enabled", "true",
+                    // Left unset, so Dev Services supplies both the JDBC and the reactive URL.
+                    "quarkus.datasource.jdbc.url", "",
+                    "quarkus.datasource.username", "quarkus",
+                    "quarkus.datasource.password", "quarkus",
+                    "rbac.read-path.mode", "reactive");
+        }
+    }
+
+    static boolean dockerAvailable() {
+        return System.getenv("DOCKER_HOST") != null || Files.exists(Path.of("/var/run/docker.sock"));
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Inject
+    ReactiveRbacReadService reactiveReads;
+
+    @Inject
+    RbacReadPath rbacReadPath;
+
+    private UUID tenantId;
+    private UUID otherTenantId;
+    private UUID userId;
+    private UUID userWithoutRolesId;
+    private UUID roleId;
+    private UUID otherRoleId;
+    private UUID otherTenantRoleId;
+
+    // Fresh IDs every time, so no read below is answered from the cache.
+    @BeforeEach
+    void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Reactive Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            Tenant otherTenant = new Tenant("Other Reactive Tenant " + UUID.randomUUID(), "ACTIVE");
+            otherTenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "frank", "frank@example.org");
+            user.persist();
+            UserAccount userWithoutRoles = new UserAccount(tenant.id, "grace", "grace@example.org");
+            userWithoutRoles.persist();
+            Role role = new Role(tenant.id, "editor", "Edits things", false);
+            role.persist();
+            Role otherRole = new Role(tenant.id, "viewer", "Views things", false);
+            otherRole.persist();
+            Role otherTenantRole = new Role(otherTenant.id, "editor", "Someone else's editor", false);
+            otherTenantRole.persist();
+            new UserRoleAssignment(tenant.id, user.id, role.id).persist();
+            new UserRoleAssignment(tenant.id, user.id, otherRole.id).persist();
+            for (String name : List.of("user:read", "user:update")) {
+                new RolePermissionAssignment(tenant.id, role.id,
+                        Permission.<Permission>find("name", name).firstResult().id).persist();
+            }
+            new RolePermissionAssignment(tenant.id, role.id, "user:*").persist();
+            tenantId = tenant.id;
+            otherTenantId = otherTenant.id;
+            userId = user.id;
+            userWithoutRolesId = userWithoutRoles.id;
+            roleId = role.id;
+            otherRoleId = otherRole.id;
+            otherTenantRoleId = otherTenantRole.id;
+        });
+    }
+
+    @Test
+    void testReactiveModeIsActive() {
+        assertTrue(reactiveReads.isAvailable());
+        assertEquals(Mode.REACTIVE, rbacReadPath.getMode());
+    }
+
+    @Test
+    void testRoleById_ScopedToTenant() {
+        Optional<RoleDTO> role = reactiveReads.getRoleById(tenantId, roleId).await().atMost(TIMEOUT);
+        assertEquals("editor", role.orElseThrow().getName());
+        assertEquals(tenantId, role.get().getTenantId());
+
+        assertTrue(reactiveReads.getRoleById(tenantId, otherTenantRoleId).await().atMost(TIMEOUT).isEmpty());
+        assertTrue(reactiveReads.getRoleById(otherTenantId, roleId).await().atMost(TIMEOUT).isEmpty());
+    }
+
+    @Test
+    void testRolesForUser() {
+        List<RoleDTO> roles = reactiveReads.getRolesForUser(tenantId, userId).await().atMost(TIMEOUT);
+        assertEquals(Set.of("editor", "viewer"), roles.stream().map(RoleDTO::getName).collect(Collectors.toSet()));
+
+        assertEquals(List.of(), reactiveReads.getRolesForUser(tenantId, userWithoutRolesId).await().atMost(TIMEOUT));
+        assertThrows(NotFoundException.class,
+                () -> reactiveReads.getRolesForUser(tenantId, UUID.randomUUID()).await().atMost(TIMEOUT));
+        assertThrows(NotFoundException.class,
+                () -> reactiveReads.getRolesForUser(otherTenantId, userId).await().atMost(TIMEOUT));
+    }
+
+    @Test
+    void testPermissionsForRole_LeavesOutWildcardGrants() {
+        List<PermissionDTO> permissions = reactiveReads.getPermissionsForRole(tenantId, roleId).await().atMost(TIMEOUT);
+        assertEquals(Set.of("user:read", "user:update"),
+                permissions.stream().map(PermissionDTO::getName).collect(Collectors.toSet()));
+
+        assertEquals(List.of(), reactiveReads.getPermissionsForRole(tenantId, otherRoleId).await().atMost(TIMEOUT));
+        assertThrows(NotFoundException.class,
+                () -> reactiveReads.getPermissionsForRole(tenantId, otherTenantRoleId).await().atMost(TIMEOUT));
+    }
+
+    @Test
+    void testRolesPage_FollowsTheCursor() {
+        PageDTO<RoleDTO> first = reactiveReads.getRolesPage(tenantId, null, 1).await().atMost(TIMEOUT);
+        assertEquals(1, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        UUID after = first.getItems().get(0).getId();
+        PageDTO<RoleDTO> second = reactiveReads.getRolesPage(tenantId, after, 1).await().atMost(TIMEOUT);
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+        assertEquals(Set.of(roleId, otherRoleId), Set.of(after, second.getItems().get(0).getId()));
+    }
+
+    @Test
+    void testGlobalPermissions() {
+        List<PermissionDTO> permissions = reactiveReads.getAllGlobalPermissions().await().atMost(TIMEOUT);
+        assertTrue(permissions.stream().map(PermissionDTO::getName).collect(Collectors.toSet())
+                .containsAll(Set.of("user:read", "user:update")));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.multi_tenant_app.services.scheduling;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.security.TenantContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class TenantFairExecutorTest {
+
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Test
+    void testCallerTenantContextReachesThePoolThread() {
+        UUID tenantId = UUID.randomUUID();
+        String callerThread = Thread.currentThread().getName();
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            tenantContext.setCurrentTenantId(tenantId);
+            String[] workerThread = new String[1];
+            Optional<UUID> seen = tenantFairExecutor.submit(tenantId, () -> {
+                        workerThread[0] = Thread.currentThread().getName();
+                        return tenantContext.getCurrentTenantId();
+                    })
+                    .await().atMost(Duration.ofSeconds(10));
+
+            assertEquals(Optional.of(tenantId), seen);
+            assertNotEquals(callerThread, workerThread[0]);
+            // The caller's context is still active and unchanged afterwards.
+            assertTrue(requestContext.isActive());
+            assertEquals(Optional.of(tenantId), tenantContext.getCurrentTenantId());
+        } finally {
+            requestContext.terminate();
+        }
+    }
+}
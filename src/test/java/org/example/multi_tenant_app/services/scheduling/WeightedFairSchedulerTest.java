@@ -0,0 +1,185 @@
+package org.example.multi_tenant_app.services.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedFairSchedulerTest {
+
+    private WeightedFairScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testQuietTenantOvertakesNoisyBacklog() throws InterruptedException {
+        scheduler = new WeightedFairScheduler("test", 1, 1, 1_000);
+        CountDownLatch gate = new CountDownLatch(1);
+        // Hold the only thread until the noisy backlog and the quiet task are all queued.
+        scheduler.execute("blocker", 1, () -> await(gate));
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(51);
+        for (int i = 0; i < 50; i++) {
+            scheduler.execute("noisy", 1, () -> {
+                order.add("noisy");
+                done.countDown();
+            });
+        }
+        scheduler.execute("quiet", 1, () -> {
+            order.add("quiet");
+            done.countDown();
+        });
+        gate.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        // FIFO would have run it last; fair queuing runs it after at most one noisy task.
+        assertTrue(order.indexOf("quiet") <= 1, "quiet tenant ran at position " + order.indexOf("quiet"));
+    }
+
+    @Test
+    void testConcurrencyCapPerKey() throws InterruptedException {
+        scheduler = new WeightedFairScheduler("test", 8, 2, 1_000);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            scheduler.execute("tenant", 1, () -> {
+                peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                started.countDown();
+                await(gate);
+                current.decrementAndGet();
+                done.countDown();
+            });
+        }
+        try {
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            // Six threads are idle, yet the rest of the key's tasks wait.
+            assertEquals(2L, scheduler.getStats().get("running"));
+            assertEquals(18, scheduler.getQueueDepth("tenant"));
+        } finally {
+            gate.countDown();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    void testWeightsShareThreadsProportionally() throws InterruptedException {
+        scheduler = new WeightedFairScheduler("test", 1, 1, 10_000);
+        CountDownLatch gate = new CountDownLatch(1);
+        // Hold the only thread so both backlogs are queued before anything is dispatched.
+        scheduler.execute("blocker", 1, () -> await(gate));
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 100; i++) {
+            scheduler.execute("heavy", 3, () -> {
+                order.add("heavy");
+                sleep(1);
+                done.countDown();
+            });
+            scheduler.execute("light", 1, () -> {
+                order.add("light");
+                sleep(1);
+                done.countDown();
+            });
+        }
+        gate.countDown();
+        assertTrue(done.await(20, TimeUnit.SECONDS));
+
+        // While both are backlogged, "heavy" gets about three times the turns of "light".
+        long heavyInFirst80 = order.subList(0, 80).stream().filter("heavy"::equals).count();
+        assertTrue(heavyInFirst80 >= 50 && heavyInFirst80 <= 70, "heavy got " + heavyInFirst80 + " of 80");
+    }
+
+    @Test
+    void testRejectsWhenQueueFull() throws InterruptedException {
+        scheduler = new WeightedFairScheduler("test", 1, 1, 2);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Runnable blocked = () -> await(gate);
+        try {
+            scheduler.execute("tenant", 1, () -> {
+                started.countDown();
+                await(gate);
+            });
+            // Once the first task runs, the next two stay queued.
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            scheduler.execute("tenant", 1, blocked);
+            scheduler.execute("tenant", 1, blocked);
+            assertThrows(RejectedExecutionException.class, () -> scheduler.execute("tenant", 1, blocked));
+            // Other tenants are not affected.
+            scheduler.execute("other", 1, blocked);
+            assertEquals(2, scheduler.getQueueDepth("tenant"));
+            assertEquals(1L, scheduler.getStats().get("rejected"));
+        } finally {
+            gate.countDown();
+        }
+    }
+
+    @Test
+    void testThreadSurvivesAnError() throws InterruptedException {
+        scheduler = new WeightedFairScheduler("test", 1, 1, 1_000);
+        scheduler.execute("tenant", 1, () -> {
+            throw new AssertionError("escapes the task");
+        });
+        CountDownLatch done = new CountDownLatch(1);
+        scheduler.execute("tenant", 1, done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testShutdownReturnsQueuedTasks() throws InterruptedException {
+        scheduler = new WeightedFairScheduler("test", 1, 1, 1_000);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.execute("tenant", 1, () -> {
+            started.countDown();
+            await(gate);
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Runnable first = () -> { };
+        Runnable second = () -> { };
+        scheduler.execute("tenant", 1, first);
+        scheduler.execute("other", 1, second);
+
+        List<Runnable> dropped = scheduler.shutdown();
+        gate.countDown();
+
+        assertEquals(2, dropped.size());
+        assertTrue(dropped.containsAll(List.of(first, second)));
+        assertEquals(0L, scheduler.getStats().get("queued"));
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute("tenant", 1, first));
+    }
+}
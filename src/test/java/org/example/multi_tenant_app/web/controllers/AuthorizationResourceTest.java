@@ -0,0 +1,177 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+@QuarkusTest
+public class AuthorizationResourceTest {
+
+    private UUID tenantId;
+    private UUID userId;
+    private UUID roleId;
+
+    @BeforeEach
+    public void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Authz Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "alice", "alice@example.org");
+            user.persist();
+            Role role = new Role(tenant.id, "viewer", "Read-only access", false);
+            role.persist();
+            Permission userRead = Permission.find("name", "user:read").firstResult();
+            new UserRoleAssignment(tenant.id, user.id, role.id).persist();
+            new RolePermissionAssignment(tenant.id, role.id, userRead.id).persist();
+            tenantId = tenant.id;
+            userId = user.id;
+            roleId = role.id;
+        });
+    }
+
+    private String checkPath() {
+        return "/api/v1/tenants/" + tenantId + "/authz/check";
+    }
+
+    @Test
+    public void testCheckPermission_GrantedThroughRole() {
+        given()
+                .queryParam("userId", userId.toString())
+                .queryParam("permission", "user:read")
+                .when()
+                .get(checkPath())
+                .then()
+                .statusCode(200)
+                .body("allowed", equalTo(true));
+    }
+
+    @Test
+    public void testCheckPermission_NotGranted() {
+        given()
+                .queryParam("userId", userId.toString())
+                .queryParam("permission", "user:delete")
+                .when()
+                .get(checkPath())
+                .then()
+                .statusCode(200)
+                .body("allowed", equalTo(false));
+    }
+
+    @Test
+    public void testCheckPermission_SeesCommittedAssignment() {
+        // Warm the snapshot first so the assignment below has to invalidate it.
+        given()
+                .queryParam("userId", userId.toString())
+                .queryParam("permission", "user:update")
+                .when()
+                .get(checkPath())
+                .then()
+                .statusCode(200)
+                .body("allowed", equalTo(false));
+
+        UUID permissionId = QuarkusTransaction.requiringNew().call(
+                () -> Permission.<Permission>find("name", "user:update").firstResult().id);
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .post("/api/v1/tenants/" + tenantId + "/roles/" + roleId + "/permissions/" + permissionId)
+                .then()
+                .statusCode(201);
+
+        given()
+                .queryParam("userId", userId.toString())
+                .queryParam("permission", "user:update")
+                .when()
+                .get(checkPath())
+                .then()
+                .statusCode(200)
+                .body("allowed", equalTo(true));
+    }
+
+    @Test
+    public void testCheckPermission_GrantedThroughWildcardPattern() {
+        String patternsPath = "/api/v1/tenants/" + tenantId + "/roles/" + roleId + "/permissions/patterns";
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("pattern", "role:*"))
+                .when()
+                .post(patternsPath)
+                .then()
+                .statusCode(201)
+                .body("permissionPattern", equalTo("role:*"));
+
+        // Matches names that are not in the permission catalog as well.
+        for (String permission : new String[] {"role:read", "role:manage_permissions", "role:anything"}) {
+            given()
+                    .queryParam("userId", userId.toString())
+                    .queryParam("permission", permission)
+                    .when()
+                    .get(checkPath())
+                    .then()
+                    .statusCode(200)
+                    .body("allowed", equalTo(true));
+        }
+        given()
+                .queryParam("userId", userId.toString())
+                .queryParam("permission", "user:delete")
+                .when()
+                .get(checkPath())
+                .then()
+                .statusCode(200)
+                .body("allowed", equalTo(false));
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .queryParam("pattern", "role:*")
+                .when()
+                .delete(patternsPath)
+                .then()
+                .statusCode(204);
+        given()
+                .queryParam("userId", userId.toString())
+                .queryParam("permission", "role:read")
+                .when()
+                .get(checkPath())
+                .then()
+                .statusCode(200)
+                .body("allowed", equalTo(false));
+    }
+
+    @Test
+    public void testAssignPattern_RejectsPartialWildcard() {
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("pattern", "user:cre*"))
+                .when()
+                .post("/api/v1/tenants/" + tenantId + "/roles/" + roleId + "/permissions/patterns")
+                .then()
+                .statusCode(400)
+                .body("code", equalTo("ERR_BAD_REQUEST"));
+    }
+
+    @Test
+    public void testCheckPermission_MissingParameters() {
+        given()
+                .when()
+                .get(checkPath())
+                .then()
+                .statusCode(400)
+                .body("code", equalTo("ERR_BAD_REQUEST"));
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The test profile sets rbac.bulk-assignment.chunk-size to 50, so 120 users span three chunks.
+@QuarkusTest
+public class BulkRoleAssignmentResourceTest {
+
+    private static final int USERS = 120;
+
+    private UUID tenantId;
+    private UUID roleId;
+    private UUID otherTenantRoleId;
+    private final List<UUID> userIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        userIds.clear();
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Bulk Assignment Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            Tenant otherTenant = new Tenant("Bulk Assignment Other Tenant " + UUID.randomUUID(), "ACTIVE");
+            otherTenant.persist();
+            for (int i = 0; i < USERS; i++) {
+                UserAccount user = new UserAccount(tenant.id, "bulk-" + i, "bulk-" + i + "@example.org");
+                user.persist();
+                userIds.add(user.id);
+            }
+            Role role = new Role(tenant.id, "member", "Onboarded users", false);
+            role.persist();
+            Role otherTenantRole = new Role(otherTenant.id, "member", "Other tenant's users", false);
+            otherTenantRole.persist();
+            // Already assigned before the bulk call.
+            new UserRoleAssignment(tenant.id, userIds.get(0), role.id).persist();
+            tenantId = tenant.id;
+            roleId = role.id;
+            otherTenantRoleId = otherTenantRole.id;
+        });
+    }
+
+    private String bulkPath() {
+        return "/api/v1/tenants/" + tenantId + "/role-assignments/bulk";
+    }
+
+    @Test
+    public void testOneRoleForManyUsers_ReportsEveryItem() {
+        List<String> users = new ArrayList<>();
+        userIds.forEach(id -> users.add(id.toString()));
+        UUID unknownUserId = UUID.randomUUID();
+        users.add(unknownUserId.toString());
+        users.add(userIds.get(1).toString()); // Repeated
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("roleId", roleId.toString(), "userAccountIds", users))
+                .when()
+                .post(bulkPath())
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(USERS - 1))
+                .body("alreadyAssigned", equalTo(1))
+                .body("failed", equalTo(1))
+                .body("results", hasSize(USERS + 2))
+                .body("results[0].status", equalTo("ALREADY_ASSIGNED"))
+                .body("results[1].status", equalTo("CREATED"))
+                .body("results[1].errorCode", nullValue())
+                .body("results[" + USERS + "].userAccountId", equalTo(unknownUserId.toString()))
+                .body("results[" + USERS + "].status", equalTo("USER_NOT_FOUND"))
+                .body("results[" + USERS + "].errorCode", equalTo("USR_002"))
+                .body("results[" + (USERS + 1) + "].status", equalTo("CREATED"));
+
+        assertEquals((long) USERS, QuarkusTransaction.requiringNew().call(
+                () -> UserRoleAssignment.count("tenantId = ?1 and roleId = ?2", tenantId, roleId)));
+
+        // Created assignments are visible to reads (the role cache was invalidated per item).
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get("/api/v1/tenants/" + tenantId + "/users/" + userIds.get(USERS - 1) + "/roles")
+                .then()
+                .statusCode(200)
+                .body("name", hasItem("member"));
+    }
+
+    @Test
+    public void testPairs_RoleOfAnotherTenantIsNotFound() {
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("assignments", List.of(
+                        Map.of("userAccountId", userIds.get(2).toString(), "roleId", otherTenantRoleId.toString()),
+                        Map.of("userAccountId", userIds.get(3).toString(), "roleId", roleId.toString()))))
+                .when()
+                .post(bulkPath())
+                .then()
+                .statusCode(200)
+                .body("results.status", equalTo(List.of("ROLE_NOT_FOUND", "CREATED")))
+                .body("results[0].errorCode", equalTo("ACL_002"));
+
+        assertEquals(0L, QuarkusTransaction.requiringNew().call(
+                () -> UserRoleAssignment.count("tenantId = ?1 and roleId = ?2", tenantId, otherTenantRoleId)));
+    }
+
+    @Test
+    public void testUserIdsWithoutRoleId_IsBadRequest() {
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("userAccountIds", List.of(userIds.get(0).toString())))
+                .when()
+                .post(bulkPath())
+                .then()
+                .statusCode(400);
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.services.cache.RbacReadCache;
+import org.example.multi_tenant_app.services.scheduling.TenantFairExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@QuarkusTest
+@TestSecurity(user = "admin", roles = {"tenant-admin"})
+public class ConditionalGetResourceTest {
+
+    @Inject
+    TenantFairExecutor tenantFairExecutor;
+
+    @Inject
+    RbacReadCache rbacReadCache;
+
+    private UUID tenantId;
+    private UUID userId;
+    private UUID roleId;
+
+    @BeforeEach
+    public void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Conditional GET Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "erin", "erin@example.org");
+            user.persist();
+            Role role = new Role(tenant.id, "viewer", "Reads everything", false);
+            role.persist();
+            tenantId = tenant.id;
+            userId = user.id;
+            roleId = role.id;
+        });
+    }
+
+    private String rolesPath() {
+        return "/api/v1/tenants/" + tenantId + "/roles";
+    }
+
+    private String userRolesPath() {
+        return "/api/v1/tenants/" + tenantId + "/users/" + userId + "/roles";
+    }
+
+    private String etag(String path) {
+        String etag = given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(path)
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private long offloadedCalls() {
+        return tenantFairExecutor.getStats().get("completed");
+    }
+
+    @Test
+    public void testCurrentETag_IsNotModifiedWithoutReading() {
+        String etag = etag(rolesPath());
+        long before = offloadedCalls();
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .header("If-None-Match", "W/\"stale\", " + etag)
+                .when()
+                .get(rolesPath())
+                .then()
+                .statusCode(304)
+                .header("ETag", etag);
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .header("If-None-Match", etag)
+                .when()
+                .get(rolesPath() + "/" + roleId)
+                .then()
+                .statusCode(304);
+
+        assertEquals(before, offloadedCalls());
+    }
+
+    @Test
+    public void testRoleChange_InvalidatesETag() {
+        String etag = etag(rolesPath());
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", "editor", "tenantId", tenantId.toString()))
+                .when()
+                .post(rolesPath())
+                .then()
+                .statusCode(201);
+
+        String changed = given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .header("If-None-Match", etag)
+                .when()
+                .get(rolesPath())
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(2))
+                .extract().header("ETag");
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    public void testVersion_IsKeptInMemory() {
+        String etag = etag(rolesPath());
+        assertEquals(etag, etag(userRolesPath()));
+
+        // As seen by another node, or after a restart: nothing in memory, so a full read under a new version.
+        rbacReadCache.invalidate(RbacReadCache.Region.RBAC_VERSIONS, tenantId, tenantId);
+        String renewed = given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .header("If-None-Match", etag)
+                .when()
+                .get(rolesPath())
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+        assertNotEquals(etag, renewed);
+    }
+
+    @Test
+    public void testAssignment_InvalidatesUserRolesETag() {
+        String etag = etag(userRolesPath());
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .post(userRolesPath() + "/" + roleId)
+                .then()
+                .statusCode(201);
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .header("If-None-Match", etag)
+                .when()
+                .get(userRolesPath())
+                .then()
+                .statusCode(200)
+                .body("name", hasSize(1));
+    }
+
+    @Test
+    public void testNotFound_HasNoETag() {
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(rolesPath() + "/" + UUID.randomUUID())
+                .then()
+                .statusCode(404)
+                .header("ETag", nullValue());
+    }
+}
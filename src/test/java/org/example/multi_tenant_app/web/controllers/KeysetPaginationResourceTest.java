@@ -0,0 +1,151 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.path.json.JsonPath;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@QuarkusTest
+@TestSecurity(user = "admin", roles = {"tenant-admin"})
+public class KeysetPaginationResourceTest {
+
+    private static final int ROLES = 7;
+
+    private UUID tenantId;
+    private UUID roleId;
+
+    @BeforeEach
+    public void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Pagination Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            List<Role> roles = new ArrayList<>();
+            for (int i = 0; i < ROLES; i++) {
+                Role role = new Role(tenant.id, "role-" + i, null, false);
+                role.persist();
+                roles.add(role);
+            }
+            for (String name : List.of("user:read", "user:update", "role:read")) {
+                Permission permission = Permission.find("name", name).firstResult();
+                new RolePermissionAssignment(tenant.id, roles.get(0).id, permission.id).persist();
+            }
+            tenantId = tenant.id;
+            roleId = roles.get(0).id;
+        });
+    }
+
+    private String rolesPath() {
+        return "/api/v1/tenants/" + tenantId + "/roles";
+    }
+
+    private JsonPath page(String path, int limit, String after) {
+        var request = given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .queryParam("limit", limit);
+        if (after != null) {
+            request.queryParam("after", after);
+        }
+        return request.when().get(path).then().statusCode(200).extract().jsonPath();
+    }
+
+    @Test
+    public void testRolePages_CoverEveryRoleOnce() {
+        List<String> names = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            JsonPath page = page(rolesPath(), 3, cursor);
+            names.addAll(page.getList("items.name"));
+            cursor = page.getString("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(ROLES, names.size());
+        assertEquals(ROLES, new HashSet<>(names).size());
+    }
+
+    @Test
+    public void testWithoutParameters_ReturnsThePlainList() {
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(rolesPath())
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(ROLES));
+    }
+
+    @Test
+    public void testPermissionPages_FollowTheCursor() {
+        String path = rolesPath() + "/" + roleId + "/permissions";
+        JsonPath first = page(path, 2, null);
+        assertEquals(2, first.getList("items").size());
+
+        JsonPath last = page(path, 2, first.getString("nextCursor"));
+        assertEquals(1, last.getList("items").size());
+        assertNull(last.getString("nextCursor"));
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .queryParam("limit", 2)
+                .when()
+                .get(path + "/available")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(2));
+    }
+
+    @Test
+    public void testPermissionsOfUnknownRole_AreNotFound() {
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .queryParam("limit", 2)
+                .when()
+                .get(rolesPath() + "/" + UUID.randomUUID() + "/permissions")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    public void testExactlyFullPage_IsTheLast() {
+        JsonPath page = page(rolesPath() + "/" + roleId + "/permissions", 3, null);
+        assertEquals(3, page.getList("items").size());
+        assertNull(page.getString("nextCursor"));
+    }
+
+    @Test
+    public void testInvalidParameters_AreRejected() {
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .queryParam("after", "not a cursor")
+                .when()
+                .get(rolesPath())
+                .then()
+                .statusCode(400);
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .queryParam("limit", 100_000)
+                .when()
+                .get(rolesPath())
+                .then()
+                .statusCode(400);
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.data.entities.UserAccount;
+import org.example.multi_tenant_app.data.entities.UserRoleAssignment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+@QuarkusTest
+@TestSecurity(user = "admin", roles = {"tenant-admin"})
+public class RoleHierarchyResourceTest {
+
+    private UUID tenantId;
+    private UUID userId;
+
+    @BeforeEach
+    public void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Hierarchy Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            UserAccount user = new UserAccount(tenant.id, "carol", "carol@example.org");
+            user.persist();
+            tenantId = tenant.id;
+            userId = user.id;
+        });
+    }
+
+    private String rolesPath() {
+        return "/api/v1/tenants/" + tenantId + "/roles";
+    }
+
+    private UUID createRole(String name, UUID parentRoleId) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("name", name);
+        body.put("tenantId", tenantId.toString());
+        if (parentRoleId != null) {
+            body.put("parentRoleId", parentRoleId.toString());
+        }
+        String id = given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post(rolesPath())
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+        return UUID.fromString(id);
+    }
+
+    private void assertUserCan(String permission, boolean expected) {
+        given()
+                .queryParam("userId", userId.toString())
+                .queryParam("permission", permission)
+                .when()
+                .get("/api/v1/tenants/" + tenantId + "/authz/check")
+                .then()
+                .statusCode(200)
+                .body("allowed", equalTo(expected));
+    }
+
+    @Test
+    public void testPermissionsAreInheritedTransitively() {
+        UUID viewer = createRole("viewer", null);
+        UUID editor = createRole("editor", viewer);
+        UUID admin = createRole("admin", editor);
+        QuarkusTransaction.requiringNew().run(() -> {
+            Permission userRead = Permission.find("name", "user:read").firstResult();
+            new RolePermissionAssignment(tenantId, viewer, userRead.id).persist();
+            new UserRoleAssignment(tenantId, userId, admin).persist();
+        });
+
+        assertUserCan("user:read", true);
+        assertUserCan("user:delete", false);
+
+        // Deleting the middle role cuts admin off from viewer.
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .delete(rolesPath() + "/" + editor)
+                .then()
+                .statusCode(204);
+        assertUserCan("user:read", false);
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(rolesPath() + "/" + admin)
+                .then()
+                .statusCode(200)
+                .body("parentRoleId", equalTo(null));
+    }
+
+    @Test
+    public void testCycleIsRejected() {
+        UUID viewer = createRole("viewer", null);
+        UUID editor = createRole("editor", viewer);
+        UUID admin = createRole("admin", editor);
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", "viewer", "tenantId", tenantId.toString(), "parentRoleId", admin.toString()))
+                .when()
+                .put(rolesPath() + "/" + viewer)
+                .then()
+                .statusCode(409)
+                .body("code", equalTo("ACL_006"));
+    }
+
+    @Test
+    public void testParentFromAnotherTenantIsRejected() {
+        UUID foreignRole = QuarkusTransaction.requiringNew().call(() -> {
+            Tenant otherTenant = new Tenant("Other Hierarchy Tenant " + UUID.randomUUID(), "ACTIVE");
+            otherTenant.persist();
+            Role role = new Role(otherTenant.id, "superuser", "Another tenant's role", false);
+            role.persist();
+            Permission userDelete = Permission.find("name", "user:delete").firstResult();
+            new RolePermissionAssignment(otherTenant.id, role.id, userDelete.id).persist();
+            return role.id;
+        });
+        UUID viewer = createRole("viewer", null);
+        QuarkusTransaction.requiringNew().run(() -> new UserRoleAssignment(tenantId, userId, viewer).persist());
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", "viewer", "tenantId", tenantId.toString(), "parentRoleId", foreignRole.toString()))
+                .when()
+                .put(rolesPath() + "/" + viewer)
+                .then()
+                .statusCode(404);
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", "intruder", "tenantId", tenantId.toString(), "parentRoleId", foreignRole.toString()))
+                .when()
+                .post(rolesPath())
+                .then()
+                .statusCode(404);
+
+        assertUserCan("user:delete", false);
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(rolesPath() + "/" + viewer)
+                .then()
+                .statusCode(200)
+                .body("parentRoleId", equalTo(null));
+    }
+
+    @Test
+    public void testUpdateWithoutParent_KeepsTheParent() {
+        UUID viewer = createRole("viewer", null);
+        UUID editor = createRole("editor", viewer);
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", "author", "tenantId", tenantId.toString()))
+                .when()
+                .put(rolesPath() + "/" + editor)
+                .then()
+                .statusCode(200)
+                .body("name", equalTo("author"))
+                .body("parentRoleId", equalTo(viewer.toString()));
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", "author", "tenantId", tenantId.toString(), "clearParent", true))
+                .when()
+                .put(rolesPath() + "/" + editor)
+                .then()
+                .statusCode(200)
+                .body("parentRoleId", equalTo(null))
+                .body("clearParent", equalTo(null));
+    }
+}
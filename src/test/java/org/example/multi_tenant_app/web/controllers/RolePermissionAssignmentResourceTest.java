@@ -0,0 +1,177 @@
+package org.example.multi_tenant_app.web.controllers;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.example.multi_tenant_app.data.entities.Permission;
+import org.example.multi_tenant_app.data.entities.Role;
+import org.example.multi_tenant_app.data.entities.RolePermissionAssignment;
+import org.example.multi_tenant_app.data.entities.Tenant;
+import org.example.multi_tenant_app.services.cache.RbacExistenceFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class RolePermissionAssignmentResourceTest {
+
+    @Inject
+    RbacExistenceFilter existenceFilter;
+
+    private UUID tenantId;
+    private UUID roleId;
+
+    @BeforeEach
+    public void setUp() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Tenant tenant = new Tenant("Role Permission Tenant " + UUID.randomUUID(), "ACTIVE");
+            tenant.persist();
+            Role role = new Role(tenant.id, "auditor", "Reads users", false);
+            role.persist();
+            Permission userRead = Permission.find("name", "user:read").firstResult();
+            new RolePermissionAssignment(tenant.id, role.id, userRead.id).persist();
+            tenantId = tenant.id;
+            roleId = role.id;
+        });
+    }
+
+    private String permissionsPath() {
+        return "/api/v1/tenants/" + tenantId + "/roles/" + roleId + "/permissions";
+    }
+
+    @Test
+    public void testGetPermissionsForRole_ReflectsAssignAndRemove() {
+        // The first read populates the cache; the writes below must evict it.
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(permissionsPath())
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(1));
+
+        UUID permissionId = QuarkusTransaction.requiringNew().call(
+                () -> Permission.<Permission>find("name", "user:update").firstResult().id);
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .post(permissionsPath() + "/" + permissionId)
+                .then()
+                .statusCode(201);
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(permissionsPath())
+                .then()
+                .statusCode(200)
+                .body("name", hasItems("user:read", "user:update"));
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .delete(permissionsPath() + "/" + permissionId)
+                .then()
+                .statusCode(204);
+
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(permissionsPath())
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(1));
+    }
+
+    @Test
+    @TestSecurity(user = "admin", roles = {"tenant-admin"})
+    public void testUnknownRoleIsRejectedButNewRoleIsFound() {
+        // Remembered as missing for a few seconds.
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get("/api/v1/tenants/" + tenantId + "/roles/" + UUID.randomUUID() + "/permissions")
+                .then()
+                .statusCode(404);
+
+        // A role created after the filter was built must be visible immediately.
+        String newRoleId = given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", "newcomer", "tenantId", tenantId.toString()))
+                .when()
+                .post("/api/v1/tenants/" + tenantId + "/roles")
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get("/api/v1/tenants/" + tenantId + "/roles/" + newRoleId + "/permissions")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(0));
+    }
+
+    @Test
+    @TestSecurity(user = "admin", roles = {"tenant-admin"})
+    public void testUnknownRolesAreRejectedByTheBloomFilter() throws InterruptedException {
+        long rejectionsBefore = existenceFilter.getStats().get("bloomRejections");
+        // The first miss has the tenant's filter built in the background; later misses are rejected by it.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (existenceFilter.getStats().get("bloomRejections") == rejectionsBefore) {
+            assertTrue(System.nanoTime() < deadline, "no lookup was rejected by the Bloom filter");
+            given()
+                    .header("X-Tenant-ID", tenantId.toString())
+                    .when()
+                    .get("/api/v1/tenants/" + tenantId + "/roles/" + UUID.randomUUID() + "/permissions")
+                    .then()
+                    .statusCode(404);
+            Thread.sleep(20);
+        }
+
+        // Known roles still pass.
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(permissionsPath())
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(1));
+    }
+
+    @Test
+    @TestSecurity(user = "admin", roles = {"tenant-admin"})
+    public void testRoleInsertedElsewhereIsFound() {
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get(permissionsPath())
+                .then()
+                .statusCode(200);
+
+        // As if written by another node: no change event reaches this one.
+        UUID insertedRoleId = QuarkusTransaction.requiringNew().call(() -> {
+            Role role = new Role(tenantId, "imported", null, false);
+            role.persist();
+            return role.id;
+        });
+        given()
+                .header("X-Tenant-ID", tenantId.toString())
+                .when()
+                .get("/api/v1/tenants/" + tenantId + "/roles/" + insertedRoleId + "/permissions")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(0));
+    }
+}
@@ -1,18 +1,27 @@
 package org.example.multi_tenant_app.web.controllers;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.security.TestSecurity;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
 import org.example.multi_tenant_app.data.entities.Tenant; // Adjust if Tenant DTO is used for POST
+import org.example.multi_tenant_app.services.cache.RbacReadCache;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 
 @QuarkusTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class) // To run tests in a specific order if needed (e.g. POST then GET)
@@ -21,10 +30,18 @@ public class TenantResourceTest {
     private static final String TENANTS_ENDPOINT = "/api/v1/tenants";
     private static String createdTenantId; // Store ID from POST to use in GET/PUT/DELETE
 
+    @Inject
+    RbacReadCache rbacReadCache;
+
+    private long tenantInvalidations() {
+        return rbacReadCache.getStats().get(RbacReadCache.Region.TENANTS.name()).get("invalidations");
+    }
+
     @Test
     @Order(1)
     @TestSecurity(user = "testUser", roles = {"user"}) // Provide a mock authenticated user
     public void testCreateTenant() {
+        long invalidationsBefore = tenantInvalidations();
         Tenant newTenant = new Tenant("Test Tenant Alpha", "ACTIVE");
         // Note: Tenant entity directly used. In a real app, a TenantCreationDTO might be preferred.
 
@@ -43,6 +60,9 @@ public class TenantResourceTest {
         // Extract the ID for subsequent tests
         createdTenantId = io.restassured.path.json.JsonPath.from(responseString).getString("id");
         System.out.println("Created Tenant ID: " + createdTenantId);
+
+        // The creation fired a tenant-wide change event, which cleared the tenant from every cache region.
+        assertEquals(invalidationsBefore + 1, tenantInvalidations());
     }
 
     @Test
@@ -68,24 +88,7 @@ public class TenantResourceTest {
                 .when()
                 .get(TENANTS_ENDPOINT + "/" + randomUuid)
                 .then()
-                .statusCode(404); // NOT_FOUND (Assuming the placeholder returns 404)
-                                  // This will depend on the actual implementation of getTenantById
-                                  // For now, TenantResource placeholder returns a dummy tenant or 404.
-                                  // The actual behavior might be different with a real service.
-                                  // Current placeholder always returns a dummy tenant, so this might need adjustment
-                                  // once the resource is properly implemented.
-                                  // For now, let's assume a basic 404 is possible if not found.
-                                  // The current placeholder for getTenantById returns a dummy tenant, so this test would fail.
-                                  // Let's change the test to reflect the placeholder's behavior (always finds a dummy).
-                                  // Better: let's assume the placeholder for getTenantById is updated to return 404.
-                                  // The placeholder in TenantResource currently does:
-                                  // Tenant tenant = new Tenant("Dummy Tenant " + id.toString(), "ACTIVE"); tenant.id = id; return Response.ok(tenant).build();
-                                  // This means it will always find a tenant.
-                                  // For a "not found" test to pass with the current placeholder, we'd need to change the placeholder
-                                  // or accept this test won't reflect a true "not found" scenario yet.
-                                  // Let's proceed assuming the placeholder is what it is, and this test will check that behavior.
-                                  // Actually, the placeholder has an if (tenant != null) check, but it's always true.
-                                  // Let's keep the 404 expectation, as it's what a real service *should* do.
+                .statusCode(404); // NOT_FOUND
     }
 
 
@@ -137,10 +140,7 @@ public class TenantResourceTest {
                 .when()
                 .get(TENANTS_ENDPOINT + "/" + createdTenantId)
                 .then()
-                .statusCode(404); // Assuming the placeholder for GET will now effectively be a 404
-                                  // This depends on the actual delete implementation making it not findable.
-                                  // The placeholder GET will still return a dummy. This part of the test
-                                  // will only be fully valid once GET and DELETE are properly implemented.
+                .statusCode(404);
     }
 
     @Test
@@ -153,4 +153,38 @@ public class TenantResourceTest {
                 .then()
                 .statusCode(401); // UNAUTHORIZED
     }
+
+    @Test
+    @Order(8)
+    @TestSecurity(user = "testUser", roles = {"user"})
+    public void testGetAllTenants_KeysetPagination() {
+        List<String> created = QuarkusTransaction.requiringNew().call(() -> {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Tenant tenant = new Tenant("Paged Tenant " + UUID.randomUUID(), "ACTIVE");
+                tenant.persist();
+                ids.add(tenant.id.toString());
+            }
+            return ids;
+        });
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = given().queryParam("limit", 2);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            Response page = request.when().get(TENANTS_ENDPOINT);
+            page.then()
+                    .statusCode(200)
+                    .body("size()", lessThanOrEqualTo(2));
+            seen.addAll(page.jsonPath().getList("id", String.class));
+            cursor = page.getHeader("X-Next-Cursor");
+        } while (cursor != null);
+
+        Set<String> unique = new HashSet<>(seen);
+        assertEquals(seen.size(), unique.size(), "pages must not overlap");
+        assertTrue(unique.containsAll(created));
+    }
 }